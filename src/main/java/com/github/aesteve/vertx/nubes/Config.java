@@ -29,12 +29,18 @@ import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 import com.github.aesteve.vertx.nubes.auth.AuthMethod;
+import com.github.aesteve.vertx.nubes.context.BatchLoader;
 import com.github.aesteve.vertx.nubes.context.RateLimit;
+import com.github.aesteve.vertx.nubes.context.ResponseCache;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessorRegistry;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
+import com.github.aesteve.vertx.nubes.idempotency.IdempotencyStore;
+import com.github.aesteve.vertx.nubes.idempotency.impl.LocalIdempotencyStore;
 import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadSplitter;
 import com.github.aesteve.vertx.nubes.reflections.RouteRegistry;
 import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjectorRegistry;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.TypedParamInjectorRegistry;
@@ -50,6 +56,8 @@ public class Config {
 		templateEngines = new HashMap<>();
 		sockJSOptions = new SockJSHandlerOptions();
 		marshallers = new HashMap<>();
+		payloadSplitters = new HashMap<>();
+		batchLoaders = new HashMap<>();
 	}
 
 	public JsonObject json;
@@ -67,6 +75,10 @@ public class Config {
 	public AuthProvider authProvider;
 	public AuthMethod authMethod;
 	public String i18nDir;
+	public long compressionCacheSize;
+	public long responseCacheSize;
+	public long idempotencyStoreSize;
+	public IdempotencyStore idempotencyStore;
 
 	public AnnotationProcessorRegistry apRegistry;
 	public Map<Class<? extends Annotation>, Set<Handler<RoutingContext>>> annotationHandlers;
@@ -82,6 +94,8 @@ public class Config {
 	public Map<String, TemplateEngine> templateEngines;
 	public SockJSHandlerOptions sockJSOptions;
 	public Map<String, PayloadMarshaller> marshallers;
+	public Map<String, Supplier<PayloadSplitter>> payloadSplitters;
+	public Map<String, BatchLoader<?, ?>> batchLoaders;
 
 	/**
 	 * TODO : check config instead of throwing exceptions
@@ -192,6 +206,9 @@ public class Config {
 		instance.assetsPath = json.getString("static-path", "/assets");
 		instance.tplDir = json.getString("views-dir", "web/views");
 		instance.displayErrors = json.getBoolean("display-errors", Boolean.FALSE);
+		instance.compressionCacheSize = json.getLong("compression-cache-size", 16L * 1024 * 1024);
+		instance.responseCacheSize = json.getLong("response-cache-size", ResponseCache.DEFAULT_MAX_BYTES);
+		instance.idempotencyStoreSize = json.getLong("idempotency-store-size", LocalIdempotencyStore.DEFAULT_MAX_BYTES);
 		// TODO : read sockJSOptions from config
 		return instance;
 	}
@@ -4,6 +4,7 @@ import static com.github.aesteve.vertx.nubes.utils.async.AsyncUtils.completeFina
 import static com.github.aesteve.vertx.nubes.utils.async.AsyncUtils.completeOrFail;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
@@ -12,6 +13,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import javax.xml.bind.JAXBException;
 
@@ -23,20 +25,32 @@ import com.github.aesteve.vertx.nubes.annotations.View;
 import com.github.aesteve.vertx.nubes.annotations.auth.Auth;
 import com.github.aesteve.vertx.nubes.annotations.cookies.CookieValue;
 import com.github.aesteve.vertx.nubes.annotations.cookies.Cookies;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Cacheable;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Coalesce;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Compressed;
 import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ETag;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Idempotent;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Projection;
 import com.github.aesteve.vertx.nubes.annotations.mixins.Throttled;
+import com.github.aesteve.vertx.nubes.annotations.routing.EventBusForward;
 import com.github.aesteve.vertx.nubes.annotations.routing.Redirect;
 import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
 import com.github.aesteve.vertx.nubes.annotations.routing.http.PATCH;
 import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
 import com.github.aesteve.vertx.nubes.annotations.routing.http.PUT;
 import com.github.aesteve.vertx.nubes.auth.AuthMethod;
+import com.github.aesteve.vertx.nubes.context.BatchLoader;
 import com.github.aesteve.vertx.nubes.context.ClientAccesses;
+import com.github.aesteve.vertx.nubes.context.InFlightRequests;
 import com.github.aesteve.vertx.nubes.context.PaginationContext;
 import com.github.aesteve.vertx.nubes.context.RateLimit;
+import com.github.aesteve.vertx.nubes.context.ResponseCache;
 import com.github.aesteve.vertx.nubes.fixtures.FixtureLoader;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessorRegistry;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
+import com.github.aesteve.vertx.nubes.handlers.impl.CompressedBodyCache;
+import com.github.aesteve.vertx.nubes.handlers.impl.DecompressingBodyHandler;
 import com.github.aesteve.vertx.nubes.handlers.impl.DefaultErrorHandler;
 import com.github.aesteve.vertx.nubes.handlers.impl.LocaleHandler;
 import com.github.aesteve.vertx.nubes.handlers.impl.PaginationProcessor;
@@ -45,28 +59,47 @@ import com.github.aesteve.vertx.nubes.handlers.impl.RateLimitationHandler;
 import com.github.aesteve.vertx.nubes.i18n.LocaleResolver;
 import com.github.aesteve.vertx.nubes.i18n.LocaleResolverRegistry;
 import com.github.aesteve.vertx.nubes.i18n.impl.AcceptLanguageLocaleResolver;
+import com.github.aesteve.vertx.nubes.idempotency.IdempotencyStore;
+import com.github.aesteve.vertx.nubes.idempotency.impl.LocalIdempotencyStore;
 import com.github.aesteve.vertx.nubes.marshallers.Payload;
 import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadSplitter;
+import com.github.aesteve.vertx.nubes.marshallers.codecs.DomainMessageCodec;
 import com.github.aesteve.vertx.nubes.marshallers.impl.BoonPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.CborPayloadMarshaller;
 import com.github.aesteve.vertx.nubes.marshallers.impl.JAXBPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.JsonArraySplitter;
+import com.github.aesteve.vertx.nubes.marshallers.impl.MessagePackPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.NdJsonPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.impl.NdJsonSplitter;
+import com.github.aesteve.vertx.nubes.marshallers.impl.XmlElementSplitter;
 import com.github.aesteve.vertx.nubes.reflections.AnnotVerticleFactory;
 import com.github.aesteve.vertx.nubes.reflections.EventBusBridgeFactory;
 import com.github.aesteve.vertx.nubes.reflections.RouteFactory;
 import com.github.aesteve.vertx.nubes.reflections.SocketFactory;
+import com.github.aesteve.vertx.nubes.reflections.WebSocketFactory;
 import com.github.aesteve.vertx.nubes.reflections.adapters.ParameterAdapter;
 import com.github.aesteve.vertx.nubes.reflections.adapters.ParameterAdapterRegistry;
 import com.github.aesteve.vertx.nubes.reflections.adapters.impl.DefaultParameterAdapter;
 import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
 import com.github.aesteve.vertx.nubes.reflections.factories.impl.AuthProcessorFactory;
 import com.github.aesteve.vertx.nubes.reflections.factories.impl.ClientRedirectProcessorFactory;
+import com.github.aesteve.vertx.nubes.reflections.factories.impl.CacheableProcessorFactory;
+import com.github.aesteve.vertx.nubes.reflections.factories.impl.CoalesceProcessorFactory;
+import com.github.aesteve.vertx.nubes.reflections.factories.impl.CompressionProcessorFactory;
 import com.github.aesteve.vertx.nubes.reflections.factories.impl.ContentTypeProcessorFactory;
+import com.github.aesteve.vertx.nubes.reflections.factories.impl.ETagProcessorFactory;
+import com.github.aesteve.vertx.nubes.reflections.factories.impl.EventBusForwardProcessorFactory;
 import com.github.aesteve.vertx.nubes.reflections.factories.impl.FileProcessorFactory;
+import com.github.aesteve.vertx.nubes.reflections.factories.impl.IdempotencyProcessorFactory;
+import com.github.aesteve.vertx.nubes.reflections.factories.impl.ProjectionProcessorFactory;
 import com.github.aesteve.vertx.nubes.reflections.factories.impl.ViewProcessorFactory;
 import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjectorRegistry;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.ParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.TypedParamInjectorRegistry;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.LocaleParamInjector;
+import com.github.aesteve.vertx.nubes.services.VerticleSupervisor;
 import com.github.aesteve.vertx.nubes.utils.async.MultipleFutures;
 import com.github.aesteve.vertx.nubes.views.TemplateEngineManager;
 
@@ -96,6 +129,7 @@ public class VertxNubes {
 	private Map<String, PayloadMarshaller> marshallers;
 	private LocaleResolverRegistry locResolver;
 	private List<String> deploymentIds;
+	private List<VerticleSupervisor> supervisors;
 
 	/**
 	 * TODO check config
@@ -106,6 +140,7 @@ public class VertxNubes {
 		this.vertx = vertx;
 		config = Config.fromJsonObject(json, vertx);
 		deploymentIds = new ArrayList<>();
+		supervisors = new ArrayList<>();
 		registry = new ParameterAdapterRegistry(new DefaultParameterAdapter());
 		config.annotationHandlers = new HashMap<>();
 		config.paramHandlers = new HashMap<>();
@@ -116,8 +151,9 @@ public class VertxNubes {
 		config.annotInjectors = new AnnotatedParamInjectorRegistry(marshallers, registry);
 		config.aopHandlerRegistry = new HashMap<>();
 		config.marshallers = marshallers;
+		config.idempotencyStore = LocalIdempotencyStore.shared(vertx, config.idempotencyStoreSize);
 		CookieHandler cookieHandler = CookieHandler.create();
-		BodyHandler bodyHandler = BodyHandler.create();
+		BodyHandler bodyHandler = DecompressingBodyHandler.create();
 		registerAnnotationHandler(Cookies.class, cookieHandler);
 		registerAnnotationHandler(CookieValue.class, cookieHandler);
 		registerAnnotationHandler(Throttled.class, RateLimitationHandler.create(config));
@@ -128,15 +164,30 @@ public class VertxNubes {
 		registerTypeProcessor(PaginationContext.class, new PaginationProcessor());
 		registerTypeProcessor(Payload.class, new PayloadTypeProcessor(marshallers));
 		registerAnnotationProcessor(Redirect.class, new ClientRedirectProcessorFactory());
+		registerAnnotationProcessor(EventBusForward.class, new EventBusForwardProcessorFactory(vertx));
 		registerAnnotationProcessor(ContentType.class, new ContentTypeProcessorFactory());
+		registerAnnotationProcessor(Projection.class, new ProjectionProcessorFactory());
+		registerAnnotationProcessor(Compressed.class, new CompressionProcessorFactory(new CompressedBodyCache(config.compressionCacheSize)));
+		registerAnnotationProcessor(ETag.class, new ETagProcessorFactory());
+		registerAnnotationProcessor(Coalesce.class, new CoalesceProcessorFactory(InFlightRequests.shared(vertx)));
+		registerAnnotationProcessor(Idempotent.class, new IdempotencyProcessorFactory(config));
+		registerAnnotationProcessor(Cacheable.class, new CacheableProcessorFactory(ResponseCache.shared(vertx, config.responseCacheSize)));
 		TemplateEngineManager templManager = new TemplateEngineManager(config);
 		registerAnnotationProcessor(View.class, new ViewProcessorFactory(templManager));
 		registerAnnotationProcessor(File.class, new FileProcessorFactory());
 		registerMarshaller("application/json", new BoonPayloadMarshaller());
+		registerMarshaller("application/msgpack", new MessagePackPayloadMarshaller());
+		registerMarshaller("application/cbor", new CborPayloadMarshaller());
+		registerMarshaller("application/x-ndjson", new NdJsonPayloadMarshaller());
+		registerPayloadSplitter("application/json", JsonArraySplitter::new);
+		registerPayloadSplitter("application/xml", XmlElementSplitter::new);
+		registerPayloadSplitter("application/x-ndjson", NdJsonSplitter::new);
 		if (config.domainPackage != null) {
 			try {
 				Reflections reflections = new Reflections(config.domainPackage, new SubTypesScanner(false));
-				registerMarshaller("application/xml", new JAXBPayloadMarshaller(reflections.getSubTypesOf(Object.class)));
+				Set<Class<? extends Object>> domainClasses = reflections.getSubTypesOf(Object.class);
+				registerMarshaller("application/xml", new JAXBPayloadMarshaller(domainClasses));
+				registerDomainCodecs(domainClasses);
 			} catch (JAXBException je) {
 				throw new RuntimeException(je);
 			}
@@ -185,9 +236,37 @@ public class VertxNubes {
 				deployVerticle(vertName, options, fut);
 			});
 		});
+		supervisors.addAll(vertFactory.scanScaled(vertx));
+		supervisors.forEach(supervisor -> {
+			vertFutures.add(fut -> {
+				Future<Void> started = Future.future();
+				started.setHandler(res -> {
+					if (res.succeeded()) {
+						fut.complete(supervisor.verticleName());
+					} else {
+						fut.fail(res.cause());
+					}
+				});
+				supervisor.start(started);
+			});
+		});
 		vertFutures.start();
 	}
 
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void registerDomainCodecs(Set<Class<? extends Object>> domainClasses) {
+		for (Class<?> domainClass : domainClasses) {
+			if (domainClass.isInterface() || domainClass.isAnonymousClass() || Modifier.isAbstract(domainClass.getModifiers())) {
+				continue;
+			}
+			try {
+				vertx.eventBus().registerDefaultCodec((Class) domainClass, new DomainMessageCodec(domainClass));
+			} catch (IllegalStateException ise) {
+				// already registered by another Nubes instance (or by the user)
+			}
+		}
+	}
+
 	private void deployVerticle(String vertName, DeploymentOptions options, Future<String> future) {
 		vertx.deployVerticle(vertName, options, completeOrFail(future));
 	}
@@ -208,6 +287,8 @@ public class VertxNubes {
 		routeDiscovery.createHandlers();
 		SocketFactory socketFactory = new SocketFactory(router, config);
 		socketFactory.createHandlers();
+		WebSocketFactory webSocketFactory = new WebSocketFactory(router, config);
+		webSocketFactory.createHandlers();
 		EventBusBridgeFactory ebBridgeFactory = new EventBusBridgeFactory(router, config);
 		ebBridgeFactory.createHandlers();
 		StaticHandler staticHandler;
@@ -239,6 +320,9 @@ public class VertxNubes {
 				undeployVerticle(deploymentId, fut);
 			});
 		});
+		supervisors.forEach(supervisor -> {
+			futures.add(supervisor::stop);
+		});
 		futures.start();
 	}
 
@@ -258,6 +342,10 @@ public class VertxNubes {
 		config.authMethod = authMethod;
 	}
 
+	public void setIdempotencyStore(IdempotencyStore store) {
+		config.idempotencyStore = store;
+	}
+
 	public void registerInterceptor(String name, Handler<RoutingContext> handler) {
 		config.aopHandlerRegistry.put(name, handler);
 	}
@@ -333,6 +421,17 @@ public class VertxNubes {
 		marshallers.put(contentType, marshaller);
 	}
 
+	public void registerPayloadSplitter(String contentType, Supplier<PayloadSplitter> splitter) {
+		config.payloadSplitters.put(contentType, splitter);
+	}
+
+	/**
+	 * Makes a DataLoader available by this name, through the DataLoaders injected in controllers and filters
+	 */
+	public <K, V> void registerBatchLoader(String name, BatchLoader<K, V> batchLoader) {
+		config.batchLoaders.put(name, batchLoader);
+	}
+
 	public <T> void registerTypeParamInjector(Class<? extends T> clazz, ParamInjector<T> injector) {
 		config.typeInjectors.registerInjector(clazz, injector);
 	}
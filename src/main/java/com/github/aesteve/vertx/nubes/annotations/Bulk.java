@@ -0,0 +1,18 @@
+package com.github.aesteve.vertx.nubes.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The request body is a stream of records (newline-delimited JSON for instance) : the method is invoked for each record,
+ * or for each batch of (at most) batchSize records if its @RequestBody is a List.
+ * 
+ * Results are streamed back as newline-delimited JSON, one line per record, in the order records were received.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Bulk {
+	public int batchSize() default 1;
+}
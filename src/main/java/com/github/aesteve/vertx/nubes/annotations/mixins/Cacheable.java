@@ -0,0 +1,35 @@
+package com.github.aesteve.vertx.nubes.annotations.mixins;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the response (status, headers and body) of GET requests in the server-side cache for ttl,
+ * cached responses are sent without invoking the method.
+ * 
+ * Responses are cached per path and negotiated content-type, plus the request properties listed in varyBy and headers.
+ * name groups cached responses, so that they can be invalidated together (see ResponseCache.invalidate), it's the request path by default.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface Cacheable {
+
+	public enum Vary {
+		PARAMS, LOCALE, USER
+	}
+
+	public long ttl() default 60;
+
+	public TimeUnit unit() default TimeUnit.SECONDS;
+
+	public String name() default "";
+
+	public Vary[] varyBy() default { Vary.PARAMS };
+
+	public String[] headers() default {};
+}
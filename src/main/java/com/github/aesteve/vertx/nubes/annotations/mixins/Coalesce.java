@@ -0,0 +1,28 @@
+package com.github.aesteve.vertx.nubes.annotations.mixins;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identical GET requests received while the action is running are not executed again : they wait for the running one's response and get a copy of it.
+ * 
+ * Requests are identical if they share the path, the negotiated content-type and the query parameters listed in params (the whole query string by default).
+ * At most maxWaiters requests wait for a given one, the next ones are rejected (503), as are the ones waiting for more than timeout.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface Coalesce {
+
+	public String[] params() default {};
+
+	public int maxWaiters() default 1000;
+
+	public long timeout() default 10;
+
+	public TimeUnit unit() default TimeUnit.SECONDS;
+}
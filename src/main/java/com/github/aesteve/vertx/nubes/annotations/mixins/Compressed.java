@@ -0,0 +1,25 @@
+package com.github.aesteve.vertx.nubes.annotations.mixins;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Compresses the response body (gzip or deflate), according to the client's Accept-Encoding header.
+ * 
+ * Bodies smaller than minSize bytes are sent as is.
+ * If cache is true, compressed bodies are kept (in a bounded cache, see "compression-cache-size" in config)
+ * so that a body sent again and again is only compressed once.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface Compressed {
+	public int minSize() default 1024;
+
+	public int level() default 6;
+
+	public boolean cache() default false;
+}
@@ -0,0 +1,20 @@
+package com.github.aesteve.vertx.nubes.annotations.mixins;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Computes a strong ETag from the response body (payload or view) of GET / HEAD requests,
+ * and answers 304 Not Modified (without body) if it matches the client's If-None-Match header.
+ * 
+ * The body still has to be computed, inject a ResourceVersion in the method to skip it when the client is up-to-date.
+ * If the method sets the ETag header by itself, it's used as is.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface ETag {
+}
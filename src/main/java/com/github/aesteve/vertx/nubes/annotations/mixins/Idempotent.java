@@ -0,0 +1,33 @@
+package com.github.aesteve.vertx.nubes.annotations.mixins;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests sent with an idempotency key (the header) are only executed once : a retry with the same key gets the response sent to the original request,
+ * or waits for it (at most timeout) if the original request is still being processed.
+ * 
+ * Responses are stored for ttl in the idempotency store (see "idempotency-store-size" in config).
+ * If required is true, requests without idempotency key are rejected (400).
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface Idempotent {
+
+	public String header() default "Idempotency-Key";
+
+	public boolean required() default false;
+
+	public long ttl() default 24;
+
+	public TimeUnit unit() default TimeUnit.HOURS;
+
+	public long timeout() default 30;
+
+	public TimeUnit timeoutUnit() default TimeUnit.SECONDS;
+}
@@ -0,0 +1,20 @@
+package com.github.aesteve.vertx.nubes.annotations.mixins;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Lets the client select the fields it needs in the response payload (sparse fieldsets)
+ * using a query parameter, for instance : ?fields=name,owner(name,address(city))
+ * 
+ * The value is the name of the query parameter to read the projection from.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Inherited
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface Projection {
+	public String value() default "fields";
+}
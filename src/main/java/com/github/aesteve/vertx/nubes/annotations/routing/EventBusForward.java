@@ -0,0 +1,34 @@
+package com.github.aesteve.vertx.nubes.annotations.routing;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The raw request body is sent (as a Buffer) to this event bus address, and the reply is sent back as the response body.
+ * Nothing is unmarshalled, and the method itself isn't invoked.
+ *
+ * The body is read by this annotation's processor : filters and processors running before it must not read it.
+ * The response is ended as soon as the reply comes back, so after filters and the processors running after it (@ContentType, @Compressed...) are not applied.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface EventBusForward {
+
+	/**
+	 * The event bus address
+	 */
+	String value();
+
+	/**
+	 * How long (in ms) to wait for the reply before answering 504
+	 */
+	long timeout() default 30000;
+
+	/**
+	 * The request headers sent along with the body, as message headers. Content-Encoding should be kept : the body is forwarded compressed, as the client sent it
+	 */
+	String[] headers() default { "Content-Type", "Content-Encoding" };
+
+}
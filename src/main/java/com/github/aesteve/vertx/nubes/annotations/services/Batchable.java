@@ -0,0 +1,31 @@
+package com.github.aesteve.vertx.nubes.annotations.services;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * On a method of a service interface taking a single argument and a result handler.
+ * Calls made through a @ServiceProxy within the window are merged into a single call to the batch method.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Batchable {
+
+	/**
+	 * The name of the batch method : taking a List of arguments and a handler of the List of their results, in the same order
+	 */
+	String method();
+
+	/**
+	 * How long (in ms) to wait for other calls before invoking the batch method
+	 */
+	long window() default 5;
+
+	/**
+	 * The maximum number of arguments in a batch, the batch method is invoked as soon as it's reached
+	 */
+	int maxSize() default 100;
+
+}
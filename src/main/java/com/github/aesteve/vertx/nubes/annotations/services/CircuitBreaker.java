@@ -0,0 +1,36 @@
+package com.github.aesteve.vertx.nubes.annotations.services;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Options of the circuit breaker of a @ServiceProxy
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({})
+public @interface CircuitBreaker {
+
+	boolean enabled() default true;
+
+	/**
+	 * The number of failures (or timeouts) within the window opening the circuit
+	 */
+	int maxFailures() default 5;
+
+	/**
+	 * The sliding window (in ms) failures are counted in
+	 */
+	long window() default 10000;
+
+	/**
+	 * How long (in ms) the circuit stays open before letting a call through to try the service again
+	 */
+	long resetTimeout() default 30000;
+
+	/**
+	 * An implementation of the service interface (with a no-arg constructor) called instead of the service when a call fails, or the circuit is open
+	 */
+	Class<?> fallback() default Void.class;
+
+}
@@ -11,4 +11,42 @@ public @interface Consumer {
 
 	String value();
 
-}
\ No newline at end of file
+	/**
+	 * Invokes the method on a worker thread instead of the service's event loop
+	 */
+	boolean worker() default false;
+
+	/**
+	 * The maximum number of invocations running at the same time (only for workers)
+	 */
+	int concurrency() default 1;
+
+	/**
+	 * If greater than 1, the method takes a List<Message> of up to batchSize messages
+	 */
+	int batchSize() default 1;
+
+	/**
+	 * How long (in ms) to wait for a batch to be full before invoking the method with the messages already received. Required if batchSize is greater than 1
+	 */
+	long batchTimeout() default 0;
+
+	/**
+	 * The maximum number of messages waiting to be processed, the consumer is paused when it's reached. 0 for unbounded
+	 * While it's paused, the event bus keeps up to maxPending more messages, and drops the next ones.
+	 */
+	int maxPending() default 0;
+
+	/**
+	 * If greater than 1, messages are dispatched to this number of lanes, each one running on its own event loop.
+	 * Messages with the same partition key are processed in order, by the same lane.
+	 */
+	int partitions() default 1;
+
+	/**
+	 * The partition key : "header:someHeader", "body:someField" (for JsonObject bodies),
+	 * or the name of a method of the service taking the Message and returning the key. The whole body by default
+	 */
+	String partitionBy() default "";
+
+}
@@ -0,0 +1,29 @@
+package com.github.aesteve.vertx.nubes.annotations.services;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caches the results of a service method, by arguments.
+ * 
+ * The service is wrapped when it's injected with @Service, calls made from within the service itself aren't cached.
+ * If the last parameter is a Handler<AsyncResult<T>>, successful results are cached and concurrent calls with the same arguments share the same invocation.
+ * Synchronous calls can't wait for one another without blocking their thread : concurrent ones with the same arguments each invoke the method.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Memoize {
+
+	int maxEntries() default 1000;
+
+	/**
+	 * 0 means results never expire (they're only evicted)
+	 */
+	long ttl() default 60;
+
+	TimeUnit unit() default TimeUnit.SECONDS;
+
+}
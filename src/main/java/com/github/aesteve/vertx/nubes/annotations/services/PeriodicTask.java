@@ -9,6 +9,34 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 public @interface PeriodicTask {
 
-	long value();
+	/**
+	 * The period (in ms), if no cron expression is specified
+	 */
+	long value() default 0;
 
-}
\ No newline at end of file
+	/**
+	 * A cron expression : "[second] minute hour day-of-month month day-of-week"
+	 */
+	String cron() default "";
+
+	/**
+	 * If true, waits for the period after each run completes instead of running at a fixed rate
+	 */
+	boolean fixedDelay() default false;
+
+	/**
+	 * Runs the task on a worker thread
+	 */
+	boolean worker() default false;
+
+	/**
+	 * Delays each run by a random time (in ms) up to this value, to spread many tasks
+	 */
+	long jitter() default 0;
+
+	/**
+	 * Runs the task on a single node of the cluster (or a single instance of the JVM), the one holding its lease
+	 */
+	boolean singleton() default false;
+
+}
@@ -11,4 +11,11 @@ public @interface ServiceProxy {
 
 	String value();
 
-}
\ No newline at end of file
+	/**
+	 * How long (in ms) to wait for the result of a call (local or through the event bus) before failing it, 0 for no timeout (the event bus default applies to remote calls)
+	 */
+	long timeout() default 0;
+
+	CircuitBreaker circuitBreaker() default @CircuitBreaker(enabled = false);
+
+}
@@ -9,6 +9,11 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 public @interface Verticle {
 
+	/**
+	 * As many instances as the number of cores
+	 */
+	int AUTO = 0;
+
 	boolean inheritsConfig() default false;
 
 	int instances() default -1;
@@ -20,4 +25,34 @@ public @interface Verticle {
 	boolean multiThreaded() default false;
 
 	boolean worker() default false;
-}
\ No newline at end of file
+
+	/**
+	 * The event bus addresses the number of instances is scaled on (between minInstances and maxInstances).
+	 * Instances must consume (and reply to) the messages sent to VerticleSupervisor.instanceAddress(address)
+	 */
+	String[] scaleOn() default {};
+
+	int minInstances() default 1;
+
+	int maxInstances() default AUTO;
+
+	/**
+	 * The number of messages waiting for a reply, per instance, above which instances are added
+	 */
+	int scaleUpBacklog() default 10;
+
+	/**
+	 * The number of messages waiting for a reply, per instance, under which an instance is removed
+	 */
+	int scaleDownBacklog() default 1;
+
+	/**
+	 * The mean time (in ms) to reply above which instances are added, 0 not to scale on latency
+	 */
+	long scaleUpLatency() default 0;
+
+	/**
+	 * How often (in ms) the load is sampled
+	 */
+	long scaleInterval() default 1000;
+}
@@ -8,4 +8,9 @@ import java.lang.annotation.Target;
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.METHOD)
 public @interface OnMessage {
+
+	/**
+	 * The content type of the frames, to find the marshaller decoding them if the method takes a POJO
+	 */
+	String contentType() default "application/json";
 }
@@ -0,0 +1,29 @@
+package com.github.aesteve.vertx.nubes.annotations.sockjs;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A controller handling raw websockets (without SockJS framing) with @OnOpen, @OnMessage and @OnClose methods
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface WebSocket {
+
+	/**
+	 * The path websockets are upgraded on
+	 */
+	String value();
+
+	/**
+	 * The maximum size (in bytes) of a message, once its fragments are aggregated. The socket is closed if a message is bigger
+	 */
+	int maxMessageSize() default 65536;
+
+	/**
+	 * The size of the write queue above which reading from the socket is paused, until it drains. 0 for Vert.x's default
+	 */
+	int writeQueueMaxSize() default 0;
+}
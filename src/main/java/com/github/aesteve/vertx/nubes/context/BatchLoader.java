@@ -0,0 +1,20 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+import java.util.List;
+
+/**
+ * Loads values by keys, in a single call (a single query, a single event bus message, ...)
+ */
+@FunctionalInterface
+public interface BatchLoader<K, V> {
+
+	/**
+	 * @param keys distinct keys
+	 * @param handler to call with the values, in the same order as the keys
+	 */
+	public void load(List<K> keys, Handler<AsyncResult<List<V>>> handler);
+
+}
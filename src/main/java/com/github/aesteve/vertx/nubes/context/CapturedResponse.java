@@ -0,0 +1,103 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_LENGTH;
+import static io.vertx.core.http.HttpHeaders.TRANSFER_ENCODING;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A response as written by an action : status, headers and body, to be sent again to other requests (cached, coalesced or replayed responses).
+ */
+public class CapturedResponse {
+
+	private static final int OVERHEAD = 64;
+
+	private final int status;
+	private final List<Map.Entry<String, String>> headers;
+	private final Buffer body;
+
+	public CapturedResponse(int status, List<Map.Entry<String, String>> headers, Buffer body) {
+		this.status = status;
+		this.headers = headers;
+		this.body = body;
+	}
+
+	/**
+	 * Captures the response about to be sent with this body.
+	 * The headers depending on how the body is sent over the wire (length, transfer and content encodings) aren't kept.
+	 */
+	public static CapturedResponse capture(HttpServerResponse response, Buffer body) {
+		List<Map.Entry<String, String>> headers = new ArrayList<>();
+		response.headers().forEach(header -> {
+			String headerName = header.getKey();
+			if (!CONTENT_LENGTH.toString().equalsIgnoreCase(headerName) && !TRANSFER_ENCODING.toString().equalsIgnoreCase(headerName) && !CONTENT_ENCODING.toString().equalsIgnoreCase(headerName)) {
+				headers.add(new AbstractMap.SimpleImmutableEntry<>(headerName, header.getValue()));
+			}
+		});
+		return new CapturedResponse(response.getStatusCode(), headers, body.copy());
+	}
+
+	/**
+	 * Sends this response (through the body interceptors and encoder of the request), replacing the headers it sets
+	 */
+	public void replay(RoutingContext context) {
+		HttpServerResponse response = context.response();
+		response.setStatusCode(status);
+		for (Map.Entry<String, String> header : headers) {
+			response.headers().remove(header.getKey());
+		}
+		for (Map.Entry<String, String> header : headers) {
+			response.headers().add(header.getKey(), header.getValue());
+		}
+		ResponseWriter.end(context, body);
+	}
+
+	public int status() {
+		return status;
+	}
+
+	public List<Map.Entry<String, String>> headers() {
+		return headers;
+	}
+
+	public Buffer body() {
+		return body;
+	}
+
+	/**
+	 * @return the size (approximately) of this response in memory
+	 */
+	public long weight() {
+		long weight = OVERHEAD + body.length();
+		for (Map.Entry<String, String> header : headers) {
+			weight += 2 * (header.getKey().length() + header.getValue().length());
+		}
+		return weight;
+	}
+
+	public JsonObject toJson() {
+		JsonArray jsonHeaders = new JsonArray();
+		for (Map.Entry<String, String> header : headers) {
+			jsonHeaders.add(new JsonArray().add(header.getKey()).add(header.getValue()));
+		}
+		return new JsonObject().put("status", status).put("headers", jsonHeaders).put("body", body.getBytes());
+	}
+
+	public static CapturedResponse fromJson(JsonObject json) {
+		List<Map.Entry<String, String>> headers = new ArrayList<>();
+		for (Object header : json.getJsonArray("headers")) {
+			JsonArray pair = (JsonArray) header;
+			headers.add(new AbstractMap.SimpleImmutableEntry<>(pair.getString(0), pair.getString(1)));
+		}
+		return new CapturedResponse(json.getInteger("status"), headers, Buffer.buffer(json.getBinary("body")));
+	}
+}
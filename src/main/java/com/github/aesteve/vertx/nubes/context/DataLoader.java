@@ -0,0 +1,155 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads values by key for the duration of a request.
+ *
+ * The keys asked for during the same tick of the event loop are de-duplicated, and loaded by a single call to the batch loader on the next tick.
+ * Loaded values are cached until the end of the request, failures aren't.
+ */
+public class DataLoader<K, V> {
+
+	private final Vertx vertx;
+	private final BatchLoader<K, V> batchLoader;
+	private final Map<K, AsyncResult<V>> cache;
+	private Map<K, List<Handler<AsyncResult<V>>>> queue;
+	private Map<K, List<Handler<AsyncResult<V>>>> loading;
+
+	public DataLoader(Vertx vertx, BatchLoader<K, V> batchLoader) {
+		this.vertx = vertx;
+		this.batchLoader = batchLoader;
+		cache = new HashMap<>();
+		queue = new LinkedHashMap<>();
+		loading = new HashMap<>();
+	}
+
+	public void load(K key, Handler<AsyncResult<V>> handler) {
+		AsyncResult<V> cached = cache.get(key);
+		if (cached != null) {
+			handler.handle(cached);
+			return;
+		}
+		List<Handler<AsyncResult<V>>> inFlight = loading.get(key);
+		if (inFlight != null) {
+			inFlight.add(handler);
+			return;
+		}
+		if (queue.isEmpty()) {
+			vertx.runOnContext(v -> dispatch());
+		}
+		queue.computeIfAbsent(key, k -> new ArrayList<>(1)).add(handler);
+	}
+
+	/**
+	 * @param handler called with the values, in the same order as the keys
+	 */
+	public void loadMany(List<K> keys, Handler<AsyncResult<List<V>>> handler) {
+		if (keys.isEmpty()) {
+			handler.handle(Future.succeededFuture(new ArrayList<>()));
+			return;
+		}
+		List<V> values = new ArrayList<>(keys.size());
+		for (int i = 0; i < keys.size(); i++) {
+			values.add(null);
+		}
+		AtomicInteger remaining = new AtomicInteger(keys.size());
+		boolean[] failed = new boolean[1];
+		for (int i = 0; i < keys.size(); i++) {
+			int index = i;
+			load(keys.get(i), res -> {
+				if (failed[0]) {
+					return;
+				}
+				if (res.failed()) {
+					failed[0] = true;
+					handler.handle(Future.failedFuture(res.cause()));
+					return;
+				}
+				values.set(index, res.result());
+				if (remaining.decrementAndGet() == 0) {
+					handler.handle(Future.succeededFuture(values));
+				}
+			});
+		}
+	}
+
+	/**
+	 * Caches a value already known, so that it's not loaded
+	 */
+	public void prime(K key, V value) {
+		cache.put(key, Future.succeededFuture(value));
+	}
+
+	public void clear(K key) {
+		cache.remove(key);
+	}
+
+	private void dispatch() {
+		Map<K, List<Handler<AsyncResult<V>>>> batch = queue;
+		queue = new LinkedHashMap<>();
+		loading.putAll(batch);
+		List<K> keys = new ArrayList<>(batch.keySet());
+		boolean[] done = new boolean[1];
+		try {
+			batchLoader.load(keys, res -> {
+				if (done[0]) {
+					return;
+				}
+				done[0] = true;
+				if (res.succeeded() && (res.result() == null || res.result().size() != keys.size())) {
+					complete(batch, keys, null, new VertxException("The batch loader should return as many values as keys : " + keys.size()));
+				} else {
+					complete(batch, keys, res.result(), res.cause());
+				}
+			});
+		} catch (RuntimeException re) {
+			if (done[0]) { // thrown by a handler, called synchronously by the loader
+				throw re;
+			}
+			done[0] = true;
+			complete(batch, keys, null, re);
+		}
+	}
+
+	/**
+	 * Every handler is called, even if one of them throws (the first exception thrown is rethrown afterwards)
+	 */
+	private void complete(Map<K, List<Handler<AsyncResult<V>>>> batch, List<K> keys, List<V> values, Throwable cause) {
+		RuntimeException thrown = null;
+		for (int i = 0; i < keys.size(); i++) {
+			K key = keys.get(i);
+			AsyncResult<V> result;
+			if (cause == null) {
+				result = Future.succeededFuture(values.get(i));
+				cache.put(key, result);
+			} else {
+				result = Future.failedFuture(cause);
+			}
+			loading.remove(key);
+			for (Handler<AsyncResult<V>> handler : batch.get(key)) {
+				try {
+					handler.handle(result);
+				} catch (RuntimeException re) {
+					if (thrown == null) {
+						thrown = re;
+					}
+				}
+			}
+		}
+		if (thrown != null) {
+			throw thrown;
+		}
+	}
+}
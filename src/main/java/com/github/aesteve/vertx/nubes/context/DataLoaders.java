@@ -0,0 +1,39 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import io.vertx.core.Vertx;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The data loaders of a request, by the name their batch loader has been registered under (see VertxNubes.registerBatchLoader)
+ */
+public class DataLoaders {
+
+	private final Vertx vertx;
+	private final Map<String, BatchLoader<?, ?>> batchLoaders;
+	private final Map<String, DataLoader<?, ?>> loaders;
+
+	public DataLoaders(Vertx vertx, Map<String, BatchLoader<?, ?>> batchLoaders) {
+		this.vertx = vertx;
+		this.batchLoaders = batchLoaders;
+		loaders = new HashMap<>();
+	}
+
+	/**
+	 * @throws IllegalArgumentException if no batch loader has been registered under this name
+	 */
+	@SuppressWarnings("unchecked")
+	public <K, V> DataLoader<K, V> get(String name) {
+		DataLoader<?, ?> loader = loaders.get(name);
+		if (loader == null) {
+			BatchLoader<K, V> batchLoader = (BatchLoader<K, V>) batchLoaders.get(name);
+			if (batchLoader == null) {
+				throw new IllegalArgumentException("No batch loader registered under : " + name);
+			}
+			loader = new DataLoader<>(vertx, batchLoader);
+			loaders.put(name, loader);
+		}
+		return (DataLoader<K, V>) loader;
+	}
+}
@@ -0,0 +1,51 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import com.github.aesteve.vertx.nubes.utils.async.SingleFlight;
+
+/**
+ * The requests of @Coalesce routes being processed, shared by every Nubes instance of a Vertx.
+ *
+ * For a given key, the first request (the leader) executes the action, the identical requests received meanwhile (the followers)
+ * are parked until the leader's response is known, and get a copy of it (null if the leader's response can't be shared),
+ * or a {@link LeaderFailure} if the leader failed.
+ */
+public class InFlightRequests extends SingleFlight<String, CapturedResponse> implements Shareable {
+
+	private static final String SHARED_MAP = "nubes-in-flight-requests";
+
+	public static InFlightRequests shared(Vertx vertx) {
+		LocalMap<String, InFlightRequests> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+		InFlightRequests requests = map.get(SHARED_MAP);
+		if (requests == null) {
+			InFlightRequests created = new InFlightRequests();
+			requests = map.putIfAbsent(SHARED_MAP, created);
+			if (requests == null) {
+				requests = created;
+			}
+		}
+		return requests;
+	}
+
+	/**
+	 * The leader's request failed with this status.
+	 */
+	public static class LeaderFailure extends RuntimeException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int status;
+
+		public LeaderFailure(int status) {
+			super("The coalesced request failed with status " + status, null, false, false);
+			this.status = status;
+		}
+
+		public int status() {
+			return status;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The parsed form of a sparse fieldset such as "name,owner(name,address(city)),tags"
+ * Dotted paths are accepted too : "owner.name" is the same as "owner(name)"
+ * 
+ * A node without children (a leaf) means "the whole value".
+ * Instances are immutable once parsed, so that they can be cached and shared between requests.
+ * 
+ * @author aesteve
+ */
+public class ProjectionTree {
+
+	public static final String DATA_ATTR = "nubes-projection";
+
+	private final Map<String, ProjectionTree> children;
+
+	private ProjectionTree() {
+		children = new LinkedHashMap<>();
+	}
+
+	public static ProjectionTree fromContext(RoutingContext context) {
+		return context.get(DATA_ATTR);
+	}
+
+	public boolean isLeaf() {
+		return children.isEmpty();
+	}
+
+	public Set<String> fields() {
+		return Collections.unmodifiableSet(children.keySet());
+	}
+
+	public ProjectionTree child(String field) {
+		return children.get(field);
+	}
+
+	/**
+	 * @param fields the projection, as sent by the client
+	 * @return the projection tree
+	 * @throws IllegalArgumentException if the projection is malformed
+	 */
+	public static ProjectionTree parse(String fields) {
+		ProjectionTree root = new ProjectionTree();
+		int end = root.parseChildren(fields, 0);
+		if (end != fields.length()) {
+			throw new IllegalArgumentException("Unexpected ')' at index " + end + " in projection : " + fields);
+		}
+		if (root.isLeaf()) {
+			throw new IllegalArgumentException("Empty projection");
+		}
+		return root;
+	}
+
+	/**
+	 * Parses a comma-separated list of fields starting at index start,
+	 * stops on a closing parenthesis (or at the end of the String)
+	 * 
+	 * @return the index where parsing stopped
+	 */
+	private int parseChildren(String fields, int start) {
+		int i = start;
+		while (i < fields.length()) {
+			char c = fields.charAt(i);
+			if (c == ')') {
+				return i;
+			}
+			if (c == ',' || Character.isWhitespace(c)) {
+				i++;
+				continue;
+			}
+			int nameStart = i;
+			while (i < fields.length() && "(),.".indexOf(fields.charAt(i)) == -1) {
+				i++;
+			}
+			String name = fields.substring(nameStart, i).trim();
+			if (name.isEmpty()) {
+				throw new IllegalArgumentException("Missing field name at index " + nameStart + " in projection : " + fields);
+			}
+			ProjectionTree child = children.computeIfAbsent(name, key -> new ProjectionTree());
+			if (i < fields.length() && fields.charAt(i) == '(') {
+				i = child.parseChildren(fields, i + 1);
+				if (i >= fields.length()) {
+					throw new IllegalArgumentException("Missing ')' in projection : " + fields);
+				}
+				i++;
+			} else if (i < fields.length() && fields.charAt(i) == '.') {
+				int next = i + 1;
+				while (next < fields.length() && "(),".indexOf(fields.charAt(next)) == -1) {
+					next++;
+				}
+				child.parseChildren(fields.substring(i + 1, next), 0);
+				i = next;
+			}
+		}
+		return i;
+	}
+
+	@Override
+	public String toString() {
+		if (isLeaf()) {
+			return "";
+		}
+		StringBuilder sb = new StringBuilder();
+		children.forEach((name, child) -> {
+			if (sb.length() > 0) {
+				sb.append(',');
+			}
+			sb.append(name);
+			if (!child.isLeaf()) {
+				sb.append('(').append(child).append(')');
+			}
+		});
+		return sb.toString();
+	}
+}
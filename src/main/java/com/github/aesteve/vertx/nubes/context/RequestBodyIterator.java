@@ -0,0 +1,166 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import io.vertx.core.Context;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import com.github.aesteve.vertx.nubes.exceptions.InvalidBodyElementException;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadSplitter;
+
+/**
+ * The elements of the request body, for @Blocking methods : hasNext() blocks until the next element is received.
+ * 
+ * At most "capacity" elements are kept in memory : once they're all waiting to be consumed, the request is paused.
+ * next() throws an {@link InvalidBodyElementException} for elements that can't be read, the iteration can go on.
+ * A malformed body ends the iteration, and is answered with a 400 status once the method returns.
+ */
+public class RequestBodyIterator<T> implements Iterator<T> {
+
+	private static final Object END = new Object();
+	private static final Object NULL = new Object();
+
+	private final HttpServerRequest request;
+	private final Context vertxContext;
+	private final PayloadSplitter splitter;
+	private final Function<String, T> decoder;
+	private final BlockingQueue<Object> queue;
+	private final int capacity;
+	private final AtomicBoolean resumeScheduled;
+	private volatile boolean requestPaused;
+	private boolean requestEnded;
+	private volatile Throwable failure;
+	private long index;
+	private Object next;
+
+	public RequestBodyIterator(RoutingContext context, PayloadSplitter splitter, Function<String, T> decoder, int capacity) {
+		this.splitter = splitter;
+		this.decoder = decoder;
+		this.capacity = capacity;
+		queue = new LinkedBlockingQueue<>();
+		resumeScheduled = new AtomicBoolean();
+		vertxContext = context.vertx().getOrCreateContext();
+		request = context.request();
+		request.handler(this::feed);
+		request.endHandler(v -> requestEnded());
+		request.exceptionHandler(this::fail);
+		request.resume(); // paused by the route until its body is read
+		context.response().closeHandler(v -> fail(new IllegalStateException("The connection has been closed")));
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (next == null) {
+			try {
+				next = queue.take();
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+				throw new IllegalStateException("Interrupted while waiting for the request body", ie);
+			}
+		}
+		return next != END;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Object element = next;
+		next = null;
+		resumeIfNeeded();
+		if (element instanceof InvalidBodyElementException) {
+			throw (InvalidBodyElementException) element;
+		}
+		return element == NULL ? null : (T) element;
+	}
+
+	private void feed(Buffer chunk) {
+		if (failure != null) {
+			return;
+		}
+		try {
+			splitter.feed(chunk, this::decode, this::invalid);
+		} catch (IllegalArgumentException iae) {
+			fail(iae);
+			return;
+		}
+		if (queue.size() >= capacity && !requestPaused) {
+			requestPaused = true;
+			request.pause();
+			resumeIfNeeded(); // the worker may have drained the queue before seeing the request paused
+		}
+	}
+
+	private void requestEnded() {
+		requestEnded = true;
+		if (failure != null) {
+			return;
+		}
+		try {
+			splitter.end(this::decode, this::invalid);
+		} catch (IllegalArgumentException iae) {
+			fail(iae);
+			return;
+		}
+		queue.add(END);
+	}
+
+	private void decode(String element) {
+		long elementIndex = index++;
+		try {
+			T value = decoder.apply(element);
+			queue.add(value == null ? NULL : value);
+		} catch (RuntimeException re) {
+			queue.add(new InvalidBodyElementException(elementIndex, re));
+		}
+	}
+
+	private void invalid(RuntimeException cause) {
+		queue.add(new InvalidBodyElementException(index++, cause));
+	}
+
+	private void resumeIfNeeded() {
+		if (requestPaused && queue.size() <= capacity / 2 && resumeScheduled.compareAndSet(false, true)) {
+			vertxContext.runOnContext(v -> {
+				resumeScheduled.set(false);
+				if (requestPaused && failure == null) {
+					requestPaused = false;
+					request.resume();
+				}
+			});
+		}
+	}
+
+	private void fail(Throwable cause) {
+		if (failure != null) {
+			return;
+		}
+		failure = cause;
+		queue.add(END);
+		if (!requestEnded) {
+			request.handler(chunk -> {
+				// discard the rest of the body
+			});
+			if (requestPaused) {
+				requestPaused = false;
+				request.resume();
+			}
+		}
+	}
+
+	/**
+	 * @return the reason why the body couldn't be read (if it's malformed), or null
+	 */
+	public Throwable failure() {
+		return failure;
+	}
+}
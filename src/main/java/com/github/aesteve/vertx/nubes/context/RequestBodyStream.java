@@ -0,0 +1,202 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+
+import com.github.aesteve.vertx.nubes.exceptions.InvalidBodyElementException;
+import com.github.aesteve.vertx.nubes.handlers.impl.DefaultErrorHandler;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadSplitter;
+
+/**
+ * The elements of the request body, read as they are received.
+ * 
+ * Elements received while the stream is paused are kept aside. Once "maxPending" elements are waiting, the request is paused too :
+ * the client is not read anymore until the stream is resumed.
+ * Elements that can't be read are reported to the exceptionHandler as {@link InvalidBodyElementException}, and the stream goes on.
+ * A malformed body is reported to the exceptionHandler too, but ends the stream (the end handler is never called).
+ * If no exceptionHandler is set, errors are answered with a 400 status.
+ */
+public class RequestBodyStream<T> implements ReadStream<T> {
+
+	private final RoutingContext context;
+	private final HttpServerRequest request;
+	private final PayloadSplitter splitter;
+	private final Function<String, T> decoder;
+	private final Deque<Object> pending; // elements, or the errors of the ones which can't be read
+	private final int maxPending;
+	private Handler<T> handler;
+	private Handler<Void> endHandler;
+	private Handler<Throwable> exceptionHandler;
+	private boolean paused;
+	private boolean requestPaused;
+	private boolean requestEnded;
+	private boolean ended;
+	private boolean failed;
+	private boolean draining;
+	private long index;
+
+	public RequestBodyStream(RoutingContext context, PayloadSplitter splitter, Function<String, T> decoder, int maxPending) {
+		this.context = context;
+		this.splitter = splitter;
+		this.decoder = decoder;
+		this.maxPending = maxPending;
+		pending = new ArrayDeque<>();
+		request = context.request();
+		request.handler(this::feed);
+		request.endHandler(v -> requestEnded());
+		request.exceptionHandler(this::fail);
+		request.resume(); // paused by the route until its body is read
+	}
+
+	@Override
+	public ReadStream<T> handler(Handler<T> handler) {
+		this.handler = handler;
+		drain();
+		return this;
+	}
+
+	@Override
+	public ReadStream<T> endHandler(Handler<Void> endHandler) {
+		this.endHandler = endHandler;
+		drain();
+		return this;
+	}
+
+	@Override
+	public ReadStream<T> exceptionHandler(Handler<Throwable> exceptionHandler) {
+		this.exceptionHandler = exceptionHandler;
+		return this;
+	}
+
+	@Override
+	public ReadStream<T> pause() {
+		paused = true;
+		return this;
+	}
+
+	@Override
+	public ReadStream<T> resume() {
+		paused = false;
+		drain();
+		return this;
+	}
+
+	private void feed(Buffer chunk) {
+		if (failed) {
+			return;
+		}
+		try {
+			splitter.feed(chunk, pending::add, pending::add);
+		} catch (IllegalArgumentException iae) {
+			fail(iae);
+			return;
+		}
+		drain();
+	}
+
+	private void requestEnded() {
+		if (failed) {
+			return;
+		}
+		requestEnded = true;
+		try {
+			splitter.end(pending::add, pending::add);
+		} catch (IllegalArgumentException iae) {
+			fail(iae);
+			return;
+		}
+		drain();
+	}
+
+	private void drain() {
+		if (draining || failed) {
+			return;
+		}
+		draining = true;
+		try {
+			while (!paused && !failed && handler != null && !pending.isEmpty()) {
+				deliver(pending.poll());
+			}
+		} finally {
+			draining = false;
+		}
+		if (failed) {
+			return;
+		}
+		if (!requestEnded) {
+			if (pending.size() >= maxPending) {
+				pauseRequest();
+			} else {
+				resumeRequest();
+			}
+		} else if (pending.isEmpty() && !paused && !ended) {
+			ended = true;
+			if (endHandler != null) {
+				endHandler.handle(null);
+			}
+		}
+	}
+
+	private void deliver(Object element) {
+		long elementIndex = index++;
+		T value = null;
+		RuntimeException cause = element instanceof RuntimeException ? (RuntimeException) element : null;
+		if (cause == null) {
+			try {
+				value = decoder.apply((String) element);
+			} catch (RuntimeException re) {
+				cause = re;
+			}
+		}
+		if (cause != null) {
+			InvalidBodyElementException error = new InvalidBodyElementException(elementIndex, cause);
+			if (exceptionHandler != null) {
+				exceptionHandler.handle(error);
+			} else {
+				fail(error);
+			}
+			return;
+		}
+		handler.handle(value);
+	}
+
+	private void pauseRequest() {
+		if (!requestPaused) {
+			requestPaused = true;
+			request.pause();
+		}
+	}
+
+	private void resumeRequest() {
+		if (requestPaused) {
+			requestPaused = false;
+			request.resume();
+		}
+	}
+
+	private void fail(Throwable cause) {
+		if (failed) {
+			return;
+		}
+		failed = true;
+		pending.clear();
+		if (!requestEnded) {
+			request.handler(chunk -> {
+				// discard the rest of the body
+			});
+			resumeRequest();
+		}
+		if (exceptionHandler != null) {
+			exceptionHandler.handle(cause);
+		} else {
+			DefaultErrorHandler.badRequest(context, "Invalid request body : " + cause.getMessage());
+		}
+	}
+}
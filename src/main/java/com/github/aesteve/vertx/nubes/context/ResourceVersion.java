@@ -0,0 +1,127 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import static io.vertx.core.http.HttpHeaders.CONTENT_LENGTH;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import static io.vertx.core.http.HttpHeaders.ETAG;
+import static io.vertx.core.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static io.vertx.core.http.HttpHeaders.IF_NONE_MATCH;
+import static io.vertx.core.http.HttpHeaders.LAST_MODIFIED;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Date;
+
+import com.github.aesteve.vertx.nubes.utils.DateUtils;
+
+/**
+ * Lets a controller tell which version of the resource it's about to send, before doing the heavy work.
+ *
+ * If the client already holds this version (If-None-Match / If-Modified-Since), the response is ended right away with a 304,
+ * and the method should just return :
+ *
+ * if (version.notModified(dog.getVersion())) {
+ *   return null;
+ * }
+ *
+ * Otherwise, the ETag / Last-Modified headers are set, and will be sent along with the response.
+ */
+public class ResourceVersion {
+
+	private RoutingContext context;
+
+	public ResourceVersion(RoutingContext context) {
+		this.context = context;
+	}
+
+	/**
+	 * @param etag the version of the resource (quoted if it isn't already)
+	 * @return true if the client already holds this version, and the response has been ended
+	 */
+	public boolean notModified(String etag) {
+		return notModified(etag, null);
+	}
+
+	/**
+	 * @return true if the resource hasn't changed since the client fetched it, and the response has been ended
+	 */
+	public boolean notModifiedSince(Date lastModified) {
+		return notModified(null, lastModified);
+	}
+
+	public boolean notModified(String etag, Date lastModified) {
+		HttpServerRequest request = context.request();
+		HttpServerResponse response = context.response();
+		if (etag != null) {
+			etag = quote(etag);
+			response.putHeader(ETAG, etag);
+		}
+		if (lastModified != null) {
+			response.putHeader(LAST_MODIFIED, DateUtils.INSTANCE.formatHttpDate(lastModified));
+		}
+		if (request.method() != HttpMethod.GET && request.method() != HttpMethod.HEAD) {
+			return false;
+		}
+		boolean fresh;
+		String ifNoneMatch = request.getHeader(IF_NONE_MATCH.toString());
+		if (ifNoneMatch != null) { // takes precedence over If-Modified-Since
+			fresh = etag != null && matches(ifNoneMatch, etag);
+		} else {
+			fresh = lastModified != null && notModifiedSince(request.getHeader(IF_MODIFIED_SINCE.toString()), lastModified);
+		}
+		if (fresh) {
+			sendNotModified(response);
+		}
+		return fresh;
+	}
+
+	public static String quote(String etag) {
+		if (etag.endsWith("\"") && (etag.startsWith("\"") || etag.startsWith("W/\""))) {
+			return etag;
+		}
+		return "\"" + etag + "\"";
+	}
+
+	/**
+	 * Weak comparison, as required for If-None-Match
+	 *
+	 * @param ifNoneMatch the If-None-Match header : "*" or a list of entity tags
+	 * @param etag the (quoted) entity tag of the current version
+	 */
+	public static boolean matches(String ifNoneMatch, String etag) {
+		if (ifNoneMatch == null || etag == null) {
+			return false;
+		}
+		if ("*".equals(ifNoneMatch.trim())) {
+			return true;
+		}
+		String opaque = opaque(etag);
+		for (String candidate : ifNoneMatch.split(",")) {
+			if (opaque.equals(opaque(candidate.trim()))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static void sendNotModified(HttpServerResponse response) {
+		response.headers().remove(CONTENT_TYPE);
+		response.headers().remove(CONTENT_LENGTH);
+		response.setStatusCode(304);
+		response.end();
+	}
+
+	private static boolean notModifiedSince(String ifModifiedSince, Date lastModified) {
+		if (ifModifiedSince == null) {
+			return false;
+		}
+		Date since = DateUtils.INSTANCE.parseHttpDate(ifModifiedSince);
+		// HTTP dates are precise to the second
+		return since != null && lastModified.getTime() / 1000 <= since.getTime() / 1000;
+	}
+
+	private static String opaque(String etag) {
+		return etag.startsWith("W/") ? etag.substring(2) : etag;
+	}
+}
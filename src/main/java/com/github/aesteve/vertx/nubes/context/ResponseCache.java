@@ -0,0 +1,230 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.aesteve.vertx.nubes.utils.FrequencySketch;
+import com.github.aesteve.vertx.nubes.utils.async.SingleFlight;
+
+/**
+ * The responses of @Cacheable routes, shared by every Nubes instance of a Vertx.
+ *
+ * The cache is bounded in bytes. When it's full, a new response only gets in if it's been asked for more often (recently)
+ * than the least recently used responses it would evict (TinyLFU admission) : responses requested once don't evict popular ones.
+ *
+ * Responses are grouped by name (the @Cacheable name, or the request path by default),
+ * use {@link #invalidate(String)} from your services to drop every response of a group, for instance when the underlying data changes.
+ */
+public class ResponseCache implements Shareable {
+
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+	private static final String SHARED_MAP = "nubes-response-cache";
+	private static final int SEGMENTS = 16;
+	private static final int AVERAGE_ENTRY_SIZE = 4096;
+	private static final int ENTRY_OVERHEAD = 64;
+
+	private final Segment[] segments;
+	private final Map<String, AtomicLong> generations;
+	private final SingleFlight<String, CapturedResponse> flights;
+
+	public ResponseCache(long maxBytes) {
+		segments = new Segment[SEGMENTS];
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments[i] = new Segment(maxBytes / SEGMENTS);
+		}
+		generations = new ConcurrentHashMap<>();
+		flights = new SingleFlight<>();
+	}
+
+	/**
+	 * @return the cache shared by every Nubes instance of this Vertx (created with the default size if none exists yet)
+	 */
+	public static ResponseCache shared(Vertx vertx) {
+		return shared(vertx, DEFAULT_MAX_BYTES);
+	}
+
+	public static ResponseCache shared(Vertx vertx, long maxBytes) {
+		LocalMap<String, ResponseCache> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+		ResponseCache cache = map.get(SHARED_MAP);
+		if (cache == null) {
+			ResponseCache created = new ResponseCache(maxBytes);
+			cache = map.putIfAbsent(SHARED_MAP, created);
+			if (cache == null) {
+				cache = created;
+			}
+		}
+		return cache;
+	}
+
+	public CapturedResponse get(String name, String key) {
+		Entry entry = segment(key).get(key, System.currentTimeMillis());
+		if (entry == null || !entry.name.equals(name) || entry.generation != generation(name)) {
+			return null;
+		}
+		return entry.response;
+	}
+
+	/**
+	 * @param generation the generation of the group when the response started being computed (see {@link #generation(String)})
+	 * @param ttl how long (in milliseconds) the response is kept
+	 */
+	public void put(String name, long generation, String key, CapturedResponse response, long ttl) {
+		segment(key).put(key, new Entry(name, generation, System.currentTimeMillis() + ttl, response));
+	}
+
+	/**
+	 * Drops every cached response of this group. Evicted lazily : they're just never served again.
+	 */
+	public void invalidate(String name) {
+		generations.computeIfAbsent(name, n -> new AtomicLong()).incrementAndGet();
+	}
+
+	public void invalidateAll() {
+		for (Segment segment : segments) {
+			segment.clear();
+		}
+	}
+
+	/**
+	 * @return the number of bytes used by cached responses
+	 */
+	public long size() {
+		long size = 0;
+		for (Segment segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * Collapses concurrent misses : the first caller computes the response, the others wait for it.
+	 *
+	 * @param key the response's key
+	 * @param waiter called (on the caller's context) with the response once computed, or with null if it couldn't be cached
+	 * @return true if the caller must compute the response (and call {@link #release(String, CapturedResponse)} once done), false if it's waiting
+	 */
+	public boolean acquire(String key, Context context, Handler<CapturedResponse> waiter) {
+		return flights.join(key, context, res -> waiter.handle(res.result())) == SingleFlight.Role.LEADER;
+	}
+
+	/**
+	 * Must be called exactly once by the caller which acquired the key : a second call would complete the computation of the next one.
+	 *
+	 * @param response the response computed, or null if it couldn't be cached (the waiters will compute it themselves)
+	 */
+	public void release(String key, CapturedResponse response) {
+		flights.complete(key, Future.succeededFuture(response));
+	}
+
+	public long generation(String name) {
+		AtomicLong generation = generations.get(name);
+		return generation == null ? 0 : generation.get();
+	}
+
+	private Segment segment(String key) {
+		int hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+	}
+
+	/**
+	 * A cached response, and the group it belongs to
+	 */
+	private static class Entry {
+
+		private final String name;
+		private final long generation;
+		private final long expiresAt;
+		private final CapturedResponse response;
+		private final long weight;
+
+		private Entry(String name, long generation, long expiresAt, CapturedResponse response) {
+			this.name = name;
+			this.generation = generation;
+			this.expiresAt = expiresAt;
+			this.response = response;
+			weight = ENTRY_OVERHEAD + name.length() * 2 + response.weight();
+		}
+
+		private boolean expired(long now) {
+			return now >= expiresAt;
+		}
+	}
+
+	private static class Segment {
+
+		private final long maxBytes;
+		private final LinkedHashMap<String, Entry> entries;
+		private final FrequencySketch sketch;
+		private long size;
+
+		private Segment(long maxBytes) {
+			this.maxBytes = maxBytes;
+			entries = new LinkedHashMap<>(64, 0.75f, true);
+			sketch = new FrequencySketch((int) Math.min(Integer.MAX_VALUE, Math.max(64, maxBytes / AVERAGE_ENTRY_SIZE)));
+		}
+
+		private synchronized Entry get(String key, long now) {
+			sketch.increment(key);
+			Entry entry = entries.get(key);
+			if (entry != null && entry.expired(now)) {
+				entries.remove(key);
+				size -= entry.weight;
+				return null;
+			}
+			return entry;
+		}
+
+		private synchronized void put(String key, Entry entry) {
+			if (entry.weight > maxBytes) {
+				return;
+			}
+			Entry previous = entries.remove(key);
+			if (previous != null) {
+				size -= previous.weight;
+			}
+			if (size + entry.weight > maxBytes) {
+				long now = System.currentTimeMillis();
+				int frequency = sketch.frequency(key);
+				List<String> victims = new ArrayList<>();
+				long freed = 0;
+				Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+				while (size - freed + entry.weight > maxBytes && it.hasNext()) {
+					Map.Entry<String, Entry> victim = it.next();
+					if (!victim.getValue().expired(now) && sketch.frequency(victim.getKey()) >= frequency) {
+						return; // not popular enough to get in
+					}
+					victims.add(victim.getKey());
+					freed += victim.getValue().weight;
+				}
+				for (String victim : victims) {
+					entries.remove(victim);
+				}
+				size -= freed;
+			}
+			entries.put(key, entry);
+			size += entry.weight;
+		}
+
+		private synchronized void clear() {
+			entries.clear();
+			size = 0;
+		}
+
+		private synchronized long size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.github.aesteve.vertx.nubes.context;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.github.aesteve.vertx.nubes.handlers.BodyInterceptor;
+
+/**
+ * Writes the response body, going through the interceptors registered for the request.
+ * 
+ * Interceptors are applied in registration order, the encoder (if any) is always applied last,
+ * since it transforms the bytes sent over the wire (compression for instance).
+ */
+public class ResponseWriter {
+
+	public static final String INTERCEPTORS = "nubes-body-interceptors";
+	public static final String ENCODER = "nubes-body-encoder";
+
+	private ResponseWriter() {
+	}
+
+	public static void addInterceptor(RoutingContext context, BodyInterceptor interceptor) {
+		List<BodyInterceptor> interceptors = context.get(INTERCEPTORS);
+		if (interceptors == null) {
+			interceptors = new ArrayList<>(2);
+			context.put(INTERCEPTORS, interceptors);
+		}
+		interceptors.add(interceptor);
+	}
+
+	public static void setEncoder(RoutingContext context, BodyInterceptor encoder) {
+		context.put(ENCODER, encoder);
+	}
+
+	public static void end(RoutingContext context, String body) {
+		if (context.get(INTERCEPTORS) == null && context.get(ENCODER) == null) {
+			context.response().end(body);
+		} else {
+			end(context, Buffer.buffer(body, "UTF-8"));
+		}
+	}
+
+	public static void end(RoutingContext context, Buffer body) {
+		List<BodyInterceptor> interceptors = context.get(INTERCEPTORS);
+		if (interceptors != null) {
+			for (BodyInterceptor interceptor : interceptors) {
+				body = interceptor.intercept(context, body);
+				if (body == null) {
+					return;
+				}
+			}
+		}
+		BodyInterceptor encoder = context.get(ENCODER);
+		if (encoder != null) {
+			body = encoder.intercept(context, body);
+			if (body == null) {
+				return;
+			}
+		}
+		context.response().end(body);
+	}
+}
@@ -0,0 +1,24 @@
+package com.github.aesteve.vertx.nubes.exceptions;
+
+/**
+ * Thrown (or reported to the stream's exceptionHandler) when an element of a streamed request body can't be read.
+ * The other elements are still read.
+ */
+public class InvalidBodyElementException extends RuntimeException {
+
+	private static final long serialVersionUID = -2465130389183513472L;
+
+	private final long index;
+
+	public InvalidBodyElementException(long index, Throwable cause) {
+		super("Invalid element #" + index + " in request body", cause);
+		this.index = index;
+	}
+
+	/**
+	 * @return the position of the invalid element in the request body (starting at 0)
+	 */
+	public long getIndex() {
+		return index;
+	}
+}
@@ -0,0 +1,15 @@
+package com.github.aesteve.vertx.nubes.handlers;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.web.RoutingContext;
+
+/**
+ * Gets a chance to read or transform the response body right before it's written.
+ * 
+ * Return the body to send (the same, or a transformed one),
+ * or null if the interceptor has ended the response by itself.
+ */
+@FunctionalInterface
+public interface BodyInterceptor {
+	public Buffer intercept(RoutingContext context, Buffer body);
+}
@@ -0,0 +1,127 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.context.RequestBodyIterator;
+import com.github.aesteve.vertx.nubes.context.RequestBodyStream;
+import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
+import com.github.aesteve.vertx.nubes.handlers.Processor;
+import com.github.aesteve.vertx.nubes.marshallers.BinaryPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadSplitter;
+import com.github.aesteve.vertx.nubes.marshallers.impl.InflatingPayloadSplitter;
+
+/**
+ * Sets up the incremental reading of the request body, for methods having a ReadStream or Iterator as @RequestBody.
+ * Routes using this processor don't buffer the request body. Compressed bodies (gzip or deflate) are inflated as they are received.
+ */
+public class BodyStreamProcessor implements Processor {
+
+	public final static String DATA_ATTR = "nubes-body-stream";
+
+	private final static int MAX_PENDING_ELEMENTS = 64;
+
+	private Config config;
+	private Class<?> elementClass;
+	private boolean blocking;
+
+	/**
+	 * @param config
+	 * @param elementClass the type of the body's elements
+	 * @param blocking true to read the body through an Iterator (for @Blocking methods), false for a ReadStream
+	 */
+	public BodyStreamProcessor(Config config, Class<?> elementClass, boolean blocking) {
+		this.config = config;
+		this.elementClass = elementClass;
+		this.blocking = blocking;
+	}
+
+	@Override
+	public void preHandle(RoutingContext context) {
+		String contentType = requestContentType(context);
+		Supplier<PayloadSplitter> splitter = contentType == null ? null : config.payloadSplitters.get(contentType);
+		Function<String, Object> decoder = splitter == null ? null : decoder(contentType);
+		if (decoder == null) {
+			DefaultErrorHandler.setErrorDetails(context, "Request body of type " + contentType + " can't be streamed");
+			context.fail(415);
+			return;
+		}
+		PayloadSplitter bodySplitter = splitter.get();
+		String encoding = context.request().getHeader(CONTENT_ENCODING.toString());
+		if (encoding != null && !"identity".equalsIgnoreCase(encoding.trim())) {
+			ZlibWrapper wrapper = InflatingPayloadSplitter.wrapper(encoding);
+			if (wrapper == null) {
+				DefaultErrorHandler.setErrorDetails(context, "Unsupported Content-Encoding : " + encoding);
+				context.fail(415);
+				return;
+			}
+			bodySplitter = new InflatingPayloadSplitter(bodySplitter, wrapper);
+		}
+		if (blocking) {
+			context.put(DATA_ATTR, new RequestBodyIterator<>(context, bodySplitter, decoder, MAX_PENDING_ELEMENTS));
+		} else {
+			context.put(DATA_ATTR, new RequestBodyStream<>(context, bodySplitter, decoder, MAX_PENDING_ELEMENTS));
+		}
+		context.next();
+	}
+
+	@Override
+	public void postHandle(RoutingContext context) {
+		Object stream = context.get(DATA_ATTR);
+		if (stream instanceof RequestBodyIterator && ((RequestBodyIterator<?>) stream).failure() != null) {
+			DefaultErrorHandler.badRequest(context, "Invalid request body : " + ((RequestBodyIterator<?>) stream).failure().getMessage());
+			return;
+		}
+		context.next();
+	}
+
+	private Function<String, Object> decoder(String contentType) {
+		if (elementClass.equals(String.class)) {
+			return element -> element;
+		}
+		if (contentType.equals("application/json") || contentType.equals(BulkMethodInvocationHandler.NDJSON)) {
+			if (elementClass.equals(JsonObject.class)) {
+				return JsonObject::new;
+			} else if (elementClass.equals(JsonArray.class)) {
+				return JsonArray::new;
+			}
+		}
+		PayloadMarshaller marshaller = config.marshallers.get(contentType);
+		if (marshaller == null || marshaller instanceof BinaryPayloadMarshaller) {
+			return null;
+		}
+		return element -> {
+			Object value;
+			try {
+				value = marshaller.unmarshallPayload(element, elementClass);
+			} catch (MarshallingException me) {
+				throw new IllegalArgumentException(me.getCause());
+			}
+			if (value != null && !elementClass.isInstance(value)) { // some marshallers are lenient
+				throw new IllegalArgumentException("Expected a " + elementClass.getSimpleName() + " but got : " + element);
+			}
+			return value;
+		};
+	}
+
+	private static String requestContentType(RoutingContext context) {
+		String contentType = context.request().getHeader(CONTENT_TYPE.toString());
+		if (contentType == null) {
+			return ContentTypeProcessor.getContentType(context);
+		}
+		int semicolon = contentType.indexOf(';');
+		if (semicolon >= 0) {
+			contentType = contentType.substring(0, semicolon);
+		}
+		return contentType.trim().toLowerCase();
+	}
+}
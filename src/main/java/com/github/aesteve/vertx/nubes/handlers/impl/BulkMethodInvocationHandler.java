@@ -0,0 +1,281 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.RoutingContext;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.annotations.Blocking;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
+import com.github.aesteve.vertx.nubes.exceptions.InvalidBodyElementException;
+import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
+import com.github.aesteve.vertx.nubes.handlers.AbstractMethodInvocationHandler;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+
+/**
+ * Invokes a @Bulk method for every record (or batch of records) of the request body, and streams the results back as newline-delimited JSON.
+ *
+ * Records are read from the body stream set up by {@link BodyStreamProcessor}. Reading is paused while a @Blocking invocation is running,
+ * or while the client doesn't read the response fast enough.
+ * Lines written during the same event-loop turn are sent together.
+ *
+ * Once every record has been handled, the route goes on (@After filters, interceptors, processors) and is ended by {@link #end(RoutingContext)} :
+ * the head of the response might already have been sent by then.
+ */
+public class BulkMethodInvocationHandler<T> extends AbstractMethodInvocationHandler<T> {
+
+	public final static String RECORDS_ATTR = "nubes-bulk-records";
+	public final static String NDJSON = "application/x-ndjson";
+
+	private final static int FLUSH_SIZE = 8192;
+
+	private int batchSize;
+	private boolean batched;
+	private boolean blocking;
+
+	public BulkMethodInvocationHandler(Object instance, Method method, Config config, int batchSize, boolean hasNext) {
+		super(instance, method, config, hasNext, null);
+		this.batchSize = Math.max(1, batchSize);
+		blocking = method.isAnnotationPresent(Blocking.class);
+		for (int i = 0; i < parameterClasses.length; i++) {
+			for (Annotation annotation : parametersAnnotations[i]) {
+				if (annotation instanceof RequestBody) {
+					batched = parameterClasses[i].equals(List.class);
+				}
+			}
+		}
+	}
+
+	@Override
+	public void handle(RoutingContext context) {
+		if (context.response().ended()) {
+			return;
+		}
+		if (context.failed()) {
+			return;
+		}
+		ReadStream<Object> records = context.get(BodyStreamProcessor.DATA_ATTR);
+		new BulkRequest(context, records).start();
+	}
+
+	/**
+	 * Ends the response of a bulk request, at the end of its route
+	 */
+	public static void end(RoutingContext context) {
+		HttpServerResponse response = context.response();
+		if (response.ended()) {
+			return;
+		}
+		if (!response.headWritten()) {
+			response.putHeader(CONTENT_TYPE, NDJSON);
+		}
+		response.end();
+	}
+
+	private class BulkRequest {
+
+		private final RoutingContext context;
+		private final HttpServerResponse response;
+		private final ReadStream<Object> records;
+		private final PayloadMarshaller marshaller;
+		private List<Object> batch;
+		private Buffer output;
+		private boolean flushScheduled;
+		private boolean invoking;
+		private boolean writeQueueFull;
+		private boolean inputEnded;
+		private boolean finished;
+		private Throwable failure;
+
+		private BulkRequest(RoutingContext context, ReadStream<Object> records) {
+			this.context = context;
+			this.records = records;
+			response = context.response();
+			marshaller = config.marshallers.get("application/json");
+			batch = new ArrayList<>(batchSize);
+			output = Buffer.buffer();
+		}
+
+		private void start() {
+			response.closeHandler(v -> finished = true);
+			records.exceptionHandler(error -> {
+				if (error instanceof InvalidBodyElementException) {
+					add(error);
+				} else {
+					failure = error;
+					finishIfDone();
+				}
+			});
+			records.handler(this::add);
+			records.endHandler(v -> {
+				inputEnded = true;
+				if (!batch.isEmpty()) {
+					invoke();
+				}
+				finishIfDone();
+			});
+		}
+
+		private void add(Object record) {
+			batch.add(record);
+			if (batch.size() >= batchSize) {
+				invoke();
+			}
+		}
+
+		private void invoke() {
+			List<Object> entries = batch;
+			batch = new ArrayList<>(batchSize);
+			List<Object> valid = new ArrayList<>(entries.size());
+			for (Object entry : entries) {
+				if (!(entry instanceof InvalidBodyElementException)) {
+					valid.add(entry);
+				}
+			}
+			if (valid.isEmpty()) {
+				write(entries, null, null);
+				return;
+			}
+			context.put(RECORDS_ATTR, batched ? valid : valid.get(0));
+			Object[] parameters = getParameters(context);
+			if (!blocking) {
+				try {
+					write(entries, method.invoke(instance, parameters), null);
+				} catch (InvocationTargetException ite) {
+					write(entries, null, ite.getCause());
+				} catch (Exception e) {
+					write(entries, null, e);
+				}
+				return;
+			}
+			invoking = true;
+			records.pause();
+			context.vertx().<Object> executeBlocking(future -> {
+				try {
+					future.complete(method.invoke(instance, parameters));
+				} catch (InvocationTargetException ite) {
+					future.fail(ite.getCause());
+				} catch (Exception e) {
+					future.fail(e);
+				}
+			}, false, (AsyncResult<Object> res) -> {
+				invoking = false;
+				write(entries, res.result(), res.cause());
+				resumeIfPossible();
+				finishIfDone();
+			});
+		}
+
+		private void write(List<Object> entries, Object result, Throwable error) {
+			Iterator<?> results = Collections.emptyIterator();
+			if (batched && result instanceof Collection) {
+				results = ((Collection<?>) result).iterator();
+			}
+			for (Object entry : entries) {
+				if (entry instanceof InvalidBodyElementException) {
+					writeLine(marshaller.marshallHttpStatus(400, ((Throwable) entry).getMessage()));
+				} else if (error != null) {
+					writeLine(marshaller.marshallUnexpectedError(error, config.displayErrors));
+				} else if (!returnsSomething) {
+					writeLine("{}");
+				} else if (!batched) {
+					writeResult(result);
+				} else if (results.hasNext()) {
+					writeResult(results.next());
+				}
+			}
+			while (results.hasNext()) {
+				writeResult(results.next());
+			}
+		}
+
+		private void writeResult(Object result) {
+			try {
+				writeLine(marshaller.marshallPayload(result));
+			} catch (MarshallingException me) {
+				writeLine(marshaller.marshallUnexpectedError(me, config.displayErrors));
+			}
+		}
+
+		private void writeLine(String line) {
+			output.appendString(line).appendString("\n");
+			if (output.length() >= FLUSH_SIZE) {
+				flush();
+			} else if (!flushScheduled) {
+				flushScheduled = true;
+				context.vertx().runOnContext(v -> {
+					flushScheduled = false;
+					flush();
+				});
+			}
+		}
+
+		private void flush() {
+			if (finished || output.length() == 0) {
+				return;
+			}
+			if (!response.headWritten()) {
+				response.setChunked(true);
+				response.putHeader(CONTENT_TYPE, NDJSON);
+			}
+			response.write(output);
+			output = Buffer.buffer();
+			if (!writeQueueFull && response.writeQueueFull()) {
+				writeQueueFull = true;
+				records.pause();
+				response.drainHandler(v -> {
+					writeQueueFull = false;
+					resumeIfPossible();
+				});
+			}
+		}
+
+		private void resumeIfPossible() {
+			if (!invoking && !writeQueueFull && !finished) {
+				records.resume();
+			}
+		}
+
+		private void finishIfDone() {
+			if (finished || invoking || (!inputEnded && failure == null)) {
+				return;
+			}
+			finished = true;
+			if (failure != null) {
+				String msg = "Invalid request body : " + failure.getMessage();
+				if (!response.headWritten() && output.length() == 0) {
+					DefaultErrorHandler.badRequest(context, msg);
+					return;
+				}
+				output.appendString(marshaller.marshallHttpStatus(400, msg)).appendString("\n");
+			}
+			if (!response.headWritten()) {
+				response.putHeader(CONTENT_TYPE, NDJSON);
+			}
+			if (!hasNext) {
+				response.end(output);
+				return;
+			}
+			if (output.length() > 0) {
+				if (!response.headWritten()) {
+					response.setChunked(true);
+				}
+				response.write(output);
+				output = Buffer.buffer();
+			}
+			context.next();
+		}
+	}
+}
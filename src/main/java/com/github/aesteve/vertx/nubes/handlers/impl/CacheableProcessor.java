@@ -0,0 +1,147 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.SET_COOKIE;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Cacheable;
+import com.github.aesteve.vertx.nubes.context.CapturedResponse;
+import com.github.aesteve.vertx.nubes.context.ResponseCache;
+import com.github.aesteve.vertx.nubes.context.ResponseWriter;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.BodyInterceptor;
+import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.LocaleParamInjector;
+
+public class CacheableProcessor implements AnnotationProcessor<Cacheable>, BodyInterceptor {
+
+	private final static String KEY_ATTR = "nubes-cache-key";
+	private final static String NAME_ATTR = "nubes-cache-name";
+	private final static String GENERATION_ATTR = "nubes-cache-generation";
+	private final static String RELEASED_ATTR = "nubes-cache-released";
+
+	private Cacheable annotation;
+	private ResponseCache cache;
+	private long ttl;
+	private boolean varyByParams;
+	private boolean varyByLocale;
+	private boolean varyByUser;
+
+	public CacheableProcessor(Cacheable annotation, ResponseCache cache) {
+		this.annotation = annotation;
+		this.cache = cache;
+		ttl = annotation.unit().toMillis(annotation.ttl());
+		for (Cacheable.Vary vary : annotation.varyBy()) {
+			switch (vary) {
+				case PARAMS:
+					varyByParams = true;
+					break;
+				case LOCALE:
+					varyByLocale = true;
+					break;
+				case USER:
+					varyByUser = true;
+					break;
+			}
+		}
+	}
+
+	@Override
+	public void preHandle(RoutingContext context) {
+		if (context.request().method() != HttpMethod.GET) {
+			context.next();
+			return;
+		}
+		String name = annotation.name().isEmpty() ? context.request().path() : annotation.name();
+		String key = key(context, name);
+		CapturedResponse cached = cache.get(name, key);
+		if (cached != null) {
+			cached.replay(context);
+			return;
+		}
+		long generation = cache.generation(name); // an invalidation while computing the response must not be overwritten by it
+		boolean computes = cache.acquire(key, context.vertx().getOrCreateContext(), computed -> {
+			if (computed != null) {
+				computed.replay(context);
+			} else {
+				context.next();
+			}
+		});
+		if (computes) {
+			context.put(KEY_ATTR, key);
+			context.put(NAME_ATTR, name);
+			context.put(GENERATION_ATTR, generation);
+			AtomicBoolean released = new AtomicBoolean(); // releasing twice could complete the flight of the next leader
+			context.put(RELEASED_ATTR, released);
+			ResponseWriter.addInterceptor(context, this);
+			context.addBodyEndHandler(v -> {
+				if (released.compareAndSet(false, true)) {
+					cache.release(key, null);
+				}
+			});
+			context.response().closeHandler(v -> {
+				if (released.compareAndSet(false, true)) {
+					cache.release(key, null);
+				}
+			});
+			context.next();
+		}
+	}
+
+	@Override
+	public void postHandle(RoutingContext context) {
+		context.next();
+	}
+
+	@Override
+	public Buffer intercept(RoutingContext context, Buffer body) {
+		AtomicBoolean released = context.get(RELEASED_ATTR);
+		if (!released.compareAndSet(false, true)) {
+			return body;
+		}
+		String key = context.get(KEY_ATTR);
+		HttpServerResponse response = context.response();
+		if (response.getStatusCode() != 200 || response.headers().contains(SET_COOKIE)) {
+			cache.release(key, null);
+			return body;
+		}
+		String name = context.get(NAME_ATTR);
+		CapturedResponse captured = CapturedResponse.capture(response, body);
+		long generation = context.get(GENERATION_ATTR);
+		cache.put(name, generation, key, captured, ttl);
+		cache.release(key, captured);
+		return body;
+	}
+
+	@Override
+	public Class<? extends Cacheable> getAnnotationType() {
+		return Cacheable.class;
+	}
+
+	private String key(RoutingContext context, String name) {
+		HttpServerRequest request = context.request();
+		StringBuilder key = new StringBuilder(name).append('\n').append(request.path());
+		if (varyByParams && request.query() != null) {
+			key.append('?').append(request.query());
+		}
+		String contentType = ContentTypeProcessor.getContentType(context);
+		key.append('\n').append(contentType != null ? contentType : request.getHeader(ACCEPT.toString()));
+		if (varyByLocale) {
+			key.append('\n').append((String) context.get(LocaleParamInjector.LOCALE_ATTR));
+		}
+		if (varyByUser) {
+			User user = context.user();
+			key.append('\n').append(user == null ? null : user.principal().encode());
+		}
+		for (String header : annotation.headers()) {
+			key.append('\n').append(request.getHeader(header));
+		}
+		return key.toString();
+	}
+}
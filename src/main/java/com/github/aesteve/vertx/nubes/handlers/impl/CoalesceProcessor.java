@@ -0,0 +1,156 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.SET_COOKIE;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Coalesce;
+import com.github.aesteve.vertx.nubes.context.CapturedResponse;
+import com.github.aesteve.vertx.nubes.context.InFlightRequests;
+import com.github.aesteve.vertx.nubes.context.ResponseWriter;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.BodyInterceptor;
+
+public class CoalesceProcessor implements AnnotationProcessor<Coalesce>, BodyInterceptor {
+
+	private final static String KEY_ATTR = "nubes-coalesce-key";
+	private final static String DONE_ATTR = "nubes-coalesce-done";
+
+	private Coalesce annotation;
+	private InFlightRequests requests;
+	private long timeout;
+
+	public CoalesceProcessor(Coalesce annotation, InFlightRequests requests) {
+		this.annotation = annotation;
+		this.requests = requests;
+		timeout = annotation.unit().toMillis(annotation.timeout());
+	}
+
+	@Override
+	public void preHandle(RoutingContext context) {
+		if (context.request().method() != HttpMethod.GET) {
+			context.next();
+			return;
+		}
+		String key = key(context);
+		Follower follower = new Follower(context, key);
+		switch (requests.join(key, annotation.maxWaiters(), context.vertx().getOrCreateContext(), follower)) {
+			case LEADER:
+				AtomicBoolean done = new AtomicBoolean();
+				context.put(KEY_ATTR, key);
+				context.put(DONE_ATTR, done);
+				ResponseWriter.addInterceptor(context, this);
+				context.addBodyEndHandler(v -> {
+					if (done.compareAndSet(false, true)) {
+						int status = context.response().getStatusCode();
+						requests.complete(key, status >= 400 ? Future.failedFuture(new InFlightRequests.LeaderFailure(status)) : Future.succeededFuture());
+					}
+				});
+				context.response().closeHandler(v -> {
+					if (done.compareAndSet(false, true)) {
+						requests.complete(key, Future.succeededFuture());
+					}
+				});
+				context.next();
+				break;
+			case FOLLOWER:
+				follower.park();
+				break;
+			case REJECTED:
+				context.fail(503);
+				break;
+		}
+	}
+
+	@Override
+	public void postHandle(RoutingContext context) {
+		context.next();
+	}
+
+	@Override
+	public Buffer intercept(RoutingContext context, Buffer body) {
+		AtomicBoolean done = context.get(DONE_ATTR);
+		if (!done.compareAndSet(false, true)) {
+			return body;
+		}
+		String key = context.get(KEY_ATTR);
+		HttpServerResponse response = context.response();
+		if (response.headers().contains(SET_COOKIE)) {
+			requests.complete(key, Future.succeededFuture());
+			return body;
+		}
+		requests.complete(key, Future.succeededFuture(CapturedResponse.capture(response, body)));
+		return body;
+	}
+
+	@Override
+	public Class<? extends Coalesce> getAnnotationType() {
+		return Coalesce.class;
+	}
+
+	private String key(RoutingContext context) {
+		HttpServerRequest request = context.request();
+		StringBuilder key = new StringBuilder(request.path());
+		if (annotation.params().length == 0) {
+			if (request.query() != null) {
+				key.append('?').append(request.query());
+			}
+		} else {
+			for (String param : annotation.params()) {
+				key.append('\n').append(param).append('=').append(request.params().getAll(param));
+			}
+		}
+		String contentType = ContentTypeProcessor.getContentType(context);
+		key.append('\n').append(contentType != null ? contentType : request.getHeader(ACCEPT.toString()));
+		return key.toString();
+	}
+
+	private class Follower implements Handler<AsyncResult<CapturedResponse>> {
+
+		private final RoutingContext context;
+		private final String key;
+		private long timerId;
+
+		private Follower(RoutingContext context, String key) {
+			this.context = context;
+			this.key = key;
+		}
+
+		private void park() {
+			timerId = context.vertx().setTimer(timeout, id -> {
+				if (requests.leave(key, this)) {
+					context.fail(503);
+				}
+			});
+			context.response().closeHandler(v -> {
+				context.vertx().cancelTimer(timerId);
+				requests.leave(key, this);
+			});
+		}
+
+		@Override
+		public void handle(AsyncResult<CapturedResponse> result) {
+			context.vertx().cancelTimer(timerId);
+			context.response().closeHandler(null);
+			if (result.failed()) {
+				context.fail(((InFlightRequests.LeaderFailure) result.cause()).status());
+				return;
+			}
+			CapturedResponse leader = result.result();
+			if (leader == null) { // the leader's response couldn't be shared, execute the request
+				preHandle(context);
+				return;
+			}
+			leader.replay(context);
+		}
+	}
+}
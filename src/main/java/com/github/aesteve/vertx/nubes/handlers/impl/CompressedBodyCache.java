@@ -0,0 +1,93 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.aesteve.vertx.nubes.utils.XXHash64;
+
+/**
+ * A LRU cache of compressed response bodies, bounded in bytes.
+ * 
+ * Entries are keyed by a fingerprint of the uncompressed body (two xxHash64 with distinct seeds + the length)
+ * so that the (potentially big) uncompressed body doesn't need to be kept in memory.
+ */
+public class CompressedBodyCache {
+
+	private static final long SEED1 = 0L;
+	private static final long SEED2 = 0x9E3779B97F4A7C15L;
+	private static final int ENTRY_OVERHEAD = 96;
+
+	private final long maxBytes;
+	private final LinkedHashMap<Key, byte[]> entries;
+	private long size;
+
+	public CompressedBodyCache(long maxBytes) {
+		this.maxBytes = maxBytes;
+		entries = new LinkedHashMap<>(64, 0.75f, true);
+	}
+
+	public synchronized byte[] get(Key key) {
+		return entries.get(key);
+	}
+
+	public synchronized void put(Key key, byte[] compressed) {
+		long weight = weight(compressed);
+		if (weight > maxBytes / 4) { // would evict too many entries
+			return;
+		}
+		byte[] previous = entries.put(key, compressed);
+		if (previous != null) {
+			size -= weight(previous);
+		}
+		size += weight;
+		Iterator<Map.Entry<Key, byte[]>> it = entries.entrySet().iterator();
+		while (size > maxBytes && it.hasNext()) {
+			size -= weight(it.next().getValue());
+			it.remove();
+		}
+	}
+
+	public synchronized long size() {
+		return size;
+	}
+
+	private static long weight(byte[] compressed) {
+		return compressed.length + ENTRY_OVERHEAD;
+	}
+
+	public static Key key(byte[] body, String encoding, int level) {
+		return new Key(XXHash64.hash(body, SEED1), XXHash64.hash(body, SEED2), body.length, encoding, level);
+	}
+
+	public static class Key {
+
+		private final long hash1;
+		private final long hash2;
+		private final int length;
+		private final String encoding;
+		private final int level;
+
+		private Key(long hash1, long hash2, int length, String encoding, int level) {
+			this.hash1 = hash1;
+			this.hash2 = hash2;
+			this.length = length;
+			this.encoding = encoding;
+			this.level = level;
+		}
+
+		@Override
+		public int hashCode() {
+			return (int) (hash1 ^ (hash1 >>> 32)) * 31 + level;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return hash1 == other.hash1 && hash2 == other.hash2 && length == other.length && level == other.level && encoding.equals(other.encoding);
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.ETAG;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Compressed;
+import com.github.aesteve.vertx.nubes.context.ResponseWriter;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.BodyInterceptor;
+
+public class CompressionProcessor implements AnnotationProcessor<Compressed>, BodyInterceptor {
+
+	public final static String GZIP = "gzip";
+	public final static String DEFLATE = "deflate";
+
+	private final static String VARY = "Vary";
+
+	private Compressed annotation;
+	private CompressedBodyCache cache;
+
+	public CompressionProcessor(Compressed annotation, CompressedBodyCache cache) {
+		this.annotation = annotation;
+		if (annotation.cache()) {
+			this.cache = cache;
+		}
+	}
+
+	@Override
+	public void preHandle(RoutingContext context) {
+		ResponseWriter.setEncoder(context, this);
+		context.next();
+	}
+
+	@Override
+	public void postHandle(RoutingContext context) {
+		context.next();
+	}
+
+	@Override
+	public Buffer intercept(RoutingContext context, Buffer body) {
+		HttpServerResponse response = context.response();
+		addVary(response);
+		int status = response.getStatusCode();
+		if (body.length() < annotation.minSize() || status == 204 || status == 304 || response.headers().contains(CONTENT_ENCODING)) {
+			return body;
+		}
+		String encoding = negotiate(context.request().getHeader(ACCEPT_ENCODING.toString()));
+		if (encoding == null) {
+			return body;
+		}
+		byte[] raw = body.getBytes();
+		byte[] compressed;
+		if (cache != null) {
+			CompressedBodyCache.Key key = CompressedBodyCache.key(raw, encoding, annotation.level());
+			compressed = cache.get(key);
+			if (compressed == null) {
+				compressed = compress(raw, encoding, annotation.level());
+				cache.put(key, compressed);
+			}
+		} else {
+			compressed = compress(raw, encoding, annotation.level());
+		}
+		response.putHeader(CONTENT_ENCODING, encoding);
+		String etag = response.headers().get(ETAG);
+		if (etag != null && etag.startsWith("\"")) { // the encoded representation isn't byte-for-byte the one the tag was computed for
+			response.putHeader(ETAG, "W/" + etag);
+		}
+		return Buffer.buffer(compressed);
+	}
+
+	@Override
+	public Class<? extends Compressed> getAnnotationType() {
+		return Compressed.class;
+	}
+
+	private static void addVary(HttpServerResponse response) {
+		String vary = response.headers().get(VARY);
+		if (vary == null) {
+			response.putHeader(VARY, ACCEPT_ENCODING.toString());
+		} else if (!vary.toLowerCase().contains("accept-encoding")) {
+			response.putHeader(VARY, vary + ", " + ACCEPT_ENCODING);
+		}
+	}
+
+	/**
+	 * Picks the best encoding the client accepts, gzip being preferred over deflate if both are equally acceptable.
+	 * 
+	 * @param acceptEncoding the Accept-Encoding header
+	 * @return "gzip", "deflate" or null if the client doesn't accept any of them
+	 */
+	public static String negotiate(String acceptEncoding) {
+		if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+			return null;
+		}
+		float gzip = -1;
+		float deflate = -1;
+		float any = -1;
+		for (String token : acceptEncoding.split(",")) {
+			String coding = token;
+			float q = 1;
+			int semicolon = token.indexOf(';');
+			if (semicolon >= 0) {
+				coding = token.substring(0, semicolon);
+				q = parseQuality(token.substring(semicolon + 1));
+			}
+			coding = coding.trim().toLowerCase();
+			if (GZIP.equals(coding) || "x-gzip".equals(coding)) {
+				gzip = q;
+			} else if (DEFLATE.equals(coding)) {
+				deflate = q;
+			} else if ("*".equals(coding)) {
+				any = q;
+			}
+		}
+		if (gzip < 0) {
+			gzip = Math.max(any, 0);
+		}
+		if (deflate < 0) {
+			deflate = Math.max(any, 0);
+		}
+		if (gzip > 0 && gzip >= deflate) {
+			return GZIP;
+		} else if (deflate > 0) {
+			return DEFLATE;
+		}
+		return null;
+	}
+
+	private static float parseQuality(String params) {
+		for (String param : params.split(";")) {
+			param = param.trim();
+			if (param.startsWith("q=")) {
+				try {
+					return Float.parseFloat(param.substring(2).trim());
+				} catch (NumberFormatException nfe) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+
+	public static byte[] compress(byte[] raw, String encoding, int level) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(raw.length / 4, 64));
+		try {
+			if (GZIP.equals(encoding)) {
+				try (OutputStream stream = new LeveledGZIPOutputStream(out, level)) {
+					stream.write(raw);
+				}
+			} else {
+				Deflater deflater = new Deflater(level);
+				try (OutputStream stream = new DeflaterOutputStream(out, deflater)) {
+					stream.write(raw);
+				} finally {
+					deflater.end();
+				}
+			}
+		} catch (IOException ioe) {
+			throw new RuntimeException(ioe); // cannot happen, everything's in memory
+		}
+		return out.toByteArray();
+	}
+
+	private static class LeveledGZIPOutputStream extends GZIPOutputStream {
+		private LeveledGZIPOutputStream(OutputStream out, int level) throws IOException {
+			super(out);
+			def.setLevel(level);
+		}
+	}
+}
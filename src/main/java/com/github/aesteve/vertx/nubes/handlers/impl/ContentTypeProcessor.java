@@ -3,39 +3,38 @@ package com.github.aesteve.vertx.nubes.handlers.impl;
 import static io.vertx.core.http.HttpHeaders.ACCEPT;
 import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
 import io.vertx.ext.web.RoutingContext;
-import io.vertx.ext.web.impl.Utils;
-
-import java.util.Arrays;
-import java.util.List;
-import java.util.Optional;
 
 import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.utils.ClockCache;
 
 public class ContentTypeProcessor implements AnnotationProcessor<ContentType> {
 
 	public final static String BEST_CONTENT_TYPE = "nubes-best-content-type";
 
+	private final static int MAX_CACHED_NEGOTIATIONS = 512;
+	private final static String NOT_ACCEPTABLE = "";
+
 	private ContentType annotation;
+	private String[] contentTypes;
+	private ClockCache<String, String> negotiations; // the Accept headers seen again and again keep their place
 
 	public ContentTypeProcessor(ContentType annotation) {
 		this.annotation = annotation;
+		contentTypes = annotation.value();
+		negotiations = new ClockCache<>(MAX_CACHED_NEGOTIATIONS);
 	}
 
 	@Override
 	public void preHandle(RoutingContext context) {
-		List<String> contentTypes = Arrays.asList(annotation.value());
 		String accept = context.request().getHeader(ACCEPT.toString());
 		if (accept == null) {
 			context.fail(406);
 			return;
 		}
-		List<String> acceptableTypes = Utils.getSortedAcceptableMimeTypes(accept);
-		Optional<String> bestType = acceptableTypes.stream().filter(type -> {
-			return contentTypes.contains(type);
-		}).findFirst();
-		if (bestType.isPresent()) {
-			ContentTypeProcessor.setContentType(context, bestType.get());
+		String bestType = bestContentType(accept);
+		if (bestType != null) {
+			ContentTypeProcessor.setContentType(context, bestType);
 			context.next();
 		} else {
 			context.fail(406);
@@ -44,7 +43,9 @@ public class ContentTypeProcessor implements AnnotationProcessor<ContentType> {
 
 	@Override
 	public void postHandle(RoutingContext context) {
-		context.response().putHeader(CONTENT_TYPE, ContentTypeProcessor.getContentType(context));
+		if (!context.response().ended()) {
+			context.response().putHeader(CONTENT_TYPE, ContentTypeProcessor.getContentType(context));
+		}
 		context.next();
 	}
 
@@ -53,6 +54,110 @@ public class ContentTypeProcessor implements AnnotationProcessor<ContentType> {
 		return ContentType.class;
 	}
 
+	private String bestContentType(String accept) {
+		if (contentTypes.length == 1 && (accept.equals(contentTypes[0]) || accept.equals("*/*"))) {
+			return contentTypes[0];
+		}
+		String bestType = negotiations.get(accept);
+		if (bestType == null) {
+			bestType = negotiate(accept, contentTypes);
+			if (bestType == null) {
+				bestType = NOT_ACCEPTABLE;
+			}
+			negotiations.put(accept, bestType);
+		}
+		return bestType.isEmpty() ? null : bestType;
+	}
+
+	/**
+	 * Finds the content-type the client prefers, amongst the offered ones.
+	 * 
+	 * Each offered type gets the quality of the most specific media range matching it ("type/subtype" over "type/*" over "*&#47;*").
+	 * Ties are broken by specificity, then by the order of the offered types.
+	 * 
+	 * @param accept the Accept header sent by the client
+	 * @param offered the content-types the route can produce
+	 * @return the best content-type, or null if none of the offered types is acceptable
+	 */
+	public static String negotiate(String accept, String[] offered) {
+		float[] qualities = new float[offered.length];
+		int[] specificities = new int[offered.length];
+		for (int i = 0; i < offered.length; i++) {
+			qualities[i] = 0;
+			specificities[i] = -1;
+		}
+		int start = 0;
+		int length = accept.length();
+		while (start < length) {
+			int end = accept.indexOf(',', start);
+			if (end < 0) {
+				end = length;
+			}
+			matchRange(accept, start, end, offered, qualities, specificities);
+			start = end + 1;
+		}
+		String best = null;
+		float bestQuality = 0;
+		int bestSpecificity = -1;
+		for (int i = 0; i < offered.length; i++) {
+			if (qualities[i] > bestQuality || (qualities[i] == bestQuality && qualities[i] > 0 && specificities[i] > bestSpecificity)) {
+				best = offered[i];
+				bestQuality = qualities[i];
+				bestSpecificity = specificities[i];
+			}
+		}
+		return best;
+	}
+
+	private static void matchRange(String accept, int start, int end, String[] offered, float[] qualities, int[] specificities) {
+		int semicolon = accept.indexOf(';', start);
+		int rangeEnd = semicolon >= 0 && semicolon < end ? semicolon : end;
+		String range = accept.substring(start, rangeEnd).trim().toLowerCase();
+		if (range.isEmpty()) {
+			return;
+		}
+		float quality = rangeEnd < end ? parseQuality(accept.substring(rangeEnd + 1, end)) : 1;
+		int specificity;
+		String rangePrefix = null;
+		if ("*/*".equals(range) || "*".equals(range)) {
+			specificity = 0;
+		} else if (range.endsWith("/*")) {
+			specificity = 1;
+			rangePrefix = range.substring(0, range.length() - 1);
+		} else {
+			specificity = 2;
+		}
+		for (int i = 0; i < offered.length; i++) {
+			String type = offered[i];
+			boolean matches;
+			if (specificity == 0) {
+				matches = true;
+			} else if (specificity == 1) {
+				matches = type.regionMatches(true, 0, rangePrefix, 0, rangePrefix.length());
+			} else {
+				matches = type.equalsIgnoreCase(range);
+			}
+			if (matches && specificity > specificities[i]) {
+				qualities[i] = quality;
+				specificities[i] = specificity;
+			}
+		}
+	}
+
+	private static float parseQuality(String params) {
+		for (String param : params.split(";")) {
+			param = param.trim();
+			if (param.startsWith("q=")) {
+				try {
+					return Float.parseFloat(param.substring(2).trim());
+				} catch (NumberFormatException nfe) {
+					return 0;
+				}
+			}
+		}
+		return 1;
+	}
+
 	public static String getContentType(RoutingContext context) {
 		return context.get(BEST_CONTENT_TYPE);
 	}
@@ -0,0 +1,145 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+
+import com.github.aesteve.vertx.nubes.marshallers.impl.InflatingPayloadSplitter;
+
+/**
+ * A BodyHandler that also accepts compressed (gzip or deflate) request bodies.
+ * 
+ * The body is inflated chunk by chunk, as it is received, so that the compressed body is never buffered as a whole.
+ * The body limit applies to the decompressed body (to protect against "zip bombs").
+ * Requests without Content-Encoding are handled by vertx-web's BodyHandler.
+ */
+public class DecompressingBodyHandler implements BodyHandler {
+
+	private BodyHandler delegate;
+	private long bodyLimit = DEFAULT_BODY_LIMIT;
+
+	public DecompressingBodyHandler(BodyHandler delegate) {
+		this.delegate = delegate;
+	}
+
+	public static DecompressingBodyHandler create() {
+		return new DecompressingBodyHandler(BodyHandler.create());
+	}
+
+	@Override
+	public void handle(RoutingContext context) {
+		String encoding = context.request().getHeader(CONTENT_ENCODING.toString());
+		if (encoding == null || "identity".equalsIgnoreCase(encoding.trim())) {
+			delegate.handle(context);
+			context.request().resume(); // paused by the route until its body is read
+			return;
+		}
+		ZlibWrapper wrapper = InflatingPayloadSplitter.wrapper(encoding);
+		if (wrapper == null) {
+			DefaultErrorHandler.setErrorDetails(context, "Unsupported Content-Encoding : " + encoding);
+			context.fail(415);
+			return;
+		}
+		new Inflating(context, wrapper);
+		context.request().resume();
+	}
+
+	@Override
+	public BodyHandler setBodyLimit(long bodyLimit) {
+		this.bodyLimit = bodyLimit;
+		delegate.setBodyLimit(bodyLimit);
+		return this;
+	}
+
+	@Override
+	public BodyHandler setUploadsDirectory(String uploadsDirectory) {
+		delegate.setUploadsDirectory(uploadsDirectory);
+		return this;
+	}
+
+	@Override
+	public BodyHandler setMergeFormAttributes(boolean mergeFormAttributes) {
+		delegate.setMergeFormAttributes(mergeFormAttributes);
+		return this;
+	}
+
+	private class Inflating {
+
+		private final RoutingContext context;
+		private final EmbeddedChannel decoder;
+		private final Buffer body;
+		private boolean failed;
+
+		private Inflating(RoutingContext context, ZlibWrapper wrapper) {
+			this.context = context;
+			decoder = new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(wrapper));
+			body = Buffer.buffer();
+			HttpServerRequest request = context.request();
+			request.exceptionHandler(this::fail);
+			request.handler(this::inflate);
+			request.endHandler(v -> end());
+		}
+
+		private void inflate(Buffer chunk) {
+			if (failed) {
+				return;
+			}
+			try {
+				decoder.writeInbound(Unpooled.wrappedBuffer(chunk.getBytes()));
+				drain();
+			} catch (Exception e) {
+				fail(e);
+			}
+		}
+
+		private void end() {
+			if (failed) {
+				return;
+			}
+			try {
+				decoder.finish();
+				drain();
+			} catch (Exception e) {
+				fail(e);
+				return;
+			}
+			if (!failed) {
+				context.setBody(body);
+				context.next();
+			}
+		}
+
+		private void drain() {
+			ByteBuf inflated;
+			while ((inflated = (ByteBuf) decoder.readInbound()) != null) {
+				try {
+					if (bodyLimit != -1 && body.length() + inflated.readableBytes() > bodyLimit) {
+						failed = true;
+						decoder.finish();
+						context.fail(413);
+						return;
+					}
+					body.appendBuffer(Buffer.buffer(inflated));
+				} finally {
+					inflated.release();
+				}
+			}
+		}
+
+		private void fail(Throwable cause) {
+			if (failed) {
+				return;
+			}
+			failed = true;
+			decoder.close();
+			DefaultErrorHandler.badRequest(context, "Invalid compressed body : " + cause.getMessage());
+		}
+	}
+}
@@ -11,6 +11,7 @@ import java.util.Map;
 
 import com.github.aesteve.vertx.nubes.Config;
 import com.github.aesteve.vertx.nubes.context.ViewResolver;
+import com.github.aesteve.vertx.nubes.marshallers.BinaryPayloadMarshaller;
 import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
 import com.github.aesteve.vertx.nubes.utils.StackTracePrinter;
 import com.github.aesteve.vertx.nubes.views.TemplateEngineManager;
@@ -60,7 +61,9 @@ public class DefaultErrorHandler implements Handler<RoutingContext> {
 				String tplFile = errorTemplates.get(500);
 				renderViewError(tplFile, context, cause);
 			} else {
-				if (marshaller != null) {
+				if (marshaller instanceof BinaryPayloadMarshaller) {
+					response.end(((BinaryPayloadMarshaller) marshaller).marshallUnexpectedErrorAsBuffer(cause, config.displayErrors));
+				} else if (marshaller != null) {
 					response.end(marshaller.marshallUnexpectedError(cause, config.displayErrors));
 				} else {
 					response.end(errorMessages.get(500));
@@ -73,7 +76,9 @@ public class DefaultErrorHandler implements Handler<RoutingContext> {
 			if (context.get(ERROR_DETAILS) != null) {
 				msg = context.get(ERROR_DETAILS);
 			}
-			if (marshaller != null) {
+			if (marshaller instanceof BinaryPayloadMarshaller) {
+				response.end(((BinaryPayloadMarshaller) marshaller).marshallHttpStatusAsBuffer(status, msg));
+			} else if (marshaller != null) {
 				response.end(marshaller.marshallHttpStatus(status, msg));
 			} else {
 				if (!response.ended()) {
@@ -97,6 +102,7 @@ public class DefaultErrorHandler implements Handler<RoutingContext> {
 		errorMessages.put(403, "Forbidden");
 		errorMessages.put(404, "Not found");
 		errorMessages.put(406, "Not acceptable");
+		errorMessages.put(409, "Conflict");
 		errorMessages.put(420, "Rate limitation exceeded");
 		errorMessages.put(500, "Internal server error");
 		errorMessages.put(503, "Service temporarily unavailable");
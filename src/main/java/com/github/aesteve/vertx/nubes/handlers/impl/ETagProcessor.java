@@ -0,0 +1,59 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import static io.vertx.core.http.HttpHeaders.ETAG;
+import static io.vertx.core.http.HttpHeaders.IF_NONE_MATCH;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.ETag;
+import com.github.aesteve.vertx.nubes.context.ResourceVersion;
+import com.github.aesteve.vertx.nubes.context.ResponseWriter;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.BodyInterceptor;
+import com.github.aesteve.vertx.nubes.utils.XXHash64;
+
+public class ETagProcessor implements AnnotationProcessor<ETag>, BodyInterceptor {
+
+	private final static long SEED = 0x5EED;
+
+	@Override
+	public void preHandle(RoutingContext context) {
+		HttpMethod method = context.request().method();
+		if (method == HttpMethod.GET || method == HttpMethod.HEAD) {
+			ResponseWriter.addInterceptor(context, this);
+		}
+		context.next();
+	}
+
+	@Override
+	public void postHandle(RoutingContext context) {
+		context.next();
+	}
+
+	@Override
+	public Buffer intercept(RoutingContext context, Buffer body) {
+		HttpServerResponse response = context.response();
+		if (response.getStatusCode() != 200) {
+			return body;
+		}
+		String etag = response.headers().get(ETAG);
+		if (etag == null) {
+			byte[] bytes = body.getBytes();
+			etag = "\"" + Long.toHexString(XXHash64.hash(bytes, SEED)) + "-" + Integer.toHexString(bytes.length) + "\"";
+			response.putHeader(ETAG, etag);
+		}
+		if (ResourceVersion.matches(context.request().getHeader(IF_NONE_MATCH.toString()), etag)) {
+			ResourceVersion.sendNotModified(response);
+			return null;
+		}
+		return body;
+	}
+
+	@Override
+	public Class<? extends ETag> getAnnotationType() {
+		return ETag.class;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+
+import com.github.aesteve.vertx.nubes.annotations.routing.EventBusForward;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.marshallers.codecs.PassThroughBufferCodec;
+
+/**
+ * Sends the request body as is to an event bus address, and ends the response with the reply : the rest of the route is never reached.
+ * The body is neither decompressed nor compressed : the reply's Content-Encoding header (if any) is set on the response.
+ */
+public class EventBusForwardProcessor implements AnnotationProcessor<EventBusForward> {
+
+	private EventBusForward annotation;
+
+	public EventBusForwardProcessor(EventBusForward annotation) {
+		this.annotation = annotation;
+	}
+
+	@Override
+	public void preHandle(RoutingContext context) {
+		HttpServerRequest request = context.request();
+		DeliveryOptions options = new DeliveryOptions();
+		options.setSendTimeout(annotation.timeout());
+		options.setCodecName(PassThroughBufferCodec.NAME);
+		for (String header : annotation.headers()) {
+			String value = request.getHeader(header);
+			if (value != null) {
+				options.addHeader(header, value);
+			}
+		}
+		request.bodyHandler(body -> {
+			context.vertx().eventBus().<Object> send(annotation.value(), body, options, reply -> {
+				HttpServerResponse response = context.response();
+				if (reply.failed()) {
+					fail(response, reply.cause());
+					return;
+				}
+				Message<Object> message = reply.result();
+				String contentType = message.headers().get(CONTENT_TYPE.toString());
+				if (contentType == null) {
+					contentType = request.getHeader(CONTENT_TYPE.toString());
+				}
+				if (contentType != null) {
+					response.putHeader(CONTENT_TYPE, contentType);
+				}
+				String contentEncoding = message.headers().get(CONTENT_ENCODING.toString());
+				if (contentEncoding != null) {
+					response.putHeader(CONTENT_ENCODING, contentEncoding);
+				}
+				Object replyBody = message.body();
+				if (replyBody == null) {
+					response.end();
+				} else if (replyBody instanceof Buffer) {
+					response.end((Buffer) replyBody);
+				} else {
+					response.end(replyBody.toString());
+				}
+			});
+		});
+		request.resume(); // paused by the route until its body is read
+	}
+
+	@Override
+	public void postHandle(RoutingContext context) {
+		// never reached
+	}
+
+	@Override
+	public Class<? extends EventBusForward> getAnnotationType() {
+		return EventBusForward.class;
+	}
+
+	private static void fail(HttpServerResponse response, Throwable cause) {
+		if (!(cause instanceof ReplyException)) {
+			response.setStatusCode(500).end();
+			return;
+		}
+		ReplyException re = (ReplyException) cause;
+		switch (re.failureType()) {
+			case TIMEOUT:
+				response.setStatusCode(504).end();
+				break;
+			case NO_HANDLERS:
+				response.setStatusCode(503).end();
+				break;
+			default:
+				int status = re.failureCode() >= 400 && re.failureCode() < 600 ? re.failureCode() : 500;
+				response.setStatusCode(status);
+				if (re.getMessage() != null) {
+					response.end(re.getMessage());
+				} else {
+					response.end();
+				}
+		}
+	}
+}
@@ -0,0 +1,137 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Idempotent;
+import com.github.aesteve.vertx.nubes.context.CapturedResponse;
+import com.github.aesteve.vertx.nubes.context.ResponseWriter;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.BodyInterceptor;
+import com.github.aesteve.vertx.nubes.idempotency.IdempotencyStore;
+
+public class IdempotencyProcessor implements AnnotationProcessor<Idempotent>, BodyInterceptor {
+
+	public final static String REPLAYED = "Idempotent-Replayed";
+
+	private final static String KEY_ATTR = "nubes-idempotency-key";
+	private final static String DONE_ATTR = "nubes-idempotency-done";
+
+	private Idempotent annotation;
+	private IdempotencyStore store;
+	private long ttl;
+	private long timeout;
+
+	public IdempotencyProcessor(Idempotent annotation, IdempotencyStore store) {
+		this.annotation = annotation;
+		this.store = store;
+		ttl = annotation.unit().toMillis(annotation.ttl());
+		timeout = annotation.timeoutUnit().toMillis(annotation.timeout());
+	}
+
+	@Override
+	public void preHandle(RoutingContext context) {
+		String idempotencyKey = context.request().getHeader(annotation.header());
+		if (idempotencyKey == null || idempotencyKey.isEmpty()) {
+			if (annotation.required()) {
+				DefaultErrorHandler.badRequest(context, "Missing " + annotation.header() + " header");
+			} else {
+				context.next();
+			}
+			return;
+		}
+		handle(context, key(context, idempotencyKey), true);
+	}
+
+	@Override
+	public void postHandle(RoutingContext context) {
+		context.next();
+	}
+
+	@Override
+	public Buffer intercept(RoutingContext context, Buffer body) {
+		AtomicBoolean done = context.get(DONE_ATTR);
+		if (!done.compareAndSet(false, true)) {
+			return body;
+		}
+		String key = context.get(KEY_ATTR);
+		if (context.response().getStatusCode() >= 500) {
+			store.release(key);
+		} else {
+			store.complete(key, CapturedResponse.capture(context.response(), body), ttl);
+		}
+		return body;
+	}
+
+	@Override
+	public Class<? extends Idempotent> getAnnotationType() {
+		return Idempotent.class;
+	}
+
+	private void handle(RoutingContext context, String key, boolean firstAttempt) {
+		store.reserve(key, ttl, reservation -> {
+			if (reservation.failed()) {
+				context.fail(reservation.cause());
+				return;
+			}
+			if (reservation.result()) {
+				execute(context, key);
+				return;
+			}
+			store.get(key, timeout, stored -> {
+				if (stored.failed()) {
+					DefaultErrorHandler.setErrorDetails(context, "A request with the same " + annotation.header() + " is still being processed");
+					context.fail(409);
+				} else if (stored.result() != null) {
+					replay(context, stored.result());
+				} else if (firstAttempt) { // the original request failed
+					handle(context, key, false);
+				} else {
+					context.fail(409);
+				}
+			});
+		});
+	}
+
+	private void execute(RoutingContext context, String key) {
+		AtomicBoolean done = new AtomicBoolean();
+		context.put(KEY_ATTR, key);
+		context.put(DONE_ATTR, done);
+		ResponseWriter.addInterceptor(context, this);
+		// the body of responses which didn't go through the interceptor (errors for instance) is unknown, they can't be stored
+		context.addBodyEndHandler(v -> {
+			if (done.compareAndSet(false, true)) {
+				if (context.response().getStatusCode() == 204) {
+					store.complete(key, CapturedResponse.capture(context.response(), Buffer.buffer()), ttl);
+				} else {
+					store.release(key);
+				}
+			}
+		});
+		context.response().closeHandler(v -> {
+			if (done.compareAndSet(false, true)) {
+				store.release(key);
+			}
+		});
+		context.next();
+	}
+
+	private static void replay(RoutingContext context, CapturedResponse stored) {
+		context.response().putHeader(REPLAYED, "true");
+		stored.replay(context);
+	}
+
+	private static String key(RoutingContext context, String idempotencyKey) {
+		HttpServerRequest request = context.request();
+		StringBuilder key = new StringBuilder(request.method().name()).append(' ').append(request.path()).append('\n').append(idempotencyKey);
+		User user = context.user();
+		if (user != null) {
+			key.append('\n').append(user.principal().encode());
+		}
+		return key.toString();
+	}
+}
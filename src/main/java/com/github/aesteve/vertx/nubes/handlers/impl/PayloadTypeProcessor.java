@@ -5,10 +5,14 @@ import io.vertx.ext.web.RoutingContext;
 
 import java.util.Map;
 
+import com.github.aesteve.vertx.nubes.context.ProjectionTree;
+import com.github.aesteve.vertx.nubes.context.ResponseWriter;
 import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
+import com.github.aesteve.vertx.nubes.marshallers.BinaryPayloadMarshaller;
 import com.github.aesteve.vertx.nubes.marshallers.Payload;
 import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.marshallers.ProjectingPayloadMarshaller;
 
 public class PayloadTypeProcessor implements Processor {
 
@@ -49,9 +53,15 @@ public class PayloadTypeProcessor implements Processor {
 				return;
 			}
 			try {
-				String marshalled = marshaller.marshallPayload(userPayload);
 				response.setStatusCode(200);
-				response.end(marshalled);
+				ProjectionTree projection = ProjectionTree.fromContext(context);
+				if (marshaller instanceof BinaryPayloadMarshaller) {
+					ResponseWriter.end(context, ((BinaryPayloadMarshaller) marshaller).marshallPayloadAsBuffer(userPayload));
+				} else if (projection != null && marshaller instanceof ProjectingPayloadMarshaller) {
+					ResponseWriter.end(context, ((ProjectingPayloadMarshaller) marshaller).marshallPayload(userPayload, projection));
+				} else {
+					ResponseWriter.end(context, marshaller.marshallPayload(userPayload));
+				}
 			} catch (MarshallingException me) {
 				context.fail(me);
 			}
@@ -0,0 +1,53 @@
+package com.github.aesteve.vertx.nubes.handlers.impl;
+
+import io.vertx.ext.web.RoutingContext;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Projection;
+import com.github.aesteve.vertx.nubes.context.ProjectionTree;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.utils.ClockCache;
+
+public class ProjectionProcessor implements AnnotationProcessor<Projection> {
+
+	private static final int MAX_CACHED_PROJECTIONS = 256;
+
+	private Projection annotation;
+	private ClockCache<String, ProjectionTree> projections;
+
+	public ProjectionProcessor(Projection annotation) {
+		this.annotation = annotation;
+		projections = new ClockCache<>(MAX_CACHED_PROJECTIONS);
+	}
+
+	@Override
+	public void preHandle(RoutingContext context) {
+		String fields = context.request().getParam(annotation.value());
+		if (fields == null || fields.isEmpty()) {
+			context.next();
+			return;
+		}
+		ProjectionTree projection = projections.get(fields);
+		if (projection == null) {
+			try {
+				projection = ProjectionTree.parse(fields);
+			} catch (IllegalArgumentException iae) {
+				DefaultErrorHandler.badRequest(context, "Invalid " + annotation.value() + " parameter : " + iae.getMessage());
+				return;
+			}
+			projections.put(fields, projection);
+		}
+		context.put(ProjectionTree.DATA_ATTR, projection);
+		context.next();
+	}
+
+	@Override
+	public void postHandle(RoutingContext context) {
+		context.next();
+	}
+
+	@Override
+	public Class<? extends Projection> getAnnotationType() {
+		return Projection.class;
+	}
+
+}
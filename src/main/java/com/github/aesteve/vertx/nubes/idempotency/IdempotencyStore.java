@@ -0,0 +1,43 @@
+package com.github.aesteve.vertx.nubes.idempotency;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+import com.github.aesteve.vertx.nubes.context.CapturedResponse;
+
+/**
+ * Keeps track of the requests of @Idempotent routes, and of their responses, by key.
+ * 
+ * The default implementation keeps everything in memory (see LocalIdempotencyStore),
+ * implement this interface to share idempotency keys between servers (a database, Redis, ...) and set it with VertxNubes.setIdempotencyStore.
+ */
+public interface IdempotencyStore {
+
+	/**
+	 * Reserves the key for the request about to be executed.
+	 * 
+	 * @param ttl how long (in milliseconds) the reservation is kept
+	 * @param handler true if the key has been reserved (the caller executes the request), false if it's already known (in flight or completed)
+	 */
+	public void reserve(String key, long ttl, Handler<AsyncResult<Boolean>> handler);
+
+	/**
+	 * Gets the response stored for this key, waiting for the original request to complete if it's still in flight.
+	 * 
+	 * @param timeout how long (in milliseconds) to wait for the original request
+	 * @param handler the stored response, or null if there's none (unknown key, or the original request released it), fails if the wait timed out
+	 */
+	public void get(String key, long timeout, Handler<AsyncResult<CapturedResponse>> handler);
+
+	/**
+	 * Stores the response of the request which reserved the key, and hands it to the requests waiting for it.
+	 * 
+	 * @param ttl how long (in milliseconds) the response is kept
+	 */
+	public void complete(String key, CapturedResponse response, long ttl);
+
+	/**
+	 * Forgets the key, without storing any response (the original request failed) : the next request with this key will be executed.
+	 */
+	public void release(String key);
+}
@@ -0,0 +1,205 @@
+package com.github.aesteve.vertx.nubes.idempotency.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.TreeSet;
+import java.util.concurrent.TimeoutException;
+
+import com.github.aesteve.vertx.nubes.context.CapturedResponse;
+import com.github.aesteve.vertx.nubes.idempotency.IdempotencyStore;
+import com.github.aesteve.vertx.nubes.utils.async.SingleFlight;
+
+/**
+ * Keeps idempotency keys and responses in memory, shared by every Nubes instance of a Vertx.
+ *
+ * Bounded in bytes : when it's full, the oldest responses are dropped before they expire.
+ * The reservations of requests still in flight are never dropped (their retries would execute them again) : they're only removed once they expire.
+ */
+public class LocalIdempotencyStore implements IdempotencyStore, Shareable {
+
+	public static final long DEFAULT_MAX_BYTES = 16L * 1024 * 1024;
+
+	private static final String SHARED_MAP = "nubes-idempotency-store";
+	private static final long RESERVATION_WEIGHT = 128;
+
+	private final Vertx vertx;
+	private final long maxBytes;
+	private final LinkedHashMap<String, Record> records;
+	private final TreeSet<Record> expiries;
+	private final SingleFlight<String, CapturedResponse> inFlight;
+	private long size;
+	private long sequence;
+
+	public LocalIdempotencyStore(Vertx vertx, long maxBytes) {
+		this.vertx = vertx;
+		this.maxBytes = maxBytes;
+		records = new LinkedHashMap<>();
+		expiries = new TreeSet<>(Comparator.<Record> comparingLong(record -> record.expiresAt).thenComparingLong(record -> record.sequence));
+		inFlight = new SingleFlight<>();
+	}
+
+	public static LocalIdempotencyStore shared(Vertx vertx, long maxBytes) {
+		LocalMap<String, LocalIdempotencyStore> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+		LocalIdempotencyStore store = map.get(SHARED_MAP);
+		if (store == null) {
+			LocalIdempotencyStore created = new LocalIdempotencyStore(vertx, maxBytes);
+			store = map.putIfAbsent(SHARED_MAP, created);
+			if (store == null) {
+				store = created;
+			}
+		}
+		return store;
+	}
+
+	@Override
+	public void reserve(String key, long ttl, Handler<AsyncResult<Boolean>> handler) {
+		boolean reserved;
+		synchronized (this) {
+			long now = System.currentTimeMillis();
+			purge(now);
+			Record record = live(key, now);
+			reserved = record == null;
+			if (reserved) {
+				add(key, new Record(key, sequence++, now + ttl, RESERVATION_WEIGHT));
+				inFlight.lead(key);
+				evict();
+			}
+		}
+		handler.handle(Future.succeededFuture(reserved));
+	}
+
+	@Override
+	public void get(String key, long timeout, Handler<AsyncResult<CapturedResponse>> handler) {
+		long[] timerId = new long[1];
+		Handler<AsyncResult<CapturedResponse>> waiter = res -> {
+			vertx.cancelTimer(timerId[0]);
+			handler.handle(res);
+		};
+		timerId[0] = vertx.setTimer(timeout, id -> {
+			if (inFlight.leave(key, waiter)) {
+				handler.handle(Future.failedFuture(new TimeoutException("The original request is still in flight")));
+			}
+		});
+		CapturedResponse response = null;
+		boolean waiting;
+		synchronized (this) {
+			Record record = live(key, System.currentTimeMillis());
+			waiting = record != null && record.response == null && inFlight.follow(key, vertx.getOrCreateContext(), waiter);
+			if (!waiting && record != null) {
+				response = record.response;
+			}
+		}
+		if (!waiting) {
+			vertx.cancelTimer(timerId[0]);
+			handler.handle(Future.succeededFuture(response));
+		}
+	}
+
+	@Override
+	public void complete(String key, CapturedResponse response, long ttl) {
+		synchronized (this) {
+			remove(key);
+			Record record = new Record(key, sequence++, System.currentTimeMillis() + ttl, response.weight());
+			record.response = response;
+			add(key, record);
+			inFlight.complete(key, Future.succeededFuture(response));
+			evict();
+		}
+	}
+
+	@Override
+	public synchronized void release(String key) {
+		if (remove(key) != null) {
+			inFlight.complete(key, Future.succeededFuture());
+		}
+	}
+
+	/**
+	 * @return the number of bytes used by stored responses and reservations
+	 */
+	public synchronized long size() {
+		return size;
+	}
+
+	private Record live(String key, long now) {
+		Record record = records.get(key);
+		if (record != null && record.expiresAt <= now) {
+			drop(key);
+			return null;
+		}
+		return record;
+	}
+
+	private void add(String key, Record record) {
+		records.put(key, record);
+		expiries.add(record);
+		size += record.weight;
+	}
+
+	private Record remove(String key) {
+		Record record = records.remove(key);
+		if (record != null) {
+			expiries.remove(record);
+			size -= record.weight;
+		}
+		return record;
+	}
+
+	/**
+	 * Removes the record, the requests waiting for it (if it's a reservation) are executed
+	 */
+	private void drop(String key) {
+		Record record = remove(key);
+		if (record != null && record.response == null) {
+			inFlight.complete(key, Future.succeededFuture());
+		}
+	}
+
+	/**
+	 * Drops the expired records, whatever their ttl
+	 */
+	private void purge(long now) {
+		while (!expiries.isEmpty() && expiries.first().expiresAt <= now) {
+			drop(expiries.first().key);
+		}
+	}
+
+	/**
+	 * Drops the oldest responses until the store fits in maxBytes
+	 */
+	private void evict() {
+		Iterator<Record> it = records.values().iterator();
+		while (size > maxBytes && it.hasNext()) {
+			Record record = it.next();
+			if (record.response != null) {
+				it.remove();
+				expiries.remove(record);
+				size -= record.weight;
+			}
+		}
+	}
+
+	private static class Record {
+
+		private final String key;
+		private final long sequence;
+		private final long expiresAt;
+		private final long weight;
+		private CapturedResponse response;
+
+		private Record(String key, long sequence, long expiresAt, long weight) {
+			this.key = key;
+			this.sequence = sequence;
+			this.expiresAt = expiresAt;
+			this.weight = weight;
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.github.aesteve.vertx.nubes.marshallers;
+
+import io.vertx.core.buffer.Buffer;
+
+import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
+
+/**
+ * A marshaller for content-types that cannot be represented as a String (MessagePack, CBOR, ...).
+ * 
+ * Wherever Nubes reads a request body or writes a response body, it will use these methods
+ * instead of the String-based ones defined in PayloadMarshaller.
+ */
+public interface BinaryPayloadMarshaller extends PayloadMarshaller {
+
+	public <T> T unmarshallPayload(Buffer body, Class<T> clazz) throws MarshallingException;
+
+	public Buffer marshallPayloadAsBuffer(Object payload) throws MarshallingException;
+
+	public Buffer marshallUnexpectedErrorAsBuffer(Throwable error, boolean displayDetails);
+
+	public Buffer marshallHttpStatusAsBuffer(int statusCode, String statusMessage);
+}
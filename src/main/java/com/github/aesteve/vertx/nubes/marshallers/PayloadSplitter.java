@@ -0,0 +1,30 @@
+package com.github.aesteve.vertx.nubes.marshallers;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+/**
+ * Splits a request body into its elements (the items of a JSON array for instance), chunk by chunk, as the body is received.
+ * Each complete element is handed to the element handler as soon as its last byte is read.
+ * 
+ * Elements which can't be read on their own (too big for instance) are handed to the error handler instead, in the same order : the next ones are still read.
+ * 
+ * A splitter holds the state of a single request body : a new instance must be created for every request.
+ */
+public interface PayloadSplitter {
+
+	/**
+	 * @param chunk the next chunk of the request body
+	 * @param elementHandler called for every element completed by this chunk
+	 * @param errorHandler called for every element completed by this chunk which can't be read
+	 * @throws IllegalArgumentException if the body is malformed
+	 */
+	public void feed(Buffer chunk, Handler<String> elementHandler, Handler<RuntimeException> errorHandler);
+
+	/**
+	 * @param elementHandler called for the last element, if the body's end completes it
+	 * @param errorHandler called for the last element if it can't be read
+	 * @throws IllegalArgumentException if the body is incomplete
+	 */
+	public void end(Handler<String> elementHandler, Handler<RuntimeException> errorHandler);
+}
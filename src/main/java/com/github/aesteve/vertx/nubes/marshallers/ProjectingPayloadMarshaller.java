@@ -0,0 +1,14 @@
+package com.github.aesteve.vertx.nubes.marshallers;
+
+import com.github.aesteve.vertx.nubes.context.ProjectionTree;
+import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
+
+/**
+ * A marshaller able to write only the fields selected by the client (see @Projection)
+ * while serializing the payload, instead of serializing the whole object graph.
+ */
+public interface ProjectingPayloadMarshaller extends PayloadMarshaller {
+
+	public String marshallPayload(Object payload, ProjectionTree projection) throws MarshallingException;
+
+}
@@ -0,0 +1,71 @@
+package com.github.aesteve.vertx.nubes.marshallers.codecs;
+
+import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+/**
+ * Event bus codec for the classes of the domain package.
+ * 
+ * Within the JVM, the instance is passed by reference (it must not be modified once sent),
+ * across the cluster, it's written in CBOR.
+ */
+public class DomainMessageCodec<T> implements MessageCodec<T, T> {
+
+	private static final ObjectMapper mapper = new ObjectMapper(new CBORFactory());
+
+	static {
+		mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+	}
+
+	private final Class<T> clazz;
+
+	public DomainMessageCodec(Class<T> clazz) {
+		this.clazz = clazz;
+	}
+
+	@Override
+	public void encodeToWire(Buffer buffer, T domain) {
+		try {
+			byte[] bytes = mapper.writeValueAsBytes(domain);
+			buffer.appendInt(bytes.length);
+			buffer.appendBytes(bytes);
+		} catch (IOException ioe) {
+			throw new VertxException("Could not encode " + clazz.getName(), ioe);
+		}
+	}
+
+	@Override
+	public T decodeFromWire(int pos, Buffer buffer) {
+		int length = buffer.getInt(pos);
+		pos += 4;
+		try {
+			return mapper.readValue(buffer.getBytes(pos, pos + length), clazz);
+		} catch (IOException ioe) {
+			throw new VertxException("Could not decode " + clazz.getName(), ioe);
+		}
+	}
+
+	@Override
+	public T transform(T domain) {
+		return domain;
+	}
+
+	@Override
+	public String name() {
+		return "nubes-domain-" + clazz.getName();
+	}
+
+	@Override
+	public byte systemCodecID() {
+		return -1;
+	}
+}
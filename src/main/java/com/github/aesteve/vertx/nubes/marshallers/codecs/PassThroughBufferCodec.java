@@ -0,0 +1,42 @@
+package com.github.aesteve.vertx.nubes.marshallers.codecs;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * Event bus codec for buffers which are not modified once sent (a request body forwarded as is, for instance).
+ * 
+ * Within the JVM, the buffer is passed by reference instead of being copied.
+ */
+public class PassThroughBufferCodec implements MessageCodec<Buffer, Buffer> {
+
+	public static final String NAME = "nubes-pass-through-buffer";
+
+	@Override
+	public void encodeToWire(Buffer buffer, Buffer body) {
+		buffer.appendInt(body.length());
+		buffer.appendBuffer(body);
+	}
+
+	@Override
+	public Buffer decodeFromWire(int pos, Buffer buffer) {
+		int length = buffer.getInt(pos);
+		pos += 4;
+		return buffer.getBuffer(pos, pos + length);
+	}
+
+	@Override
+	public Buffer transform(Buffer body) {
+		return body;
+	}
+
+	@Override
+	public String name() {
+		return NAME;
+	}
+
+	@Override
+	public byte systemCodecID() {
+		return -1;
+	}
+}
@@ -0,0 +1,118 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+import com.github.aesteve.vertx.nubes.marshallers.PayloadSplitter;
+
+/**
+ * Scans the body byte per byte (structural characters are ASCII, so it's safe with UTF-8 bodies)
+ * and keeps the bytes of the element being read, which may span over several chunks.
+ *
+ * Elements bigger than maxElementSize bytes aren't kept : they're still scanned (to find where they end), then reported to the error handler.
+ */
+public abstract class AbstractPayloadSplitter implements PayloadSplitter {
+
+	public static final int DEFAULT_MAX_ELEMENT_SIZE = 1024 * 1024;
+
+	private static final String OVERSIZED = new String("oversized"); // compared by reference
+
+	private final int maxElementSize;
+	private Buffer element;
+	private int elementStart = -1;
+	private boolean oversized;
+	private byte[] bytes;
+	private Handler<String> elementHandler;
+	private Handler<RuntimeException> errorHandler;
+
+	protected AbstractPayloadSplitter() {
+		this(DEFAULT_MAX_ELEMENT_SIZE);
+	}
+
+	protected AbstractPayloadSplitter(int maxElementSize) {
+		this.maxElementSize = maxElementSize;
+	}
+
+	@Override
+	public void feed(Buffer chunk, Handler<String> elementHandler, Handler<RuntimeException> errorHandler) {
+		bytes = chunk.getBytes();
+		this.elementHandler = elementHandler;
+		this.errorHandler = errorHandler;
+		for (int i = 0; i < bytes.length; i++) {
+			read(bytes[i], i);
+		}
+		if (elementStart >= 0) {
+			keepElementBytes(bytes.length);
+			elementStart = 0;
+		}
+		bytes = null;
+	}
+
+	@Override
+	public void end(Handler<String> elementHandler, Handler<RuntimeException> errorHandler) {
+		this.elementHandler = elementHandler;
+		this.errorHandler = errorHandler;
+		end();
+	}
+
+	/**
+	 * @param b the byte read
+	 * @param index its position in the current chunk
+	 */
+	protected abstract void read(byte b, int index);
+
+	protected abstract void end();
+
+	protected boolean inElement() {
+		return elementStart >= 0 || element != null || oversized;
+	}
+
+	protected void startElement(int index) {
+		elementStart = index;
+	}
+
+	protected void cancelElement() {
+		elementStart = -1;
+		element = null;
+		oversized = false;
+	}
+
+	/**
+	 * @param end the position (exclusive) of the element's end in the current chunk
+	 * @return the element (trimmed), to be emitted even if it's too big (the error handler is called instead)
+	 */
+	protected String endElement(int end) {
+		if (elementStart >= 0 && bytes != null) {
+			keepElementBytes(end);
+		}
+		String value = oversized ? OVERSIZED : element == null ? "" : element.toString("UTF-8").trim();
+		cancelElement();
+		return value;
+	}
+
+	protected void emit(String value) {
+		if (value == OVERSIZED) {
+			errorHandler.handle(new IllegalArgumentException("Element bigger than " + maxElementSize + " bytes"));
+		} else {
+			elementHandler.handle(value);
+		}
+	}
+
+	private void keepElementBytes(int end) {
+		if (oversized) {
+			return;
+		}
+		int length = Math.max(0, end - elementStart);
+		if ((element == null ? 0 : element.length()) + length > maxElementSize) {
+			oversized = true;
+			element = null;
+			return;
+		}
+		if (element == null) {
+			element = Buffer.buffer();
+		}
+		if (length > 0) {
+			element.appendBytes(bytes, elementStart, length);
+		}
+	}
+}
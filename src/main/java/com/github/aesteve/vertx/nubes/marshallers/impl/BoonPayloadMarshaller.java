@@ -8,17 +8,20 @@ import org.boon.json.JsonSerializer;
 import org.boon.json.JsonSerializerFactory;
 import org.boon.json.ObjectMapper;
 
-import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.context.ProjectionTree;
+import com.github.aesteve.vertx.nubes.marshallers.ProjectingPayloadMarshaller;
 import com.github.aesteve.vertx.nubes.utils.StackTracePrinter;
 
-public class BoonPayloadMarshaller implements PayloadMarshaller {
+public class BoonPayloadMarshaller implements ProjectingPayloadMarshaller {
 
 	protected JsonSerializer serializer;
 	protected ObjectMapper mapper;
+	protected BoonProjectionWriter projectionWriter;
 
 	public BoonPayloadMarshaller() {
 		this.serializer = new JsonSerializerFactory().useAnnotations().create();
 		this.mapper = JsonFactory.create();
+		this.projectionWriter = new BoonProjectionWriter(serializer);
 	}
 
 	@Override
@@ -42,6 +45,14 @@ public class BoonPayloadMarshaller implements PayloadMarshaller {
 		return serializer.serialize(payload).toString();
 	}
 
+	@Override
+	public String marshallPayload(Object payload, ProjectionTree projection) {
+		if (projection == null || projection.isLeaf()) {
+			return marshallPayload(payload);
+		}
+		return projectionWriter.write(payload, projection);
+	}
+
 	@Override
 	public String marshallUnexpectedError(Throwable error, boolean displayDetails) {
 		JsonObject json = new JsonObject();
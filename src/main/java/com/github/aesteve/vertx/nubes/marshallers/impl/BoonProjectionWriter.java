@@ -0,0 +1,137 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.lang.reflect.Array;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.boon.core.reflection.Reflection;
+import org.boon.core.reflection.fields.FieldAccess;
+import org.boon.json.JsonSerializer;
+import org.boon.primitive.CharBuf;
+
+import com.github.aesteve.vertx.nubes.context.ProjectionTree;
+
+/**
+ * Walks the payload following a ProjectionTree and only writes the selected properties.
+ * Unselected properties are never read nor serialized.
+ * 
+ * Whenever the projection reaches a leaf, the value is handed to Boon's serializer as a whole.
+ */
+public class BoonProjectionWriter {
+
+	private final JsonSerializer serializer;
+	private final Map<Class<?>, Map<String, FieldAccess>> fieldsByClass;
+
+	public BoonProjectionWriter(JsonSerializer serializer) {
+		this.serializer = serializer;
+		fieldsByClass = new ConcurrentHashMap<>();
+	}
+
+	public String write(Object payload, ProjectionTree projection) {
+		CharBuf buf = CharBuf.create(256);
+		write(buf, payload, projection);
+		return buf.toString();
+	}
+
+	private void write(CharBuf buf, Object value, ProjectionTree projection) {
+		if (value == null) {
+			buf.add("null");
+		} else if (value instanceof JsonObject) {
+			if (projection.isLeaf()) {
+				buf.add(((JsonObject) value).encode());
+			} else {
+				writeMap(buf, ((JsonObject) value).getMap(), projection);
+			}
+		} else if (value instanceof JsonArray) {
+			if (projection.isLeaf()) {
+				buf.add(((JsonArray) value).encode());
+			} else {
+				writeIterable(buf, ((JsonArray) value).getList(), projection);
+			}
+		} else if (projection.isLeaf() || isSimpleValue(value)) {
+			serializer.serialize(buf, value);
+		} else if (value instanceof Map) {
+			writeMap(buf, (Map<?, ?>) value, projection);
+		} else if (value instanceof Collection) {
+			writeIterable(buf, (Collection<?>) value, projection);
+		} else if (value.getClass().isArray()) {
+			writeArray(buf, value, projection);
+		} else {
+			writeBean(buf, value, projection);
+		}
+	}
+
+	private void writeMap(CharBuf buf, Map<?, ?> map, ProjectionTree projection) {
+		buf.addChar('{');
+		boolean first = true;
+		for (String field : projection.fields()) {
+			Object fieldValue = map.get(field);
+			if (fieldValue == null) {
+				continue;
+			}
+			first = writeField(buf, field, fieldValue, projection.child(field), first);
+		}
+		buf.addChar('}');
+	}
+
+	private void writeBean(CharBuf buf, Object bean, ProjectionTree projection) {
+		Map<String, FieldAccess> fields = fieldsByClass.computeIfAbsent(bean.getClass(), Reflection::getAllAccessorFields);
+		buf.addChar('{');
+		boolean first = true;
+		for (String field : projection.fields()) {
+			FieldAccess access = fields.get(field);
+			if (access == null || access.isStatic() || access.ignore()) {
+				continue;
+			}
+			Object fieldValue = access.getValue(bean);
+			if (fieldValue == null) {
+				continue;
+			}
+			first = writeField(buf, field, fieldValue, projection.child(field), first);
+		}
+		buf.addChar('}');
+	}
+
+	private boolean writeField(CharBuf buf, String field, Object fieldValue, ProjectionTree projection, boolean first) {
+		if (!first) {
+			buf.addChar(',');
+		}
+		buf.addJsonFieldName(field);
+		write(buf, fieldValue, projection);
+		return false;
+	}
+
+	private void writeIterable(CharBuf buf, Iterable<?> iterable, ProjectionTree projection) {
+		buf.addChar('[');
+		boolean first = true;
+		for (Object element : iterable) {
+			if (!first) {
+				buf.addChar(',');
+			}
+			write(buf, element, projection);
+			first = false;
+		}
+		buf.addChar(']');
+	}
+
+	private void writeArray(CharBuf buf, Object array, ProjectionTree projection) {
+		buf.addChar('[');
+		int length = Array.getLength(array);
+		for (int i = 0; i < length; i++) {
+			if (i > 0) {
+				buf.addChar(',');
+			}
+			write(buf, Array.get(array, i), projection);
+		}
+		buf.addChar(']');
+	}
+
+	private static boolean isSimpleValue(Object value) {
+		return value instanceof CharSequence || value instanceof Number || value instanceof Boolean || value instanceof Character || value instanceof Enum || value instanceof Date || value.getClass().isPrimitive();
+	}
+}
@@ -0,0 +1,11 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+public class CborPayloadMarshaller extends JacksonBinaryPayloadMarshaller {
+
+	public CborPayloadMarshaller() {
+		super(new CBORFactory());
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.ZlibCodecFactory;
+import io.netty.handler.codec.compression.ZlibWrapper;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+
+import com.github.aesteve.vertx.nubes.marshallers.PayloadSplitter;
+
+/**
+ * Inflates a compressed (gzip or deflate) request body chunk by chunk, and splits the inflated bytes with another splitter.
+ */
+public class InflatingPayloadSplitter implements PayloadSplitter {
+
+	private final PayloadSplitter delegate;
+	private final EmbeddedChannel decoder;
+
+	public InflatingPayloadSplitter(PayloadSplitter delegate, ZlibWrapper wrapper) {
+		this.delegate = delegate;
+		decoder = new EmbeddedChannel(ZlibCodecFactory.newZlibDecoder(wrapper));
+	}
+
+	/**
+	 * @return the wrapper of a Content-Encoding, null if it's not supported
+	 */
+	public static ZlibWrapper wrapper(String encoding) {
+		switch (encoding.trim().toLowerCase()) {
+			case "gzip":
+			case "x-gzip":
+				return ZlibWrapper.GZIP;
+			case "deflate":
+				return ZlibWrapper.ZLIB_OR_NONE;
+			default:
+				return null;
+		}
+	}
+
+	@Override
+	public void feed(Buffer chunk, Handler<String> elementHandler, Handler<RuntimeException> errorHandler) {
+		try {
+			decoder.writeInbound(Unpooled.wrappedBuffer(chunk.getBytes()));
+		} catch (RuntimeException re) {
+			throw invalid(re);
+		}
+		drain(elementHandler, errorHandler);
+	}
+
+	@Override
+	public void end(Handler<String> elementHandler, Handler<RuntimeException> errorHandler) {
+		try {
+			decoder.finish();
+		} catch (RuntimeException re) {
+			throw invalid(re);
+		}
+		drain(elementHandler, errorHandler);
+		delegate.end(elementHandler, errorHandler);
+	}
+
+	private void drain(Handler<String> elementHandler, Handler<RuntimeException> errorHandler) {
+		ByteBuf inflated;
+		while ((inflated = (ByteBuf) decoder.readInbound()) != null) {
+			try {
+				delegate.feed(Buffer.buffer(inflated), elementHandler, errorHandler);
+			} finally {
+				inflated.release();
+			}
+		}
+	}
+
+	private IllegalArgumentException invalid(RuntimeException cause) {
+		decoder.close();
+		return new IllegalArgumentException("Invalid compressed body : " + cause.getMessage(), cause);
+	}
+}
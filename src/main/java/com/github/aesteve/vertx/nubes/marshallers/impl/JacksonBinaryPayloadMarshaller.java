@@ -0,0 +1,135 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
+import com.github.aesteve.vertx.nubes.marshallers.BinaryPayloadMarshaller;
+import com.github.aesteve.vertx.nubes.utils.StackTracePrinter;
+
+/**
+ * Base class for binary formats backed by a Jackson dataformat.
+ * 
+ * Just like BoonPayloadMarshaller, JsonObject and JsonArray are handled directly
+ * (their underlying Map / List is written as-is) instead of being introspected as beans.
+ */
+public abstract class JacksonBinaryPayloadMarshaller implements BinaryPayloadMarshaller {
+
+	protected ObjectMapper mapper;
+
+	public JacksonBinaryPayloadMarshaller(JsonFactory factory) {
+		mapper = new ObjectMapper(factory);
+		mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+		mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+		SimpleModule module = new SimpleModule();
+		module.addSerializer(JsonObject.class, new JsonObjectSerializer());
+		module.addSerializer(JsonArray.class, new JsonArraySerializer());
+		mapper.registerModule(module);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unmarshallPayload(Buffer body, Class<T> clazz) throws MarshallingException {
+		byte[] bytes = body.getBytes();
+		try {
+			if (clazz.equals(JsonObject.class)) {
+				return (T) new JsonObject(mapper.readValue(bytes, Map.class));
+			} else if (clazz.equals(JsonArray.class)) {
+				return (T) new JsonArray(mapper.readValue(bytes, List.class));
+			}
+			return mapper.readValue(bytes, clazz);
+		} catch (IOException ioe) {
+			throw new MarshallingException(ioe);
+		}
+	}
+
+	@Override
+	public Buffer marshallPayloadAsBuffer(Object payload) throws MarshallingException {
+		try {
+			return Buffer.buffer(mapper.writeValueAsBytes(payload));
+		} catch (IOException ioe) {
+			throw new MarshallingException(ioe);
+		}
+	}
+
+	@Override
+	public Buffer marshallUnexpectedErrorAsBuffer(Throwable error, boolean displayDetails) {
+		String message = "Internal Server Error";
+		if (displayDetails) {
+			message = StackTracePrinter.asLineString(null, error).toString();
+		}
+		return marshallError(500, message);
+	}
+
+	@Override
+	public Buffer marshallHttpStatusAsBuffer(int statusCode, String statusMessage) {
+		return marshallError(statusCode, statusMessage);
+	}
+
+	/**
+	 * The String-based methods are only here to fulfill the PayloadMarshaller contract.
+	 * Each char of the String represents a single byte (ISO-8859-1) so that no information is lost,
+	 * but the Buffer-based methods should always be preferred.
+	 */
+	@Override
+	public <T> T unmarshallPayload(String body, Class<T> clazz) throws MarshallingException {
+		return unmarshallPayload(Buffer.buffer(body, StandardCharsets.ISO_8859_1.name()), clazz);
+	}
+
+	@Override
+	public String marshallPayload(Object payload) throws MarshallingException {
+		return marshallPayloadAsBuffer(payload).toString(StandardCharsets.ISO_8859_1.name());
+	}
+
+	@Override
+	public String marshallUnexpectedError(Throwable error, boolean displayDetails) {
+		return marshallUnexpectedErrorAsBuffer(error, displayDetails).toString(StandardCharsets.ISO_8859_1.name());
+	}
+
+	@Override
+	public String marshallHttpStatus(int statusCode, String statusMessage) {
+		return marshallHttpStatusAsBuffer(statusCode, statusMessage).toString(StandardCharsets.ISO_8859_1.name());
+	}
+
+	private Buffer marshallError(int statusCode, String message) {
+		Map<String, Object> error = new HashMap<>();
+		error.put("code", statusCode);
+		error.put("message", message);
+		Map<String, Object> json = new HashMap<>();
+		json.put("error", error);
+		try {
+			return Buffer.buffer(mapper.writeValueAsBytes(json));
+		} catch (IOException ioe) {
+			throw new RuntimeException(ioe);
+		}
+	}
+
+	private static class JsonObjectSerializer extends JsonSerializer<JsonObject> {
+		@Override
+		public void serialize(JsonObject value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+			jgen.writeObject(value.getMap());
+		}
+	}
+
+	private static class JsonArraySerializer extends JsonSerializer<JsonArray> {
+		@Override
+		public void serialize(JsonArray value, JsonGenerator jgen, SerializerProvider provider) throws IOException {
+			jgen.writeObject(value.getList());
+		}
+	}
+}
@@ -0,0 +1,97 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+/**
+ * Splits a JSON array into its items, without parsing them.
+ * Only strings and nesting are tracked, items are handed over as JSON strings.
+ */
+public class JsonArraySplitter extends AbstractPayloadSplitter {
+
+	private static final int BEFORE_ARRAY = 0;
+	private static final int IN_ARRAY = 1;
+	private static final int AFTER_ARRAY = 2;
+
+	private int state = BEFORE_ARRAY;
+	private int depth;
+	private boolean inString;
+	private boolean escaped;
+	private long nbElements;
+
+	public JsonArraySplitter() {
+		super();
+	}
+
+	/**
+	 * @param maxElementSize the maximum size (in bytes) of an item
+	 */
+	public JsonArraySplitter(int maxElementSize) {
+		super(maxElementSize);
+	}
+
+	@Override
+	protected void read(byte b, int index) {
+		if (state == BEFORE_ARRAY) {
+			if (b == '[') {
+				state = IN_ARRAY;
+			} else if (!isWhitespace(b)) {
+				throw new IllegalArgumentException("A JSON array is expected");
+			}
+			return;
+		}
+		if (state == AFTER_ARRAY) {
+			if (!isWhitespace(b)) {
+				throw new IllegalArgumentException("Unexpected content after the JSON array");
+			}
+			return;
+		}
+		if (inString) {
+			if (escaped) {
+				escaped = false;
+			} else if (b == '\\') {
+				escaped = true;
+			} else if (b == '"') {
+				inString = false;
+			}
+			return;
+		}
+		if (depth == 0 && (b == ',' || b == ']')) {
+			String element = inElement() ? endElement(index) : "";
+			if (element.isEmpty()) {
+				if (b == ']' && nbElements == 0) {
+					state = AFTER_ARRAY;
+					return;
+				}
+				throw new IllegalArgumentException("Missing item in JSON array after item #" + nbElements);
+			}
+			nbElements++;
+			emit(element);
+			if (b == ']') {
+				state = AFTER_ARRAY;
+			}
+			return;
+		}
+		if (!inElement()) {
+			if (isWhitespace(b)) {
+				return;
+			}
+			startElement(index);
+		}
+		if (b == '"') {
+			inString = true;
+		} else if (b == '{' || b == '[') {
+			depth++;
+		} else if (b == '}' || b == ']') {
+			depth--;
+		}
+	}
+
+	@Override
+	protected void end() {
+		if (state != AFTER_ARRAY) {
+			throw new IllegalArgumentException("Unexpected end of JSON array");
+		}
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+	}
+}
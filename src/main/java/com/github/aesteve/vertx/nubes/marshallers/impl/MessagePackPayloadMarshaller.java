@@ -0,0 +1,11 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+public class MessagePackPayloadMarshaller extends JacksonBinaryPayloadMarshaller {
+
+	public MessagePackPayloadMarshaller() {
+		super(new MessagePackFactory());
+	}
+
+}
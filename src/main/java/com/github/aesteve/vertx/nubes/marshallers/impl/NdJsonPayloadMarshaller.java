@@ -0,0 +1,45 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+import java.util.Collection;
+
+import com.github.aesteve.vertx.nubes.context.ProjectionTree;
+
+/**
+ * Newline-delimited JSON : collections are written one item per line, anything else as a single line.
+ */
+public class NdJsonPayloadMarshaller extends BoonPayloadMarshaller {
+
+	@Override
+	public String marshallPayload(Object payload) {
+		return marshallPayload(payload, null);
+	}
+
+	@Override
+	public String marshallPayload(Object payload, ProjectionTree projection) {
+		if (!(payload instanceof Collection)) {
+			return line(payload, projection) + "\n";
+		}
+		StringBuilder lines = new StringBuilder();
+		for (Object item : (Collection<?>) payload) {
+			lines.append(line(item, projection)).append('\n');
+		}
+		return lines.toString();
+	}
+
+	private String line(Object item, ProjectionTree projection) {
+		if (projection == null || projection.isLeaf()) {
+			return super.marshallPayload(item);
+		}
+		return projectionWriter.write(item, projection);
+	}
+
+	@Override
+	public String marshallUnexpectedError(Throwable error, boolean displayDetails) {
+		return super.marshallUnexpectedError(error, displayDetails) + "\n";
+	}
+
+	@Override
+	public String marshallHttpStatus(int statusCode, String errorMessage) {
+		return super.marshallHttpStatus(statusCode, errorMessage) + "\n";
+	}
+}
@@ -0,0 +1,43 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+/**
+ * Splits newline-delimited JSON into its lines. Blank lines are skipped.
+ * Records longer than the maximum record size are skipped up to the next line, and reported as invalid.
+ */
+public class NdJsonSplitter extends AbstractPayloadSplitter {
+
+	public NdJsonSplitter() {
+		super();
+	}
+
+	/**
+	 * @param maxRecordSize the maximum size (in bytes) of a line
+	 */
+	public NdJsonSplitter(int maxRecordSize) {
+		super(maxRecordSize);
+	}
+
+	@Override
+	protected void read(byte b, int index) {
+		if (b == '\n') {
+			if (inElement()) {
+				emitLine(endElement(index));
+			}
+		} else if (!inElement()) {
+			startElement(index);
+		}
+	}
+
+	@Override
+	protected void end() {
+		if (inElement()) {
+			emitLine(endElement(0));
+		}
+	}
+
+	private void emitLine(String line) {
+		if (!line.isEmpty()) {
+			emit(line);
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.github.aesteve.vertx.nubes.marshallers.impl;
+
+/**
+ * Splits an XML document into the children of its root element.
+ * Tags, comments, CDATA sections, processing instructions and declarations are tracked, nothing else is parsed.
+ * 
+ * Keep in mind that each child is then read as a standalone document :
+ * namespaces declared on the root element are not carried over.
+ */
+public class XmlElementSplitter extends AbstractPayloadSplitter {
+
+	private static final int TEXT = 0;
+	private static final int TAG_OPEN = 1;
+	private static final int START_TAG = 2;
+	private static final int END_TAG = 3;
+	private static final int PROCESSING_INSTRUCTION = 4;
+	private static final int BANG = 5;
+	private static final int COMMENT = 6;
+	private static final int CDATA = 7;
+	private static final int DECLARATION = 8;
+
+	private static final String COMMENT_START = "--";
+	private static final String CDATA_START = "[CDATA[";
+
+	private int state = TEXT;
+	private int depth;
+	private boolean rootOpened;
+	private boolean rootClosed;
+	private boolean markupStartsElement;
+	private byte quote;
+	private byte last;
+	private byte beforeLast;
+	private StringBuilder bang = new StringBuilder(CDATA_START.length());
+	private int declarationNesting;
+
+	public XmlElementSplitter() {
+		super();
+	}
+
+	/**
+	 * @param maxElementSize the maximum size (in bytes) of a child of the root element
+	 */
+	public XmlElementSplitter(int maxElementSize) {
+		super(maxElementSize);
+	}
+
+	@Override
+	protected void read(byte b, int index) {
+		switch (state) {
+			case TEXT:
+				if (b == '<') {
+					state = TAG_OPEN;
+					markupStartsElement = depth == 1 && !inElement();
+					if (markupStartsElement) {
+						startElement(index);
+					}
+				} else if (depth == 0 && !isWhitespace(b)) {
+					throw new IllegalArgumentException("Unexpected content outside of the root element");
+				}
+				break;
+			case TAG_OPEN:
+				if (b == '/') {
+					if (markupStartsElement) { // closing the root element
+						cancelElement();
+					}
+					state = END_TAG;
+				} else if (b == '?' || b == '!') {
+					if (markupStartsElement) {
+						cancelElement();
+					}
+					state = b == '?' ? PROCESSING_INSTRUCTION : BANG;
+					bang.setLength(0);
+				} else {
+					state = START_TAG;
+					quote = 0;
+				}
+				break;
+			case START_TAG:
+				if (quote != 0) {
+					if (b == quote) {
+						quote = 0;
+					}
+				} else if (b == '"' || b == '\'') {
+					quote = b;
+				} else if (b == '>') {
+					state = TEXT;
+					startTagRead(last == '/', index);
+				}
+				break;
+			case END_TAG:
+				if (b == '>') {
+					state = TEXT;
+					depth--;
+					if (depth == 1) {
+						emit(endElement(index + 1));
+					} else if (depth == 0) {
+						rootClosed = true;
+					} else if (depth < 0) {
+						throw new IllegalArgumentException("Unexpected closing tag");
+					}
+				}
+				break;
+			case PROCESSING_INSTRUCTION:
+				if (b == '>' && last == '?') {
+					state = TEXT;
+				}
+				break;
+			case BANG:
+				bang.append((char) b);
+				String prefix = bang.toString();
+				if (COMMENT_START.equals(prefix)) {
+					state = COMMENT;
+				} else if (CDATA_START.equals(prefix)) {
+					state = CDATA;
+				} else if (!COMMENT_START.startsWith(prefix) && !CDATA_START.startsWith(prefix)) {
+					state = DECLARATION;
+					declarationNesting = 0;
+					readDeclaration(b);
+				}
+				break;
+			case COMMENT:
+				if (b == '>' && last == '-' && beforeLast == '-') {
+					state = TEXT;
+				}
+				break;
+			case CDATA:
+				if (b == '>' && last == ']' && beforeLast == ']') {
+					state = TEXT;
+				}
+				break;
+			case DECLARATION:
+				readDeclaration(b);
+				break;
+		}
+		beforeLast = last;
+		last = b;
+	}
+
+	private void startTagRead(boolean empty, int index) {
+		if (depth == 0) {
+			if (rootOpened) {
+				throw new IllegalArgumentException("An XML document can only have one root element");
+			}
+			rootOpened = true;
+			if (empty) {
+				rootClosed = true;
+			} else {
+				depth = 1;
+			}
+		} else if (empty) {
+			if (depth == 1) {
+				emit(endElement(index + 1));
+			}
+		} else {
+			depth++;
+		}
+	}
+
+	private void readDeclaration(byte b) {
+		if (b == '[') {
+			declarationNesting++;
+		} else if (b == ']') {
+			declarationNesting--;
+		} else if (b == '>' && declarationNesting == 0) {
+			state = TEXT;
+		}
+	}
+
+	@Override
+	protected void end() {
+		if (!rootClosed || state != TEXT) {
+			throw new IllegalArgumentException("Unexpected end of XML document");
+		}
+	}
+
+	private static boolean isWhitespace(byte b) {
+		return b == ' ' || b == '\n' || b == '\r' || b == '\t';
+	}
+}
@@ -1,10 +1,13 @@
 package com.github.aesteve.vertx.nubes.reflections;
 
 import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Vertx;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -12,6 +15,7 @@ import org.reflections.Reflections;
 
 import com.github.aesteve.vertx.nubes.Config;
 import com.github.aesteve.vertx.nubes.annotations.services.Verticle;
+import com.github.aesteve.vertx.nubes.services.VerticleSupervisor;
 
 public class AnnotVerticleFactory {
 
@@ -23,11 +27,39 @@ public class AnnotVerticleFactory {
 		this.config = config;
 	}
 
+	/**
+	 * @return the verticles deployed with a fixed number of instances
+	 */
 	public Map<String, DeploymentOptions> scan() {
 		Map<String, DeploymentOptions> map = new HashMap<>();
+		scanVerticles().forEach(clazz -> {
+			Verticle annot = clazz.getAnnotation(Verticle.class);
+			if (annot.scaleOn().length == 0) {
+				map.put(clazz.getName(), getDeploymentOptions(annot));
+			}
+		});
+		return map;
+	}
+
+	/**
+	 * @return a supervisor for each verticle scaled on its load
+	 */
+	public List<VerticleSupervisor> scanScaled(Vertx vertx) {
+		List<VerticleSupervisor> supervisors = new ArrayList<>();
+		scanVerticles().forEach(clazz -> {
+			Verticle annot = clazz.getAnnotation(Verticle.class);
+			if (annot.scaleOn().length > 0) {
+				supervisors.add(VerticleSupervisor.shared(vertx, clazz.getName(), getDeploymentOptions(annot), annot));
+			}
+		});
+		return supervisors;
+	}
+
+	private List<Class<?>> scanVerticles() {
+		List<Class<?>> verticles = new ArrayList<>();
 		String verticlePackage = config.verticlePackage;
 		if (verticlePackage == null) {
-			return map;
+			return verticles;
 		}
 		Reflections reflections = new Reflections(verticlePackage);
 		Set<Class<?>> classes = reflections.getTypesAnnotatedWith(Verticle.class);
@@ -35,11 +67,10 @@ public class AnnotVerticleFactory {
 			if (!io.vertx.core.Verticle.class.isAssignableFrom(clazz)) {
 				log.error("Cannot create verticle " + clazz.getName() + " since it's not a subclass of io.vertx.core.Verticle");
 			} else {
-				Verticle annot = clazz.getAnnotation(Verticle.class);
-				map.put(clazz.getName(), getDeploymentOptions(annot));
+				verticles.add(clazz);
 			}
 		});
-		return map;
+		return verticles;
 	}
 
 	private DeploymentOptions getDeploymentOptions(Verticle annot) {
@@ -47,7 +78,9 @@ public class AnnotVerticleFactory {
 		if (annot.inheritsConfig()) {
 			options.setConfig(config.json);
 		}
-		if (annot.instances() > 0) {
+		if (annot.instances() == Verticle.AUTO) {
+			options.setInstances(Runtime.getRuntime().availableProcessors());
+		} else if (annot.instances() > 0) {
 			options.setInstances(annot.instances());
 		}
 		if (!"".equals(annot.isolationGroup())) {
@@ -4,13 +4,17 @@ import io.vertx.core.Handler;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +25,8 @@ import java.util.function.BiConsumer;
 import org.reflections.Reflections;
 
 import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.annotations.Blocking;
+import com.github.aesteve.vertx.nubes.annotations.Bulk;
 import com.github.aesteve.vertx.nubes.annotations.Controller;
 import com.github.aesteve.vertx.nubes.annotations.File;
 import com.github.aesteve.vertx.nubes.annotations.View;
@@ -29,6 +35,7 @@ import com.github.aesteve.vertx.nubes.annotations.filters.After;
 import com.github.aesteve.vertx.nubes.annotations.filters.AfterFilter;
 import com.github.aesteve.vertx.nubes.annotations.filters.Before;
 import com.github.aesteve.vertx.nubes.annotations.filters.BeforeFilter;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
 import com.github.aesteve.vertx.nubes.annotations.routing.Disabled;
 import com.github.aesteve.vertx.nubes.annotations.routing.Forward;
 import com.github.aesteve.vertx.nubes.auth.AuthMethod;
@@ -36,6 +43,7 @@ import com.github.aesteve.vertx.nubes.context.FileResolver;
 import com.github.aesteve.vertx.nubes.context.ViewResolver;
 import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
+import com.github.aesteve.vertx.nubes.handlers.impl.BodyStreamProcessor;
 import com.github.aesteve.vertx.nubes.reflections.factories.AuthenticationFactory;
 import com.github.aesteve.vertx.nubes.routing.HttpMethodFactory;
 import com.github.aesteve.vertx.nubes.routing.MVCRoute;
@@ -115,6 +123,8 @@ public class RouteFactory extends AbstractInjectionFactory implements HandlerFac
 				Set<Handler<RoutingContext>> paramsHandlers = new LinkedHashSet<>();
 				Class<?>[] parameterClasses = method.getParameterTypes();
 				Annotation[][] parametersAnnotations = method.getParameterAnnotations();
+				Bulk bulk = method.getAnnotation(Bulk.class);
+				Processor bodyStreamProcessor = null;
 
 				for (int i = 0; i < parameterClasses.length; i++) {
 					Class<?> parameterClass = parameterClasses[i];
@@ -129,6 +139,9 @@ public class RouteFactory extends AbstractInjectionFactory implements HandlerFac
 					Annotation[] paramAnnotations = parametersAnnotations[i];
 					if (paramAnnotations != null) {
 						for (Annotation annotation : paramAnnotations) {
+							if (annotation instanceof RequestBody && (bulk != null || isBodyStream(parameterClass))) {
+								bodyStreamProcessor = createBodyStreamProcessor(method, i);
+							}
 							Set<Handler<RoutingContext>> paramHandler = config.annotationHandlers.get(annotation.annotationType());
 							if (paramHandler != null) {
 								paramsHandlers.addAll(paramHandler);
@@ -137,6 +150,10 @@ public class RouteFactory extends AbstractInjectionFactory implements HandlerFac
 					}
 				}
 
+				if (bulk != null && bodyStreamProcessor == null) {
+					throw new IllegalArgumentException("A @Bulk method must have a @RequestBody parameter : " + method);
+				}
+				final Processor bodyStreamProc = bodyStreamProcessor; // java 8...
 				Map<HttpMethod, String> httpMethods = HttpMethodFactory.fromAnnotatedMethod(method);
 				httpMethods.forEach((httpMethod, path) -> {
 					Handler<RoutingContext> authHandler = null;
@@ -165,6 +182,13 @@ public class RouteFactory extends AbstractInjectionFactory implements HandlerFac
 							route.attachReturnHandler(returnHandler);
 						}
 					}
+					if (bodyStreamProc != null) {
+						route.setBodyStreamed(true);
+						route.addProcessor(bodyStreamProc);
+					}
+					if (bulk != null) {
+						route.setBulk(bulk);
+					}
 					Before before = method.getAnnotation(Before.class);
 					After after = method.getAnnotation(After.class);
 					if (before != null) {
@@ -199,6 +223,40 @@ public class RouteFactory extends AbstractInjectionFactory implements HandlerFac
 		return routes;
 	}
 
+	private static boolean isBodyStream(Class<?> parameterClass) {
+		return parameterClass.equals(ReadStream.class) || parameterClass.equals(Iterator.class);
+	}
+
+	private Processor createBodyStreamProcessor(Method method, int paramIndex) {
+		Class<?> parameterClass = method.getParameterTypes()[paramIndex];
+		if (method.isAnnotationPresent(Bulk.class)) {
+			if (isBodyStream(parameterClass)) {
+				throw new IllegalArgumentException("@Bulk methods are invoked for each record, use the record's type (or a List of records) as @RequestBody : " + method);
+			}
+			if (!parameterClass.equals(List.class)) {
+				return new BodyStreamProcessor(config, parameterClass, false);
+			}
+		}
+		boolean blocking = parameterClass.equals(Iterator.class);
+		if (blocking && !method.isAnnotationPresent(Blocking.class)) {
+			throw new IllegalArgumentException("An Iterator can only be used as @RequestBody in @Blocking methods, use a ReadStream instead : " + method);
+		}
+		Type paramType = method.getGenericParameterTypes()[paramIndex];
+		Class<?> elementClass = null;
+		if (paramType instanceof ParameterizedType) {
+			Type elementType = ((ParameterizedType) paramType).getActualTypeArguments()[0];
+			if (elementType instanceof Class) {
+				elementClass = (Class<?>) elementType;
+			} else if (elementType instanceof ParameterizedType) {
+				elementClass = (Class<?>) ((ParameterizedType) elementType).getRawType();
+			}
+		}
+		if (elementClass == null) {
+			throw new IllegalArgumentException("The type of the request body's elements must be specified, for instance ReadStream<Dog> : " + method);
+		}
+		return new BodyStreamProcessor(config, elementClass, blocking);
+	}
+
 	private void extractFiltersFromController(List<MVCRoute> routes, Class<?> controller) {
 		Set<Filter> beforeFilters = new TreeSet<>();
 		Set<Filter> afterFilters = new TreeSet<>();
@@ -1,10 +1,5 @@
 package com.github.aesteve.vertx.nubes.reflections;
 
-import io.vertx.core.Vertx;
-import io.vertx.core.buffer.Buffer;
-import io.vertx.core.eventbus.EventBus;
-import io.vertx.core.logging.Logger;
-import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.sockjs.SockJSHandler;
 import io.vertx.ext.web.handler.sockjs.SockJSSocket;
@@ -21,11 +16,11 @@ import com.github.aesteve.vertx.nubes.annotations.sockjs.OnClose;
 import com.github.aesteve.vertx.nubes.annotations.sockjs.OnMessage;
 import com.github.aesteve.vertx.nubes.annotations.sockjs.OnOpen;
 import com.github.aesteve.vertx.nubes.annotations.sockjs.SockJS;
+import com.github.aesteve.vertx.nubes.reflections.SocketMethodInvoker.Frame;
+import com.github.aesteve.vertx.nubes.sockjs.Rooms;
 
 public class SocketFactory extends AbstractInjectionFactory implements HandlerFactory {
 
-	private static final Logger log = LoggerFactory.getLogger(SocketFactory.class);
-
 	private Router router;
 
 	public SocketFactory(Router router, Config config) {
@@ -47,9 +42,9 @@ public class SocketFactory extends AbstractInjectionFactory implements HandlerFa
 		SockJSHandler sockJSHandler = SockJSHandler.create(config.vertx, config.sockJSOptions);
 		SockJS annot = controller.getAnnotation(SockJS.class);
 		String path = annot.value();
-		List<Method> openHandlers = new ArrayList<>();
-		List<Method> messageHandlers = new ArrayList<>();
-		List<Method> closeHandlers = new ArrayList<>();
+		List<SocketMethodInvoker> openHandlers = new ArrayList<>();
+		List<SocketMethodInvoker> messageHandlers = new ArrayList<>();
+		List<SocketMethodInvoker> closeHandlers = new ArrayList<>();
 		Object ctrlInstance = null;
 		try {
 			ctrlInstance = controller.newInstance();
@@ -58,33 +53,39 @@ public class SocketFactory extends AbstractInjectionFactory implements HandlerFa
 			throw new RuntimeException("Could not instanciate socket controller : " + controller.getName(), e);
 		}
 		final Object instance = ctrlInstance;
+		Rooms rooms = Rooms.shared(config.vertx, path, config.marshallers.get("application/json"));
 		for (Method method : controller.getMethods()) {
 			OnOpen openAnnot = method.getAnnotation(OnOpen.class);
 			OnClose closeAnnot = method.getAnnotation(OnClose.class);
 			OnMessage messageAnnot = method.getAnnotation(OnMessage.class);
 			if (openAnnot != null) {
-				openHandlers.add(method);
+				openHandlers.add(createInvoker(rooms, instance, method));
 			}
 			if (closeAnnot != null) {
-				closeHandlers.add(method);
+				closeHandlers.add(createInvoker(rooms, instance, method));
 			}
 			if (messageAnnot != null) {
-				messageHandlers.add(method);
+				messageHandlers.add(createInvoker(rooms, instance, method));
 			}
 		}
+		SocketMethodInvoker[] onOpen = openHandlers.toArray(new SocketMethodInvoker[openHandlers.size()]);
+		SocketMethodInvoker[] onMessage = messageHandlers.toArray(new SocketMethodInvoker[messageHandlers.size()]);
+		SocketMethodInvoker[] onClose = closeHandlers.toArray(new SocketMethodInvoker[closeHandlers.size()]);
 		sockJSHandler.socketHandler(ws -> {
-			openHandlers.forEach(handler -> {
-				tryToInvoke(instance, handler, ws, null);
-			});
+			for (SocketMethodInvoker invoker : onOpen) {
+				invoker.invoke(ws, null);
+			}
 			ws.handler(buff -> {
-				messageHandlers.forEach(messageHandler -> {
-					tryToInvoke(instance, messageHandler, ws, buff);
-				});
+				Frame frame = new Frame(buff);
+				for (SocketMethodInvoker invoker : onMessage) {
+					invoker.invoke(ws, frame);
+				}
 			});
 			ws.endHandler(voidz -> {
-				closeHandlers.forEach(closeHandler -> {
-					tryToInvoke(instance, closeHandler, ws, null);
-				});
+				for (SocketMethodInvoker invoker : onClose) {
+					invoker.invoke(ws, null);
+				}
+				rooms.leaveAll(ws);
 			});
 		});
 		if (!path.endsWith("/*")) {
@@ -97,24 +98,11 @@ public class SocketFactory extends AbstractInjectionFactory implements HandlerFa
 		router.route(path).handler(sockJSHandler);
 	}
 
-	private void tryToInvoke(Object instance, Method method, SockJSSocket socket, Buffer msg) {
-		List<Object> paramInstances = new ArrayList<>();
-		for (Class<?> parameterClass : method.getParameterTypes()) {
-			if (parameterClass.equals(SockJSSocket.class)) {
-				paramInstances.add(socket);
-			} else if (Buffer.class.isAssignableFrom(parameterClass)) {
-				paramInstances.add(msg);
-			} else if (parameterClass.equals(EventBus.class)) {
-				paramInstances.add(config.vertx.eventBus());
-			} else if (parameterClass.equals(Vertx.class)) {
-				paramInstances.add(config.vertx);
-			}
-		}
+	private SocketMethodInvoker createInvoker(Rooms rooms, Object instance, Method method) {
 		try {
-			method.invoke(instance, paramInstances.toArray());
-		} catch (Exception e) {
-			log.error("Error while handling websocket", e);
-			socket.close();
+			return new SocketMethodInvoker(config.vertx, SockJSSocket.class, rooms, instance, method, config.marshallers);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw new RuntimeException("Could not create socket handler : " + instance.getClass().getName() + "." + method.getName(), e);
 		}
 	}
 }
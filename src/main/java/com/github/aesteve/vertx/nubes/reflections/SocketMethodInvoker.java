@@ -0,0 +1,182 @@
+package com.github.aesteve.vertx.nubes.reflections;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.http.WebSocketBase;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.web.handler.sockjs.SockJSSocket;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnMessage;
+import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+import com.github.aesteve.vertx.nubes.sockjs.Rooms;
+
+/**
+ * Invokes a method of a @SockJS controller : what each parameter is made of is resolved once, at startup, and the method is called through a MethodHandle.
+ */
+public class SocketMethodInvoker {
+
+	private static final Logger log = LoggerFactory.getLogger(SocketMethodInvoker.class);
+
+	private enum Param {
+		SOCKET, BUFFER, EVENT_BUS, VERTX, ROOMS, PAYLOAD
+	}
+
+	private final Vertx vertx;
+	private final Rooms rooms;
+	private final Method method;
+	private final MethodHandle handle;
+	private final Param[] params;
+	private Class<?> payloadType;
+	private PayloadMarshaller marshaller;
+
+	/**
+	 * @param socketClass SockJSSocket or ServerWebSocket
+	 * @param rooms can be null if sockets can't join rooms
+	 */
+	public SocketMethodInvoker(Vertx vertx, Class<?> socketClass, Rooms rooms, Object instance, Method method, Map<String, PayloadMarshaller> marshallers) throws IllegalAccessException {
+		this.vertx = vertx;
+		this.rooms = rooms;
+		this.method = method;
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		params = new Param[parameterTypes.length];
+		for (int i = 0; i < parameterTypes.length; i++) {
+			Class<?> parameterClass = parameterTypes[i];
+			if (parameterClass.equals(socketClass)) {
+				params[i] = Param.SOCKET;
+			} else if (Buffer.class.isAssignableFrom(parameterClass)) {
+				params[i] = Param.BUFFER;
+			} else if (parameterClass.equals(EventBus.class)) {
+				params[i] = Param.EVENT_BUS;
+			} else if (parameterClass.equals(Vertx.class)) {
+				params[i] = Param.VERTX;
+			} else if (parameterClass.equals(Rooms.class)) {
+				if (rooms == null) {
+					throw new IllegalArgumentException("Rooms cannot be injected into socket method : " + method.getName());
+				}
+				params[i] = Param.ROOMS;
+			} else if (payloadType == null) {
+				params[i] = Param.PAYLOAD;
+				payloadType = parameterClass;
+			} else {
+				throw new IllegalArgumentException("Socket method " + method.getName() + " cannot take more than one message payload : " + parameterClass.getName());
+			}
+		}
+		if (payloadType != null && !isJson(payloadType)) {
+			OnMessage annot = method.getAnnotation(OnMessage.class);
+			if (annot == null) {
+				throw new IllegalArgumentException("Only @OnMessage methods can take a message payload : " + method.getName());
+			}
+			marshaller = marshallers.get(annot.contentType());
+			if (marshaller == null) {
+				throw new IllegalArgumentException("No marshaller registered for " + annot.contentType() + ", cannot decode messages for : " + method.getName());
+			}
+		}
+		handle = MethodHandles.publicLookup().unreflect(method)
+				.bindTo(instance)
+				.asSpreader(Object[].class, params.length)
+				.asType(MethodType.methodType(void.class, Object[].class));
+	}
+
+	/**
+	 * @param frame the message received, null when the socket opens or closes
+	 */
+	public void invoke(Object socket, Frame frame) {
+		Object[] args = new Object[params.length];
+		try {
+			for (int i = 0; i < params.length; i++) {
+				switch (params[i]) {
+					case SOCKET:
+						args[i] = socket;
+						break;
+					case BUFFER:
+						args[i] = frame == null ? null : frame.buffer;
+						break;
+					case EVENT_BUS:
+						args[i] = vertx.eventBus();
+						break;
+					case VERTX:
+						args[i] = vertx;
+						break;
+					case ROOMS:
+						args[i] = rooms;
+						break;
+					case PAYLOAD:
+						args[i] = frame == null ? null : frame.decode(payloadType, marshaller);
+						break;
+				}
+			}
+			handle.invokeExact(args);
+		} catch (Throwable t) {
+			log.error("Error while handling websocket in : " + method.getName(), t);
+			if (socket instanceof SockJSSocket) {
+				((SockJSSocket) socket).close();
+			} else if (socket instanceof WebSocketBase) {
+				((WebSocketBase) socket).close();
+			}
+		}
+	}
+
+	private static boolean isJson(Class<?> type) {
+		return type.equals(JsonObject.class) || type.equals(JsonArray.class) || type.equals(String.class);
+	}
+
+	/**
+	 * A message received on a socket, decoded (at most once per type) for the @OnMessage methods which need it
+	 */
+	public static class Frame {
+
+		private final Buffer buffer;
+		private String text;
+		private Class<?> decodedType;
+		private Object decoded;
+		private Map<Class<?>, Object> others;
+
+		public Frame(Buffer buffer) {
+			this.buffer = buffer;
+		}
+
+		private Object decode(Class<?> type, PayloadMarshaller marshaller) throws MarshallingException {
+			if (type.equals(decodedType)) {
+				return decoded;
+			}
+			if (others != null && others.containsKey(type)) {
+				return others.get(type);
+			}
+			if (text == null) {
+				text = buffer.toString("UTF-8");
+			}
+			Object value;
+			if (type.equals(String.class)) {
+				value = text;
+			} else if (type.equals(JsonObject.class)) {
+				value = new JsonObject(text);
+			} else if (type.equals(JsonArray.class)) {
+				value = new JsonArray(text);
+			} else {
+				value = marshaller.unmarshallPayload(text, type);
+			}
+			if (decodedType == null) {
+				decodedType = type;
+				decoded = value;
+			} else {
+				if (others == null) {
+					others = new HashMap<>(2);
+				}
+				others.put(type, value);
+			}
+			return value;
+		}
+	}
+}
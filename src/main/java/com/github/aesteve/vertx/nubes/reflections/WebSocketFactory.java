@@ -0,0 +1,174 @@
+package com.github.aesteve.vertx.nubes.reflections;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.http.ServerWebSocket;
+import io.vertx.core.http.WebSocketFrame;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.web.Router;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.reflections.Reflections;
+
+import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnClose;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnMessage;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnOpen;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.WebSocket;
+import com.github.aesteve.vertx.nubes.reflections.SocketMethodInvoker.Frame;
+
+/**
+ * Upgrades the requests made on the path of @WebSocket controllers, and calls their handlers with the messages received.
+ * Fragmented messages are aggregated (up to maxMessageSize), and reading is paused while the socket's write queue is full.
+ */
+public class WebSocketFactory extends AbstractInjectionFactory implements HandlerFactory {
+
+	private static final Logger log = LoggerFactory.getLogger(WebSocketFactory.class);
+
+	private Router router;
+
+	public WebSocketFactory(Router router, Config config) {
+		this.router = router;
+		this.config = config;
+	}
+
+	public void createHandlers() {
+		config.controllerPackages.forEach(controllerPackage -> {
+			Reflections reflections = new Reflections(controllerPackage);
+			Set<Class<?>> controllers = reflections.getTypesAnnotatedWith(WebSocket.class);
+			controllers.forEach(controller -> {
+				createSocketHandlers(controller);
+			});
+		});
+	}
+
+	private void createSocketHandlers(Class<?> controller) {
+		WebSocket annot = controller.getAnnotation(WebSocket.class);
+		List<SocketMethodInvoker> openHandlers = new ArrayList<>();
+		List<SocketMethodInvoker> messageHandlers = new ArrayList<>();
+		List<SocketMethodInvoker> closeHandlers = new ArrayList<>();
+		Object instance;
+		try {
+			instance = controller.newInstance();
+			injectServicesIntoController(instance);
+		} catch (Exception e) {
+			throw new RuntimeException("Could not instanciate websocket controller : " + controller.getName(), e);
+		}
+		for (Method method : controller.getMethods()) {
+			if (method.isAnnotationPresent(OnOpen.class)) {
+				openHandlers.add(createInvoker(instance, method));
+			}
+			if (method.isAnnotationPresent(OnClose.class)) {
+				closeHandlers.add(createInvoker(instance, method));
+			}
+			if (method.isAnnotationPresent(OnMessage.class)) {
+				messageHandlers.add(createInvoker(instance, method));
+			}
+		}
+		SocketMethodInvoker[] onOpen = openHandlers.toArray(new SocketMethodInvoker[openHandlers.size()]);
+		SocketMethodInvoker[] onMessage = messageHandlers.toArray(new SocketMethodInvoker[messageHandlers.size()]);
+		SocketMethodInvoker[] onClose = closeHandlers.toArray(new SocketMethodInvoker[closeHandlers.size()]);
+		router.route(annot.value()).handler(context -> {
+			if (!isUpgrade(context.request())) {
+				context.next();
+				return;
+			}
+			ServerWebSocket ws = context.request().upgrade();
+			new Connection(ws, annot, onMessage).start();
+			for (SocketMethodInvoker invoker : onOpen) {
+				invoker.invoke(ws, null);
+			}
+			ws.closeHandler(v -> {
+				for (SocketMethodInvoker invoker : onClose) {
+					invoker.invoke(ws, null);
+				}
+			});
+		});
+	}
+
+	private SocketMethodInvoker createInvoker(Object instance, Method method) {
+		try {
+			return new SocketMethodInvoker(config.vertx, ServerWebSocket.class, null, instance, method, config.marshallers);
+		} catch (IllegalAccessException | IllegalArgumentException e) {
+			throw new RuntimeException("Could not create websocket handler : " + instance.getClass().getName() + "." + method.getName(), e);
+		}
+	}
+
+	private static boolean isUpgrade(HttpServerRequest request) {
+		return "websocket".equalsIgnoreCase(request.getHeader("Upgrade"));
+	}
+
+	/**
+	 * Reassembles the messages of a socket from its frames
+	 */
+	private static class Connection {
+
+		private final ServerWebSocket ws;
+		private final WebSocket annot;
+		private final SocketMethodInvoker[] onMessage;
+		private Buffer fragments;
+		private boolean paused;
+
+		private Connection(ServerWebSocket ws, WebSocket annot, SocketMethodInvoker[] onMessage) {
+			this.ws = ws;
+			this.annot = annot;
+			this.onMessage = onMessage;
+		}
+
+		private void start() {
+			if (annot.writeQueueMaxSize() > 0) {
+				ws.setWriteQueueMaxSize(annot.writeQueueMaxSize());
+			}
+			ws.drainHandler(v -> {
+				if (paused) {
+					paused = false;
+					ws.resume();
+				}
+			});
+			ws.frameHandler(this::handle);
+		}
+
+		private void handle(WebSocketFrame frame) {
+			if (!frame.isText() && !frame.isBinary() && !frame.isContinuation()) {
+				return;
+			}
+			Buffer data = frame.binaryData();
+			int size = (fragments == null ? 0 : fragments.length()) + data.length();
+			if (size > annot.maxMessageSize()) {
+				log.warn("Closing websocket on " + annot.value() + " : message bigger than " + annot.maxMessageSize() + " bytes");
+				fragments = null;
+				ws.close();
+				return;
+			}
+			if (fragments == null && frame.isFinal()) {
+				dispatch(data);
+				return;
+			}
+			if (fragments == null) {
+				fragments = Buffer.buffer(size);
+			}
+			fragments.appendBuffer(data);
+			if (frame.isFinal()) {
+				Buffer message = fragments;
+				fragments = null;
+				dispatch(message);
+			}
+		}
+
+		private void dispatch(Buffer message) {
+			Frame frame = new Frame(message);
+			for (SocketMethodInvoker invoker : onMessage) {
+				invoker.invoke(ws, frame);
+			}
+			if (!paused && ws.writeQueueFull()) {
+				paused = true;
+				ws.pause();
+			}
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package com.github.aesteve.vertx.nubes.reflections.factories.impl;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Cacheable;
+import com.github.aesteve.vertx.nubes.context.ResponseCache;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.CacheableProcessor;
+import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+
+public class CacheableProcessorFactory implements AnnotationProcessorFactory<Cacheable> {
+
+	private ResponseCache cache;
+
+	public CacheableProcessorFactory(ResponseCache cache) {
+		this.cache = cache;
+	}
+
+	@Override
+	public AnnotationProcessor<Cacheable> create(Cacheable annotation) {
+		return new CacheableProcessor(annotation, cache);
+	}
+
+}
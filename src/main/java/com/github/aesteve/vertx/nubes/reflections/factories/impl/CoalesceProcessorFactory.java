@@ -0,0 +1,22 @@
+package com.github.aesteve.vertx.nubes.reflections.factories.impl;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Coalesce;
+import com.github.aesteve.vertx.nubes.context.InFlightRequests;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.CoalesceProcessor;
+import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+
+public class CoalesceProcessorFactory implements AnnotationProcessorFactory<Coalesce> {
+
+	private InFlightRequests requests;
+
+	public CoalesceProcessorFactory(InFlightRequests requests) {
+		this.requests = requests;
+	}
+
+	@Override
+	public AnnotationProcessor<Coalesce> create(Coalesce annotation) {
+		return new CoalesceProcessor(annotation, requests);
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.github.aesteve.vertx.nubes.reflections.factories.impl;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Compressed;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.CompressedBodyCache;
+import com.github.aesteve.vertx.nubes.handlers.impl.CompressionProcessor;
+import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+
+public class CompressionProcessorFactory implements AnnotationProcessorFactory<Compressed> {
+
+	private CompressedBodyCache cache;
+
+	public CompressionProcessorFactory(CompressedBodyCache cache) {
+		this.cache = cache;
+	}
+
+	@Override
+	public AnnotationProcessor<Compressed> create(Compressed annotation) {
+		return new CompressionProcessor(annotation, cache);
+	}
+
+}
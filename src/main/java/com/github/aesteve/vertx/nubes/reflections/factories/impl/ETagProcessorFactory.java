@@ -0,0 +1,15 @@
+package com.github.aesteve.vertx.nubes.reflections.factories.impl;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.ETag;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.ETagProcessor;
+import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+
+public class ETagProcessorFactory implements AnnotationProcessorFactory<ETag> {
+
+	@Override
+	public AnnotationProcessor<ETag> create(ETag annotation) {
+		return new ETagProcessor();
+	}
+
+}
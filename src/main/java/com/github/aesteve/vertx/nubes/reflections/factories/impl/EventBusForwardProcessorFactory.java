@@ -0,0 +1,26 @@
+package com.github.aesteve.vertx.nubes.reflections.factories.impl;
+
+import io.vertx.core.Vertx;
+
+import com.github.aesteve.vertx.nubes.annotations.routing.EventBusForward;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.EventBusForwardProcessor;
+import com.github.aesteve.vertx.nubes.marshallers.codecs.PassThroughBufferCodec;
+import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+
+public class EventBusForwardProcessorFactory implements AnnotationProcessorFactory<EventBusForward> {
+
+	public EventBusForwardProcessorFactory(Vertx vertx) {
+		try {
+			vertx.eventBus().registerCodec(new PassThroughBufferCodec());
+		} catch (IllegalStateException ise) {
+			// already registered by another Nubes instance
+		}
+	}
+
+	@Override
+	public AnnotationProcessor<EventBusForward> create(EventBusForward annotation) {
+		return new EventBusForwardProcessor(annotation);
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.github.aesteve.vertx.nubes.reflections.factories.impl;
+
+import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Idempotent;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.IdempotencyProcessor;
+import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+
+public class IdempotencyProcessorFactory implements AnnotationProcessorFactory<Idempotent> {
+
+	private Config config;
+
+	public IdempotencyProcessorFactory(Config config) {
+		this.config = config;
+	}
+
+	@Override
+	public AnnotationProcessor<Idempotent> create(Idempotent annotation) {
+		return new IdempotencyProcessor(annotation, config.idempotencyStore);
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.github.aesteve.vertx.nubes.reflections.factories.impl;
+
+import com.github.aesteve.vertx.nubes.annotations.mixins.Projection;
+import com.github.aesteve.vertx.nubes.handlers.AnnotationProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.ProjectionProcessor;
+import com.github.aesteve.vertx.nubes.reflections.factories.AnnotationProcessorFactory;
+
+public class ProjectionProcessorFactory implements AnnotationProcessorFactory<Projection> {
+
+	@Override
+	public AnnotationProcessor<Projection> create(Projection annotation) {
+		return new ProjectionProcessor(annotation);
+	}
+
+}
@@ -3,13 +3,18 @@ package com.github.aesteve.vertx.nubes.reflections.injectors.annot.impl;
 import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.streams.ReadStream;
 import io.vertx.ext.web.RoutingContext;
 
+import java.util.Iterator;
 import java.util.Map;
 
 import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
 import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
+import com.github.aesteve.vertx.nubes.handlers.impl.BodyStreamProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.BulkMethodInvocationHandler;
 import com.github.aesteve.vertx.nubes.handlers.impl.ContentTypeProcessor;
+import com.github.aesteve.vertx.nubes.marshallers.BinaryPayloadMarshaller;
 import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
 import com.github.aesteve.vertx.nubes.reflections.injectors.annot.AnnotatedParamInjector;
 
@@ -25,9 +30,14 @@ public class RequestBodyParamInjector implements AnnotatedParamInjector<RequestB
 
 	@Override
 	public Object resolve(RoutingContext context, RequestBody annotation, Class<?> resultClass) {
-		String body = context.getBodyAsString();
+		if (context.data().containsKey(BulkMethodInvocationHandler.RECORDS_ATTR)) {
+			return context.get(BulkMethodInvocationHandler.RECORDS_ATTR);
+		}
+		if (resultClass.equals(ReadStream.class) || resultClass.equals(Iterator.class)) {
+			return context.get(BodyStreamProcessor.DATA_ATTR);
+		}
 		if (resultClass.equals(String.class)) {
-			return body;
+			return context.getBodyAsString();
 		}
 		String contentType = ContentTypeProcessor.getContentType(context);
 		if (contentType == null) {
@@ -35,7 +45,7 @@ public class RequestBodyParamInjector implements AnnotatedParamInjector<RequestB
 			return null;
 		}
 		if (contentType.equals("application/json") && resultClass.equals(JsonObject.class)) {
-			return new JsonObject(body);
+			return new JsonObject(context.getBodyAsString());
 		}
 		PayloadMarshaller marshaller = marshallers.get(contentType);
 		if (marshaller == null) {
@@ -43,7 +53,10 @@ public class RequestBodyParamInjector implements AnnotatedParamInjector<RequestB
 			return null;
 		}
 		try {
-			return marshaller.unmarshallPayload(body, resultClass);
+			if (marshaller instanceof BinaryPayloadMarshaller) {
+				return ((BinaryPayloadMarshaller) marshaller).unmarshallPayload(context.getBody(), resultClass);
+			}
+			return marshaller.unmarshallPayload(context.getBodyAsString(), resultClass);
 		} catch (MarshallingException me) {
 			context.fail(me);
 			return null;
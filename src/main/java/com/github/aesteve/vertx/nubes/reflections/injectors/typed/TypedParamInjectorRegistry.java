@@ -11,13 +11,17 @@ import java.util.Map;
 import java.util.ResourceBundle;
 
 import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.context.DataLoaders;
 import com.github.aesteve.vertx.nubes.context.PaginationContext;
+import com.github.aesteve.vertx.nubes.context.ResourceVersion;
 import com.github.aesteve.vertx.nubes.marshallers.Payload;
+import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.DataLoadersParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.EventBusParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.PaginationContextParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.PayloadParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.RequestParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.ResourceBundleParamInjector;
+import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.ResourceVersionParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.ResponseParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.RoutingContextParamInjector;
 import com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl.VertxParamInjector;
@@ -33,6 +37,8 @@ public class TypedParamInjectorRegistry {
 		registerInjector(RoutingContext.class, new RoutingContextParamInjector());
 		registerInjector(Payload.class, new PayloadParamInjector());
 		registerInjector(PaginationContext.class, new PaginationContextParamInjector());
+		registerInjector(ResourceVersion.class, new ResourceVersionParamInjector());
+		registerInjector(DataLoaders.class, new DataLoadersParamInjector(config));
 		registerInjector(EventBus.class, new EventBusParamInjector());
 		registerInjector(ResourceBundle.class, new ResourceBundleParamInjector(config));
 		registerInjector(HttpServerRequest.class, new RequestParamInjector());
@@ -0,0 +1,29 @@
+package com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl;
+
+import io.vertx.ext.web.RoutingContext;
+
+import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.context.DataLoaders;
+import com.github.aesteve.vertx.nubes.reflections.injectors.typed.ParamInjector;
+
+public class DataLoadersParamInjector implements ParamInjector<DataLoaders> {
+
+	public final static String DATA_LOADERS_ATTR = "nubes-data-loaders";
+
+	private Config config;
+
+	public DataLoadersParamInjector(Config config) {
+		this.config = config;
+	}
+
+	@Override
+	public DataLoaders resolve(RoutingContext context) {
+		DataLoaders loaders = context.get(DATA_LOADERS_ATTR);
+		if (loaders == null) {
+			loaders = new DataLoaders(context.vertx(), config.batchLoaders);
+			context.put(DATA_LOADERS_ATTR, loaders);
+		}
+		return loaders;
+	}
+
+}
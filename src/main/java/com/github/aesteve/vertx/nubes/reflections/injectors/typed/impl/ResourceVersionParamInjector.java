@@ -0,0 +1,15 @@
+package com.github.aesteve.vertx.nubes.reflections.injectors.typed.impl;
+
+import io.vertx.ext.web.RoutingContext;
+
+import com.github.aesteve.vertx.nubes.context.ResourceVersion;
+import com.github.aesteve.vertx.nubes.reflections.injectors.typed.ParamInjector;
+
+public class ResourceVersionParamInjector implements ParamInjector<ResourceVersion> {
+
+	@Override
+	public ResourceVersion resolve(RoutingContext context) {
+		return new ResourceVersion(context);
+	}
+
+}
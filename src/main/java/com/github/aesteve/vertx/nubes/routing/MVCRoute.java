@@ -2,6 +2,7 @@ package com.github.aesteve.vertx.nubes.routing;
 
 import io.vertx.core.Handler;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.RoutingContext;
 import io.vertx.ext.web.handler.BodyHandler;
@@ -12,15 +13,23 @@ import io.vertx.ext.web.handler.UserSessionHandler;
 import io.vertx.ext.web.sstore.LocalSessionStore;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.function.BiConsumer;
 
 import com.github.aesteve.vertx.nubes.Config;
 import com.github.aesteve.vertx.nubes.annotations.Blocking;
+import com.github.aesteve.vertx.nubes.annotations.Bulk;
 import com.github.aesteve.vertx.nubes.handlers.Processor;
+import com.github.aesteve.vertx.nubes.handlers.impl.BulkMethodInvocationHandler;
+import com.github.aesteve.vertx.nubes.handlers.impl.CacheableProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.CompressionProcessor;
+import com.github.aesteve.vertx.nubes.handlers.impl.ContentTypeProcessor;
 import com.github.aesteve.vertx.nubes.handlers.impl.DefaultMethodInvocationHandler;
+import com.github.aesteve.vertx.nubes.handlers.impl.EventBusForwardProcessor;
 import com.github.aesteve.vertx.nubes.handlers.impl.PayloadTypeProcessor;
 import com.github.aesteve.vertx.nubes.utils.Filter;
 
@@ -41,6 +50,8 @@ public class MVCRoute {
 	private Handler<RoutingContext> postInterceptor;
 	private Config config;
 	private boolean disabled;
+	private boolean bodyStreamed;
+	private Bulk bulk;
 	private BiConsumer<RoutingContext, ?> returnHandler;
 
 	public MVCRoute(Object instance, String path, HttpMethod method, Config config, Handler<RoutingContext> authHandler, boolean disabled) {
@@ -60,6 +71,20 @@ public class MVCRoute {
 		return !disabled;
 	}
 
+	/**
+	 * The request body is read incrementally by the route itself : it must not be buffered.
+	 */
+	public void setBodyStreamed(boolean bodyStreamed) {
+		this.bodyStreamed = bodyStreamed;
+	}
+
+	/**
+	 * The main handler is invoked for each record of the request body, it answers the request itself.
+	 */
+	public void setBulk(Bulk bulk) {
+		this.bulk = bulk;
+	}
+
 	public void redirectTo(MVCRoute anotherRoute) {
 		redirectRoute = anotherRoute;
 	}
@@ -133,6 +158,9 @@ public class MVCRoute {
 		}
 		final HttpMethod httpMethodFinal = httpMethod;
 		final String pathFinal = path;
+		if (!isRedirect && readsBody()) {
+			router.route(httpMethodFinal, pathFinal).handler(MVCRoute::pauseRequest);
+		}
 		if (!isRedirect) {
 			config.globalHandlers.forEach(handler -> {
 				router.route(httpMethodFinal, pathFinal).handler(handler);
@@ -152,10 +180,14 @@ public class MVCRoute {
 				router.post(loginRedirect).handler(FormLoginHandler.create(config.authProvider));
 			}
 		}
+		cacheAfterNegotiation();
 		processors.forEach(processor -> {
 			router.route(httpMethodFinal, pathFinal).handler(processor::preHandle);
 		});
 		handlers.forEach(handler -> {
+			if (bodyStreamed && handler instanceof BodyHandler) {
+				return;
+			}
 			if (isRedirect) {
 				if (!(handler instanceof BodyHandler)) { // we can't attach this handler twice
 					router.route(httpMethodFinal, pathFinal).handler(handler);
@@ -176,8 +208,13 @@ public class MVCRoute {
 			router.route(httpMethodFinal, pathFinal).handler(preInterceptor);
 		}
 		boolean mainHasNext = redirectRoute != null || postInterceptor != null || afterFilters.size() > 0 || processors.size() > 0;
-		setHandler(router, mainHandler, httpMethodFinal, pathFinal, mainHasNext);
-		if (redirectRoute != null) {
+		if (bulk != null) {
+			boolean bulkHasNext = postInterceptor != null || afterFilters.size() > 0 || processors.size() > 0;
+			router.route(httpMethodFinal, pathFinal).handler(new BulkMethodInvocationHandler<>(instance, mainHandler, config, bulk.batchSize(), bulkHasNext));
+		} else {
+			setHandler(router, mainHandler, httpMethodFinal, pathFinal, mainHasNext);
+		}
+		if (redirectRoute != null && bulk == null) {
 			// intercepted -> redirected => do not call post processing handlers
 			redirectRoute.attachHandlersToRouter(router, httpMethod, path);
 		}
@@ -186,18 +223,64 @@ public class MVCRoute {
 			// FIXME ?? : return;
 		}
 		i = 0;
-		boolean afterFiltersHaveNext = processors.size() > 0;
+		boolean afterFiltersHaveNext = processors.size() > 0 || bulk != null;
 		for (Filter filter : afterFilters) {
 			boolean hasNext = afterFiltersHaveNext || i < afterFilters.size() - 1;
 			setHandler(router, filter.method(), httpMethodFinal, pathFinal, hasNext);
 			i++;
 		}
-		if (!mainHandler.getReturnType().equals(Void.TYPE) && returnHandler == null) { // try to set as payload
+		if (!mainHandler.getReturnType().equals(Void.TYPE) && returnHandler == null && bulk == null) { // try to set as payload
 			processors.add(new PayloadTypeProcessor(config.marshallers));
 		}
 		processors.forEach(processor -> {
 			router.route(httpMethodFinal, pathFinal).handler(processor::postHandle);
 		});
+		if (bulk != null) {
+			router.route(httpMethodFinal, pathFinal).handler(BulkMethodInvocationHandler::end);
+		}
+	}
+
+	/**
+	 * Cached responses are looked up with the negotiated content-type, and sent through the encoder of the request :
+	 * @Cacheable must run after @ContentType and @Compressed, whatever the order they're declared in.
+	 */
+	private void cacheAfterNegotiation() {
+		List<Processor> ordered = new ArrayList<>(processors);
+		int lastNegotiation = -1;
+		for (int i = 0; i < ordered.size(); i++) {
+			Processor processor = ordered.get(i);
+			if (processor instanceof ContentTypeProcessor || processor instanceof CompressionProcessor) {
+				lastNegotiation = i;
+			}
+		}
+		List<Processor> caches = new ArrayList<>(1);
+		for (int i = 0; i < lastNegotiation; i++) {
+			if (ordered.get(i) instanceof CacheableProcessor) {
+				caches.add(ordered.get(i));
+			}
+		}
+		if (caches.isEmpty()) {
+			return;
+		}
+		Processor negotiation = ordered.get(lastNegotiation);
+		ordered.removeAll(caches);
+		ordered.addAll(ordered.indexOf(negotiation) + 1, caches);
+		processors = new LinkedHashSet<>(ordered);
+	}
+
+	private boolean readsBody() {
+		return bodyStreamed || handlers.stream().anyMatch(handler -> handler instanceof BodyHandler) || processors.stream().anyMatch(processor -> processor instanceof EventBusForwardProcessor);
+	}
+
+	/**
+	 * The body is read by a handler further down the route (which resumes the request) : pausing the request until then
+	 * makes sure no part of it is lost if asynchronous handlers (authentication, processors...) run before.
+	 */
+	private static void pauseRequest(RoutingContext context) {
+		HttpServerRequest request = context.request();
+		request.pause();
+		context.addBodyEndHandler(v -> request.resume()); // the response might be sent before the body is read
+		context.next();
 	}
 
 	private void setHandler(Router router, Method method, HttpMethod httpMethod, String path, boolean hasNext) {
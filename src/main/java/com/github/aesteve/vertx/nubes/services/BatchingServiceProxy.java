@@ -0,0 +1,183 @@
+package com.github.aesteve.vertx.nubes.services;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.aesteve.vertx.nubes.annotations.services.Batchable;
+
+/**
+ * Wraps a @ServiceProxy : calls to a @Batchable method made within its window are merged into a single call to its batch method.
+ * The same argument is only sent once per batch. Every caller's handler is called back on its own context.
+ */
+public class BatchingServiceProxy implements InvocationHandler {
+
+	private final static Logger log = LoggerFactory.getLogger(BatchingServiceProxy.class);
+
+	private final Vertx vertx;
+	private final Object delegate;
+	private final Map<Method, Batcher> batchers;
+
+	private BatchingServiceProxy(Vertx vertx, Class<?> serviceInterface, Object delegate) {
+		this.vertx = vertx;
+		this.delegate = delegate;
+		batchers = new HashMap<>();
+		for (Method method : serviceInterface.getMethods()) {
+			Batchable batchable = method.getAnnotation(Batchable.class);
+			if (batchable == null) {
+				continue;
+			}
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			if (parameterTypes.length != 2 || !Handler.class.equals(parameterTypes[1])) {
+				log.error("Cannot batch calls to : " + method.getName() + ", @Batchable methods should take a single argument and a result handler");
+				continue;
+			}
+			try {
+				Method batchMethod = serviceInterface.getMethod(batchable.method(), List.class, Handler.class);
+				batchers.put(method, new Batcher(batchMethod, batchable));
+			} catch (NoSuchMethodException nsme) {
+				log.error("Cannot batch calls to : " + method.getName() + ", the batch method should take a List of arguments and a result handler", nsme);
+			}
+		}
+	}
+
+	public static boolean isBatchable(Class<?> serviceInterface) {
+		for (Method method : serviceInterface.getMethods()) {
+			if (method.isAnnotationPresent(Batchable.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static Object create(Vertx vertx, Class<?> serviceInterface, Object delegate) {
+		return Proxy.newProxyInstance(serviceInterface.getClassLoader(), new Class<?>[] { serviceInterface }, new BatchingServiceProxy(vertx, serviceInterface, delegate));
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class) {
+			switch (method.getName()) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				default:
+					return "BatchingServiceProxy(" + delegate + ")";
+			}
+		}
+		Batcher batcher = batchers.get(method);
+		if (batcher == null) {
+			try {
+				Object result = method.invoke(delegate, args);
+				return method.getReturnType().isInstance(proxy) ? proxy : result;
+			} catch (InvocationTargetException ite) {
+				throw ite.getCause();
+			}
+		}
+		batcher.add(args[0], (Handler<AsyncResult<Object>>) args[1]);
+		return method.getReturnType().isInstance(proxy) ? proxy : null;
+	}
+
+	private class Batcher {
+
+		private final Method batchMethod;
+		private final Batchable options;
+		private Map<Object, List<Waiter>> pending;
+		private long timerId = -1;
+
+		private Batcher(Method batchMethod, Batchable options) {
+			this.batchMethod = batchMethod;
+			this.options = options;
+			pending = new LinkedHashMap<>();
+		}
+
+		private void add(Object arg, Handler<AsyncResult<Object>> handler) {
+			Waiter waiter = new Waiter(vertx.getOrCreateContext(), handler);
+			boolean full;
+			synchronized (this) {
+				pending.computeIfAbsent(arg, a -> new ArrayList<>(1)).add(waiter);
+				full = pending.size() >= options.maxSize();
+				if (!full && timerId == -1) {
+					timerId = vertx.setTimer(Math.max(1, options.window()), id -> flush());
+				}
+			}
+			if (full) {
+				flush();
+			}
+		}
+
+		private void flush() {
+			Map<Object, List<Waiter>> batch;
+			synchronized (this) {
+				if (timerId != -1) {
+					vertx.cancelTimer(timerId);
+					timerId = -1;
+				}
+				if (pending.isEmpty()) {
+					return;
+				}
+				batch = pending;
+				pending = new LinkedHashMap<>();
+			}
+			List<Object> args = new ArrayList<>(batch.keySet());
+			Handler<AsyncResult<List<Object>>> handler = res -> {
+				if (res.failed()) {
+					batch.values().forEach(waiters -> fail(waiters, res.cause()));
+					return;
+				}
+				List<Object> results = res.result();
+				if (results == null || results.size() != args.size()) {
+					VertxException ve = new VertxException(batchMethod.getName() + " should return as many results as arguments : " + args.size());
+					batch.values().forEach(waiters -> fail(waiters, ve));
+					return;
+				}
+				for (int i = 0; i < args.size(); i++) {
+					Future<Object> result = Future.succeededFuture(results.get(i));
+					batch.get(args.get(i)).forEach(waiter -> waiter.handle(result));
+				}
+			};
+			try {
+				batchMethod.invoke(delegate, args, handler);
+			} catch (InvocationTargetException | IllegalAccessException e) {
+				Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+				batch.values().forEach(waiters -> fail(waiters, cause));
+			}
+		}
+
+		private void fail(List<Waiter> waiters, Throwable cause) {
+			waiters.forEach(waiter -> waiter.handle(Future.failedFuture(cause)));
+		}
+	}
+
+	private static class Waiter {
+
+		private final Context context;
+		private final Handler<AsyncResult<Object>> handler;
+
+		private Waiter(Context context, Handler<AsyncResult<Object>> handler) {
+			this.context = context;
+			this.handler = handler;
+		}
+
+		private void handle(AsyncResult<Object> result) {
+			context.runOnContext(v -> handler.handle(result));
+		}
+	}
+}
@@ -0,0 +1,133 @@
+package com.github.aesteve.vertx.nubes.services;
+
+/**
+ * The state of the circuit breaker of a @ServiceProxy address : failures are counted in a sliding window (made of buckets).
+ */
+public class CircuitBreakerState {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private static final int BUCKETS = 10;
+
+	private final int maxFailures;
+	private final long bucketWidth;
+	private final long resetTimeout;
+	private final long[] bucketIds;
+	private final int[] bucketFailures;
+	private State state;
+	private long openedAt;
+	private boolean trialRunning;
+	private long calls;
+	private long rejected;
+
+	public CircuitBreakerState(int maxFailures, long window, long resetTimeout) {
+		this.maxFailures = Math.max(1, maxFailures);
+		this.bucketWidth = Math.max(1, window / BUCKETS);
+		this.resetTimeout = resetTimeout;
+		bucketIds = new long[BUCKETS];
+		bucketFailures = new int[BUCKETS];
+		state = State.CLOSED;
+	}
+
+	/**
+	 * @return false if the call must fail fast
+	 */
+	public synchronized boolean allowRequest() {
+		if (state == State.OPEN && System.currentTimeMillis() - openedAt >= resetTimeout) {
+			state = State.HALF_OPEN;
+			trialRunning = false;
+		}
+		if (state == State.OPEN || (state == State.HALF_OPEN && trialRunning)) {
+			rejected++;
+			return false;
+		}
+		if (state == State.HALF_OPEN) {
+			trialRunning = true;
+		}
+		calls++;
+		return true;
+	}
+
+	public synchronized void success() {
+		if (state == State.HALF_OPEN) {
+			close();
+		}
+	}
+
+	public synchronized void failure() {
+		long now = System.currentTimeMillis();
+		if (state == State.HALF_OPEN) {
+			open(now);
+			return;
+		}
+		if (state == State.OPEN) {
+			return;
+		}
+		long bucketId = now / bucketWidth;
+		int index = (int) (bucketId % BUCKETS);
+		if (bucketIds[index] != bucketId) {
+			bucketIds[index] = bucketId;
+			bucketFailures[index] = 0;
+		}
+		bucketFailures[index]++;
+		if (countFailures(bucketId) >= maxFailures) {
+			open(now);
+		}
+	}
+
+	public synchronized State state() {
+		return state;
+	}
+
+	/**
+	 * @return the number of failures in the current window
+	 */
+	public synchronized int failures() {
+		return countFailures(System.currentTimeMillis() / bucketWidth);
+	}
+
+	/**
+	 * @return the number of calls let through
+	 */
+	public synchronized long calls() {
+		return calls;
+	}
+
+	/**
+	 * @return the number of calls which failed fast, since the circuit was open
+	 */
+	public synchronized long rejected() {
+		return rejected;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return state + " (failures=" + failures() + ", calls=" + calls + ", rejected=" + rejected + ")";
+	}
+
+	private int countFailures(long currentBucketId) {
+		int failures = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			if (currentBucketId - bucketIds[i] < BUCKETS) {
+				failures += bucketFailures[i];
+			}
+		}
+		return failures;
+	}
+
+	private void open(long now) {
+		state = State.OPEN;
+		openedAt = now;
+		trialRunning = false;
+	}
+
+	private void close() {
+		state = State.CLOSED;
+		trialRunning = false;
+		for (int i = 0; i < BUCKETS; i++) {
+			bucketFailures[i] = 0;
+		}
+	}
+}
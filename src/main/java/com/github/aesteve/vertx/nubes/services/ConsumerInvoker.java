@@ -0,0 +1,140 @@
+package com.github.aesteve.vertx.nubes.services;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import com.github.aesteve.vertx.nubes.annotations.services.Consumer;
+
+/**
+ * Invokes a @Consumer method with the messages received, according to the annotation's options :
+ * on a worker thread, a few at a time, in batches, pausing the consumer when too many messages are waiting.
+ *
+ * Everything but the invocation itself happens on the service's context.
+ */
+public class ConsumerInvoker implements Handler<Message<Object>> {
+
+	private final static Logger log = LoggerFactory.getLogger(ConsumerInvoker.class);
+
+	private final Vertx vertx;
+	private final Object service;
+	private final Method method;
+	private final Consumer annotation;
+	private final int concurrency;
+	private final Queue<Message<Object>> pending;
+	private MessageConsumer<Object> consumer;
+	private int running;
+	private boolean paused;
+	private long batchTimer = -1;
+	private boolean batchExpired;
+
+	public ConsumerInvoker(Vertx vertx, Object service, Method method, Consumer annotation) {
+		this.vertx = vertx;
+		this.service = service;
+		this.method = method;
+		this.annotation = annotation;
+		concurrency = annotation.worker() ? Math.max(1, annotation.concurrency()) : 1;
+		pending = new ArrayDeque<>();
+	}
+
+	/**
+	 * @return true if the method's signature matches the annotation's options
+	 */
+	public static boolean accepts(Method method, Consumer annotation) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		if (parameterTypes.length != 1) {
+			return false;
+		}
+		if (annotation.batchSize() > 1) {
+			return List.class.equals(parameterTypes[0]);
+		}
+		return Message.class.equals(parameterTypes[0]);
+	}
+
+	public void register() {
+		consumer = vertx.eventBus().consumer(annotation.value(), this);
+		if (annotation.maxPending() > 0) {
+			consumer.setMaxBufferedMessages(annotation.maxPending()); // while paused, then the event bus drops them
+		}
+	}
+
+	@Override
+	public void handle(Message<Object> message) {
+		pending.add(message);
+		if (annotation.maxPending() > 0 && pending.size() >= annotation.maxPending() && !paused) {
+			paused = true;
+			consumer.pause();
+		}
+		drain();
+	}
+
+	private void drain() {
+		while (running < concurrency && !pending.isEmpty()) {
+			if (annotation.batchSize() > 1) {
+				if (pending.size() < annotation.batchSize() && !batchExpired) {
+					if (batchTimer == -1) {
+						batchTimer = vertx.setTimer(annotation.batchTimeout(), timerId -> {
+							batchTimer = -1;
+							batchExpired = true;
+							drain();
+						});
+					}
+					return;
+				}
+				if (batchTimer != -1) {
+					vertx.cancelTimer(batchTimer);
+					batchTimer = -1;
+				}
+				batchExpired = false;
+				List<Message<Object>> batch = new ArrayList<>(Math.min(pending.size(), annotation.batchSize()));
+				while (batch.size() < annotation.batchSize() && !pending.isEmpty()) {
+					batch.add(pending.poll());
+				}
+				dispatch(batch);
+			} else {
+				dispatch(pending.poll());
+			}
+		}
+		if (paused && pending.size() <= annotation.maxPending() / 2) {
+			paused = false;
+			consumer.resume();
+		}
+	}
+
+	private void dispatch(Object arg) {
+		running++;
+		if (annotation.worker()) {
+			vertx.executeBlocking(future -> {
+				invoke(arg);
+				future.complete();
+			}, false, res -> {
+				done();
+			});
+		} else {
+			invoke(arg);
+			done();
+		}
+	}
+
+	private void done() {
+		running--;
+		drain();
+	}
+
+	private void invoke(Object arg) {
+		try {
+			method.invoke(service, arg);
+		} catch (Exception e) {
+			log.error("Exception happened during message handling on method : " + service.getClass().getName() + "." + method.getName(), e);
+		}
+	}
+}
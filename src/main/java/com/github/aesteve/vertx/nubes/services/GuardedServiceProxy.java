@@ -0,0 +1,158 @@
+package com.github.aesteve.vertx.nubes.services;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Wraps an event bus proxy : fails a call if its result doesn't come back in time, fails fast while the circuit breaker is open,
+ * and calls the fallback (if any) instead of failing.
+ */
+public class GuardedServiceProxy implements InvocationHandler {
+
+	private final static Logger log = LoggerFactory.getLogger(GuardedServiceProxy.class);
+
+	private final Vertx vertx;
+	private final String address;
+	private final Object delegate;
+	private final long timeout;
+	private final CircuitBreakerState breaker;
+	private final Object fallback;
+
+	private GuardedServiceProxy(Vertx vertx, String address, Object delegate, long timeout, CircuitBreakerState breaker, Object fallback) {
+		this.vertx = vertx;
+		this.address = address;
+		this.delegate = delegate;
+		this.timeout = timeout;
+		this.breaker = breaker;
+		this.fallback = fallback;
+	}
+
+	/**
+	 * @param breaker can be null, not to use any circuit breaker
+	 * @param fallback can be null
+	 */
+	public static Object create(Vertx vertx, Class<?> serviceInterface, String address, Object delegate, long timeout, CircuitBreakerState breaker, Object fallback) {
+		return Proxy.newProxyInstance(serviceInterface.getClassLoader(), new Class<?>[] { serviceInterface }, new GuardedServiceProxy(vertx, address, delegate, timeout, breaker, fallback));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class) {
+			switch (method.getName()) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				default:
+					return "GuardedServiceProxy(" + address + ")";
+			}
+		}
+		Object[] callArgs = args == null ? new Object[0] : args;
+		int handlerIndex = handlerIndex(method);
+		if (breaker != null && !breaker.allowRequest()) {
+			if (handlerIndex < 0) {
+				log.warn("Circuit breaker open, dropping call to " + method.getName() + " on the service at : " + address);
+			} else {
+				failed(method, callArgs, handlerIndex, new VertxException("Circuit breaker open for the service at : " + address));
+			}
+			return returned(proxy, method);
+		}
+		if (handlerIndex < 0) {
+			try {
+				Object result = method.invoke(delegate, callArgs);
+				success();
+				return method.getReturnType().isInstance(delegate) ? proxy : result;
+			} catch (InvocationTargetException ite) {
+				failure();
+				throw ite.getCause();
+			}
+		}
+		Object[] guardedArgs = Arrays.copyOf(callArgs, callArgs.length);
+		AtomicBoolean done = new AtomicBoolean();
+		long timerId = timeout > 0 ? vertx.setTimer(timeout, id -> {
+			if (done.compareAndSet(false, true)) {
+				failure();
+				failed(method, callArgs, handlerIndex, new TimeoutException("Timed out after " + timeout + "ms waiting for the service at : " + address));
+			}
+		}) : -1;
+		guardedArgs[handlerIndex] = (Handler<AsyncResult<Object>>) res -> {
+			if (!done.compareAndSet(false, true)) {
+				return; // timed out already
+			}
+			if (timerId != -1) {
+				vertx.cancelTimer(timerId);
+			}
+			if (res.succeeded()) {
+				success();
+				handler(callArgs, handlerIndex).handle(res);
+			} else {
+				failure();
+				failed(method, callArgs, handlerIndex, res.cause());
+			}
+		};
+		try {
+			method.invoke(delegate, guardedArgs);
+		} catch (InvocationTargetException ite) {
+			if (done.compareAndSet(false, true)) {
+				if (timerId != -1) {
+					vertx.cancelTimer(timerId);
+				}
+				failure();
+				failed(method, callArgs, handlerIndex, ite.getCause());
+			}
+		}
+		return returned(proxy, method);
+	}
+
+	private void failed(Method method, Object[] args, int handlerIndex, Throwable cause) {
+		if (fallback != null) {
+			try {
+				method.invoke(fallback, args);
+				return;
+			} catch (InvocationTargetException | IllegalAccessException e) {
+				log.error("Fallback failed for " + method.getName() + " on the service at : " + address, e);
+			}
+		}
+		handler(args, handlerIndex).handle(Future.failedFuture(cause));
+	}
+
+	private void success() {
+		if (breaker != null) {
+			breaker.success();
+		}
+	}
+
+	private void failure() {
+		if (breaker != null) {
+			breaker.failure();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Handler<AsyncResult<Object>> handler(Object[] args, int handlerIndex) {
+		return (Handler<AsyncResult<Object>>) args[handlerIndex];
+	}
+
+	private static int handlerIndex(Method method) {
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		int last = parameterTypes.length - 1;
+		return last >= 0 && Handler.class.equals(parameterTypes[last]) ? last : -1;
+	}
+
+	private static Object returned(Object proxy, Method method) {
+		return method.getReturnType().isInstance(proxy) ? proxy : null;
+	}
+}
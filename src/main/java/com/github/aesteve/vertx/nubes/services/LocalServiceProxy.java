@@ -0,0 +1,122 @@
+package com.github.aesteve.vertx.nubes.services;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+
+/**
+ * Injected into @ServiceProxy fields.
+ *
+ * If a @Proxify service is registered at this address in the same JVM, calls it directly on its own context, and calls the handler back on the caller's context.
+ * Arguments and results are copied, just like they would through the event bus. Otherwise, uses the event bus proxy.
+ */
+public class LocalServiceProxy implements InvocationHandler {
+
+	private final static Logger log = LoggerFactory.getLogger(LocalServiceProxy.class);
+
+	private final Vertx vertx;
+	private final LocalServices localServices;
+	private final String address;
+	private final Object ebProxy;
+
+	private LocalServiceProxy(Vertx vertx, LocalServices localServices, String address, Object ebProxy) {
+		this.vertx = vertx;
+		this.localServices = localServices;
+		this.address = address;
+		this.ebProxy = ebProxy;
+	}
+
+	public static Object create(Vertx vertx, LocalServices localServices, Class<?> serviceInterface, String address, Object ebProxy) {
+		return Proxy.newProxyInstance(serviceInterface.getClassLoader(), new Class<?>[] { serviceInterface }, new LocalServiceProxy(vertx, localServices, address, ebProxy));
+	}
+
+	@Override
+	public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+		if (method.getDeclaringClass() == Object.class) {
+			switch (method.getName()) {
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				default:
+					return "ServiceProxy(" + address + ")";
+			}
+		}
+		Context caller = vertx.getOrCreateContext();
+		LocalServices.Registration local = localServices.get(address, caller);
+		Object result;
+		if (local == null) {
+			try {
+				result = method.invoke(ebProxy, args);
+			} catch (InvocationTargetException ite) {
+				throw ite.getCause();
+			}
+		} else {
+			invokeLocally(local, method, args == null ? new Object[0] : args, caller);
+			result = null;
+		}
+		return method.getReturnType().isInstance(proxy) ? proxy : result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private void invokeLocally(LocalServices.Registration local, Method method, Object[] args, Context caller) {
+		Object[] localArgs = new Object[args.length];
+		Handler<AsyncResult<Object>> handler = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i] instanceof Handler) {
+				Handler<AsyncResult<Object>> callerHandler = (Handler<AsyncResult<Object>>) args[i];
+				handler = res -> {
+					AsyncResult<Object> copied = res.succeeded() ? Future.succeededFuture(copy(res.result())) : res;
+					caller.runOnContext(v -> callerHandler.handle(copied));
+				};
+				localArgs[i] = handler;
+			} else {
+				localArgs[i] = copy(args[i]);
+			}
+		}
+		Handler<AsyncResult<Object>> replyHandler = handler;
+		local.context().runOnContext(v -> {
+			try {
+				method.invoke(local.service(), localArgs);
+			} catch (InvocationTargetException | IllegalAccessException e) {
+				Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+				if (replyHandler != null) {
+					replyHandler.handle(Future.failedFuture(cause));
+				} else {
+					log.error("Exception while invoking " + method.getName() + " on the service at : " + address + " with " + Arrays.toString(args), cause);
+				}
+			}
+		});
+	}
+
+	private static Object copy(Object value) {
+		if (value instanceof JsonObject) {
+			return ((JsonObject) value).copy();
+		}
+		if (value instanceof JsonArray) {
+			return ((JsonArray) value).copy();
+		}
+		if (value != null && value.getClass().isAnnotationPresent(DataObject.class)) {
+			try {
+				JsonObject json = (JsonObject) value.getClass().getMethod("toJson").invoke(value);
+				return value.getClass().getConstructor(JsonObject.class).newInstance(json);
+			} catch (ReflectiveOperationException | ClassCastException e) {
+				log.warn("Could not copy data object : " + value.getClass().getName() + ", passing it as is", e);
+			}
+		}
+		return value;
+	}
+}
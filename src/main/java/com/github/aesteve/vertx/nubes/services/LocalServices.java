@@ -0,0 +1,97 @@
+package com.github.aesteve.vertx.nubes.services;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The @Proxify services registered in this JVM, by event bus address, shared by every Nubes instance of a Vertx.
+ *
+ * @ServiceProxy fields call them directly instead of going through the event bus.
+ */
+public class LocalServices implements Shareable {
+
+	private static final String SHARED_MAP = "nubes-local-services";
+
+	private final Map<String, List<Registration>> registrations;
+	private final AtomicInteger counter;
+
+	public LocalServices() {
+		registrations = new ConcurrentHashMap<>();
+		counter = new AtomicInteger();
+	}
+
+	public static LocalServices shared(Vertx vertx) {
+		LocalMap<String, LocalServices> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+		LocalServices services = map.get(SHARED_MAP);
+		if (services == null) {
+			LocalServices created = new LocalServices();
+			services = map.putIfAbsent(SHARED_MAP, created);
+			if (services == null) {
+				services = created;
+			}
+		}
+		return services;
+	}
+
+	/**
+	 * @param context the context the service's methods must be invoked on
+	 */
+	public void register(String address, Object service, Context context) {
+		registrations.computeIfAbsent(address, a -> new CopyOnWriteArrayList<>()).add(new Registration(service, context));
+	}
+
+	public void unregister(String address, Object service) {
+		List<Registration> list = registrations.get(address);
+		if (list != null) {
+			list.removeIf(registration -> registration.service == service);
+		}
+	}
+
+	/**
+	 * @return the service registered on the caller's context if any, one of the services registered at this address otherwise (round-robin),
+	 *         null if none is registered in this JVM
+	 */
+	public Registration get(String address, Context caller) {
+		List<Registration> list = registrations.get(address);
+		if (list == null || list.isEmpty()) {
+			return null;
+		}
+		for (Registration registration : list) {
+			if (registration.context == caller) {
+				return registration;
+			}
+		}
+		try {
+			return list.get(Math.abs(counter.getAndIncrement() % list.size()));
+		} catch (IndexOutOfBoundsException ioobe) { // unregistered meanwhile
+			return null;
+		}
+	}
+
+	public static class Registration {
+
+		private final Object service;
+		private final Context context;
+
+		private Registration(Object service, Context context) {
+			this.service = service;
+			this.context = context;
+		}
+
+		public Object service() {
+			return service;
+		}
+
+		public Context context() {
+			return context;
+		}
+	}
+}
@@ -0,0 +1,212 @@
+package com.github.aesteve.vertx.nubes.services;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import javassist.util.proxy.ProxyFactory;
+import javassist.util.proxy.ProxyObject;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.aesteve.vertx.nubes.annotations.services.Memoize;
+import com.github.aesteve.vertx.nubes.utils.WindowTinyLfuCache;
+import com.github.aesteve.vertx.nubes.utils.async.SingleFlight;
+
+/**
+ * Wraps a service whose methods are annotated with @Memoize, caching their results by arguments.
+ *
+ * Concurrent asynchronous calls with the same arguments share a single invocation. Synchronous ones don't : waiting would block
+ * the caller's thread (often an event loop), so each miss invokes the method and the last result is kept.
+ */
+public class Memoizer {
+
+	private final static Logger log = LoggerFactory.getLogger(Memoizer.class);
+
+	private static final Object NULL = new Object();
+
+	private final Vertx vertx;
+	private final Object service;
+	private final Map<Method, Optional<MethodCache>> caches;
+	private Object interfaceProxy;
+	private Object classProxy;
+
+	public Memoizer(Vertx vertx, Object service) {
+		this.vertx = vertx;
+		this.service = service;
+		caches = new ConcurrentHashMap<>();
+	}
+
+	public static boolean isMemoized(Class<?> serviceClass) {
+		for (Method method : serviceClass.getMethods()) {
+			if (method.isAnnotationPresent(Memoize.class)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * @return an object of the same type as the service, caching the results of its @Memoize methods
+	 */
+	public synchronized Object proxy(Class<?> fieldType) {
+		if (fieldType.isInterface()) {
+			if (interfaceProxy == null) {
+				Set<Class<?>> interfaces = new LinkedHashSet<>();
+				for (Class<?> clazz = service.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+					interfaces.addAll(Arrays.asList(clazz.getInterfaces()));
+				}
+				interfaceProxy = Proxy.newProxyInstance(service.getClass().getClassLoader(), interfaces.toArray(new Class<?>[interfaces.size()]), (proxy, method, args) -> invoke(method, args));
+			}
+			return interfaceProxy;
+		}
+		if (classProxy == null) {
+			ProxyFactory factory = new ProxyFactory();
+			factory.setSuperclass(service.getClass());
+			factory.setFilter(method -> Modifier.isPublic(method.getModifiers()));
+			try {
+				ProxyObject proxy = (ProxyObject) factory.createClass().newInstance();
+				proxy.setHandler((self, method, proceed, args) -> invoke(method, args));
+				classProxy = proxy;
+			} catch (InstantiationException | IllegalAccessException | RuntimeException e) {
+				throw new VertxException("Could not memoize " + service.getClass().getName() + ", inject it through an interface or give it a public no-arg constructor", e);
+			}
+		}
+		return classProxy;
+	}
+
+	/**
+	 * @return the statistics of the results cache of every @Memoize method (by method name)
+	 */
+	public Map<String, WindowTinyLfuCache.Stats> stats() {
+		Map<String, WindowTinyLfuCache.Stats> stats = new HashMap<>();
+		caches.values().forEach(cache -> cache.ifPresent(c -> stats.put(c.method.getName(), c.results.stats())));
+		return stats;
+	}
+
+	private Object invoke(Method method, Object[] args) throws Throwable {
+		if (args == null) {
+			args = new Object[0];
+		}
+		MethodCache cache = caches.computeIfAbsent(method, this::createCache).orElse(null);
+		if (cache == null) {
+			return invokeService(method, args);
+		}
+		if (cache.async) {
+			cache.invokeAsync(args);
+			return null;
+		}
+		Key key = new Key(args, args.length);
+		Object result = cache.results.get(key);
+		if (result == null) { // no single flight here, see the class doc
+			result = invokeService(method, args);
+			cache.results.put(key, result == null ? NULL : result);
+			return result;
+		}
+		return result == NULL ? null : result;
+	}
+
+	private Object invokeService(Method method, Object[] args) throws Throwable {
+		try {
+			return method.invoke(service, args);
+		} catch (InvocationTargetException ite) {
+			throw ite.getCause();
+		}
+	}
+
+	private Optional<MethodCache> createCache(Method method) {
+		Memoize memoize = method.getAnnotation(Memoize.class);
+		if (memoize == null) {
+			try {
+				memoize = service.getClass().getMethod(method.getName(), method.getParameterTypes()).getAnnotation(Memoize.class);
+			} catch (NoSuchMethodException nsme) {
+				log.warn("Could not find method " + method.getName() + " on " + service.getClass().getName(), nsme);
+			}
+		}
+		if (memoize == null) {
+			return Optional.empty();
+		}
+		return Optional.of(new MethodCache(method, memoize));
+	}
+
+	private class MethodCache {
+
+		private final Method method;
+		private final boolean async;
+		private final WindowTinyLfuCache<Key, Object> results;
+		private final SingleFlight<Key, Object> flights;
+
+		private MethodCache(Method method, Memoize memoize) {
+			this.method = method;
+			Class<?>[] parameterTypes = method.getParameterTypes();
+			async = parameterTypes.length > 0 && Handler.class.equals(parameterTypes[parameterTypes.length - 1]);
+			results = new WindowTinyLfuCache<>(memoize.maxEntries(), memoize.unit().toMillis(memoize.ttl()));
+			flights = new SingleFlight<>();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void invokeAsync(Object[] args) throws Throwable {
+			Key key = new Key(args, args.length - 1);
+			Handler<AsyncResult<Object>> handler = (Handler<AsyncResult<Object>>) args[args.length - 1];
+			Object result = results.get(key);
+			if (result != null) {
+				handler.handle(Future.succeededFuture(result == NULL ? null : result));
+				return;
+			}
+			if (flights.join(key, vertx.getOrCreateContext(), handler) != SingleFlight.Role.LEADER) {
+				return;
+			}
+			Object[] leaderArgs = Arrays.copyOf(args, args.length);
+			leaderArgs[args.length - 1] = (Handler<AsyncResult<Object>>) res -> {
+				if (res.succeeded()) {
+					results.put(key, res.result() == null ? NULL : res.result());
+				}
+				flights.complete(key, res);
+				handler.handle(res);
+			};
+			try {
+				invokeService(method, leaderArgs);
+			} catch (Throwable t) {
+				flights.complete(key, Future.failedFuture(t));
+				throw t;
+			}
+		}
+	}
+
+	/**
+	 * The arguments of a call (arrays are compared by content)
+	 */
+	private static class Key {
+
+		private final Object[] args;
+		private final int hash;
+
+		private Key(Object[] args, int length) {
+			this.args = Arrays.copyOf(args, length);
+			hash = Arrays.deepHashCode(this.args);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key && Arrays.deepEquals(args, ((Key) other).args);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
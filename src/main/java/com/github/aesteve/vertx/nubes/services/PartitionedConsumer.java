@@ -0,0 +1,221 @@
+package com.github.aesteve.vertx.nubes.services;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.github.aesteve.vertx.nubes.annotations.services.Consumer;
+import com.github.aesteve.vertx.nubes.utils.async.DetachedContext;
+import com.github.aesteve.vertx.nubes.utils.async.MultipleFutures;
+
+/**
+ * A @Consumer with partitions : messages are routed to lanes by key, each lane runs on its own event loop and processes its messages in order.
+ *
+ * An address has a single router per Vertx, shared by every Nubes instance, so that messages with the same key go to the same lane whichever instance they're sent to.
+ * Each lane invokes the service of one of the Nubes instances (the same one, as long as they're all running) : lanes run in parallel, so the service must be thread-safe.
+ * When clustered, messages are still dispatched to the nodes by the event bus : order is kept per key on each node.
+ */
+public class PartitionedConsumer implements Shareable {
+
+	private final static Logger log = LoggerFactory.getLogger(PartitionedConsumer.class);
+
+	private static final String SHARED_MAP = "nubes-partitioned-consumers";
+
+	private final Vertx vertx;
+	private final Consumer annotation;
+	private final List<Target> targets;
+	private final List<Lane> lanes;
+	private Function<Message<Object>, Object> keyExtractor;
+	private MessageConsumer<Object> consumer;
+
+	public PartitionedConsumer(Vertx vertx, Consumer annotation) {
+		this.vertx = vertx;
+		this.annotation = annotation;
+		targets = new CopyOnWriteArrayList<>();
+		lanes = new ArrayList<>(annotation.partitions());
+	}
+
+	/**
+	 * @return the router of this @Consumer's address for this Vertx (created if none exists yet)
+	 */
+	public static PartitionedConsumer shared(Vertx vertx, Consumer annotation) {
+		LocalMap<String, PartitionedConsumer> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+		PartitionedConsumer consumer = map.get(annotation.value());
+		if (consumer == null) {
+			PartitionedConsumer created = new PartitionedConsumer(vertx, annotation);
+			consumer = map.putIfAbsent(annotation.value(), created);
+			if (consumer == null) {
+				consumer = created;
+			}
+		}
+		return consumer;
+	}
+
+	/**
+	 * Adds the method of a service to the ones messages are handed to. The first one creates the lanes, then starts consuming.
+	 *
+	 * @throws NoSuchMethodException if partitionBy names a method the service doesn't have
+	 */
+	public void register(Object service, Method method, Future<Void> future) throws NoSuchMethodException {
+		Function<Message<Object>, Object> extractor = keyExtractor(service, annotation.partitionBy());
+		boolean first;
+		synchronized (this) {
+			first = targets.isEmpty() && lanes.isEmpty();
+			if (first) {
+				keyExtractor = extractor;
+			}
+			targets.add(new Target(service, method));
+		}
+		if (!first) {
+			future.complete();
+			return;
+		}
+		Context caller = vertx.getOrCreateContext();
+		MultipleFutures<Void> lanesCreated = new MultipleFutures<>(res -> {
+			consumer = vertx.eventBus().consumer(annotation.value(), this::route);
+			caller.runOnContext(v -> future.complete());
+		});
+		for (int i = 0; i < annotation.partitions(); i++) {
+			Lane lane = new Lane(i);
+			lanes.add(lane);
+			lanesCreated.add(fut -> DetachedContext.create(vertx, "nubes-lane-" + annotation.value() + "-" + lane.index, context -> {
+				lane.context = context;
+				fut.complete();
+			}));
+		}
+		lanesCreated.start();
+	}
+
+	/**
+	 * Stops handing messages to this service. Once every service is unregistered, stops consuming.
+	 */
+	public void unregister(Object service, Future<Void> future) {
+		synchronized (this) {
+			targets.removeIf(target -> target.service == service);
+			if (!targets.isEmpty()) {
+				future.complete();
+				return;
+			}
+		}
+		vertx.sharedData().<String, PartitionedConsumer> getLocalMap(SHARED_MAP).removeIfPresent(annotation.value(), this);
+		if (consumer != null) {
+			consumer.unregister(res -> future.complete());
+		} else {
+			future.complete();
+		}
+	}
+
+	/**
+	 * @return the number of messages routed to each lane and not processed yet
+	 */
+	public List<Integer> depths() {
+		List<Integer> depths = new ArrayList<>(lanes.size());
+		for (Lane lane : lanes) {
+			depths.add(lane.depth.get());
+		}
+		return depths;
+	}
+
+	private void route(Message<Object> message) {
+		Object key;
+		try {
+			key = keyExtractor.apply(message);
+		} catch (RuntimeException re) {
+			log.error("Could not compute the partition key of a message sent to : " + annotation.value(), re);
+			key = null;
+		}
+		Lane lane = lanes.get(key == null ? 0 : Math.floorMod(spread(key.hashCode()), lanes.size()));
+		lane.depth.incrementAndGet();
+		lane.context.runOnContext(v -> lane.process(message));
+	}
+
+	private static int spread(int hash) {
+		return (hash ^ (hash >>> 16)) * 0x45d9f3b;
+	}
+
+	private static Function<Message<Object>, Object> keyExtractor(Object service, String partitionBy) throws NoSuchMethodException {
+		if (partitionBy.isEmpty()) {
+			return Message::body;
+		}
+		if (partitionBy.startsWith("header:")) {
+			String header = partitionBy.substring("header:".length());
+			return message -> message.headers().get(header);
+		}
+		if (partitionBy.startsWith("body:")) {
+			String field = partitionBy.substring("body:".length());
+			return message -> ((JsonObject) message.body()).getValue(field);
+		}
+		Method keyMethod = service.getClass().getMethod(partitionBy, Message.class);
+		return message -> {
+			try {
+				return keyMethod.invoke(service, message);
+			} catch (ReflectiveOperationException roe) {
+				throw new IllegalStateException(roe);
+			}
+		};
+	}
+
+	private static class Target {
+
+		private final Object service;
+		private final Method method;
+
+		private Target(Object service, Method method) {
+			this.service = service;
+			this.method = method;
+		}
+	}
+
+	private class Lane {
+
+		private final int index;
+		private final AtomicInteger depth = new AtomicInteger();
+		private Context context;
+
+		private Lane(int index) {
+			this.index = index;
+		}
+
+		private void process(Message<Object> message) {
+			if (annotation.worker()) {
+				vertx.executeBlocking(future -> {
+					invoke(message);
+					future.complete();
+				}, true, res -> {
+					depth.decrementAndGet();
+				});
+			} else {
+				invoke(message);
+				depth.decrementAndGet();
+			}
+		}
+
+		private void invoke(Message<Object> message) {
+			Target target;
+			try {
+				target = targets.get(index % Math.max(1, targets.size()));
+			} catch (IndexOutOfBoundsException ioobe) { // every service has been unregistered meanwhile
+				return;
+			}
+			try {
+				target.method.invoke(target.service, message);
+			} catch (Exception e) {
+				log.error("Exception happened during message handling on method : " + target.service.getClass().getName() + "." + target.method.getName(), e);
+			}
+		}
+	}
+}
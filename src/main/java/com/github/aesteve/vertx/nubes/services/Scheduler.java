@@ -0,0 +1,311 @@
+package com.github.aesteve.vertx.nubes.services;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.shareddata.Lock;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.github.aesteve.vertx.nubes.annotations.services.PeriodicTask;
+import com.github.aesteve.vertx.nubes.utils.CronExpression;
+
+/**
+ * Runs the @PeriodicTask methods of the services.
+ *
+ * A task never overlaps with itself : a run due while the previous one is still running is skipped.
+ * Fixed-rate tasks with the same period share a single timer.
+ *
+ * A singleton task only runs where its lease is held : the first instance to get the task's lock (a cluster-wide lock, if clustered) keeps it until it stops, or dies.
+ * The other ones try to get it before each run, and skip the run if they can't. Each singleton run is reported on the event bus, at {@link #RUNS_ADDRESS}.
+ */
+public class Scheduler {
+
+	private final static Logger log = LoggerFactory.getLogger(Scheduler.class);
+
+	public static final String RUNS_ADDRESS = "nubes.scheduler.runs";
+	private static final String LEASE_PREFIX = "nubes-task-lease-";
+	private static final long MAX_LEASE_TIMEOUT = 1000;
+	private static final String NODE = ManagementFactory.getRuntimeMXBean().getName();
+
+	private final Vertx vertx;
+	private final Map<Long, SharedTimer> sharedTimers;
+	private final List<Task> tasks;
+	private final Set<Long> timerIds;
+	private volatile boolean stopped;
+
+	public Scheduler(Vertx vertx) {
+		this.vertx = vertx;
+		sharedTimers = new HashMap<>();
+		tasks = new ArrayList<>();
+		timerIds = ConcurrentHashMap.newKeySet();
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the task has neither a period nor a valid cron expression
+	 */
+	public void schedule(Object service, Method method, PeriodicTask annotation) {
+		CronExpression cron = null;
+		if (!annotation.cron().isEmpty()) {
+			cron = CronExpression.parse(annotation.cron());
+		} else if (annotation.value() <= 0) {
+			throw new IllegalArgumentException("Periodic tasks need a period or a cron expression");
+		}
+		Task task = new Task(service, method, annotation, cron);
+		tasks.add(task);
+		if (cron != null) {
+			task.scheduleNext(null);
+		} else if (annotation.fixedDelay()) {
+			setTimer(annotation.value(), task::fire);
+		} else {
+			sharedTimers.computeIfAbsent(annotation.value(), SharedTimer::new).tasks.add(task);
+		}
+	}
+
+	/**
+	 * Cancels every timer, even the ones which never fired
+	 */
+	public void stop() {
+		stopped = true;
+		timerIds.forEach(vertx::cancelTimer);
+		timerIds.clear();
+		tasks.forEach(Task::releaseLease);
+	}
+
+	/**
+	 * @return the run-time statistics of every task (by service class and method name)
+	 */
+	public Map<String, Stats> stats() {
+		Map<String, Stats> stats = new HashMap<>();
+		tasks.forEach(task -> stats.put(task.name, task.stats));
+		return stats;
+	}
+
+	private void setTimer(long delay, Runnable runnable) {
+		if (stopped) {
+			return;
+		}
+		long[] timerId = new long[1];
+		timerId[0] = vertx.setTimer(Math.max(1, delay), id -> {
+			timerIds.remove(timerId[0]);
+			if (!stopped) {
+				runnable.run();
+			}
+		});
+		timerIds.add(timerId[0]);
+	}
+
+	private class SharedTimer {
+
+		private final List<Task> tasks = new ArrayList<>();
+
+		private SharedTimer(long period) {
+			timerIds.add(vertx.setPeriodic(period, timerId -> {
+				tasks.forEach(Task::fire);
+			}));
+		}
+	}
+
+	private class Task {
+
+		private final Object service;
+		private final Method method;
+		private final PeriodicTask annotation;
+		private final CronExpression cron;
+		private final String name;
+		private final Stats stats;
+		private boolean running;
+		private boolean acquiring;
+		private Lock lease;
+
+		private Task(Object service, Method method, PeriodicTask annotation, CronExpression cron) {
+			this.service = service;
+			this.method = method;
+			this.annotation = annotation;
+			this.cron = cron;
+			name = service.getClass().getName() + "." + method.getName();
+			stats = new Stats();
+		}
+
+		private void scheduleNext(ZonedDateTime previous) {
+			ZonedDateTime now = ZonedDateTime.now();
+			ZonedDateTime next = cron.next(previous != null && previous.isAfter(now) ? previous : now);
+			setTimer(Duration.between(now, next).toMillis() + 1, () -> { // the timer may fire a bit early
+				scheduleNext(next);
+				fire();
+			});
+		}
+
+		private void fire() {
+			if (stopped) {
+				return;
+			}
+			if (annotation.singleton() && lease == null) {
+				acquireLease();
+				return;
+			}
+			if (annotation.jitter() > 0) {
+				setTimer(ThreadLocalRandom.current().nextLong(annotation.jitter()), this::run);
+			} else {
+				run();
+			}
+		}
+
+		private void acquireLease() {
+			if (acquiring) {
+				return;
+			}
+			acquiring = true;
+			long timeout = cron == null ? Math.min(annotation.value() / 2, MAX_LEASE_TIMEOUT) : MAX_LEASE_TIMEOUT;
+			vertx.sharedData().getLockWithTimeout(LEASE_PREFIX + name, Math.max(1, timeout), res -> {
+				acquiring = false;
+				if (res.failed()) {
+					stats.stoodBy();
+					if (cron == null && annotation.fixedDelay()) {
+						setTimer(annotation.value(), this::fire);
+					}
+					return;
+				}
+				if (stopped) {
+					res.result().release();
+					return;
+				}
+				lease = res.result();
+				log.info("Periodic task : " + name + " now runs on : " + NODE);
+				fire();
+			});
+		}
+
+		private void releaseLease() {
+			if (lease != null) {
+				lease.release();
+				lease = null;
+			}
+		}
+
+		private void run() {
+			if (running) {
+				stats.skip();
+				return;
+			}
+			running = true;
+			long start = System.nanoTime();
+			if (annotation.worker()) {
+				vertx.<Boolean> executeBlocking(future -> {
+					future.complete(invoke());
+				}, false, res -> {
+					done(start, res.succeeded() && res.result());
+				});
+			} else {
+				done(start, invoke());
+			}
+		}
+
+		private boolean invoke() {
+			try {
+				method.invoke(service);
+				return true;
+			} catch (Exception e) {
+				log.error("Error while running periodic task : " + name, e);
+				return false;
+			}
+		}
+
+		private void done(long start, boolean succeeded) {
+			running = false;
+			long duration = System.nanoTime() - start;
+			stats.ran(duration, succeeded);
+			if (annotation.singleton()) {
+				JsonObject report = new JsonObject();
+				report.put("task", name);
+				report.put("node", NODE);
+				report.put("duration", TimeUnit.NANOSECONDS.toMillis(duration));
+				report.put("succeeded", succeeded);
+				vertx.eventBus().publish(RUNS_ADDRESS, report);
+			}
+			if (cron == null && annotation.fixedDelay()) {
+				setTimer(annotation.value(), this::fire);
+			}
+		}
+	}
+
+	public static class Stats {
+
+		private long runs;
+		private long failures;
+		private long skipped;
+		private long standBy;
+		private long totalTime;
+		private long maxTime;
+		private long lastTime;
+
+		private synchronized void ran(long nanos, boolean succeeded) {
+			runs++;
+			if (!succeeded) {
+				failures++;
+			}
+			totalTime += nanos;
+			maxTime = Math.max(maxTime, nanos);
+			lastTime = nanos;
+		}
+
+		private synchronized void skip() {
+			skipped++;
+		}
+
+		private synchronized void stoodBy() {
+			standBy++;
+		}
+
+		public synchronized long runs() {
+			return runs;
+		}
+
+		public synchronized long failures() {
+			return failures;
+		}
+
+		/**
+		 * @return the number of runs skipped because the previous one was still running
+		 */
+		public synchronized long skipped() {
+			return skipped;
+		}
+
+		/**
+		 * @return the number of runs of a singleton task left to the instance holding its lease
+		 */
+		public synchronized long standBy() {
+			return standBy;
+		}
+
+		public synchronized long maxTime(TimeUnit unit) {
+			return unit.convert(maxTime, TimeUnit.NANOSECONDS);
+		}
+
+		public synchronized long lastTime(TimeUnit unit) {
+			return unit.convert(lastTime, TimeUnit.NANOSECONDS);
+		}
+
+		public synchronized long meanTime(TimeUnit unit) {
+			return runs == 0 ? 0 : unit.convert(totalTime / runs, TimeUnit.NANOSECONDS);
+		}
+
+		@Override
+		public synchronized String toString() {
+			return "runs=" + runs + ", failures=" + failures + ", skipped=" + skipped + ", standBy=" + standBy + ", mean=" + meanTime(TimeUnit.MILLISECONDS) + "ms, max=" + maxTime(TimeUnit.MILLISECONDS) + "ms";
+		}
+	}
+}
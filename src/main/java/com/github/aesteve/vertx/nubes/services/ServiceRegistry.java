@@ -4,7 +4,6 @@ import io.vertx.codegen.annotations.ProxyGen;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
-import io.vertx.core.eventbus.Message;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.serviceproxy.ProxyHelper;
@@ -13,15 +12,17 @@ import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
 
+import com.github.aesteve.vertx.nubes.annotations.services.CircuitBreaker;
 import com.github.aesteve.vertx.nubes.annotations.services.Consumer;
 import com.github.aesteve.vertx.nubes.annotations.services.PeriodicTask;
 import com.github.aesteve.vertx.nubes.annotations.services.Proxify;
 import com.github.aesteve.vertx.nubes.annotations.services.ServiceProxy;
+import com.github.aesteve.vertx.nubes.utils.WindowTinyLfuCache;
 import com.github.aesteve.vertx.nubes.utils.async.MultipleFutures;
 
 public class ServiceRegistry {
@@ -29,8 +30,15 @@ public class ServiceRegistry {
 	private final static Logger log = LoggerFactory.getLogger(ServiceRegistry.class);
 
 	private Map<String, Object> services;
-	private Map<String, Object> serviceProxies;
-	private Set<Long> timerIds;
+	private Map<ServiceProxy, Object> serviceProxies;
+	private Map<String, CircuitBreakerState> circuitBreakers;
+	private Map<String, CircuitBreaker> circuitBreakerOptions;
+	private Map<String, Memoizer> memoizers;
+	private Map<String, Object> proxified;
+	private Map<String, PartitionedConsumer> partitionedConsumers;
+	private Map<String, Object> partitionedServices;
+	private LocalServices localServices;
+	private Scheduler scheduler;
 
 	private Vertx vertx;
 
@@ -38,7 +46,14 @@ public class ServiceRegistry {
 		this.vertx = vertx;
 		services = new HashMap<>();
 		serviceProxies = new HashMap<>();
-		timerIds = new HashSet<>();
+		circuitBreakers = new HashMap<>();
+		circuitBreakerOptions = new HashMap<>();
+		memoizers = new HashMap<>();
+		proxified = new HashMap<>();
+		partitionedConsumers = new HashMap<>();
+		partitionedServices = new HashMap<>();
+		localServices = LocalServices.shared(vertx);
+		scheduler = new Scheduler(vertx);
 	}
 
 	public void registerService(String name, Object service) {
@@ -52,7 +67,7 @@ public class ServiceRegistry {
 	public Object get(Field field) {
 		com.github.aesteve.vertx.nubes.annotations.services.Service annot = field.getAnnotation(com.github.aesteve.vertx.nubes.annotations.services.Service.class);
 		if (annot != null) {
-			return get(annot.value());
+			return memoize(annot.value(), field.getType());
 		}
 		ServiceProxy proxyAnnot = field.getAnnotation(ServiceProxy.class);
 		if (proxyAnnot == null) {
@@ -64,16 +79,57 @@ public class ServiceRegistry {
 			return null;
 		}
 		String address = proxyAnnot.value();
-		if (serviceProxies.get(address) != null) {
-			return serviceProxies.get(address);
+		if (serviceProxies.get(proxyAnnot) != null) {
+			return serviceProxies.get(proxyAnnot);
 		}
 		else {
-			Object service = createEbProxyClass(serviceInterface, address);
-			serviceProxies.put(address, service);
+			Object ebProxy = createEbProxyClass(serviceInterface, address);
+			Object service = LocalServiceProxy.create(vertx, localServices, serviceInterface, address, ebProxy);
+			service = guard(serviceInterface, proxyAnnot, service);
+			if (BatchingServiceProxy.isBatchable(serviceInterface)) {
+				service = BatchingServiceProxy.create(vertx, serviceInterface, service);
+			}
+			serviceProxies.put(proxyAnnot, service);
 			return service;
 		}
 	}
 
+	/**
+	 * @return the state of the circuit breakers of the @ServiceProxy fields (by address)
+	 */
+	public Map<String, CircuitBreakerState> circuitBreakers() {
+		return Collections.unmodifiableMap(circuitBreakers);
+	}
+
+	/**
+	 * @return the statistics of the @Memoize methods of a service (by method name), empty if none has been called yet
+	 */
+	public Map<String, WindowTinyLfuCache.Stats> memoizationStats(String name) {
+		Memoizer memoizer = memoizers.get(name);
+		if (memoizer == null) {
+			return Collections.emptyMap();
+		}
+		return memoizer.stats();
+	}
+
+	/**
+	 * @return the number of messages waiting in each lane of the partitioned @Consumer at this address, empty if there's none
+	 */
+	public List<Integer> laneDepths(String address) {
+		PartitionedConsumer consumer = partitionedConsumers.get(address);
+		if (consumer == null) {
+			return Collections.emptyList();
+		}
+		return consumer.depths();
+	}
+
+	/**
+	 * @return the run-time statistics of the @PeriodicTask methods (by service class and method name)
+	 */
+	public Map<String, Scheduler.Stats> taskStats() {
+		return scheduler.stats();
+	}
+
 	public Collection<Object> services() {
 		return services.values();
 	}
@@ -89,7 +145,7 @@ public class ServiceRegistry {
 		}
 		MultipleFutures<Void> futures = new MultipleFutures<>(future);
 		services().forEach(obj -> {
-			introspectService(obj);
+			introspectService(obj, futures);
 			if (obj instanceof Service) {
 				Service service = (Service) obj;
 				service.init(vertx);
@@ -104,10 +160,14 @@ public class ServiceRegistry {
 			future.complete();
 			return;
 		}
-		timerIds.forEach(timerId -> {
-			vertx.cancelTimer(timerId);
+		scheduler.stop();
+		proxified.forEach((address, service) -> {
+			localServices.unregister(address, service);
 		});
 		MultipleFutures<Void> futures = new MultipleFutures<>(future);
+		partitionedConsumers.forEach((address, consumer) -> {
+			futures.add(fut -> consumer.unregister(partitionedServices.get(address), fut));
+		});
 		services().forEach(obj -> {
 			if (obj instanceof Service) {
 				Service service = (Service) obj;
@@ -117,7 +177,21 @@ public class ServiceRegistry {
 		futures.start();
 	}
 
-	private void introspectService(Object service) {
+	private Object memoize(String name, Class<?> fieldType) {
+		Object service = get(name);
+		if (service == null || !Memoizer.isMemoized(service.getClass())) {
+			return service;
+		}
+		Memoizer memoizer = memoizers.computeIfAbsent(name, n -> new Memoizer(vertx, service));
+		try {
+			return memoizer.proxy(fieldType);
+		} catch (VertxException ve) {
+			log.error(ve.getMessage() + ", @Memoize is ignored", ve);
+			return service;
+		}
+	}
+
+	private void introspectService(Object service, MultipleFutures<Void> futures) {
 		Class<?> serviceClass = service.getClass();
 		Proxify annot = serviceClass.getAnnotation(Proxify.class);
 		if (annot != null) {
@@ -130,30 +204,53 @@ public class ServiceRegistry {
 					log.error("Periodic tasks should not have parameters");
 					return;
 				}
-				vertx.setPeriodic(periodicTask.value(), timerId -> {
-					timerIds.add(timerId);
-					try {
-						method.invoke(service);
-					} catch (Exception e) {
-						log.error("Error while running periodic task", e);
-					}
-				});
+				try {
+					scheduler.schedule(service, method, periodicTask);
+				} catch (IllegalArgumentException iae) {
+					log.error("Cannot schedule periodic task : " + getFullName(service, method), iae);
+					return;
+				}
 			}
 			Consumer consumes = method.getAnnotation(Consumer.class);
 			if (consumes != null) {
-				Class<?>[] parameterTypes = method.getParameterTypes();
-				if (parameterTypes.length != 1 || !parameterTypes[0].equals(Message.class)) {
+				if (!ConsumerInvoker.accepts(method, consumes)) {
 					log.error("Cannot register consumer on method : " + getFullName(service, method));
-					log.error("Method should only declare one parameter of io.vertx.core.eventbus.Message type.");
+					if (consumes.batchSize() > 1) {
+						log.error("Method should only declare one parameter of java.util.List type (of io.vertx.core.eventbus.Message).");
+					} else {
+						log.error("Method should only declare one parameter of io.vertx.core.eventbus.Message type.");
+					}
 					return;
 				}
-				vertx.eventBus().consumer(consumes.value(), message -> {
-					try {
-						method.invoke(service, message);
-					} catch (Exception e) {
-						log.error("Exception happened during message handling on method : " + getFullName(service, method), e);
+				if (consumes.batchSize() > 1 && consumes.batchTimeout() <= 0) {
+					log.error("Cannot register consumer on method : " + getFullName(service, method) + ", batchTimeout must be set for batches, or every message would be handled alone");
+					return;
+				}
+				if (consumes.partitions() > 1) {
+					if (consumes.batchSize() > 1) {
+						log.error("Cannot register consumer on method : " + getFullName(service, method) + ", partitioned consumers cannot process messages in batches");
+						return;
+					}
+					if (consumes.maxPending() > 0 || consumes.concurrency() > 1) {
+						log.error("Cannot register consumer on method : " + getFullName(service, method) + ", partitioned consumers process each lane in order, maxPending and concurrency cannot be set");
+						return;
 					}
-				});
+					PartitionedConsumer consumer = PartitionedConsumer.shared(vertx, consumes);
+					partitionedConsumers.put(consumes.value(), consumer);
+					partitionedServices.put(consumes.value(), service);
+					futures.add(fut -> {
+						try {
+							consumer.register(service, method, fut);
+						} catch (NoSuchMethodException nsme) {
+							log.error("Cannot register consumer on method : " + getFullName(service, method) + ", partitionBy should be header:name, body:field or the name of a public method of the service taking the Message as parameter", nsme);
+							partitionedConsumers.remove(consumes.value());
+							partitionedServices.remove(consumes.value());
+							fut.complete();
+						}
+					});
+				} else {
+					new ConsumerInvoker(vertx, service, method, consumes).register();
+				}
 			}
 		}
 	}
@@ -169,6 +266,8 @@ public class ServiceRegistry {
 			return;
 		}
 		ProxyHelper.registerService(serviceClass, vertx, service, address);
+		localServices.register(address, service, vertx.getOrCreateContext());
+		proxified.put(address, service);
 	}
 
 	@SuppressWarnings("unchecked")
@@ -193,4 +292,39 @@ public class ServiceRegistry {
 			throw new VertxException("Could not create your service proxy for class : " + serviceInterface, e);
 		}
 	}
+
+	/**
+	 * @return the proxy (local or through the event bus), guarded by a timeout and a circuit breaker if the annotation asks for it
+	 */
+	private Object guard(Class<?> serviceInterface, ServiceProxy annotation, Object proxy) {
+		String address = annotation.value();
+		CircuitBreaker breakerOptions = annotation.circuitBreaker();
+		if (annotation.timeout() <= 0 && !breakerOptions.enabled()) {
+			return proxy;
+		}
+		CircuitBreakerState breaker = null;
+		Object fallback = null;
+		if (breakerOptions.enabled()) {
+			CircuitBreaker existing = circuitBreakerOptions.putIfAbsent(address, breakerOptions);
+			if (existing != null && !sameBreaker(existing, breakerOptions)) {
+				log.warn("@ServiceProxy fields at : " + address + " declare different circuit breaker options, the first ones are used : maxFailures=" + existing.maxFailures() + ", window=" + existing.window() + ", resetTimeout=" + existing.resetTimeout());
+			}
+			breaker = circuitBreakers.computeIfAbsent(address, a -> new CircuitBreakerState(breakerOptions.maxFailures(), breakerOptions.window(), breakerOptions.resetTimeout()));
+			if (!Void.class.equals(breakerOptions.fallback())) {
+				if (!serviceInterface.isAssignableFrom(breakerOptions.fallback())) {
+					throw new VertxException("The fallback for the service at : " + address + " should implement " + serviceInterface.getName());
+				}
+				try {
+					fallback = breakerOptions.fallback().newInstance();
+				} catch (InstantiationException | IllegalAccessException e) {
+					throw new VertxException("Could not instantiate the fallback for the service at : " + address, e);
+				}
+			}
+		}
+		return GuardedServiceProxy.create(vertx, serviceInterface, address, proxy, annotation.timeout(), breaker, fallback);
+	}
+
+	private static boolean sameBreaker(CircuitBreaker breaker, CircuitBreaker other) {
+		return breaker.maxFailures() == other.maxFailures() && breaker.window() == other.window() && breaker.resetTimeout() == other.resetTimeout();
+	}
 }
@@ -0,0 +1,365 @@
+package com.github.aesteve.vertx.nubes.services;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.DeploymentOptions;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.impl.MessageImpl;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import com.github.aesteve.vertx.nubes.annotations.services.Verticle;
+import com.github.aesteve.vertx.nubes.utils.async.DetachedContext;
+import com.github.aesteve.vertx.nubes.utils.async.MultipleFutures;
+
+/**
+ * Deploys a @Verticle with scaleOn addresses, and follows its load : the messages sent to these addresses are forwarded to the instances,
+ * the ones waiting for a reply and the time taken to reply are sampled, and instances are deployed or undeployed accordingly.
+ * Instances are added as soon as the verticle is overloaded for a couple of samples, but removed one by one once it has been idle for longer.
+ *
+ * A verticle has a single supervisor per Vertx, shared by every Nubes instance : minInstances and maxInstances bound the number of instances of the Vertx
+ * (of each node, when clustered). The supervisor runs on a {@link DetachedContext}, and is stopped when the last Nubes instance using it is.
+ */
+public class VerticleSupervisor implements Shareable {
+
+	private final static Logger log = LoggerFactory.getLogger(VerticleSupervisor.class);
+
+	private static final String SHARED_MAP = "nubes-verticle-supervisors";
+	private static final String INSTANCE_SUFFIX = ".nubes-instance";
+	private static final int UP_SAMPLES = 2;
+	private static final int DOWN_SAMPLES = 5;
+	private static final Method IS_SEND = isSendMethod();
+
+	private final Vertx vertx;
+	private final String verticleName;
+	private final DeploymentOptions options;
+	private final Verticle annotation;
+	private final int minInstances;
+	private final int maxInstances;
+	private final Deque<String> deploymentIds;
+	private final List<MessageConsumer<Object>> consumers;
+	private final List<Handler<AsyncResult<Void>>> startHandlers;
+	private final List<Future<Void>> pendingStops;
+	private AsyncResult<Void> startResult;
+	private boolean starting;
+	private int users;
+	private Context context;
+	private volatile int instances;
+	private volatile int inFlight;
+	private long latencySum;
+	private int replies;
+	private int overloaded;
+	private int underloaded;
+	private boolean scaling;
+	private long timerId = -1;
+
+	public VerticleSupervisor(Vertx vertx, String verticleName, DeploymentOptions options, Verticle annotation) {
+		this.vertx = vertx;
+		this.verticleName = verticleName;
+		this.options = new DeploymentOptions(options).setInstances(1);
+		this.annotation = annotation;
+		int cores = Runtime.getRuntime().availableProcessors();
+		minInstances = Math.max(1, annotation.minInstances() == Verticle.AUTO ? cores : annotation.minInstances());
+		maxInstances = Math.max(minInstances, annotation.maxInstances() == Verticle.AUTO ? cores : annotation.maxInstances());
+		deploymentIds = new ArrayDeque<>();
+		consumers = new ArrayList<>(annotation.scaleOn().length);
+		startHandlers = new ArrayList<>(1);
+		pendingStops = new ArrayList<>(1);
+	}
+
+	/**
+	 * @return the supervisor of this verticle for this Vertx (created if none exists yet)
+	 */
+	public static VerticleSupervisor shared(Vertx vertx, String verticleName, DeploymentOptions options, Verticle annotation) {
+		LocalMap<String, VerticleSupervisor> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+		VerticleSupervisor supervisor = map.get(verticleName);
+		if (supervisor == null) {
+			VerticleSupervisor created = new VerticleSupervisor(vertx, verticleName, options, annotation);
+			supervisor = map.putIfAbsent(verticleName, created);
+			if (supervisor == null) {
+				supervisor = created;
+			}
+		}
+		return supervisor;
+	}
+
+	/**
+	 * The address instances of a scaled verticle should consume, for messages sent to address
+	 */
+	public static String instanceAddress(String address) {
+		return address + INSTANCE_SUFFIX;
+	}
+
+	/**
+	 * Deploys minInstances, then starts forwarding messages. Completes right away if the supervisor has already been started by another Nubes instance.
+	 */
+	public void start(Future<Void> future) {
+		Context caller = vertx.getOrCreateContext();
+		Handler<AsyncResult<Void>> handler = res -> caller.runOnContext(v -> {
+			if (res.succeeded()) {
+				future.complete();
+			} else {
+				future.fail(res.cause());
+			}
+		});
+		AsyncResult<Void> result;
+		synchronized (this) {
+			users++;
+			result = startResult;
+			if (result == null) {
+				startHandlers.add(handler);
+				if (starting) {
+					return;
+				}
+				starting = true;
+			}
+		}
+		if (result != null) {
+			handler.handle(result);
+			return;
+		}
+		DetachedContext.create(vertx, "nubes-supervisor-" + verticleName, detached -> {
+			context = detached;
+			MultipleFutures<Void> deployments = new MultipleFutures<>();
+			for (int i = 0; i < minInstances; i++) {
+				deployments.add(this::deployInstance);
+			}
+			deployments.setHandler(res -> {
+				if (res.succeeded()) {
+					for (String address : annotation.scaleOn()) {
+						consumers.add(vertx.eventBus().consumer(address, message -> forward(address, message)));
+					}
+					timerId = vertx.setPeriodic(Math.max(1, annotation.scaleInterval()), id -> sample());
+				}
+				List<Handler<AsyncResult<Void>>> handlers;
+				List<Future<Void>> stops;
+				boolean unused;
+				synchronized (this) {
+					startResult = res;
+					handlers = new ArrayList<>(startHandlers);
+					startHandlers.clear();
+					stops = new ArrayList<>(pendingStops);
+					pendingStops.clear();
+					unused = !stops.isEmpty() && users == 0;
+				}
+				handlers.forEach(h -> h.handle(res));
+				if (unused) { // stopped while it was starting
+					shutdown(stops);
+				} else {
+					stops.forEach(Future::complete);
+				}
+			});
+			deployments.start();
+		});
+	}
+
+	/**
+	 * Undeploys the instances once every Nubes instance which started the supervisor has stopped it.
+	 * If it's still starting, the instances are undeployed as soon as they're deployed.
+	 */
+	public void stop(Future<Void> future) {
+		Context caller = vertx.getOrCreateContext();
+		Future<Void> stopped = Future.future();
+		stopped.setHandler(res -> caller.runOnContext(v -> future.complete()));
+		synchronized (this) {
+			users--;
+			if (users > 0) {
+				future.complete();
+				return;
+			}
+			if (startResult == null) {
+				pendingStops.add(stopped);
+				return;
+			}
+		}
+		List<Future<Void>> stops = new ArrayList<>(1);
+		stops.add(stopped);
+		shutdown(stops);
+	}
+
+	private void shutdown(List<Future<Void>> stops) {
+		vertx.sharedData().<String, VerticleSupervisor> getLocalMap(SHARED_MAP).removeIfPresent(verticleName, this);
+		context.runOnContext(v -> {
+			if (timerId != -1) {
+				vertx.cancelTimer(timerId);
+				timerId = -1;
+			}
+			consumers.forEach(MessageConsumer::unregister);
+			consumers.clear();
+			MultipleFutures<Void> undeployments = new MultipleFutures<>(res -> stops.forEach(Future::complete));
+			deploymentIds.forEach(deploymentId -> {
+				undeployments.add(fut -> undeploy(deploymentId, res -> fut.complete()));
+			});
+			deploymentIds.clear();
+			instances = 0;
+			undeployments.start();
+		});
+	}
+
+	public String verticleName() {
+		return verticleName;
+	}
+
+	/**
+	 * @return the number of instances currently deployed
+	 */
+	public int instances() {
+		return instances;
+	}
+
+	/**
+	 * @return the number of messages forwarded to the instances and waiting for a reply
+	 */
+	public int inFlight() {
+		return inFlight;
+	}
+
+	@Override
+	public String toString() {
+		return verticleName + " (instances=" + instances + ", inFlight=" + inFlight + ")";
+	}
+
+	/**
+	 * Only the messages waiting for a reply are tracked. The other ones are relayed the way they were delivered : published or sent.
+	 */
+	private void forward(String address, Message<Object> message) {
+		DeliveryOptions options = new DeliveryOptions().setHeaders(message.headers());
+		if (message.replyAddress() == null) {
+			if (isPublished(message)) {
+				vertx.eventBus().publish(instanceAddress(address), message.body(), options);
+			} else {
+				vertx.eventBus().send(instanceAddress(address), message.body(), options);
+			}
+			return;
+		}
+		long start = System.currentTimeMillis();
+		inFlight++;
+		try {
+			vertx.eventBus().send(instanceAddress(address), message.body(), options, reply -> {
+				inFlight--;
+				latencySum += System.currentTimeMillis() - start;
+				replies++;
+				if (reply.succeeded()) {
+					Message<Object> result = reply.result();
+					message.reply(result.body(), new DeliveryOptions().setHeaders(result.headers()));
+				} else if (reply.cause() instanceof ReplyException) {
+					ReplyException re = (ReplyException) reply.cause();
+					message.fail(re.failureCode(), re.getMessage());
+				} else {
+					message.fail(500, reply.cause().getMessage());
+				}
+			});
+		} catch (RuntimeException re) {
+			inFlight--;
+			log.error("Could not forward a message sent to : " + address + " to the instances of : " + verticleName, re);
+			message.fail(500, re.getMessage());
+		}
+	}
+
+	private void sample() {
+		long meanLatency = replies == 0 ? 0 : latencySum / replies;
+		latencySum = 0;
+		replies = 0;
+		if (scaling || instances == 0) {
+			return;
+		}
+		double backlog = (double) inFlight / instances;
+		long maxLatency = annotation.scaleUpLatency();
+		boolean up = backlog > annotation.scaleUpBacklog() || (maxLatency > 0 && meanLatency > maxLatency);
+		boolean down = backlog <= annotation.scaleDownBacklog() && (maxLatency <= 0 || meanLatency <= maxLatency / 2);
+		overloaded = up ? overloaded + 1 : 0;
+		underloaded = down ? underloaded + 1 : 0;
+		if (overloaded >= UP_SAMPLES && instances < maxInstances) {
+			overloaded = 0;
+			int wanted = (int) Math.ceil((double) inFlight / Math.max(1, annotation.scaleUpBacklog()));
+			scaleUp(Math.min(maxInstances, Math.max(instances + 1, wanted)) - instances);
+		} else if (underloaded >= DOWN_SAMPLES && instances > minInstances) {
+			underloaded = 0;
+			scaleDown();
+		}
+	}
+
+	private void scaleUp(int nbInstances) {
+		log.info("Scaling " + verticleName + " up : " + instances + " -> " + (instances + nbInstances) + " instances");
+		scaling = true;
+		MultipleFutures<Void> deployments = new MultipleFutures<>();
+		for (int i = 0; i < nbInstances; i++) {
+			deployments.add(this::deployInstance);
+		}
+		deployments.setHandler(res -> {
+			scaling = false;
+			if (res.failed()) {
+				log.error("Could not scale " + verticleName + " up", res.cause());
+			}
+		});
+		deployments.start();
+	}
+
+	private void scaleDown() {
+		String deploymentId = deploymentIds.pollLast();
+		log.info("Scaling " + verticleName + " down : " + instances + " -> " + (instances - 1) + " instances");
+		instances = deploymentIds.size();
+		scaling = true;
+		undeploy(deploymentId, res -> {
+			scaling = false;
+			if (res.failed()) {
+				log.error("Could not undeploy an instance of " + verticleName, res.cause());
+			}
+		});
+	}
+
+	private void deployInstance(Future<Void> future) {
+		vertx.deployVerticle(verticleName, options, res -> {
+			if (res.succeeded()) {
+				deploymentIds.add(res.result());
+				instances = deploymentIds.size();
+				future.complete();
+			} else {
+				future.fail(res.cause());
+			}
+		});
+	}
+
+	private void undeploy(String deploymentId, Handler<AsyncResult<Void>> handler) {
+		vertx.undeploy(deploymentId, handler);
+	}
+
+	/**
+	 * Vert.x 3.0's Message doesn't tell if it's been published or sent, the implementation does
+	 */
+	private static boolean isPublished(Message<?> message) {
+		if (IS_SEND == null || !(message instanceof MessageImpl)) {
+			return false;
+		}
+		try {
+			return !(Boolean) IS_SEND.invoke(message);
+		} catch (ReflectiveOperationException roe) {
+			return false;
+		}
+	}
+
+	private static Method isSendMethod() {
+		try {
+			Method method = MessageImpl.class.getDeclaredMethod("send");
+			method.setAccessible(true);
+			return method;
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			log.warn("Messages published to scaled verticles will be sent to a single instance", e);
+			return null;
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package com.github.aesteve.vertx.nubes.sockjs;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.handler.sockjs.SockJSSocket;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+
+/**
+ * A group of sockets messages can be broadcast to. A message is encoded once, then the same Buffer is written to every member.
+ *
+ * Members are sharded by the context they joined from (the event loop of their connection) : a broadcast writes to each shard on its own event loop.
+ * A room is removed from its Rooms once its last member leaves : get it from Rooms rather than keeping a reference to it.
+ * Members waiting for their socket to drain (COALESCE) register through {@link Rooms#whenDrained(SockJSSocket, io.vertx.core.Handler)}.
+ */
+public class Room {
+
+	private final Vertx vertx;
+	private final String name;
+	private final PayloadMarshaller marshaller;
+	private final Rooms rooms;
+	private final Map<String, Room> registry;
+	private final Map<Context, Shard> shards;
+	private final AtomicLong dropped;
+
+	Room(Vertx vertx, String name, PayloadMarshaller marshaller, Rooms rooms, Map<String, Room> registry) {
+		this.vertx = vertx;
+		this.name = name;
+		this.marshaller = marshaller;
+		this.rooms = rooms;
+		this.registry = registry;
+		shards = new ConcurrentHashMap<>();
+		dropped = new AtomicLong();
+	}
+
+	public String name() {
+		return name;
+	}
+
+	/**
+	 * Joins the room, dropping messages if the socket can't keep up
+	 */
+	public void join(SockJSSocket socket) {
+		join(socket, SlowConsumerPolicy.DROP);
+	}
+
+	/**
+	 * Should be called from one of the socket's handlers, so that its shard is its event loop
+	 */
+	public void join(SockJSSocket socket, SlowConsumerPolicy policy) {
+		Context context = vertx.getOrCreateContext();
+		registry.compute(name, (n, registered) -> {
+			Room room = registered == null ? this : registered; // this room may have been emptied (and removed) meanwhile
+			room.shards.compute(context, (c, shard) -> {
+				if (shard == null) {
+					shard = new Shard(c);
+				}
+				shard.members.put(socket, room.new Member(socket, policy));
+				return shard;
+			});
+			return room;
+		});
+	}
+
+	public void leave(SockJSSocket socket) {
+		for (Context context : shards.keySet()) {
+			shards.computeIfPresent(context, (c, shard) -> {
+				shard.members.remove(socket);
+				return shard.members.isEmpty() ? null : shard;
+			});
+		}
+		registry.computeIfPresent(name, (n, room) -> room == this && shards.isEmpty() ? null : room);
+	}
+
+	public boolean contains(SockJSSocket socket) {
+		return shards.values().stream().anyMatch(shard -> shard.members.containsKey(socket));
+	}
+
+	public int size() {
+		return shards.values().stream().mapToInt(shard -> shard.members.size()).sum();
+	}
+
+	/**
+	 * @return the number of messages not sent to a member (or replaced by a more recent one) since its write queue was full
+	 */
+	public long dropped() {
+		return dropped.get();
+	}
+
+	/**
+	 * @param payload a Buffer, a String, a JsonObject, a JsonArray, or a POJO encoded by the marshaller
+	 */
+	public void broadcast(Object payload) throws MarshallingException {
+		broadcast(payload, null);
+	}
+
+	/**
+	 * @param except a member not to send the message to (the one who sent it, for instance), can be null
+	 */
+	public void broadcast(Object payload, SockJSSocket except) throws MarshallingException {
+		Buffer buffer = encode(payload);
+		Context current = Vertx.currentContext();
+		for (Shard shard : shards.values()) {
+			if (shard.members.isEmpty()) {
+				continue;
+			}
+			if (shard.context == current) {
+				shard.write(buffer, except);
+			} else {
+				shard.context.runOnContext(v -> shard.write(buffer, except));
+			}
+		}
+	}
+
+	private Buffer encode(Object payload) throws MarshallingException {
+		if (payload instanceof Buffer) {
+			return (Buffer) payload;
+		} else if (payload instanceof String) {
+			return Buffer.buffer((String) payload);
+		} else if (payload instanceof JsonObject) {
+			return Buffer.buffer(((JsonObject) payload).encode());
+		} else if (payload instanceof JsonArray) {
+			return Buffer.buffer(((JsonArray) payload).encode());
+		}
+		return Buffer.buffer(marshaller.marshallPayload(payload));
+	}
+
+	private static class Shard {
+
+		private final Context context;
+		private final Map<SockJSSocket, Member> members;
+
+		private Shard(Context context) {
+			this.context = context;
+			members = new ConcurrentHashMap<>();
+		}
+
+		private void write(Buffer buffer, SockJSSocket except) {
+			for (Member member : members.values()) {
+				if (member.socket != except) {
+					member.write(buffer);
+				}
+			}
+		}
+	}
+
+	private class Member {
+
+		private final SockJSSocket socket;
+		private final SlowConsumerPolicy policy;
+		private Buffer pending;
+		private boolean draining;
+
+		private Member(SockJSSocket socket, SlowConsumerPolicy policy) {
+			this.socket = socket;
+			this.policy = policy;
+		}
+
+		private void write(Buffer buffer) {
+			if (draining) { // the messages must be sent in order : the pending one first
+				dropped.incrementAndGet();
+				pending = buffer;
+				return;
+			}
+			if (!socket.writeQueueFull()) {
+				socket.write(buffer);
+				return;
+			}
+			switch (policy) {
+				case DROP:
+					dropped.incrementAndGet();
+					break;
+				case COALESCE:
+					pending = buffer;
+					draining = true;
+					rooms.whenDrained(socket, v -> {
+						draining = false;
+						Buffer latest = pending;
+						pending = null;
+						write(latest);
+					});
+					break;
+				case DISCONNECT:
+					dropped.incrementAndGet();
+					leave(socket);
+					socket.close();
+					break;
+			}
+		}
+	}
+}
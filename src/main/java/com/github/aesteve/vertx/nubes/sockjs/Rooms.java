@@ -0,0 +1,97 @@
+package com.github.aesteve.vertx.nubes.sockjs;
+
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.shareddata.LocalMap;
+import io.vertx.core.shareddata.Shareable;
+import io.vertx.ext.web.handler.sockjs.SockJSSocket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.github.aesteve.vertx.nubes.marshallers.PayloadMarshaller;
+
+/**
+ * The rooms of a @SockJS controller, shared by every Nubes instance of a Vertx. Can be injected into @OnOpen, @OnMessage and @OnClose methods.
+ * Sockets leave every room they joined when they're closed, and rooms are removed once empty.
+ *
+ * A socket has a single drain handler : while one of its rooms waits for it to drain, the rooms own it.
+ * Use {@link #whenDrained(SockJSSocket, Handler)} rather than setting the socket's drain handler yourself.
+ */
+public class Rooms implements Shareable {
+
+	private static final String SHARED_MAP = "nubes-socket-rooms";
+
+	private final Vertx vertx;
+	private final PayloadMarshaller marshaller;
+	private final Map<String, Room> rooms;
+	private final Map<SockJSSocket, List<Handler<Void>>> drainWaiters;
+
+	public Rooms(Vertx vertx, PayloadMarshaller marshaller) {
+		this.vertx = vertx;
+		this.marshaller = marshaller;
+		rooms = new ConcurrentHashMap<>();
+		drainWaiters = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * @param name the name of the rooms, the path of the @SockJS controller they belong to
+	 * @param marshaller encodes the POJOs broadcast
+	 */
+	public static Rooms shared(Vertx vertx, String name, PayloadMarshaller marshaller) {
+		LocalMap<String, Rooms> map = vertx.sharedData().getLocalMap(SHARED_MAP);
+		Rooms rooms = map.get(name);
+		if (rooms == null) {
+			Rooms created = new Rooms(vertx, marshaller);
+			rooms = map.putIfAbsent(name, created);
+			if (rooms == null) {
+				rooms = created;
+			}
+		}
+		return rooms;
+	}
+
+	/**
+	 * @return the room, created if it doesn't exist yet
+	 */
+	public Room room(String name) {
+		return rooms.computeIfAbsent(name, n -> new Room(vertx, n, marshaller, this, rooms));
+	}
+
+	/**
+	 * Calls the handler once, the next time the socket's write queue drains. Every handler waiting for the same socket is called.
+	 */
+	public void whenDrained(SockJSSocket socket, Handler<Void> handler) {
+		boolean[] first = new boolean[1];
+		drainWaiters.compute(socket, (s, waiters) -> {
+			if (waiters == null) {
+				waiters = new ArrayList<>(2);
+				first[0] = true;
+			}
+			waiters.add(handler);
+			return waiters;
+		});
+		if (first[0]) {
+			socket.drainHandler(v -> {
+				List<Handler<Void>> waiters = drainWaiters.remove(socket);
+				if (waiters != null) {
+					waiters.forEach(waiter -> waiter.handle(null));
+				}
+			});
+		}
+	}
+
+	/**
+	 * Removes a room, without closing its members' sockets
+	 */
+	public void remove(String name) {
+		rooms.remove(name);
+	}
+
+	public void leaveAll(SockJSSocket socket) {
+		drainWaiters.remove(socket);
+		rooms.values().forEach(room -> room.leave(socket));
+	}
+}
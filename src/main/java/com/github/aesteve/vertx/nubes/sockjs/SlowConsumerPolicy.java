@@ -0,0 +1,22 @@
+package com.github.aesteve.vertx.nubes.sockjs;
+
+/**
+ * What to do with a broadcast message when a socket's write queue is full
+ */
+public enum SlowConsumerPolicy {
+
+	/**
+	 * The message is not sent to this socket
+	 */
+	DROP,
+
+	/**
+	 * Only the latest message is kept, and sent once the write queue drains
+	 */
+	COALESCE,
+
+	/**
+	 * The socket is closed
+	 */
+	DISCONNECT
+}
@@ -0,0 +1,79 @@
+package com.github.aesteve.vertx.nubes.utils;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A bounded cache for lookups made on every request, over a few keys seen again and again (Accept headers, projections...) : reads never lock.
+ *
+ * Evicts with CLOCK (second chance) : a read only flags its entry (once), and when the cache is full, the eviction hand goes through the entries,
+ * unflagging them, until it finds one which hasn't been read since it last went by.
+ * Writes are serialized, which is fine as long as misses are rare. For large caches with many misses, see {@link WindowTinyLfuCache}.
+ * Null keys and values aren't allowed.
+ */
+public class ClockCache<K, V> {
+
+	private final int maxEntries;
+	private final Map<K, Entry<V>> entries;
+	private Iterator<Map.Entry<K, Entry<V>>> hand;
+
+	public ClockCache(int maxEntries) {
+		this.maxEntries = Math.max(1, maxEntries);
+		entries = new ConcurrentHashMap<>();
+	}
+
+	/**
+	 * @return the value, or null if it's not in the cache
+	 */
+	public V get(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (!entry.referenced) { // no write once flagged : hot entries are only read
+			entry.referenced = true;
+		}
+		return entry.value;
+	}
+
+	public synchronized void put(K key, V value) {
+		if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+			evict();
+		}
+		entries.put(key, new Entry<>(value));
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	private void evict() {
+		int maxScanned = 2 * entries.size() + 1; // every entry may be read again meanwhile
+		for (int scanned = 0;; scanned++) {
+			if (hand == null || !hand.hasNext()) {
+				hand = entries.entrySet().iterator();
+				if (!hand.hasNext()) {
+					return;
+				}
+			}
+			Entry<V> entry = hand.next().getValue();
+			if (entry.referenced && scanned < maxScanned) {
+				entry.referenced = false;
+			} else {
+				hand.remove();
+				return;
+			}
+		}
+	}
+
+	private static class Entry<V> {
+
+		private final V value;
+		private volatile boolean referenced;
+
+		private Entry(V value) {
+			this.value = value;
+		}
+	}
+}
@@ -0,0 +1,159 @@
+package com.github.aesteve.vertx.nubes.utils;
+
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * A cron expression : "[second] minute hour day-of-month month day-of-week".
+ *
+ * Each field can be "*", "?", a value, a range "a-b", a step "*\/n" or "a-b/n", or a comma-separated list of those.
+ * Months and days of week can also be named (JAN, MON, ...), Sunday is either 0 or 7.
+ * As in Unix cron, if both day-of-month and day-of-week are restricted, a day matching either one matches.
+ */
+public class CronExpression {
+
+	private static final List<String> MONTHS = Arrays.asList("JAN", "FEB", "MAR", "APR", "MAY", "JUN", "JUL", "AUG", "SEP", "OCT", "NOV", "DEC");
+	private static final List<String> DAYS = Arrays.asList("SUN", "MON", "TUE", "WED", "THU", "FRI", "SAT");
+
+	private final String expression;
+	private final BitSet seconds;
+	private final BitSet minutes;
+	private final BitSet hours;
+	private final BitSet daysOfMonth;
+	private final BitSet months;
+	private final BitSet daysOfWeek;
+	private final boolean anyDayOfMonth;
+	private final boolean anyDayOfWeek;
+
+	private CronExpression(String expression) {
+		this.expression = expression;
+		String[] fields = expression.trim().split("\\s+");
+		if (fields.length == 5) {
+			fields = concat("0", fields);
+		}
+		if (fields.length != 6) {
+			throw new IllegalArgumentException("Cron expression should have 5 or 6 fields : " + expression);
+		}
+		seconds = parseField(fields[0], 0, 59, null);
+		minutes = parseField(fields[1], 0, 59, null);
+		hours = parseField(fields[2], 0, 23, null);
+		daysOfMonth = parseField(fields[3], 1, 31, null);
+		months = parseField(fields[4], 1, 12, MONTHS);
+		daysOfWeek = parseField(fields[5], 0, 7, DAYS);
+		if (daysOfWeek.get(7)) {
+			daysOfWeek.set(0);
+		}
+		anyDayOfMonth = isAny(fields[3]);
+		anyDayOfWeek = isAny(fields[5]);
+	}
+
+	/**
+	 * @throws IllegalArgumentException if the expression is invalid
+	 */
+	public static CronExpression parse(String expression) {
+		return new CronExpression(expression);
+	}
+
+	/**
+	 * @return the first time matching the expression, strictly after the given time
+	 */
+	public ZonedDateTime next(ZonedDateTime after) {
+		ZonedDateTime time = after.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+		int maxYear = after.getYear() + 5;
+		while (time.getYear() <= maxYear) {
+			if (!months.get(time.getMonthValue())) {
+				time = time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1).plusMonths(1);
+			} else if (!dayMatches(time)) {
+				time = time.truncatedTo(ChronoUnit.DAYS).plusDays(1);
+			} else if (!hours.get(time.getHour())) {
+				time = time.truncatedTo(ChronoUnit.HOURS).plusHours(1);
+			} else if (!minutes.get(time.getMinute())) {
+				time = time.truncatedTo(ChronoUnit.MINUTES).plusMinutes(1);
+			} else if (!seconds.get(time.getSecond())) {
+				time = time.plusSeconds(1);
+			} else {
+				return time;
+			}
+		}
+		throw new IllegalArgumentException("Cron expression never matches : " + expression);
+	}
+
+	@Override
+	public String toString() {
+		return expression;
+	}
+
+	private boolean dayMatches(ZonedDateTime time) {
+		boolean dayOfMonth = daysOfMonth.get(time.getDayOfMonth());
+		boolean dayOfWeek = daysOfWeek.get(time.getDayOfWeek().getValue() % 7);
+		if (!anyDayOfMonth && !anyDayOfWeek) {
+			return dayOfMonth || dayOfWeek;
+		}
+		return dayOfMonth && dayOfWeek;
+	}
+
+	private static boolean isAny(String field) {
+		return "*".equals(field) || "?".equals(field);
+	}
+
+	private BitSet parseField(String field, int min, int max, List<String> names) {
+		BitSet values = new BitSet(max + 1);
+		for (String part : field.split(",")) {
+			int step = 1;
+			int slash = part.indexOf('/');
+			if (slash >= 0) {
+				step = parseValue(part.substring(slash + 1), 1, max, null);
+				part = part.substring(0, slash);
+			}
+			int from;
+			int to;
+			if (isAny(part)) {
+				from = min;
+				to = max;
+			} else {
+				int dash = part.indexOf('-');
+				if (dash >= 0) {
+					from = parseValue(part.substring(0, dash), min, max, names);
+					to = parseValue(part.substring(dash + 1), min, max, names);
+				} else {
+					from = parseValue(part, min, max, names);
+					to = slash >= 0 ? max : from;
+				}
+			}
+			if (from > to) {
+				throw new IllegalArgumentException("Invalid range : " + part + " in cron expression : " + expression);
+			}
+			for (int i = from; i <= to; i += step) {
+				values.set(i);
+			}
+		}
+		return values;
+	}
+
+	private int parseValue(String value, int min, int max, List<String> names) {
+		int parsed;
+		if (names != null && names.contains(value.toUpperCase())) {
+			parsed = names.indexOf(value.toUpperCase()) + (names == MONTHS ? 1 : 0);
+		} else {
+			try {
+				parsed = Integer.parseInt(value);
+			} catch (NumberFormatException nfe) {
+				throw new IllegalArgumentException("Invalid value : " + value + " in cron expression : " + expression, nfe);
+			}
+		}
+		if (parsed < min || parsed > max) {
+			throw new IllegalArgumentException("Value : " + value + " out of range [" + min + "-" + max + "] in cron expression : " + expression);
+		}
+		return parsed;
+	}
+
+	private static String[] concat(String first, String[] others) {
+		String[] all = new String[others.length + 1];
+		all[0] = first;
+		System.arraycopy(others, 0, all, 1, others.length);
+		return all;
+	}
+}
@@ -1,7 +1,12 @@
 package com.github.aesteve.vertx.nubes.utils;
 
 import java.text.ParseException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
 import java.util.Date;
+import java.util.Locale;
 import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
@@ -20,6 +25,8 @@ public enum DateUtils {
 
 	INSTANCE;
 
+	private static final DateTimeFormatter HTTP_DATE = DateTimeFormatter.ofPattern("EEE, dd MMM yyyy HH:mm:ss 'GMT'", Locale.US).withZone(ZoneOffset.UTC);
+
 	private DatatypeFactory factory;
 
 	private DateUtils() {
@@ -53,4 +60,22 @@ public enum DateUtils {
 		return formatIso8601(date, null);
 	}
 
+	/**
+	 * Formats a date the way HTTP headers expect it (RFC 7231), for instance : Sun, 06 Nov 1994 08:49:37 GMT
+	 */
+	public String formatHttpDate(Date date) {
+		return HTTP_DATE.format(date.toInstant());
+	}
+
+	/**
+	 * @return the date read from an HTTP header, or null if it's not a valid HTTP date
+	 */
+	public Date parseHttpDate(String date) {
+		try {
+			return Date.from(ZonedDateTime.parse(date, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant());
+		} catch (DateTimeParseException dtpe) {
+			return null;
+		}
+	}
+
 }
@@ -0,0 +1,284 @@
+package com.github.aesteve.vertx.nubes.utils;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe cache evicting with W-TinyLFU.
+ *
+ * New entries go into a small LRU window (1% of the capacity). When they leave the window, they only get into the main space
+ * (a segmented LRU : probation then protected once hit again) if they've been asked for more often recently than the entry they would evict.
+ * Bursts of new keys don't evict popular ones, and new popular keys still get a chance to prove themselves in the window.
+ *
+ * The cache is split into segments locked independently. Null keys and values aren't allowed.
+ */
+public class WindowTinyLfuCache<K, V> {
+
+	private static final int MAX_SEGMENTS = 16;
+	private static final int MIN_SEGMENT_ENTRIES = 64;
+
+	private final Segment<K, V>[] segments;
+	private final long ttl;
+	private final LongAdder hits;
+	private final LongAdder misses;
+	private final LongAdder evictions;
+
+	/**
+	 * @param maxEntries the maximum number of entries
+	 * @param ttl how long (in ms) an entry is kept, 0 for ever
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public WindowTinyLfuCache(int maxEntries, long ttl) {
+		int nbSegments = 1;
+		while (nbSegments < MAX_SEGMENTS && maxEntries / (nbSegments * 2) >= MIN_SEGMENT_ENTRIES) {
+			nbSegments *= 2;
+		}
+		segments = new Segment[nbSegments];
+		for (int i = 0; i < nbSegments; i++) {
+			segments[i] = new Segment<>(this, Math.max(1, maxEntries / nbSegments));
+		}
+		this.ttl = ttl;
+		hits = new LongAdder();
+		misses = new LongAdder();
+		evictions = new LongAdder();
+	}
+
+	/**
+	 * @return the value, or null if it's not in the cache (or expired)
+	 */
+	public V get(K key) {
+		V value = segment(key).get(key, System.currentTimeMillis());
+		if (value == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return value;
+	}
+
+	public void put(K key, V value) {
+		long expiresAt = ttl > 0 ? System.currentTimeMillis() + ttl : Long.MAX_VALUE;
+		segment(key).put(key, value, expiresAt);
+	}
+
+	public void invalidate(K key) {
+		segment(key).remove(key);
+	}
+
+	public void invalidateAll() {
+		for (Segment<K, V> segment : segments) {
+			segment.clear();
+		}
+	}
+
+	public int size() {
+		int size = 0;
+		for (Segment<K, V> segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	public Stats stats() {
+		return new Stats(hits.sum(), misses.sum(), evictions.sum());
+	}
+
+	private Segment<K, V> segment(K key) {
+		int hash = key.hashCode();
+		return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+	}
+
+	/**
+	 * A snapshot of the cache statistics.
+	 */
+	public static class Stats {
+
+		private final long hits;
+		private final long misses;
+		private final long evictions;
+
+		private Stats(long hits, long misses, long evictions) {
+			this.hits = hits;
+			this.misses = misses;
+			this.evictions = evictions;
+		}
+
+		public long hits() {
+			return hits;
+		}
+
+		public long misses() {
+			return misses;
+		}
+
+		public long evictions() {
+			return evictions;
+		}
+
+		public double hitRate() {
+			long requests = hits + misses;
+			return requests == 0 ? 1.0 : (double) hits / requests;
+		}
+
+		@Override
+		public String toString() {
+			return "hits=" + hits + ", misses=" + misses + ", evictions=" + evictions;
+		}
+	}
+
+	private enum Region {
+		WINDOW, PROBATION, PROTECTED
+	}
+
+	private static class Node<V> {
+
+		private V value;
+		private long expiresAt;
+		private Region region;
+
+		private Node(V value, long expiresAt) {
+			this.value = value;
+			this.expiresAt = expiresAt;
+			region = Region.WINDOW;
+		}
+	}
+
+	private static class Segment<K, V> {
+
+		private final WindowTinyLfuCache<K, V> cache;
+		private final int maxWindow;
+		private final int maxProtected;
+		private final int maxEntries;
+		private final Map<K, Node<V>> nodes;
+		private final LinkedHashMap<K, Node<V>> window;
+		private final LinkedHashMap<K, Node<V>> probation;
+		private final LinkedHashMap<K, Node<V>> protectedSpace;
+		private final FrequencySketch sketch;
+
+		private Segment(WindowTinyLfuCache<K, V> cache, int maxEntries) {
+			this.cache = cache;
+			this.maxEntries = maxEntries;
+			maxWindow = Math.max(1, maxEntries / 100);
+			maxProtected = (maxEntries - maxWindow) * 4 / 5;
+			nodes = new HashMap<>();
+			window = new LinkedHashMap<>(16, 0.75f, true);
+			probation = new LinkedHashMap<>();
+			protectedSpace = new LinkedHashMap<>();
+			sketch = new FrequencySketch(maxEntries);
+		}
+
+		private synchronized V get(K key, long now) {
+			sketch.increment(key);
+			Node<V> node = nodes.get(key);
+			if (node == null) {
+				return null;
+			}
+			if (node.expiresAt <= now) {
+				remove(key);
+				return null;
+			}
+			touch(key, node);
+			return node.value;
+		}
+
+		private synchronized void put(K key, V value, long expiresAt) {
+			Node<V> node = nodes.get(key);
+			if (node != null) {
+				node.value = value;
+				node.expiresAt = expiresAt;
+				touch(key, node);
+				return;
+			}
+			node = new Node<>(value, expiresAt);
+			nodes.put(key, node);
+			window.put(key, node);
+			if (window.size() > maxWindow) {
+				Iterator<Map.Entry<K, Node<V>>> it = window.entrySet().iterator();
+				Map.Entry<K, Node<V>> oldest = it.next();
+				it.remove();
+				oldest.getValue().region = Region.PROBATION;
+				probation.put(oldest.getKey(), oldest.getValue());
+				if (nodes.size() > maxEntries) {
+					evict(oldest.getKey());
+				}
+			}
+		}
+
+		private synchronized void remove(K key) {
+			Node<V> node = nodes.remove(key);
+			if (node != null) {
+				region(node).remove(key);
+			}
+		}
+
+		private synchronized void clear() {
+			nodes.clear();
+			window.clear();
+			probation.clear();
+			protectedSpace.clear();
+		}
+
+		private synchronized int size() {
+			return nodes.size();
+		}
+
+		private void touch(K key, Node<V> node) {
+			switch (node.region) {
+				case WINDOW:
+					window.get(key);
+					break;
+				case PROBATION:
+					probation.remove(key);
+					node.region = Region.PROTECTED;
+					protectedSpace.put(key, node);
+					if (protectedSpace.size() > maxProtected) {
+						Iterator<Map.Entry<K, Node<V>>> it = protectedSpace.entrySet().iterator();
+						Map.Entry<K, Node<V>> demoted = it.next();
+						it.remove();
+						demoted.getValue().region = Region.PROBATION;
+						probation.put(demoted.getKey(), demoted.getValue());
+					}
+					break;
+				case PROTECTED:
+					protectedSpace.remove(key);
+					protectedSpace.put(key, node);
+					break;
+			}
+		}
+
+		/**
+		 * The candidate (just out of the window) and the least recently used entry of the main space fight for a place
+		 */
+		private void evict(K candidate) {
+			K victim = null;
+			for (K key : probation.keySet()) {
+				if (!key.equals(candidate)) {
+					victim = key;
+					break;
+				}
+			}
+			if (victim == null && !protectedSpace.isEmpty()) {
+				victim = protectedSpace.keySet().iterator().next();
+			}
+			if (victim == null || (nodes.get(victim).expiresAt > System.currentTimeMillis() && sketch.frequency(candidate) <= sketch.frequency(victim))) {
+				victim = candidate;
+			}
+			remove(victim);
+			cache.evictions.increment();
+		}
+
+		private LinkedHashMap<K, Node<V>> region(Node<V> node) {
+			switch (node.region) {
+				case WINDOW:
+					return window;
+				case PROBATION:
+					return probation;
+				default:
+					return protectedSpace;
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package com.github.aesteve.vertx.nubes.utils;
+
+/**
+ * Plain java implementation of the xxHash64 algorithm (https://github.com/Cyan4973/xxHash)
+ * Used to fingerprint response bodies cheaply.
+ */
+public class XXHash64 {
+
+	private static final long PRIME1 = 0x9E3779B185EBCA87L;
+	private static final long PRIME2 = 0xC2B2AE3D27D4EB4FL;
+	private static final long PRIME3 = 0x165667B19E3779F9L;
+	private static final long PRIME4 = 0x85EBCA77C2B2AE63L;
+	private static final long PRIME5 = 0x27D4EB2F165667C5L;
+
+	private XXHash64() {
+	}
+
+	public static long hash(byte[] data, long seed) {
+		return hash(data, 0, data.length, seed);
+	}
+
+	public static long hash(byte[] data, int offset, int length, long seed) {
+		int end = offset + length;
+		int pos = offset;
+		long h;
+		if (length >= 32) {
+			long v1 = seed + PRIME1 + PRIME2;
+			long v2 = seed + PRIME2;
+			long v3 = seed;
+			long v4 = seed - PRIME1;
+			int limit = end - 32;
+			while (pos <= limit) {
+				v1 = round(v1, readLong(data, pos));
+				v2 = round(v2, readLong(data, pos + 8));
+				v3 = round(v3, readLong(data, pos + 16));
+				v4 = round(v4, readLong(data, pos + 24));
+				pos += 32;
+			}
+			h = Long.rotateLeft(v1, 1) + Long.rotateLeft(v2, 7) + Long.rotateLeft(v3, 12) + Long.rotateLeft(v4, 18);
+			h = mergeRound(h, v1);
+			h = mergeRound(h, v2);
+			h = mergeRound(h, v3);
+			h = mergeRound(h, v4);
+		} else {
+			h = seed + PRIME5;
+		}
+		h += length;
+		while (pos + 8 <= end) {
+			h ^= round(0, readLong(data, pos));
+			h = Long.rotateLeft(h, 27) * PRIME1 + PRIME4;
+			pos += 8;
+		}
+		if (pos + 4 <= end) {
+			h ^= (readInt(data, pos) & 0xFFFFFFFFL) * PRIME1;
+			h = Long.rotateLeft(h, 23) * PRIME2 + PRIME3;
+			pos += 4;
+		}
+		while (pos < end) {
+			h ^= (data[pos] & 0xFF) * PRIME5;
+			h = Long.rotateLeft(h, 11) * PRIME1;
+			pos++;
+		}
+		h ^= h >>> 33;
+		h *= PRIME2;
+		h ^= h >>> 29;
+		h *= PRIME3;
+		h ^= h >>> 32;
+		return h;
+	}
+
+	private static long round(long acc, long input) {
+		acc += input * PRIME2;
+		acc = Long.rotateLeft(acc, 31);
+		return acc * PRIME1;
+	}
+
+	private static long mergeRound(long acc, long val) {
+		acc ^= round(0, val);
+		return acc * PRIME1 + PRIME4;
+	}
+
+	private static long readLong(byte[] data, int pos) {
+		return (data[pos] & 0xFFL) | (data[pos + 1] & 0xFFL) << 8 | (data[pos + 2] & 0xFFL) << 16 | (data[pos + 3] & 0xFFL) << 24 | (data[pos + 4] & 0xFFL) << 32 | (data[pos + 5] & 0xFFL) << 40 | (data[pos + 6] & 0xFFL) << 48 | (data[pos + 7] & 0xFFL) << 56;
+	}
+
+	private static int readInt(byte[] data, int pos) {
+		return (data[pos] & 0xFF) | (data[pos + 1] & 0xFF) << 8 | (data[pos + 2] & 0xFF) << 16 | (data[pos + 3] & 0xFF) << 24;
+	}
+}
@@ -0,0 +1,33 @@
+package com.github.aesteve.vertx.nubes.utils.async;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+/**
+ * Event-loop contexts which don't belong to any verticle, for what's shared by every Nubes instance of a Vertx :
+ * - they outlive the Nubes instance which created them, if other ones still use what runs on them
+ * - in Vert.x 3.0, verticles deployed from another verticle are its children : undeploying one of them explicitly makes the undeployment
+ * of the parent fail (it undeploys it again), and Vertx.close() never completes. Verticles deployed from a detached context can be undeployed one by one.
+ *
+ * Vert.x 3.0 has no public API to create such a context, except calling getOrCreateContext() from a thread which isn't a Vert.x thread :
+ * a short-lived thread is started to do so (it doesn't block the caller). Each context gets the next event loop.
+ */
+public class DetachedContext {
+
+	private DetachedContext() {
+	}
+
+	/**
+	 * @param name the name of the thread creating the context
+	 * @param handler called on the new context
+	 */
+	public static void create(Vertx vertx, String name, Handler<Context> handler) {
+		Thread thread = new Thread(() -> {
+			Context detached = vertx.getOrCreateContext();
+			detached.runOnContext(v -> handler.handle(detached));
+		}, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+}
@@ -0,0 +1,136 @@
+package com.github.aesteve.vertx.nubes.utils.async;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collapses concurrent executions of the same work : for a given key, the first caller (the leader) executes it,
+ * the callers arriving meanwhile (the followers) wait for the leader's result.
+ */
+public class SingleFlight<K, T> {
+
+	public enum Role {
+		LEADER, FOLLOWER, REJECTED
+	}
+
+	private final Map<K, Flight<T>> flights;
+
+	public SingleFlight() {
+		flights = new ConcurrentHashMap<>();
+	}
+
+	public Role join(K key, Context context, Handler<AsyncResult<T>> waiter) {
+		return join(key, Integer.MAX_VALUE, context, waiter);
+	}
+
+	/**
+	 * @param maxWaiters the maximum number of followers waiting for this key
+	 * @param context the context the waiter is called on, null to call it on the thread completing the flight
+	 * @param waiter called with the leader's result if the caller is a follower
+	 * @return LEADER if the caller must execute the work (and call {@link #complete(Object, AsyncResult)} once done),
+	 *         FOLLOWER if it's waiting, REJECTED if too many callers are already waiting
+	 */
+	public Role join(K key, int maxWaiters, Context context, Handler<AsyncResult<T>> waiter) {
+		while (true) {
+			if (lead(key)) {
+				return Role.LEADER;
+			}
+			Role role = follow(key, maxWaiters, context, waiter);
+			if (role != null) {
+				return role;
+			}
+		}
+	}
+
+	/**
+	 * @return true if the caller must execute the work (and call {@link #complete(Object, AsyncResult)} once done), false if it's already in flight
+	 */
+	public boolean lead(K key) {
+		return flights.putIfAbsent(key, new Flight<>()) == null;
+	}
+
+	/**
+	 * Waits for the work in flight for this key, if any.
+	 *
+	 * @return true if the waiter will be called with the leader's result, false if nothing's in flight for this key
+	 */
+	public boolean follow(K key, Context context, Handler<AsyncResult<T>> waiter) {
+		return follow(key, Integer.MAX_VALUE, context, waiter) != null;
+	}
+
+	/**
+	 * Stops waiting (on timeout for instance).
+	 *
+	 * @return true if the waiter was removed, false if it's already been (or is about to be) called
+	 */
+	public boolean leave(K key, Handler<AsyncResult<T>> waiter) {
+		Flight<T> flight = flights.get(key);
+		if (flight == null) {
+			return false;
+		}
+		synchronized (flight) {
+			return !flight.done && flight.waiters.removeIf(w -> w.handler == waiter);
+		}
+	}
+
+	/**
+	 * Hands the leader's result to the followers
+	 */
+	public void complete(K key, AsyncResult<T> result) {
+		Flight<T> flight = flights.remove(key);
+		if (flight == null) {
+			return;
+		}
+		List<Waiter<T>> waiters;
+		synchronized (flight) {
+			flight.done = true;
+			waiters = flight.waiters;
+		}
+		for (Waiter<T> waiter : waiters) {
+			if (waiter.context == null) {
+				waiter.handler.handle(result);
+			} else {
+				waiter.context.runOnContext(v -> waiter.handler.handle(result));
+			}
+		}
+	}
+
+	private Role follow(K key, int maxWaiters, Context context, Handler<AsyncResult<T>> waiter) {
+		Flight<T> flight = flights.get(key);
+		if (flight == null) {
+			return null;
+		}
+		synchronized (flight) {
+			if (flight.done) {
+				return null;
+			}
+			if (flight.waiters.size() >= maxWaiters) {
+				return Role.REJECTED;
+			}
+			flight.waiters.add(new Waiter<>(context, waiter));
+			return Role.FOLLOWER;
+		}
+	}
+
+	private static class Flight<T> {
+		private final List<Waiter<T>> waiters = new ArrayList<>();
+		private boolean done;
+	}
+
+	private static class Waiter<T> {
+
+		private final Context context;
+		private final Handler<AsyncResult<T>> handler;
+
+		private Waiter(Context context, Handler<AsyncResult<T>> handler) {
+			this.context = context;
+			this.handler = handler;
+		}
+	}
+}
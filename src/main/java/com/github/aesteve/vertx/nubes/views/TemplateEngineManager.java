@@ -9,6 +9,7 @@ import io.vertx.ext.web.handler.TemplateHandler;
 import io.vertx.ext.web.templ.TemplateEngine;
 
 import com.github.aesteve.vertx.nubes.Config;
+import com.github.aesteve.vertx.nubes.context.ResponseWriter;
 import com.github.aesteve.vertx.nubes.context.ViewResolver;
 
 public class TemplateEngineManager implements TemplateHandler {
@@ -29,6 +30,9 @@ public class TemplateEngineManager implements TemplateHandler {
 
 	@Override
 	public void handle(RoutingContext context) {
+		if (context.response().ended()) {
+			return;
+		}
 		String tplName = normalize(config.tplDir) + ViewResolver.getViewName(context);
 		TemplateEngine engine = fromViewName(tplName);
 		if (engine == null) {
@@ -36,7 +40,8 @@ public class TemplateEngineManager implements TemplateHandler {
 		}
 		engine.render(context, tplName, res -> {
 			if (res.succeeded()) {
-				context.response().putHeader(CONTENT_TYPE, "text/html").end(res.result());
+				context.response().putHeader(CONTENT_TYPE, "text/html");
+				ResponseWriter.end(context, res.result());
 			} else {
 				context.fail(res.cause());
 			}
@@ -19,9 +19,14 @@ import java.util.Locale;
 import java.util.concurrent.TimeUnit;
 
 import mock.auth.MockAuthProvider;
+import mock.controllers.injection.TestDataLoaderController;
 import mock.domains.Dog;
+import mock.loaders.UpperCaseLoader;
+import mock.services.ClockService;
 import mock.services.DogService;
+import mock.services.MailboxService;
 import mock.services.impl.ParrotServiceImpl;
+import mock.services.impl.WeatherServiceImpl;
 
 import com.github.aesteve.vertx.nubes.VertxNubes;
 
@@ -36,11 +41,15 @@ public class TestVerticle extends AbstractVerticle {
 												// throttling
 	public static final Dog SNOOPY = new Dog("Snoopy", "Beagle");
 	public static final DogService dogService = new DogService();
+	public static final WeatherServiceImpl weatherService = new WeatherServiceImpl();
 	public static final String HEADER_DATE_BEFORE = "X-Date-Before";
 	public static final String HEADER_DATE_AFTER = "X-Date-After";
 
 	public static final String DOG_SERVICE_NAME = "dogService";
 	public static final String SNOOPY_SERVICE_NAME = "snoopy";
+	public static final String WEATHER_SERVICE_NAME = "weatherService";
+	public static final String MAILBOX_SERVICE_NAME = "mailboxService";
+	public static final String CLOCK_SERVICE_NAME = "clockService";
 
 	private VertxNubes mvc;
 
@@ -54,7 +63,11 @@ public class TestVerticle extends AbstractVerticle {
 		mvc = new VertxNubes(vertx, config);
 		mvc.registerService(DOG_SERVICE_NAME, dogService);
 		mvc.registerService(SNOOPY_SERVICE_NAME, SNOOPY);
+		mvc.registerService(WEATHER_SERVICE_NAME, weatherService);
+		mvc.registerService(MAILBOX_SERVICE_NAME, new MailboxService()); // one per instance
+		mvc.registerService(CLOCK_SERVICE_NAME, new ClockService());
 		mvc.registerServiceProxy(new ParrotServiceImpl());
+		mvc.registerBatchLoader(TestDataLoaderController.LOADER_NAME, new UpperCaseLoader());
 		List<Locale> locales = new ArrayList<>();
 		locales.add(Locale.FRENCH);
 		locales.add(Locale.US);
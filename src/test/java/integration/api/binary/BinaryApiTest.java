@@ -0,0 +1,121 @@
+package integration.api.binary;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import integration.VertxNubesTestBase;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import java.io.IOException;
+import java.util.Map;
+
+import mock.domains.Dog;
+
+import org.junit.Test;
+import org.msgpack.jackson.dataformat.MessagePackFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+
+public class BinaryApiTest extends VertxNubesTestBase {
+
+	private static final String MSGPACK = "application/msgpack";
+	private static final String CBOR = "application/cbor";
+
+	private final ObjectMapper msgpack = new ObjectMapper(new MessagePackFactory());
+	private final ObjectMapper cbor = new ObjectMapper(new CBORFactory());
+
+	@Test
+	public void getDomainObjectAsMsgpack(TestContext context) {
+		getDomainObject(context, MSGPACK, msgpack);
+	}
+
+	@Test
+	public void getDomainObjectAsCbor(TestContext context) {
+		getDomainObject(context, CBOR, cbor);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void getJsonObjectAsMsgpack(TestContext context) {
+		Async async = context.async();
+		client().get("/binary/jsonobject", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals(MSGPACK, response.getHeader(CONTENT_TYPE.toString()));
+			response.bodyHandler(buffer -> {
+				Map<String, Object> map = read(msgpack, buffer, Map.class);
+				context.assertEquals("Cocker", map.get("Bill"));
+				context.assertEquals("Charlie Brown", ((Map<String, Object>) map.get("owner")).get("name"));
+				async.complete();
+			});
+		}).putHeader(ACCEPT, MSGPACK).end();
+	}
+
+	@Test
+	public void postDomainObjectAsCbor(TestContext context) throws IOException {
+		Async async = context.async();
+		Buffer body = Buffer.buffer(cbor.writeValueAsBytes(new Dog("Bill", "Cocker")));
+		client().post("/binary/postdog", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				Dog dog = read(cbor, buffer, Dog.class);
+				context.assertEquals("Bill", dog.getName());
+				context.assertEquals("Cocker", dog.getBreed());
+				async.complete();
+			});
+		}).putHeader(ACCEPT, CBOR).putHeader(CONTENT_TYPE, CBOR).end(body);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void postJsonObjectAsMsgpack(TestContext context) throws IOException {
+		Async async = context.async();
+		Buffer body = Buffer.buffer(msgpack.writeValueAsBytes(new Dog("Bill", "Cocker")));
+		client().post("/binary/postjson", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				Map<String, Object> map = read(msgpack, buffer, Map.class);
+				context.assertEquals("Bill", map.get("name"));
+				async.complete();
+			});
+		}).putHeader(ACCEPT, MSGPACK).putHeader(CONTENT_TYPE, MSGPACK).end(body);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void errorAsMsgpack(TestContext context) {
+		Async async = context.async();
+		client().get("/binary/fail/403", response -> {
+			context.assertEquals(403, response.statusCode());
+			response.bodyHandler(buffer -> {
+				Map<String, Object> error = (Map<String, Object>) read(msgpack, buffer, Map.class).get("error");
+				context.assertEquals(403, error.get("code"));
+				context.assertEquals("Forbidden", error.get("message"));
+				async.complete();
+			});
+		}).putHeader(ACCEPT, MSGPACK).end();
+	}
+
+	private void getDomainObject(TestContext context, String contentType, ObjectMapper mapper) {
+		Async async = context.async();
+		client().get("/binary/dog", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals(contentType, response.getHeader(CONTENT_TYPE.toString()));
+			response.bodyHandler(buffer -> {
+				Dog dog = read(mapper, buffer, Dog.class);
+				context.assertEquals("Snoopy", dog.getName());
+				context.assertEquals("Beagle", dog.getBreed());
+				async.complete();
+			});
+		}).putHeader(ACCEPT, contentType).end();
+	}
+
+	private static <T> T read(ObjectMapper mapper, Buffer buffer, Class<T> clazz) {
+		try {
+			return mapper.readValue(buffer.getBytes(), clazz);
+		} catch (IOException ioe) {
+			throw new RuntimeException(ioe);
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package integration.api.bulk;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import integration.VertxNubesTestBase;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.github.aesteve.vertx.nubes.marshallers.impl.AbstractPayloadSplitter;
+
+public class BulkTest extends VertxNubesTestBase {
+
+	private final static String NDJSON = "application/x-ndjson";
+	private final static int NB_DOGS = 10000;
+
+	@Test
+	public void invokedForEachRecord(TestContext context) {
+		Async async = context.async();
+		post("/bulk/dogs", NDJSON, response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals(NDJSON, response.getHeader(CONTENT_TYPE.toString()));
+			response.bodyHandler(buff -> {
+				List<JsonObject> lines = lines(buff.toString("UTF-8"));
+				context.assertEquals(4, lines.size());
+				context.assertEquals("Snoopy", lines.get(0).getString("name"));
+				context.assertEquals(400, lines.get(1).getJsonObject("error").getInteger("code"));
+				context.assertEquals(500, lines.get(2).getJsonObject("error").getInteger("code"));
+				context.assertEquals("Bill", lines.get(3).getString("name"));
+				async.complete();
+			});
+		}, "{\"name\":\"Snoopy\"}\n\"notadog\"\r\n\n{\"name\":\"Cerberus\"}\n{\"name\":\"Bill\"}");
+	}
+
+	@Test
+	public void invokedForEachBatch(TestContext context) {
+		Async async = context.async();
+		StringBuilder body = new StringBuilder();
+		for (int i = 0; i < 25; i++) {
+			body.append("{\"name\":\"Snoopy" + i + "\"}\n");
+		}
+		post("/bulk/dogs/batch", NDJSON, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				List<JsonObject> lines = lines(buff.toString("UTF-8"));
+				context.assertEquals(25, lines.size());
+				for (int i = 0; i < 25; i++) {
+					context.assertEquals("Snoopy" + i, lines.get(i).getString("name"));
+					context.assertEquals(i < 20 ? 10 : 5, lines.get(i).getInteger("batch"));
+				}
+				async.complete();
+			});
+		}, body.toString());
+	}
+
+	@Test
+	public void readJsonArray(TestContext context) {
+		Async async = context.async();
+		post("/bulk/dogs", "application/json", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				List<JsonObject> lines = lines(buff.toString("UTF-8"));
+				context.assertEquals(2, lines.size());
+				context.assertEquals("Bill", lines.get(1).getString("name"));
+				async.complete();
+			});
+		}, "[{\"name\":\"Snoopy\"}, {\"name\":\"Bill\"}]");
+	}
+
+	@Test
+	public void malformedBody(TestContext context) {
+		Async async = context.async();
+		post("/bulk/dogs", "application/json", response -> {
+			context.assertEquals(400, response.statusCode());
+			async.complete();
+		}, "{\"name\":\"Snoopy\"}");
+	}
+
+	@Test
+	public void manyRecordsBlocking(TestContext context) {
+		Async async = context.async();
+		HttpClientRequest request = client().post("/bulk/dogs/blocking", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				List<JsonObject> lines = lines(buff.toString("UTF-8"));
+				context.assertEquals(NB_DOGS, lines.size());
+				for (int i = 0; i < NB_DOGS; i++) {
+					context.assertEquals("Snoopy" + i, lines.get(i).getString("name"));
+					context.assertTrue(lines.get(i).getBoolean("worker"));
+				}
+				async.complete();
+			});
+		});
+		request.putHeader(ACCEPT, NDJSON).putHeader(CONTENT_TYPE, NDJSON).setChunked(true);
+		for (int i = 0; i < NB_DOGS; i++) {
+			request.write("{\"name\":\"Snoopy" + i + "\",\"breed\":\"Beagle\"}\n");
+		}
+		request.end();
+	}
+
+	@Test
+	public void afterFiltersRunOnceRecordsAreHandled(TestContext context) {
+		Async async = context.async();
+		post("/bulk/filtered/dogs", NDJSON, response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals(NDJSON, response.getHeader(CONTENT_TYPE.toString()));
+			response.bodyHandler(buff -> {
+				List<JsonObject> lines = lines(buff.toString("UTF-8"));
+				context.assertEquals(3, lines.size());
+				context.assertEquals("Snoopy", lines.get(0).getString("name"));
+				context.assertEquals("Bill", lines.get(1).getString("name"));
+				context.assertTrue(lines.get(2).getBoolean("after"));
+				async.complete();
+			});
+		}, "{\"name\":\"Snoopy\"}\n{\"name\":\"Bill\"}\n");
+	}
+
+	@Test
+	public void oversizedRecord(TestContext context) {
+		Async async = context.async();
+		StringBuilder body = new StringBuilder("{\"name\":\"Snoopy\"}\n{\"name\":\"");
+		for (int i = 0; i < AbstractPayloadSplitter.DEFAULT_MAX_ELEMENT_SIZE; i++) {
+			body.append('a');
+		}
+		body.append("\"}\n{\"name\":\"Bill\"}\n");
+		post("/bulk/dogs", NDJSON, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				List<JsonObject> lines = lines(buff.toString("UTF-8"));
+				context.assertEquals(3, lines.size());
+				context.assertEquals("Snoopy", lines.get(0).getString("name"));
+				context.assertEquals(400, lines.get(1).getJsonObject("error").getInteger("code"));
+				context.assertEquals("Bill", lines.get(2).getString("name"));
+				async.complete();
+			});
+		}, body.toString());
+	}
+
+	private void post(String path, String contentType, Handler<HttpClientResponse> responseHandler, String body) {
+		client().post(path, responseHandler).putHeader(ACCEPT, NDJSON).putHeader(CONTENT_TYPE, contentType).end(body);
+	}
+
+	private static List<JsonObject> lines(String body) {
+		List<JsonObject> lines = new ArrayList<>();
+		for (String line : body.split("\n")) {
+			lines.add(new JsonObject(line));
+		}
+		return lines;
+	}
+}
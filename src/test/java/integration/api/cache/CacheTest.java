@@ -0,0 +1,149 @@
+package integration.api.cache;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import integration.VertxNubesTestBase;
+import io.vertx.core.Handler;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.controllers.api.cache.CacheTestController;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.aesteve.vertx.nubes.context.ResponseCache;
+
+public class CacheTest extends VertxNubesTestBase {
+
+	@Test
+	public void cachedResponse(TestContext context) {
+		Async async = context.async();
+		getCount("/cache/counter?p=1", first -> {
+			getCount("/cache/counter?p=1", second -> {
+				context.assertEquals(first.getInteger("count"), second.getInteger("count"));
+				context.assertEquals("1", second.getString("p"));
+				getCount("/cache/counter?p=2", other -> {
+					context.assertNotEquals(first.getInteger("count"), other.getInteger("count"));
+					context.assertEquals("2", other.getString("p"));
+					async.complete();
+				});
+			});
+		});
+	}
+
+	@Test
+	public void notVaryingByParams(TestContext context) {
+		Async async = context.async();
+		getCount("/cache/counter/noparams?p=1", first -> {
+			getCount("/cache/counter/noparams?p=2", second -> {
+				context.assertEquals(first.getInteger("count"), second.getInteger("count"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void cachedHeaders(TestContext context) {
+		Async async = context.async();
+		getJSON("/cache/counter", first -> {
+			getJSON("/cache/counter", response -> {
+				context.assertEquals(200, response.statusCode());
+				context.assertEquals("application/json", response.getHeader(CONTENT_TYPE.toString()));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void expiredResponse(TestContext context) {
+		Async async = context.async();
+		getCount("/cache/counter/short", first -> {
+			vertx.setTimer(300, timerId -> {
+				getCount("/cache/counter/short", second -> {
+					context.assertNotEquals(first.getInteger("count"), second.getInteger("count"));
+					async.complete();
+				});
+			});
+		});
+	}
+
+	@Test
+	public void invalidatedResponse(TestContext context) {
+		Async async = context.async();
+		getCount("/cache/counter/named", first -> {
+			getCount("/cache/counter/named", second -> {
+				context.assertEquals(first.getInteger("count"), second.getInteger("count"));
+				ResponseCache.shared(vertx).invalidate("dogs");
+				getCount("/cache/counter/named", third -> {
+					context.assertNotEquals(first.getInteger("count"), third.getInteger("count"));
+					async.complete();
+				});
+			});
+		});
+	}
+
+	@Test
+	public void concurrentMissesCollapsed(TestContext context) {
+		int nbRequests = 10;
+		Async async = context.async();
+		AtomicInteger responses = new AtomicInteger();
+		int before = CacheTestController.slowInvocations.get();
+		for (int i = 0; i < nbRequests; i++) {
+			getCount("/cache/counter/slow", json -> {
+				context.assertEquals(before + 1, json.getInteger("count"));
+				context.assertEquals(before + 1, CacheTestController.slowInvocations.get());
+				if (responses.incrementAndGet() == nbRequests) {
+					async.complete();
+				}
+			});
+		}
+	}
+
+	@Test
+	public void invalidatedWhileComputing(TestContext context) {
+		Async async = context.async();
+		int before = CacheTestController.invocations.get();
+		getCount("/cache/counter/slow/named", first -> {
+			getCount("/cache/counter/slow/named", second -> {
+				context.assertNotEquals(first.getInteger("count"), second.getInteger("count"));
+				async.complete();
+			});
+		});
+		vertx.setPeriodic(10, timerId -> {
+			if (CacheTestController.invocations.get() > before) { // the response is being computed
+				vertx.cancelTimer(timerId);
+				ResponseCache.shared(vertx).invalidate("cats");
+			}
+		});
+	}
+
+	@Test
+	public void cachedResponsesCompressed(TestContext context) {
+		Async async = context.async();
+		Handler<Handler<String>> getEncoding = handler -> {
+			client().get("/cache/counter/compressed", response -> {
+				context.assertEquals(200, response.statusCode());
+				handler.handle(response.getHeader(CONTENT_ENCODING.toString()));
+			}).putHeader(ACCEPT, "application/json").putHeader(ACCEPT_ENCODING, "gzip").end();
+		};
+		getEncoding.handle(first -> {
+			context.assertEquals("gzip", first);
+			getEncoding.handle(second -> {
+				context.assertEquals("gzip", second);
+				async.complete();
+			});
+		});
+	}
+
+	private void getCount(String path, Handler<JsonObject> handler) {
+		getJSON(path, response -> {
+			response.bodyHandler(buff -> {
+				handler.handle(new JsonObject(buff.toString("UTF-8")));
+			});
+		});
+	}
+}
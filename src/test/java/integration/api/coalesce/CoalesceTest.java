@@ -0,0 +1,112 @@
+package integration.api.coalesce;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.controllers.api.coalesce.CoalesceTestController;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class CoalesceTest extends VertxNubesTestBase {
+
+	@Test
+	public void followersGetLeadersResponse(TestContext context) {
+		int nbRequests = 10;
+		Async async = context.async();
+		AtomicInteger responses = new AtomicInteger();
+		int before = CoalesceTestController.invocations.get();
+		for (int i = 0; i < nbRequests; i++) {
+			getJSON("/coalesce/slow?p=same&ignored=" + i, response -> {
+				context.assertEquals(200, response.statusCode());
+				context.assertEquals("application/json", response.getHeader("Content-Type"));
+				response.bodyHandler(buff -> {
+					JsonObject json = new JsonObject(buff.toString("UTF-8"));
+					context.assertEquals(before + 1, json.getInteger("count"));
+					context.assertEquals("same", json.getString("p"));
+					if (responses.incrementAndGet() == nbRequests) {
+						context.assertEquals(before + 1, CoalesceTestController.invocations.get());
+						async.complete();
+					}
+				});
+			});
+		}
+	}
+
+	@Test
+	public void differentParamsNotCoalesced(TestContext context) {
+		Async async = context.async();
+		AtomicInteger responses = new AtomicInteger();
+		int before = CoalesceTestController.invocations.get();
+		for (int i = 0; i < 3; i++) {
+			getJSON("/coalesce/slow?p=" + i, response -> {
+				context.assertEquals(200, response.statusCode());
+				if (responses.incrementAndGet() == 3) {
+					context.assertEquals(before + 3, CoalesceTestController.invocations.get());
+					async.complete();
+				}
+			});
+		}
+	}
+
+	@Test
+	public void leaderFailureShared(TestContext context) {
+		int nbRequests = 5;
+		Async async = context.async();
+		AtomicInteger responses = new AtomicInteger();
+		int before = CoalesceTestController.invocations.get();
+		for (int i = 0; i < nbRequests; i++) {
+			getJSON("/coalesce/failing", response -> {
+				context.assertEquals(502, response.statusCode());
+				if (responses.incrementAndGet() == nbRequests) {
+					context.assertEquals(before + 1, CoalesceTestController.invocations.get());
+					async.complete();
+				}
+			});
+		}
+	}
+
+	@Test
+	public void boundedWaiters(TestContext context) {
+		int nbRequests = 5;
+		Async async = context.async();
+		AtomicInteger ok = new AtomicInteger();
+		AtomicInteger rejected = new AtomicInteger();
+		for (int i = 0; i < nbRequests; i++) {
+			getJSON("/coalesce/bounded", response -> {
+				if (response.statusCode() == 200) {
+					ok.incrementAndGet();
+				} else {
+					context.assertEquals(503, response.statusCode());
+					rejected.incrementAndGet();
+				}
+				if (ok.get() + rejected.get() == nbRequests) {
+					context.assertEquals(3, ok.get());
+					async.complete();
+				}
+			});
+		}
+	}
+
+	@Test
+	public void followerTimeout(TestContext context) {
+		Async async = context.async();
+		AtomicInteger responses = new AtomicInteger();
+		getJSON("/coalesce/timeout", response -> {
+			context.assertEquals(200, response.statusCode());
+			if (responses.incrementAndGet() == 2) {
+				async.complete();
+			}
+		});
+		vertx.setTimer(50, timerId -> {
+			getJSON("/coalesce/timeout", response -> {
+				context.assertEquals(503, response.statusCode());
+				if (responses.incrementAndGet() == 2) {
+					async.complete();
+				}
+			});
+		});
+	}
+}
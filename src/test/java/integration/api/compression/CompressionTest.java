@@ -0,0 +1,164 @@
+package integration.api.compression;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.ACCEPT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import integration.VertxNubesTestBase;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import mock.controllers.api.compression.CompressionTestController;
+
+import org.junit.Test;
+
+public class CompressionTest extends VertxNubesTestBase {
+
+	@Test
+	public void gzipResponse(TestContext context) {
+		Async async = context.async();
+		getCompressed("/compression/dogs", "gzip, deflate", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals("gzip", response.getHeader(CONTENT_ENCODING.toString()));
+			context.assertEquals("Accept-Encoding", response.getHeader("Vary"));
+			response.bodyHandler(buff -> {
+				JsonArray dogs = new JsonArray(gunzip(buff));
+				context.assertEquals(CompressionTestController.NB_DOGS, dogs.size());
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void deflateResponse(TestContext context) {
+		Async async = context.async();
+		getCompressed("/compression/dogs", "gzip;q=0.5, deflate", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals("deflate", response.getHeader(CONTENT_ENCODING.toString()));
+			response.bodyHandler(buff -> {
+				JsonArray dogs = new JsonArray(inflate(buff));
+				context.assertEquals(CompressionTestController.NB_DOGS, dogs.size());
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void noAcceptableEncoding(TestContext context) {
+		Async async = context.async();
+		getCompressed("/compression/dogs", "br, gzip;q=0", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertNull(response.getHeader(CONTENT_ENCODING.toString()));
+			response.bodyHandler(buff -> {
+				JsonArray dogs = new JsonArray(buff.toString("UTF-8"));
+				context.assertEquals(CompressionTestController.NB_DOGS, dogs.size());
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void smallBodyIsNotCompressed(TestContext context) {
+		Async async = context.async();
+		getCompressed("/compression/dog", "gzip", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertNull(response.getHeader(CONTENT_ENCODING.toString()));
+			response.bodyHandler(buff -> {
+				context.assertEquals("Snoopy", new JsonObject(buff.toString("UTF-8")).getString("name"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void cachedCompression(TestContext context) {
+		Async async = context.async();
+		getCompressed("/compression/cached/dogs", "gzip", response -> {
+			context.assertEquals("gzip", response.getHeader(CONTENT_ENCODING.toString()));
+			response.bodyHandler(first -> {
+				getCompressed("/compression/cached/dogs", "gzip", response2 -> {
+					context.assertEquals("gzip", response2.getHeader(CONTENT_ENCODING.toString()));
+					response2.bodyHandler(second -> {
+						JsonArray dogs = new JsonArray(gunzip(second));
+						context.assertEquals(CompressionTestController.NB_DOGS, dogs.size());
+						context.assertEquals(first, second);
+						async.complete();
+					});
+				});
+			});
+		});
+	}
+
+	@Test
+	public void gzipRequestBody(TestContext context) throws IOException {
+		Async async = context.async();
+		JsonObject dog = new JsonObject().put("name", "Bill").put("breed", "Cocker");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(dog.encode().getBytes("UTF-8"));
+		}
+		client().post("/compression/dog", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject json = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals("Bill", json.getString("name"));
+				context.assertEquals("Cocker", json.getString("breed"));
+				async.complete();
+			});
+		}).putHeader(ACCEPT, "application/json").putHeader(CONTENT_TYPE, "application/json").putHeader(CONTENT_ENCODING, "gzip").end(Buffer.buffer(out.toByteArray()));
+	}
+
+	@Test
+	public void corruptedRequestBody(TestContext context) {
+		Async async = context.async();
+		client().post("/compression/dog", response -> {
+			context.assertEquals(400, response.statusCode());
+			async.complete();
+		}).putHeader(ACCEPT, "application/json").putHeader(CONTENT_TYPE, "application/json").putHeader(CONTENT_ENCODING, "gzip").end("{\"name\":\"Bill\"}");
+	}
+
+	private void getCompressed(String path, String acceptEncoding, Handler<HttpClientResponse> handler) {
+		client().get(path, handler).putHeader(ACCEPT, "application/json").putHeader(ACCEPT_ENCODING, acceptEncoding).end();
+	}
+
+	private static String gunzip(Buffer compressed) {
+		try {
+			return read(new GZIPInputStream(new ByteArrayInputStream(compressed.getBytes())));
+		} catch (IOException ioe) {
+			throw new RuntimeException(ioe);
+		}
+	}
+
+	private static String inflate(Buffer compressed) {
+		try {
+			return read(new InflaterInputStream(new ByteArrayInputStream(compressed.getBytes())));
+		} catch (IOException ioe) {
+			throw new RuntimeException(ioe);
+		}
+	}
+
+	private static String read(InputStream in) throws IOException {
+		try (InputStream stream = in) {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] chunk = new byte[4096];
+			int read;
+			while ((read = stream.read(chunk)) > 0) {
+				out.write(chunk, 0, read);
+			}
+			return out.toString("UTF-8");
+		}
+	}
+}
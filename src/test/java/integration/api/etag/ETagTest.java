@@ -0,0 +1,115 @@
+package integration.api.etag;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.ETAG;
+import static io.vertx.core.http.HttpHeaders.IF_MODIFIED_SINCE;
+import static io.vertx.core.http.HttpHeaders.IF_NONE_MATCH;
+import static io.vertx.core.http.HttpHeaders.LAST_MODIFIED;
+import integration.VertxNubesTestBase;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.controllers.api.etag.ETagTestController;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+import com.github.aesteve.vertx.nubes.utils.DateUtils;
+
+public class ETagTest extends VertxNubesTestBase {
+
+	@Test
+	public void computedETag(TestContext context) {
+		Async async = context.async();
+		getJSON("/etag/dog", response -> {
+			context.assertEquals(200, response.statusCode());
+			String etag = response.getHeader(ETAG.toString());
+			context.assertNotNull(etag);
+			context.assertTrue(etag.startsWith("\""));
+			getJSON("/etag/dog", other -> {
+				context.assertEquals(etag, other.getHeader(ETAG.toString()));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void notModified(TestContext context) {
+		Async async = context.async();
+		getJSON("/etag/dog", response -> {
+			String etag = response.getHeader(ETAG.toString());
+			conditionalGet("/etag/dog", IF_NONE_MATCH.toString(), "\"other\", " + etag, notModified -> {
+				context.assertEquals(304, notModified.statusCode());
+				context.assertEquals(etag, notModified.getHeader(ETAG.toString()));
+				notModified.bodyHandler(buff -> {
+					context.assertEquals(0, buff.length());
+					async.complete();
+				});
+			});
+		});
+	}
+
+	@Test
+	public void modified(TestContext context) {
+		Async async = context.async();
+		conditionalGet("/etag/dog", IF_NONE_MATCH.toString(), "\"outdated\"", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				context.assertTrue(buff.length() > 0);
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void viewNotModified(TestContext context) {
+		Async async = context.async();
+		client().getNow("/etag/view?name=Snoopy&breed=Beagle", response -> {
+			context.assertEquals(200, response.statusCode());
+			String etag = response.getHeader(ETAG.toString());
+			context.assertNotNull(etag);
+			client().get("/etag/view?name=Snoopy&breed=Beagle", notModified -> {
+				context.assertEquals(304, notModified.statusCode());
+				async.complete();
+			}).putHeader(IF_NONE_MATCH, etag).end();
+		});
+	}
+
+	@Test
+	public void versionSkipsWork(TestContext context) {
+		Async async = context.async();
+		int before = ETagTestController.heavyWork.get();
+		conditionalGet("/etag/versioned", IF_NONE_MATCH.toString(), "\"" + ETagTestController.VERSION + "\"", response -> {
+			context.assertEquals(304, response.statusCode());
+			context.assertEquals(before, ETagTestController.heavyWork.get());
+			getJSON("/etag/versioned", fresh -> {
+				context.assertEquals(200, fresh.statusCode());
+				context.assertEquals("\"" + ETagTestController.VERSION + "\"", fresh.getHeader(ETAG.toString()));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void notModifiedSince(TestContext context) {
+		Async async = context.async();
+		int before = ETagTestController.heavyWork.get();
+		String now = DateUtils.INSTANCE.formatHttpDate(new Date());
+		conditionalGet("/etag/modified", IF_MODIFIED_SINCE.toString(), now, response -> {
+			context.assertEquals(304, response.statusCode());
+			context.assertEquals(before, ETagTestController.heavyWork.get());
+			String old = DateUtils.INSTANCE.formatHttpDate(new Date(ETagTestController.LAST_MODIFIED.getTime() - 1000));
+			conditionalGet("/etag/modified", IF_MODIFIED_SINCE.toString(), old, modified -> {
+				context.assertEquals(200, modified.statusCode());
+				context.assertEquals(DateUtils.INSTANCE.formatHttpDate(ETagTestController.LAST_MODIFIED), modified.getHeader(LAST_MODIFIED.toString()));
+				async.complete();
+			});
+		});
+	}
+
+	private void conditionalGet(String path, String header, String value, Handler<HttpClientResponse> handler) {
+		client().get(path, handler).putHeader(ACCEPT, "application/json").putHeader(header, value).end();
+	}
+}
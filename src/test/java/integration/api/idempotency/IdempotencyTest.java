@@ -0,0 +1,211 @@
+package integration.api.idempotency;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import integration.VertxNubesTestBase;
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.controllers.api.idempotency.IdempotencyTestController;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.aesteve.vertx.nubes.context.CapturedResponse;
+import com.github.aesteve.vertx.nubes.handlers.impl.IdempotencyProcessor;
+import com.github.aesteve.vertx.nubes.idempotency.impl.LocalIdempotencyStore;
+
+public class IdempotencyTest extends VertxNubesTestBase {
+
+	@Test
+	public void replayedResponse(TestContext context) {
+		Async async = context.async();
+		String key = UUID.randomUUID().toString();
+		post("/idempotency/orders", key, original -> {
+			context.assertEquals(200, original.statusCode());
+			context.assertNull(original.getHeader(IdempotencyProcessor.REPLAYED));
+			original.bodyHandler(originalBody -> {
+				post("/idempotency/orders", key, retry -> {
+					context.assertEquals(200, retry.statusCode());
+					context.assertEquals("true", retry.getHeader(IdempotencyProcessor.REPLAYED));
+					context.assertEquals("application/json", retry.getHeader(CONTENT_TYPE.toString()));
+					retry.bodyHandler(retryBody -> {
+						context.assertEquals(originalBody.toString("UTF-8"), retryBody.toString("UTF-8"));
+						post("/idempotency/orders", UUID.randomUUID().toString(), other -> {
+							other.bodyHandler(otherBody -> {
+								context.assertNotEquals(originalBody.toString("UTF-8"), otherBody.toString("UTF-8"));
+								async.complete();
+							});
+						});
+					});
+				});
+			});
+		});
+	}
+
+	@Test
+	public void retryWaitsForOriginal(TestContext context) {
+		int nbRequests = 5;
+		Async async = context.async();
+		AtomicInteger responses = new AtomicInteger();
+		int before = IdempotencyTestController.invocations.get();
+		String key = UUID.randomUUID().toString();
+		for (int i = 0; i < nbRequests; i++) {
+			post("/idempotency/orders", key, response -> {
+				context.assertEquals(200, response.statusCode());
+				response.bodyHandler(buff -> {
+					context.assertEquals(before + 1, new JsonObject(buff.toString("UTF-8")).getInteger("id"));
+					if (responses.incrementAndGet() == nbRequests) {
+						context.assertEquals(before + 1, IdempotencyTestController.invocations.get());
+						async.complete();
+					}
+				});
+			});
+		}
+	}
+
+	@Test
+	public void noKey(TestContext context) {
+		Async async = context.async();
+		int before = IdempotencyTestController.invocations.get();
+		post("/idempotency/orders", null, first -> {
+			post("/idempotency/orders", null, second -> {
+				context.assertEquals(before + 2, IdempotencyTestController.invocations.get());
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void requiredKey(TestContext context) {
+		Async async = context.async();
+		post("/idempotency/required", null, response -> {
+			context.assertEquals(400, response.statusCode());
+			post("/idempotency/required", UUID.randomUUID().toString(), withKey -> {
+				context.assertEquals(200, withKey.statusCode());
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void failureNotStored(TestContext context) {
+		Async async = context.async();
+		int before = IdempotencyTestController.invocations.get();
+		String key = UUID.randomUUID().toString();
+		post("/idempotency/failing", key, first -> {
+			context.assertEquals(500, first.statusCode());
+			post("/idempotency/failing", key, retry -> {
+				context.assertEquals(500, retry.statusCode());
+				context.assertEquals(before + 2, IdempotencyTestController.invocations.get());
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void retryTimeout(TestContext context) {
+		Async async = context.async();
+		AtomicInteger responses = new AtomicInteger();
+		String key = UUID.randomUUID().toString();
+		post("/idempotency/slow", key, response -> {
+			context.assertEquals(200, response.statusCode());
+			if (responses.incrementAndGet() == 2) {
+				async.complete();
+			}
+		});
+		vertx.setTimer(50, timerId -> {
+			post("/idempotency/slow", key, response -> {
+				context.assertEquals(409, response.statusCode());
+				if (responses.incrementAndGet() == 2) {
+					async.complete();
+				}
+			});
+		});
+	}
+
+	@Test
+	public void retryWithBodyAfterFailure(TestContext context) {
+		Async async = context.async();
+		AtomicInteger responses = new AtomicInteger();
+		String key = UUID.randomUUID().toString();
+		JsonObject body = new JsonObject().put("id", key);
+		post("/idempotency/echo", key, body, original -> {
+			context.assertEquals(500, original.statusCode());
+			if (responses.incrementAndGet() == 2) {
+				async.complete();
+			}
+		});
+		vertx.setTimer(50, timerId -> {
+			post("/idempotency/echo", key, body, retry -> {
+				context.assertEquals(200, retry.statusCode());
+				context.assertNull(retry.getHeader(IdempotencyProcessor.REPLAYED));
+				retry.bodyHandler(buff -> {
+					context.assertEquals(body, new JsonObject(buff.toString("UTF-8")));
+					if (responses.incrementAndGet() == 2) {
+						async.complete();
+					}
+				});
+			});
+		});
+	}
+
+	@Test
+	public void reservationsNotEvicted(TestContext context) {
+		Async async = context.async();
+		LocalIdempotencyStore store = new LocalIdempotencyStore(vertx, 1024);
+		store.reserve("in-flight", 10000, reserved -> {
+			context.assertTrue(reserved.result());
+			for (int i = 0; i < 10; i++) {
+				store.complete("done-" + i, new CapturedResponse(200, new ArrayList<>(), Buffer.buffer(new byte[200])), 10000);
+			}
+			context.assertTrue(store.size() <= 1024);
+			store.reserve("in-flight", 10000, again -> {
+				context.assertFalse(again.result());
+				store.get("in-flight", 5000, stored -> {
+					context.assertTrue(stored.succeeded());
+					context.assertEquals(201, stored.result().status());
+					async.complete();
+				});
+				store.complete("in-flight", new CapturedResponse(201, new ArrayList<>(), Buffer.buffer()), 10000);
+			});
+		});
+	}
+
+	@Test
+	public void expiredWhateverTheirTtl(TestContext context) {
+		Async async = context.async();
+		LocalIdempotencyStore store = new LocalIdempotencyStore(vertx, LocalIdempotencyStore.DEFAULT_MAX_BYTES);
+		CapturedResponse response = new CapturedResponse(200, new ArrayList<>(), Buffer.buffer("ok"));
+		store.complete("long", response, 10000);
+		store.complete("short", response, 50);
+		vertx.setTimer(100, timerId -> {
+			store.reserve("other", 10000, reserved -> {
+				store.release("other");
+				context.assertEquals(response.weight(), store.size());
+				async.complete();
+			});
+		});
+	}
+
+	private void post(String path, String key, JsonObject body, Handler<HttpClientResponse> handler) {
+		HttpClientRequest request = client().post(path, handler).putHeader(ACCEPT, "application/json").putHeader(CONTENT_TYPE, "application/json");
+		request.putHeader("Idempotency-Key", key);
+		request.end(body.encode());
+	}
+
+	private void post(String path, String key, Handler<HttpClientResponse> handler) {
+		HttpClientRequest request = client().post(path, handler).putHeader(ACCEPT, "application/json");
+		if (key != null) {
+			request.putHeader("Idempotency-Key", key);
+		}
+		request.end();
+	}
+}
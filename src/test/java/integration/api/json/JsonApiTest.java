@@ -191,6 +191,63 @@ public class JsonApiTest extends VertxNubesTestBase {
 		testError(context, 420, "Rate limitation exceeded");
 	}
 
+	@Test
+	public void projectDomainObjects(TestContext context) {
+		Async async = context.async();
+		getJSON("/json/projected/dogs?fields=name", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				JsonArray dogs = new JsonArray(buffer.toString("UTF-8"));
+				context.assertEquals(2, dogs.size());
+				context.assertEquals("Snoopy", dogs.getJsonObject(0).getString("name"));
+				context.assertFalse(dogs.getJsonObject(0).containsKey("breed"));
+				context.assertEquals("Bill", dogs.getJsonObject(1).getString("name"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void noProjection(TestContext context) {
+		Async async = context.async();
+		getJSON("/json/projected/dogs", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				JsonArray dogs = new JsonArray(buffer.toString("UTF-8"));
+				context.assertEquals("Beagle", dogs.getJsonObject(0).getString("breed"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void projectNestedJson(TestContext context) {
+		Async async = context.async();
+		getJSON("/json/projected/kennel?select=owner(name),dogs.breed", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buffer -> {
+				JsonObject kennel = new JsonObject(buffer.toString("UTF-8"));
+				context.assertFalse(kennel.containsKey("name"));
+				JsonObject owner = kennel.getJsonObject("owner");
+				context.assertEquals("Charlie Brown", owner.getString("name"));
+				context.assertFalse(owner.containsKey("city"));
+				JsonObject dog = kennel.getJsonArray("dogs").getJsonObject(0);
+				context.assertEquals("Beagle", dog.getString("breed"));
+				context.assertFalse(dog.containsKey("name"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void invalidProjection(TestContext context) {
+		Async async = context.async();
+		getJSON("/json/projected/dogs?fields=name(", response -> {
+			context.assertEquals(400, response.statusCode());
+			async.complete();
+		});
+	}
+
 	@Test
 	public void test500(TestContext context) {
 		testError(context, 500, "Internal server error");
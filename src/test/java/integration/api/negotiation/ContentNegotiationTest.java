@@ -0,0 +1,77 @@
+package integration.api.negotiation;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import integration.VertxNubesTestBase;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import org.junit.Test;
+
+public class ContentNegotiationTest extends VertxNubesTestBase {
+
+	@Test
+	public void anyType(TestContext context) {
+		negotiate(context, "/json/dog", "*/*", "application/json");
+	}
+
+	@Test
+	public void anySubType(TestContext context) {
+		negotiate(context, "/json/dog", "text/html, application/*;q=0.8", "application/json");
+	}
+
+	@Test
+	public void wildcardNotMatching(TestContext context) {
+		notAcceptable(context, "/json/dog", "text/*");
+	}
+
+	@Test
+	public void excludedType(TestContext context) {
+		notAcceptable(context, "/json/dog", "*/*, application/json;q=0");
+	}
+
+	@Test
+	public void mostSpecificRangeWins(TestContext context) {
+		negotiate(context, "/binary/dog", "application/*;q=0.5, application/cbor", "application/cbor");
+	}
+
+	@Test
+	public void highestQualityWins(TestContext context) {
+		negotiate(context, "/binary/dog", "application/json;q=0.2, application/msgpack;q=0.9, application/cbor;q=0.5", "application/msgpack");
+	}
+
+	@Test
+	public void excludedByQuality(TestContext context) {
+		negotiate(context, "/binary/dog", "application/json;q=0, application/*", "application/msgpack");
+	}
+
+	@Test
+	public void sameHeaderTwice(TestContext context) {
+		Async async = context.async();
+		String accept = "application/cbor;q=0.5, application/msgpack";
+		client().get("/binary/dog", response -> {
+			context.assertEquals("application/msgpack", response.getHeader(CONTENT_TYPE.toString()));
+			client().get("/binary/dog", response2 -> {
+				context.assertEquals("application/msgpack", response2.getHeader(CONTENT_TYPE.toString()));
+				async.complete();
+			}).putHeader(ACCEPT, accept).end();
+		}).putHeader(ACCEPT, accept).end();
+	}
+
+	private void negotiate(TestContext context, String path, String accept, String expectedType) {
+		Async async = context.async();
+		client().get(path, response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals(expectedType, response.getHeader(CONTENT_TYPE.toString()));
+			async.complete();
+		}).putHeader(ACCEPT, accept).end();
+	}
+
+	private void notAcceptable(TestContext context, String path, String accept) {
+		Async async = context.async();
+		client().get(path, response -> {
+			context.assertEquals(406, response.statusCode());
+			async.complete();
+		}).putHeader(ACCEPT, accept).end();
+	}
+}
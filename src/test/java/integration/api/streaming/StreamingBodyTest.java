@@ -0,0 +1,180 @@
+package integration.api.streaming;
+
+import static io.vertx.core.http.HttpHeaders.ACCEPT;
+import static io.vertx.core.http.HttpHeaders.CONTENT_ENCODING;
+import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
+import integration.VertxNubesTestBase;
+import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpClientResponse;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+import com.github.aesteve.vertx.nubes.marshallers.impl.AbstractPayloadSplitter;
+
+public class StreamingBodyTest extends VertxNubesTestBase {
+
+	private final static int NB_DOGS = 10000;
+
+	@Test
+	public void readJsonArray(TestContext context) {
+		Async async = context.async();
+		post("/streaming/dogs", "application/json", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject result = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals(new JsonArray().add("Snoopy").add("Bill"), result.getJsonArray("names"));
+				context.assertTrue(result.getJsonArray("errors").isEmpty());
+				async.complete();
+			});
+		}, "[{\"name\":\"Snoopy\",\"breed\":\"Beagle\"}, {\"name\":\"Bill\",\"breed\":\"Cocker\"}]");
+	}
+
+	@Test
+	public void readXmlDocument(TestContext context) {
+		Async async = context.async();
+		post("/streaming/dogs", "application/xml", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject result = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals(new JsonArray().add("Snoopy").add("Bill"), result.getJsonArray("names"));
+				async.complete();
+			});
+		}, "<?xml version=\"1.0\"?>\n<dogs>\n\t<!-- <dog>Not a dog</dog> -->\n\t<dog><name>Snoopy</name><breed>Beagle</breed></dog>\n\t<dog><name><![CDATA[Bill]]></name><breed>Cocker</breed></dog>\n</dogs>");
+	}
+
+	@Test
+	public void readManyChunks(TestContext context) {
+		Async async = context.async();
+		HttpClientRequest request = client().post("/streaming/dogs/slowly", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				context.assertEquals(NB_DOGS, new JsonObject(buff.toString("UTF-8")).getInteger("count"));
+				async.complete();
+			});
+		});
+		request.putHeader(ACCEPT, "application/json").putHeader(CONTENT_TYPE, "application/json").setChunked(true);
+		request.write("[");
+		for (int i = 0; i < NB_DOGS; i++) {
+			request.write((i > 0 ? "," : "") + "{\"name\":\"Snoopy" + i + "\",\"breed\":\"Beagle, \\\"the\\\" [best] {dog}\"}");
+		}
+		request.end("]");
+	}
+
+	@Test
+	public void invalidElementsAreReported(TestContext context) {
+		Async async = context.async();
+		post("/streaming/dogs", "application/json", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject result = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals(new JsonArray().add("Snoopy").add("Bill"), result.getJsonArray("names"));
+				context.assertEquals(new JsonArray().add(1), result.getJsonArray("errors"));
+				async.complete();
+			});
+		}, "[{\"name\":\"Snoopy\"}, \"notadog\", {\"name\":\"Bill\"}]");
+	}
+
+	@Test
+	public void invalidElementWithoutExceptionHandler(TestContext context) {
+		Async async = context.async();
+		post("/streaming/dogs/strict", "application/json", response -> {
+			context.assertEquals(400, response.statusCode());
+			async.complete();
+		}, "[{\"name\":\"Snoopy\"}, \"notadog\", {\"name\":\"Bill\"}]");
+	}
+
+	@Test
+	public void malformedBody(TestContext context) {
+		Async async = context.async();
+		post("/streaming/dogs/strict", "application/json", response -> {
+			context.assertEquals(400, response.statusCode());
+			async.complete();
+		}, "{\"name\":\"Snoopy\"}");
+	}
+
+	@Test
+	public void readBlocking(TestContext context) {
+		Async async = context.async();
+		StringBuilder body = new StringBuilder("[");
+		for (int i = 0; i < NB_DOGS; i++) {
+			body.append(i > 0 ? "," : "").append("{\"name\":\"Snoopy").append(i).append("\",\"breed\":\"Beagle\"}");
+		}
+		body.append(",\"notadog\"]");
+		post("/streaming/dogs/blocking", "application/json", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject result = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals(NB_DOGS, result.getInteger("count"));
+				context.assertEquals(1, result.getInteger("errors"));
+				async.complete();
+			});
+		}, body.toString());
+	}
+
+	@Test
+	public void readBlockingMalformed(TestContext context) {
+		Async async = context.async();
+		post("/streaming/dogs/blocking", "application/json", response -> {
+			context.assertEquals(400, response.statusCode());
+			async.complete();
+		}, "[{\"name\":\"Snoopy\"}");
+	}
+
+	@Test
+	public void oversizedElementsAreReported(TestContext context) {
+		Async async = context.async();
+		StringBuilder name = new StringBuilder(AbstractPayloadSplitter.DEFAULT_MAX_ELEMENT_SIZE + 1);
+		for (int i = 0; i <= AbstractPayloadSplitter.DEFAULT_MAX_ELEMENT_SIZE; i++) {
+			name.append('a');
+		}
+		post("/streaming/dogs", "application/json", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject result = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals(new JsonArray().add("Snoopy").add("Bill"), result.getJsonArray("names"));
+				context.assertEquals(new JsonArray().add(1), result.getJsonArray("errors"));
+				async.complete();
+			});
+		}, "[{\"name\":\"Snoopy\"}, {\"name\":\"" + name + "\"}, {\"name\":\"Bill\"}]");
+	}
+
+	@Test
+	public void readGzippedBody(TestContext context) throws IOException {
+		Async async = context.async();
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write("[{\"name\":\"Snoopy\",\"breed\":\"Beagle\"}, {\"name\":\"Bill\",\"breed\":\"Cocker\"}]".getBytes("UTF-8"));
+		}
+		client().post("/streaming/dogs", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject result = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals(new JsonArray().add("Snoopy").add("Bill"), result.getJsonArray("names"));
+				async.complete();
+			});
+		}).putHeader(ACCEPT, "application/json").putHeader(CONTENT_TYPE, "application/json").putHeader(CONTENT_ENCODING, "gzip").end(Buffer.buffer(out.toByteArray()));
+	}
+
+	@Test
+	public void unsupportedEncoding(TestContext context) {
+		Async async = context.async();
+		client().post("/streaming/dogs", response -> {
+			context.assertEquals(415, response.statusCode());
+			async.complete();
+		}).putHeader(ACCEPT, "application/json").putHeader(CONTENT_TYPE, "application/json").putHeader(CONTENT_ENCODING, "br").end("[]");
+	}
+
+	private void post(String path, String contentType, Handler<HttpClientResponse> handler, String body) {
+		client().post(path, handler).putHeader(ACCEPT, "application/json").putHeader(CONTENT_TYPE, contentType).end(body);
+	}
+}
@@ -0,0 +1,76 @@
+package integration.injection;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.Future;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import mock.loaders.UpperCaseLoader;
+
+import org.junit.Test;
+
+import com.github.aesteve.vertx.nubes.context.DataLoader;
+
+public class TestDataLoader extends VertxNubesTestBase {
+
+	@Test
+	public void testKeysAreLoadedOnceInASingleBatch(TestContext context) {
+		Async async = context.async();
+		UpperCaseLoader.calls.clear();
+		getJSON("/dataloader", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject json = new JsonObject(buff.toString());
+				context.assertEquals("A", json.getString("a"));
+				context.assertEquals("A", json.getString("a2"));
+				context.assertEquals("B", json.getString("b"));
+				context.assertEquals("C", json.getString("c"));
+				context.assertEquals("B,C,ZED", json.getString("many"));
+				context.assertEquals(1, UpperCaseLoader.calls.size());
+				context.assertEquals(Arrays.asList("a", "b", "c"), UpperCaseLoader.calls.get(0));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void testCacheIsPerRequest(TestContext context) {
+		Async async = context.async();
+		UpperCaseLoader.calls.clear();
+		getJSON("/dataloader", response -> {
+			response.bodyHandler(buff -> {
+				getJSON("/dataloader", response2 -> {
+					response2.bodyHandler(buff2 -> {
+						context.assertEquals(2, UpperCaseLoader.calls.size());
+						async.complete();
+					});
+				});
+			});
+		});
+	}
+
+	@Test
+	public void testThrowingHandlerIsCalledOnce(TestContext context) {
+		Async async = context.async();
+		List<String> calls = new ArrayList<>();
+		DataLoader<String, String> loader = new DataLoader<>(vertx, (keys, handler) -> {
+			handler.handle(Future.succeededFuture(keys));
+		});
+		vertx.runOnContext(v -> {
+			loader.load("a", res -> {
+				calls.add("a:" + res.succeeded());
+				throw new IllegalStateException("thrown by the handler");
+			});
+			loader.load("b", res -> calls.add("b:" + res.succeeded()));
+		});
+		vertx.setTimer(100, timerId -> {
+			context.assertEquals(Arrays.asList("a:true", "b:true"), calls);
+			async.complete();
+		});
+	}
+}
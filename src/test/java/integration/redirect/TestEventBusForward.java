@@ -0,0 +1,115 @@
+package integration.redirect;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.controllers.redirect.EventBusForwardController;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+
+public class TestEventBusForward extends VertxNubesTestBase {
+
+	@Test
+	public void testBodyAndHeadersAreForwarded(TestContext context) {
+		Async async = context.async();
+		String body = "{\"name\":\"Snoopy\",\"breed\":\"Beagle\"}";
+		vertx.eventBus().<Buffer> consumer(EventBusForwardController.ADDRESS, message -> {
+			context.assertEquals(body, message.body().toString("UTF-8"));
+			context.assertEquals("application/json", message.headers().get("Content-Type"));
+			context.assertEquals("charlie", message.headers().get("X-User"));
+			DeliveryOptions options = new DeliveryOptions().addHeader("Content-Type", "text/plain");
+			message.reply(Buffer.buffer("Good dog, " + message.headers().get("X-User")), options);
+		});
+		client().post("/ebforward", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals("text/plain", response.getHeader("Content-Type"));
+			response.bodyHandler(buff -> {
+				context.assertEquals("Good dog, charlie", buff.toString("UTF-8"));
+				async.complete();
+			});
+		}).putHeader("Content-Type", "application/json").putHeader("X-User", "charlie").end(body);
+	}
+
+	@Test
+	public void testCompressedBodyIsForwardedAsIs(TestContext context) throws IOException {
+		Async async = context.async();
+		Buffer gzipped = gzip("{\"name\":\"Snoopy\"}");
+		vertx.eventBus().<Buffer> consumer(EventBusForwardController.RAW_ADDRESS, message -> {
+			context.assertEquals(gzipped, message.body());
+			context.assertEquals("gzip", message.headers().get("Content-Encoding"));
+			DeliveryOptions options = new DeliveryOptions().addHeader("Content-Encoding", "gzip");
+			message.reply(message.body(), options);
+		});
+		client().post("/ebforward/raw", response -> {
+			context.assertEquals(200, response.statusCode());
+			context.assertEquals("gzip", response.getHeader("Content-Encoding"));
+			response.bodyHandler(buff -> {
+				context.assertEquals(gzipped, buff);
+				async.complete();
+			});
+		}).putHeader("Content-Type", "application/json").putHeader("Content-Encoding", "gzip").end(gzipped);
+	}
+
+	@Test
+	public void testDeleteBodyIsForwardedAfterAuth(TestContext context) {
+		Async async = context.async();
+		vertx.eventBus().<Buffer> consumer(EventBusForwardController.RAW_ADDRESS, message -> {
+			message.reply(Buffer.buffer("Deleted " + message.body().toString("UTF-8")));
+		});
+		client().delete("/ebforward/private", response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				context.assertEquals("Deleted Snoopy", buff.toString("UTF-8"));
+				async.complete();
+			});
+		}).putHeader("Authorization", "Basic dGltOnNhdXNhZ2Vz").end("Snoopy");
+	}
+
+	@Test
+	public void testRecipientFailure(TestContext context) {
+		Async async = context.async();
+		vertx.eventBus().consumer(EventBusForwardController.ADDRESS, message -> {
+			message.fail(409, "Already there");
+		});
+		client().post("/ebforward", response -> {
+			context.assertEquals(409, response.statusCode());
+			async.complete();
+		}).end("something");
+	}
+
+	@Test
+	public void testTimeout(TestContext context) {
+		Async async = context.async();
+		vertx.eventBus().consumer(EventBusForwardController.SILENT_ADDRESS, message -> {
+			// never replies
+		});
+		client().post("/ebforward/silent", response -> {
+			context.assertEquals(504, response.statusCode());
+			async.complete();
+		}).end("anybody there ?");
+	}
+
+	@Test
+	public void testNoHandlers(TestContext context) {
+		Async async = context.async();
+		client().post("/ebforward/nobody", response -> {
+			context.assertEquals(503, response.statusCode());
+			async.complete();
+		}).end("hello ?");
+	}
+
+	private static Buffer gzip(String body) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+			gzip.write(body.getBytes(StandardCharsets.UTF_8));
+		}
+		return Buffer.buffer(bytes.toByteArray());
+	}
+}
@@ -0,0 +1,119 @@
+package integration.services;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.eventbus.ReplyException;
+import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+public class TestConsumers extends VertxNubesTestBase {
+
+	@Test
+	public void testBatches(TestContext context) {
+		int nbMessages = 10; // 2 or 3 for each instance's consumer
+		Async async = context.async();
+		AtomicInteger replies = new AtomicInteger();
+		for (int i = 0; i < nbMessages; i++) {
+			vertx.eventBus().<Integer> send("mailbox.batch", "message " + i, reply -> {
+				context.assertTrue(reply.succeeded());
+				int batchSize = reply.result().body();
+				context.assertTrue(batchSize > 1 && batchSize <= 5);
+				if (replies.incrementAndGet() == nbMessages) {
+					async.complete();
+				}
+			});
+		}
+	}
+
+	@Test
+	public void testWorkerConcurrency(TestContext context) {
+		int nbMessages = 20;
+		Async async = context.async();
+		AtomicInteger replies = new AtomicInteger();
+		AtomicBoolean concurrent = new AtomicBoolean();
+		for (int i = 0; i < nbMessages; i++) {
+			vertx.eventBus().<JsonObject> send("mailbox.worker", "message " + i, reply -> {
+				context.assertTrue(reply.succeeded());
+				JsonObject json = reply.result().body();
+				context.assertTrue(json.getBoolean("worker"));
+				context.assertTrue(json.getInteger("maxRunning") <= 2);
+				if (json.getInteger("maxRunning") == 2) {
+					concurrent.set(true);
+				}
+				if (replies.incrementAndGet() == nbMessages) {
+					context.assertTrue(concurrent.get());
+					async.complete();
+				}
+			});
+		}
+	}
+
+	@Test
+	public void testPausedConsumerResumes(TestContext context) {
+		int nbMessages = 12; // 3 for each instance's consumer : one running, two waiting, then paused
+		Async async = context.async();
+		AtomicInteger replies = new AtomicInteger();
+		for (int i = 0; i < nbMessages; i++) {
+			String msg = "message " + i;
+			vertx.eventBus().<String> send("mailbox.bounded", msg, reply -> {
+				context.assertTrue(reply.succeeded());
+				context.assertEquals(msg, reply.result().body());
+				if (replies.incrementAndGet() == nbMessages) {
+					async.complete();
+				}
+			});
+		}
+	}
+
+	@Test
+	public void testOverflowIsDropped(TestContext context) {
+		int nbMessages = 100;
+		Async async = context.async();
+		AtomicInteger replies = new AtomicInteger();
+		AtomicInteger timeouts = new AtomicInteger();
+		DeliveryOptions options = new DeliveryOptions().setSendTimeout(1000);
+		for (int i = 0; i < nbMessages; i++) {
+			vertx.eventBus().<String> send("mailbox.bounded", "message " + i, options, reply -> {
+				if (reply.failed()) {
+					context.assertEquals(ReplyFailure.TIMEOUT, ((ReplyException) reply.cause()).failureType());
+					timeouts.incrementAndGet();
+				}
+				if (replies.incrementAndGet() == nbMessages) {
+					context.assertTrue(timeouts.get() > 0);
+					context.assertTrue(timeouts.get() < nbMessages);
+					async.complete();
+				}
+			});
+		}
+	}
+
+	@Test
+	public void testPartitionsKeepOrderByKey(TestContext context) {
+		int nbUsers = 8;
+		int nbMessages = 200;
+		Async async = context.async();
+		AtomicInteger replies = new AtomicInteger();
+		Set<String> lanes = ConcurrentHashMap.newKeySet();
+		for (int i = 0; i < nbMessages; i++) {
+			DeliveryOptions options = new DeliveryOptions().addHeader("userId", "user" + (i % nbUsers));
+			vertx.eventBus().<JsonObject> send("mailbox.partitioned", i, options, reply -> {
+				context.assertTrue(reply.succeeded());
+				context.assertTrue(reply.result().body().getBoolean("ordered"));
+				lanes.add(reply.result().body().getString("lane"));
+				if (replies.incrementAndGet() == nbMessages) {
+					context.assertTrue(lanes.size() > 1);
+					async.complete();
+				}
+			});
+		}
+	}
+}
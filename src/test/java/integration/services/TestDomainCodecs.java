@@ -0,0 +1,35 @@
+package integration.services;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.domains.Dog;
+
+import org.junit.Test;
+
+import com.github.aesteve.vertx.nubes.marshallers.codecs.DomainMessageCodec;
+
+public class TestDomainCodecs extends VertxNubesTestBase {
+
+	@Test
+	public void testLocalDeliveryByReference(TestContext context) {
+		Dog dog = new Dog("Idefix", "Westie");
+		Async async = context.async();
+		vertx.eventBus().<Dog> send("dogService.walk", dog, reply -> {
+			context.assertTrue(reply.succeeded());
+			context.assertTrue(dog == reply.result().body());
+			async.complete();
+		});
+	}
+
+	@Test
+	public void testWireFormat(TestContext context) {
+		DomainMessageCodec<Dog> codec = new DomainMessageCodec<>(Dog.class);
+		Buffer buffer = Buffer.buffer().appendString("header");
+		codec.encodeToWire(buffer, new Dog("Rantanplan", "Mutt"));
+		Dog decoded = codec.decodeFromWire("header".length(), buffer);
+		context.assertEquals("Rantanplan", decoded.getName());
+		context.assertEquals("Mutt", decoded.getBreed());
+	}
+}
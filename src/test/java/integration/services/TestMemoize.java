@@ -0,0 +1,82 @@
+package integration.services;
+
+import integration.TestVerticle;
+import integration.VertxNubesTestBase;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+public class TestMemoize extends VertxNubesTestBase {
+
+	@Test
+	public void syncResultIsMemoized(TestContext context) {
+		String city = "Paris-" + UUID.randomUUID();
+		Async async = context.async();
+		getJSON("/memoize/sync?city=" + city, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject json = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals("Sunny in " + city + " (1)", json.getString("first"));
+				context.assertEquals(json.getString("first"), json.getString("second"));
+				context.assertEquals(1, json.getInteger("calls"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void classProxyIsMemoized(TestContext context) {
+		String city = "Lyon-" + UUID.randomUUID();
+		Async async = context.async();
+		getJSON("/memoize/class?city=" + city, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject json = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals(json.getString("first"), json.getString("second"));
+				context.assertEquals(1, json.getInteger("calls"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void otherMethodsAreNotMemoized(TestContext context) {
+		String city = "Nantes-" + UUID.randomUUID();
+		Async async = context.async();
+		getJSON("/memoize/uncached?city=" + city, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject json = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals("Cloudy in " + city + " (1)", json.getString("first"));
+				context.assertEquals("Cloudy in " + city + " (2)", json.getString("second"));
+				context.assertEquals(2, json.getInteger("calls"));
+				async.complete();
+			});
+		});
+	}
+
+	@Test
+	public void asyncCallsAreShared(TestContext context) {
+		String city = "Brest-" + UUID.randomUUID();
+		Async async = context.async();
+		getJSON("/memoize/async?city=" + city, response -> {
+			context.assertEquals(200, response.statusCode());
+			response.bodyHandler(buff -> {
+				JsonObject json = new JsonObject(buff.toString("UTF-8"));
+				context.assertEquals("Rainy in " + city + " (1)", json.getString("first"));
+				context.assertEquals(json.getString("first"), json.getString("second"));
+				context.assertEquals(1, json.getInteger("calls"));
+				// every Nubes instance has its own cache
+				getJSON("/memoize/async?city=" + city, again -> {
+					context.assertEquals(200, again.statusCode());
+					context.assertTrue(TestVerticle.weatherService.calls(city) <= NB_INSTANCES);
+					async.complete();
+				});
+			});
+		});
+	}
+}
@@ -0,0 +1,108 @@
+package integration.services;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.eventbus.MessageConsumer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import com.github.aesteve.vertx.nubes.services.Scheduler;
+
+public class TestScheduler extends VertxNubesTestBase {
+
+	@Test
+	public void testSlowTaskNeverOverlaps(TestContext context) {
+		Async async = context.async();
+		AtomicInteger runs = new AtomicInteger();
+		MessageConsumer<JsonObject> consumer = vertx.eventBus().consumer("clock.slow");
+		consumer.handler(message -> {
+			context.assertFalse(message.body().getBoolean("overlapping"));
+			context.assertTrue(message.body().getBoolean("worker"));
+			if (runs.incrementAndGet() == 10) {
+				consumer.unregister();
+				async.complete();
+			}
+		});
+	}
+
+	@Test
+	public void testFixedDelay(TestContext context) {
+		Async async = context.async();
+		AtomicInteger runs = new AtomicInteger();
+		MessageConsumer<Long> consumer = vertx.eventBus().consumer("clock.delayed");
+		consumer.handler(message -> {
+			context.assertTrue(message.body() >= 45); // the period, after the previous run completed
+			if (runs.incrementAndGet() == 10) {
+				consumer.unregister();
+				async.complete();
+			}
+		});
+	}
+
+	@Test
+	public void testCron(TestContext context) {
+		Async async = context.async();
+		MessageConsumer<Long> consumer = vertx.eventBus().consumer("clock.cron");
+		consumer.handler(message -> {
+			context.assertTrue(message.body() % 1000 < 800); // fired around the start of a second
+			consumer.unregister();
+			async.complete();
+		});
+	}
+
+	@Test
+	public void testSingletonRunsOnOneInstance(TestContext context) {
+		Async async = context.async();
+		AtomicInteger runs = new AtomicInteger();
+		Set<Integer> instances = ConcurrentHashMap.newKeySet();
+		MessageConsumer<JsonObject> consumer = vertx.eventBus().consumer("clock.singleton");
+		consumer.handler(message -> {
+			instances.add(message.body().getInteger("instance"));
+			if (runs.incrementAndGet() == 10) {
+				consumer.unregister();
+				context.assertEquals(1, instances.size());
+				async.complete();
+			}
+		});
+	}
+
+	@Test
+	public void testSingletonFailsOver(TestContext context) {
+		Async async = context.async();
+		MessageConsumer<JsonObject> consumer = vertx.eventBus().consumer("clock.singleton");
+		consumer.handler(first -> {
+			consumer.unregister();
+			String holder = first.body().getString("deployment");
+			vertx.deployVerticle("integration.TestVerticle", context.asyncAssertSuccess(standBy -> {
+				vertx.undeploy(holder, context.asyncAssertSuccess(undeployed -> {
+					MessageConsumer<JsonObject> next = vertx.eventBus().consumer("clock.singleton");
+					next.handler(message -> {
+						context.assertEquals(standBy, message.body().getString("deployment"));
+						next.unregister();
+						async.complete();
+					});
+				}));
+			}));
+		});
+	}
+
+	@Test
+	public void testSingletonRunsAreReported(TestContext context) {
+		Async async = context.async();
+		MessageConsumer<JsonObject> consumer = vertx.eventBus().consumer(Scheduler.RUNS_ADDRESS);
+		consumer.handler(message -> {
+			JsonObject report = message.body();
+			context.assertTrue(report.getString("task").endsWith("ClockService.singleton"));
+			context.assertNotNull(report.getString("node"));
+			context.assertTrue(report.getBoolean("succeeded"));
+			consumer.unregister();
+			async.complete();
+		});
+	}
+}
@@ -3,12 +3,15 @@ package integration.services;
 import org.junit.Test;
 
 import integration.VertxNubesTestBase;
+import mock.services.impl.ParrotServiceImpl;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.eventbus.DeliveryOptions;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class TestServiceProxy extends VertxNubesTestBase {
 
 	@Test
@@ -39,4 +42,130 @@ public class TestServiceProxy extends VertxNubesTestBase {
 		}).end(Buffer.buffer(msg));
 	}
 
+	@Test
+	public void testLocalServiceBypassesEventBus(TestContext context) {
+		int nbRequests = 10;
+		Async async = context.async();
+		AtomicInteger onEventBus = new AtomicInteger();
+		AtomicInteger responses = new AtomicInteger();
+		vertx.eventBus().consumer("service.parrot", message -> {
+			onEventBus.incrementAndGet();
+			message.fail(500, "Should have been called locally");
+		});
+		for (int i = 0; i < nbRequests; i++) {
+			String msg = "Parrot #" + i;
+			client().post("/injectedProxy", resp -> {
+				context.assertEquals(200, resp.statusCode());
+				resp.bodyHandler(buff -> {
+					context.assertEquals(msg, buff.toString("UTF-8"));
+					if (responses.incrementAndGet() == nbRequests) {
+						context.assertEquals(0, onEventBus.get());
+						async.complete();
+					}
+				});
+			}).end(Buffer.buffer(msg));
+		}
+	}
+
+	@Test
+	public void testRemoteServiceThroughEventBus(TestContext context) {
+		String msg = "Nobody here but us parrots";
+		Async async = context.async();
+		AtomicInteger onEventBus = new AtomicInteger();
+		vertx.eventBus().<JsonObject> consumer("service.remoteParrot", message -> {
+			onEventBus.incrementAndGet();
+			message.reply(message.body().getString("original"));
+		});
+		client().post("/injectedProxy/remote", resp -> {
+			context.assertEquals(200, resp.statusCode());
+			resp.bodyHandler(buff -> {
+				context.assertEquals(msg, buff.toString("UTF-8"));
+				context.assertEquals(1, onEventBus.get());
+				async.complete();
+			});
+		}).end(Buffer.buffer(msg));
+	}
+
+	@Test
+	public void testCallsAreBatched(TestContext context) {
+		int nbRequests = 40;
+		Async async = context.async();
+		AtomicInteger responses = new AtomicInteger();
+		ParrotServiceImpl.shouts.set(0);
+		ParrotServiceImpl.batchedShouts.set(0);
+		for (int i = 0; i < nbRequests; i++) {
+			String msg = "Parrot #" + i;
+			client().post("/injectedProxy/shout", resp -> {
+				context.assertEquals(200, resp.statusCode());
+				resp.bodyHandler(buff -> {
+					context.assertEquals(msg.toUpperCase(), buff.toString("UTF-8"));
+					if (responses.incrementAndGet() == nbRequests) {
+						context.assertEquals(0, ParrotServiceImpl.shouts.get());
+						context.assertTrue(ParrotServiceImpl.batchedShouts.get() < nbRequests);
+						async.complete();
+					}
+				});
+			}).end(Buffer.buffer(msg));
+		}
+	}
+
+	@Test
+	public void testTimeout(TestContext context) {
+		Async async = context.async();
+		vertx.eventBus().consumer("service.slowParrot", message -> {
+			// never replies
+		});
+		client().post("/injectedProxy/slow", resp -> {
+			context.assertEquals(503, resp.statusCode());
+			resp.bodyHandler(buff -> {
+				context.assertTrue(buff.toString("UTF-8").startsWith("TimeoutException"));
+				async.complete();
+			});
+		}).end(Buffer.buffer("Anybody there ?"));
+	}
+
+	@Test
+	public void testTimeoutOnLocalService(TestContext context) {
+		Async async = context.async();
+		client().post("/injectedProxy/ignored", resp -> {
+			context.assertEquals(503, resp.statusCode());
+			resp.bodyHandler(buff -> {
+				context.assertTrue(buff.toString("UTF-8").startsWith("TimeoutException"));
+				async.complete();
+			});
+		}).end(Buffer.buffer("Anybody there ?"));
+	}
+
+	@Test
+	public void testCircuitBreakerOpens(TestContext context) {
+		Async async = context.async();
+		postToBrokenParrot(context, 20, async);
+	}
+
+	@Test
+	public void testFallback(TestContext context) {
+		Async async = context.async();
+		client().post("/injectedProxy/muted", resp -> {
+			context.assertEquals(200, resp.statusCode());
+			resp.bodyHandler(buff -> {
+				context.assertEquals("...", buff.toString("UTF-8"));
+				async.complete();
+			});
+		}).end(Buffer.buffer("Say something"));
+	}
+
+	private void postToBrokenParrot(TestContext context, int remaining, Async async) {
+		client().post("/injectedProxy/broken", resp -> {
+			context.assertEquals(503, resp.statusCode());
+			resp.bodyHandler(buff -> {
+				if (remaining > 1) {
+					postToBrokenParrot(context, remaining - 1, async);
+					return;
+				}
+				// 3 failures per Nubes instance (no handlers), then every call fails fast
+				context.assertTrue(buff.toString("UTF-8").contains("Circuit breaker open"));
+				async.complete();
+			});
+		}).end(Buffer.buffer("Polly want a cracker ?"));
+	}
 }
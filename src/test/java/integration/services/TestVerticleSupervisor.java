@@ -0,0 +1,71 @@
+package integration.services;
+
+import integration.VertxNubesTestBase;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.verticles.ScaledVerticle;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TestVerticleSupervisor extends VertxNubesTestBase {
+
+	private final static int NB_MESSAGES = 80;
+	private final static int MIN_INSTANCES = 2;
+	private final static int MAX_INSTANCES = 4;
+
+	@Before
+	public void resetCounters() {
+		ScaledVerticle.maxLive.set(ScaledVerticle.live.get());
+		ScaledVerticle.received.set(0);
+	}
+
+	@Test
+	public void testScalesUpThenDown(TestContext context) {
+		Async async = context.async();
+		context.assertEquals(MIN_INSTANCES, ScaledVerticle.live.get()); // a single supervisor for every Nubes instance
+		AtomicInteger replies = new AtomicInteger();
+		for (int i = 0; i < NB_MESSAGES; i++) {
+			String job = "job" + i;
+			vertx.eventBus().<String> send(ScaledVerticle.ADDRESS, job, reply -> {
+				context.assertTrue(reply.succeeded());
+				context.assertEquals("done:" + job, reply.result().body());
+				if (replies.incrementAndGet() == NB_MESSAGES) {
+					context.assertTrue(ScaledVerticle.maxLive.get() > MIN_INSTANCES);
+					context.assertTrue(ScaledVerticle.maxLive.get() <= MAX_INSTANCES);
+					vertx.setPeriodic(100, timerId -> {
+						if (ScaledVerticle.live.get() == MIN_INSTANCES) {
+							vertx.cancelTimer(timerId);
+							async.complete();
+						}
+					});
+				}
+			});
+		}
+	}
+
+	@Test
+	public void testPublishReachesEveryInstance(TestContext context) {
+		Async async = context.async();
+		vertx.eventBus().publish(ScaledVerticle.ADDRESS, "news");
+		vertx.setTimer(500, timerId -> {
+			context.assertEquals(MIN_INSTANCES, ScaledVerticle.received.get());
+			async.complete();
+		});
+	}
+
+	@Test
+	public void testSendsWithoutReplyAreNotTracked(TestContext context) {
+		Async async = context.async();
+		for (int i = 0; i < NB_MESSAGES; i++) {
+			vertx.eventBus().send(ScaledVerticle.ADDRESS, "job" + i);
+		}
+		vertx.setTimer(1000, timerId -> {
+			context.assertEquals(NB_MESSAGES, ScaledVerticle.received.get());
+			context.assertEquals(MIN_INSTANCES, ScaledVerticle.maxLive.get());
+			async.complete();
+		});
+	}
+}
@@ -0,0 +1,132 @@
+package integration.sockjs;
+
+import integration.VertxNubesTestBase;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import mock.sockets.SlowSocket;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.github.aesteve.vertx.nubes.sockjs.Room;
+import com.github.aesteve.vertx.nubes.sockjs.Rooms;
+import com.github.aesteve.vertx.nubes.sockjs.SlowConsumerPolicy;
+
+public class TestRooms extends VertxNubesTestBase {
+
+	@Test
+	public void testDropWhenFull(TestContext context) {
+		Async async = context.async();
+		vertx.runOnContext(v -> {
+			Room room = new Rooms(vertx, null).room("drop");
+			SlowSocket slow = new SlowSocket();
+			SlowSocket fast = new SlowSocket();
+			room.join(slow, SlowConsumerPolicy.DROP);
+			room.join(fast, SlowConsumerPolicy.DROP);
+			slow.full = true;
+			broadcast(room, "a", "b");
+			slow.drain();
+			broadcast(room, "c");
+			context.assertEquals(Arrays.asList("c"), slow.written);
+			context.assertEquals(Arrays.asList("a", "b", "c"), fast.written);
+			context.assertEquals(2L, room.dropped());
+			async.complete();
+		});
+	}
+
+	@Test
+	public void testCoalesceKeepsLatest(TestContext context) {
+		Async async = context.async();
+		vertx.runOnContext(v -> {
+			Room room = new Rooms(vertx, null).room("coalesce");
+			SlowSocket slow = new SlowSocket();
+			room.join(slow, SlowConsumerPolicy.COALESCE);
+			slow.full = true;
+			broadcast(room, "a", "b", "c");
+			context.assertTrue(slow.written.isEmpty());
+			slow.full = false; // the queue has room again, but hasn't signaled it yet
+			broadcast(room, "d");
+			context.assertTrue(slow.written.isEmpty());
+			slow.drain();
+			broadcast(room, "e");
+			context.assertEquals(Arrays.asList("d", "e"), slow.written);
+			context.assertEquals(3L, room.dropped());
+			async.complete();
+		});
+	}
+
+	@Test
+	public void testCoalesceInTwoRooms(TestContext context) {
+		Async async = context.async();
+		vertx.runOnContext(v -> {
+			Rooms rooms = new Rooms(vertx, null);
+			Room first = rooms.room("first");
+			Room second = rooms.room("second");
+			SlowSocket slow = new SlowSocket();
+			first.join(slow, SlowConsumerPolicy.COALESCE);
+			second.join(slow, SlowConsumerPolicy.COALESCE);
+			slow.full = true;
+			broadcast(first, "a", "b");
+			broadcast(second, "1", "2");
+			boolean[] appDrained = new boolean[1];
+			rooms.whenDrained(slow, drained -> appDrained[0] = true);
+			slow.drain();
+			context.assertEquals(Arrays.asList("b", "2"), slow.written);
+			context.assertTrue(appDrained[0]);
+			broadcast(first, "c");
+			broadcast(second, "3");
+			context.assertEquals(Arrays.asList("b", "2", "c", "3"), slow.written);
+			async.complete();
+		});
+	}
+
+	@Test
+	public void testDisconnectWhenFull(TestContext context) {
+		Async async = context.async();
+		vertx.runOnContext(v -> {
+			Rooms rooms = new Rooms(vertx, null);
+			Room room = rooms.room("disconnect");
+			SlowSocket slow = new SlowSocket();
+			SlowSocket fast = new SlowSocket();
+			room.join(slow, SlowConsumerPolicy.DISCONNECT);
+			room.join(fast, SlowConsumerPolicy.DISCONNECT);
+			slow.full = true;
+			broadcast(room, "a");
+			context.assertTrue(slow.closed);
+			context.assertFalse(room.contains(slow));
+			context.assertEquals(1, room.size());
+			context.assertEquals(Arrays.asList("a"), fast.written);
+			context.assertEquals(1L, room.dropped());
+			async.complete();
+		});
+	}
+
+	@Test
+	public void testEmptyRoomRemoved(TestContext context) {
+		Async async = context.async();
+		vertx.runOnContext(v -> {
+			Rooms rooms = new Rooms(vertx, null);
+			Room room = rooms.room("empty");
+			SlowSocket socket = new SlowSocket();
+			room.join(socket);
+			context.assertTrue(rooms.room("empty") == room);
+			room.leave(socket);
+			context.assertEquals(0, room.size());
+			context.assertFalse(rooms.room("empty") == room);
+			room.join(socket); // a room emptied meanwhile : joins the one registered
+			context.assertTrue(rooms.room("empty").contains(socket));
+			async.complete();
+		});
+	}
+
+	private static void broadcast(Room room, String... messages) {
+		for (String message : messages) {
+			try {
+				room.broadcast(message);
+			} catch (Exception e) {
+				throw new RuntimeException(e);
+			}
+		}
+	}
+}
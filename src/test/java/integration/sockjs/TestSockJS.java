@@ -3,10 +3,17 @@ package integration.sockjs;
 import static io.vertx.core.http.HttpHeaders.CONTENT_TYPE;
 import integration.VertxNubesTestBase;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.WebSocket;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.unit.Async;
 import io.vertx.ext.unit.TestContext;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import mock.controllers.sockjs.TestSockJSController;
 
@@ -49,4 +56,61 @@ public class TestSockJS extends VertxNubesTestBase {
 			ws.write(msg);
 		});
 	}
+
+	@Test
+	public void testTypedMessages(TestContext context) {
+		Async async = context.async();
+		Set<String> received = new HashSet<>();
+		client().websocket("/typedsockjs/websocket", ws -> {
+			ws.handler(buff -> {
+				received.add(buff.toString("UTF-8"));
+				if (received.size() == 2) {
+					context.assertTrue(received.contains("dog:Snoopy"));
+					context.assertTrue(received.contains("json:Beagle"));
+					ws.close();
+					async.complete();
+				}
+			});
+			ws.write(Buffer.buffer("{\"name\":\"Snoopy\",\"breed\":\"Beagle\"}"));
+		});
+	}
+
+	@Test
+	public void testBroadcastToRoom(TestContext context) {
+		Async async = context.async();
+		int nbSockets = 3;
+		List<WebSocket> sockets = new CopyOnWriteArrayList<>();
+		AtomicInteger joined = new AtomicInteger();
+		AtomicInteger firstRound = new AtomicInteger();
+		AtomicInteger secondRound = new AtomicInteger();
+		for (int i = 0; i < nbSockets; i++) {
+			client().websocket("/chatroom/websocket", ws -> {
+				sockets.add(ws);
+				ws.handler(buff -> {
+					if ("joined".equals(buff.toString())) {
+						if (joined.incrementAndGet() == nbSockets) {
+							sockets.get(0).write(Buffer.buffer(new JsonObject().put("text", "hello").encode()));
+						}
+						return;
+					}
+					JsonObject message = new JsonObject(buff.toString());
+					if ("hello".equals(message.getString("text"))) {
+						context.assertEquals(nbSockets, message.getInteger("members"));
+						if (firstRound.incrementAndGet() == nbSockets) {
+							// the last one leaves, the others keep talking
+							sockets.get(nbSockets - 1).close();
+							vertx.setTimer(200, timerId -> {
+								sockets.get(0).write(Buffer.buffer(new JsonObject().put("text", "bye").encode()));
+							});
+						}
+					} else {
+						context.assertEquals(nbSockets - 1, message.getInteger("members"));
+						if (secondRound.incrementAndGet() == nbSockets - 1) {
+							async.complete();
+						}
+					}
+				});
+			});
+		}
+	}
 }
@@ -0,0 +1,74 @@
+package integration.websocket;
+
+import integration.VertxNubesTestBase;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.WebSocketFrame;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import mock.controllers.websocket.TestWebSocketController;
+
+import org.junit.Test;
+
+public class TestWebSocket extends VertxNubesTestBase {
+
+	@Test
+	public void testSocketWorkflow(TestContext context) {
+		Async async = context.async();
+		AtomicBoolean openedCalled = new AtomicBoolean();
+		vertx.eventBus().consumer(TestWebSocketController.EB_ADDRESS, msg -> {
+			String body = (String) msg.body();
+			if ("opened".equals(body)) {
+				openedCalled.set(true);
+			} else if ("closed".equals(body)) {
+				context.assertTrue(openedCalled.get());
+				async.complete();
+			}
+		});
+		client().websocket("/rawsocket", ws -> {
+			ws.handler(received -> {
+				context.assertEquals("echo:hello!", received.toString());
+				ws.close();
+			});
+			ws.write(Buffer.buffer("hello!"));
+		});
+	}
+
+	@Test
+	public void testFragmentsAreAggregated(TestContext context) {
+		Async async = context.async();
+		client().websocket("/rawsocket", ws -> {
+			ws.handler(received -> {
+				context.assertEquals("echo:hello world", received.toString());
+				ws.close();
+				async.complete();
+			});
+			ws.writeFrame(WebSocketFrame.binaryFrame(Buffer.buffer("hello "), false));
+			ws.writeFrame(WebSocketFrame.continuationFrame(Buffer.buffer("world"), true));
+		});
+	}
+
+	@Test
+	public void testMessageTooBig(TestContext context) {
+		Async async = context.async();
+		client().websocket("/rawsocket", ws -> {
+			ws.handler(received -> {
+				context.fail("The message should have been rejected");
+			});
+			ws.closeHandler(v -> async.complete());
+			ws.writeFrame(WebSocketFrame.binaryFrame(Buffer.buffer("this is way "), false));
+			ws.writeFrame(WebSocketFrame.continuationFrame(Buffer.buffer("too long"), true));
+		});
+	}
+
+	@Test
+	public void testNotUpgraded(TestContext context) {
+		Async async = context.async();
+		client().getNow("/rawsocket", response -> {
+			context.assertEquals(404, response.statusCode());
+			async.complete();
+		});
+	}
+}
@@ -0,0 +1,46 @@
+package mock.controllers.api.binary;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import mock.domains.Dog;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.Param;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+
+@Controller("/binary/")
+@ContentType({ "application/json", "application/msgpack", "application/cbor" })
+public class BinaryApiTestController {
+
+	@GET("dog")
+	public void sendDomainObject(Payload<Dog> payload) {
+		payload.set(new Dog("Snoopy", "Beagle"));
+	}
+
+	@GET("jsonobject")
+	public void sendJsonObject(Payload<JsonObject> payload) {
+		JsonObject json = new JsonObject();
+		json.put("Bill", "Cocker");
+		json.put("owner", new JsonObject().put("name", "Charlie Brown"));
+		payload.set(json);
+	}
+
+	@POST("postdog")
+	public void postDog(@RequestBody Dog dog, Payload<Dog> payload) {
+		payload.set(dog);
+	}
+
+	@POST("postjson")
+	public void postJson(@RequestBody JsonObject json, Payload<JsonObject> payload) {
+		payload.set(json);
+	}
+
+	@GET("fail/:statusCode")
+	public void sendStatusCode(RoutingContext context, @Param("statusCode") Integer statusCode) {
+		context.fail(statusCode);
+	}
+}
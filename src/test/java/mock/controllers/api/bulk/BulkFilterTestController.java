@@ -0,0 +1,28 @@
+package mock.controllers.api.bulk;
+
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+import mock.domains.Dog;
+
+import com.github.aesteve.vertx.nubes.annotations.Bulk;
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.filters.AfterFilter;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+
+@Controller("/bulk/filtered/")
+@ContentType({ "application/x-ndjson", "application/json" })
+public class BulkFilterTestController {
+
+	@POST("dogs")
+	@Bulk
+	public JsonObject register(@RequestBody Dog dog) {
+		return new JsonObject().put("name", dog.getName());
+	}
+
+	@AfterFilter
+	public void summary(HttpServerResponse response) {
+		response.write(new JsonObject().put("after", true).encode() + "\n");
+	}
+}
@@ -0,0 +1,51 @@
+package mock.controllers.api.bulk;
+
+import io.vertx.core.Context;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mock.domains.Dog;
+
+import com.github.aesteve.vertx.nubes.annotations.Blocking;
+import com.github.aesteve.vertx.nubes.annotations.Bulk;
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+
+@Controller("/bulk/")
+@ContentType({ "application/x-ndjson", "application/json" })
+public class BulkTestController {
+
+	@POST("dogs")
+	@Bulk
+	public JsonObject register(@RequestBody Dog dog) {
+		if ("Cerberus".equals(dog.getName())) {
+			throw new IllegalArgumentException("Too many heads");
+		}
+		return new JsonObject().put("name", dog.getName()).put("registered", true);
+	}
+
+	@POST("dogs/batch")
+	@Bulk(batchSize = 10)
+	public List<JsonObject> registerAll(@RequestBody List<Dog> dogs) {
+		List<JsonObject> results = new ArrayList<>(dogs.size());
+		for (Dog dog : dogs) {
+			results.add(new JsonObject().put("name", dog.getName()).put("batch", dogs.size()));
+		}
+		return results;
+	}
+
+	@POST("dogs/blocking")
+	@Bulk(batchSize = 100)
+	@Blocking
+	public List<JsonObject> registerBlocking(@RequestBody List<Dog> dogs) {
+		List<JsonObject> results = new ArrayList<>(dogs.size());
+		for (Dog dog : dogs) {
+			results.add(new JsonObject().put("name", dog.getName()).put("worker", Context.isOnWorkerThread()));
+		}
+		return results;
+	}
+}
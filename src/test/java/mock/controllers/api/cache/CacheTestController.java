@@ -0,0 +1,74 @@
+package mock.controllers.api.cache;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Cacheable;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Compressed;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.Param;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+
+@Controller("/cache/")
+@ContentType("application/json")
+public class CacheTestController {
+
+	public final static AtomicInteger invocations = new AtomicInteger();
+	public final static AtomicInteger slowInvocations = new AtomicInteger();
+
+	@GET("counter")
+	@Cacheable
+	public JsonObject counter(@Param("p") String p) {
+		return new JsonObject().put("count", invocations.incrementAndGet()).put("p", p);
+	}
+
+	@GET("counter/noparams")
+	@Cacheable(varyBy = {})
+	public JsonObject counterIgnoringParams() {
+		return new JsonObject().put("count", invocations.incrementAndGet());
+	}
+
+	@GET("counter/short")
+	@Cacheable(ttl = 200, unit = TimeUnit.MILLISECONDS)
+	public JsonObject shortLived() {
+		return new JsonObject().put("count", invocations.incrementAndGet());
+	}
+
+	@GET("counter/named")
+	@Cacheable(name = "dogs")
+	public JsonObject named() {
+		return new JsonObject().put("count", invocations.incrementAndGet());
+	}
+
+	@GET("counter/slow")
+	@Cacheable
+	public void slow(Payload<JsonObject> payload, RoutingContext context) {
+		int count = slowInvocations.incrementAndGet();
+		context.vertx().setTimer(300, timerId -> {
+			payload.set(new JsonObject().put("count", count));
+			context.next();
+		});
+	}
+
+	@GET("counter/slow/named")
+	@Cacheable(name = "cats")
+	public void slowNamed(Payload<JsonObject> payload, RoutingContext context) {
+		int count = invocations.incrementAndGet();
+		context.vertx().setTimer(300, timerId -> {
+			payload.set(new JsonObject().put("count", count));
+			context.next();
+		});
+	}
+
+	@GET("counter/compressed")
+	@Cacheable
+	@Compressed(minSize = 0)
+	public JsonObject compressed() {
+		return new JsonObject().put("count", invocations.incrementAndGet());
+	}
+}
@@ -0,0 +1,58 @@
+package mock.controllers.api.coalesce;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Coalesce;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.Param;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+
+@Controller("/coalesce/")
+@ContentType("application/json")
+public class CoalesceTestController {
+
+	public final static AtomicInteger invocations = new AtomicInteger();
+
+	@GET("slow")
+	@Coalesce(params = "p")
+	public void slow(Payload<JsonObject> payload, RoutingContext context, @Param("p") String p) {
+		int count = invocations.incrementAndGet();
+		context.vertx().setTimer(300, timerId -> {
+			payload.set(new JsonObject().put("count", count).put("p", p));
+			context.next();
+		});
+	}
+
+	@GET("failing")
+	@Coalesce
+	public void failing(RoutingContext context) {
+		invocations.incrementAndGet();
+		context.vertx().setTimer(300, timerId -> {
+			context.fail(502);
+		});
+	}
+
+	@GET("bounded")
+	@Coalesce(maxWaiters = 2)
+	public void bounded(Payload<JsonObject> payload, RoutingContext context) {
+		context.vertx().setTimer(300, timerId -> {
+			payload.set(new JsonObject());
+			context.next();
+		});
+	}
+
+	@GET("timeout")
+	@Coalesce(timeout = 100, unit = TimeUnit.MILLISECONDS)
+	public void timeout(Payload<JsonObject> payload, RoutingContext context) {
+		context.vertx().setTimer(500, timerId -> {
+			payload.set(new JsonObject());
+			context.next();
+		});
+	}
+}
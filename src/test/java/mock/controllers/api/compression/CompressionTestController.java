@@ -0,0 +1,52 @@
+package mock.controllers.api.compression;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import mock.domains.Dog;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Compressed;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+
+@Controller("/compression/")
+@ContentType("application/json")
+public class CompressionTestController {
+
+	public final static int NB_DOGS = 500;
+
+	@GET("dogs")
+	@Compressed
+	public void sendManyDogs(Payload<List<Dog>> payload) {
+		payload.set(manyDogs());
+	}
+
+	@GET("cached/dogs")
+	@Compressed(cache = true, level = 9)
+	public void sendManyDogsCached(Payload<List<Dog>> payload) {
+		payload.set(manyDogs());
+	}
+
+	@GET("dog")
+	@Compressed
+	public void sendOneDog(Payload<Dog> payload) {
+		payload.set(new Dog("Snoopy", "Beagle"));
+	}
+
+	@POST("dog")
+	public void echoDog(@RequestBody Dog dog, Payload<Dog> payload) {
+		payload.set(dog);
+	}
+
+	private static List<Dog> manyDogs() {
+		List<Dog> dogs = new ArrayList<>(NB_DOGS);
+		for (int i = 0; i < NB_DOGS; i++) {
+			dogs.add(new Dog("Snoopy" + i, "Beagle"));
+		}
+		return dogs;
+	}
+}
@@ -0,0 +1,59 @@
+package mock.controllers.api.etag;
+
+import io.vertx.core.json.JsonObject;
+import mock.domains.Dog;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.View;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ETag;
+import com.github.aesteve.vertx.nubes.annotations.params.ContextData;
+import com.github.aesteve.vertx.nubes.annotations.params.Params;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.context.ResourceVersion;
+
+@Controller("/etag/")
+public class ETagTestController {
+
+	public final static String VERSION = "dog-v42";
+	public final static Date LAST_MODIFIED = new Date(1420070400000L); // 2015-01-01
+	public final static AtomicInteger heavyWork = new AtomicInteger();
+
+	@GET("dog")
+	@ContentType("application/json")
+	@ETag
+	public JsonObject dog() {
+		return new JsonObject().put("name", "Snoopy").put("breed", "Beagle");
+	}
+
+	@GET("versioned")
+	@ContentType("application/json")
+	public JsonObject versioned(ResourceVersion version) {
+		if (version.notModified(VERSION)) {
+			return null;
+		}
+		heavyWork.incrementAndGet();
+		return new JsonObject().put("name", "Snoopy");
+	}
+
+	@GET("modified")
+	@ContentType("application/json")
+	public JsonObject modified(ResourceVersion version) {
+		if (version.notModifiedSince(LAST_MODIFIED)) {
+			return null;
+		}
+		heavyWork.incrementAndGet();
+		return new JsonObject().put("name", "Snoopy");
+	}
+
+	@GET("view")
+	@View("dog-name.hbs")
+	@ETag
+	public void view(@ContextData Map<String, Object> data, @Params Dog dog) {
+		data.put("dog", dog);
+	}
+}
@@ -0,0 +1,70 @@
+package mock.controllers.api.idempotency;
+
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Idempotent;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+
+@Controller("/idempotency/")
+@ContentType("application/json")
+public class IdempotencyTestController {
+
+	public final static AtomicInteger invocations = new AtomicInteger();
+	public final static Set<String> failedOnce = ConcurrentHashMap.newKeySet();
+
+	@POST("orders")
+	@Idempotent
+	public void order(Payload<JsonObject> payload, RoutingContext context) {
+		int id = invocations.incrementAndGet();
+		context.vertx().setTimer(200, timerId -> {
+			payload.set(new JsonObject().put("id", id));
+			context.next();
+		});
+	}
+
+	@POST("required")
+	@Idempotent(required = true)
+	public JsonObject required() {
+		return new JsonObject().put("id", invocations.incrementAndGet());
+	}
+
+	@POST("failing")
+	@Idempotent
+	public void failing(RoutingContext context) {
+		invocations.incrementAndGet();
+		context.fail(500);
+	}
+
+	@POST("slow")
+	@Idempotent(timeout = 100, timeoutUnit = TimeUnit.MILLISECONDS)
+	public void slow(Payload<JsonObject> payload, RoutingContext context) {
+		context.vertx().setTimer(500, timerId -> {
+			payload.set(new JsonObject());
+			context.next();
+		});
+	}
+
+	@POST("echo")
+	@Idempotent
+	public void echo(@RequestBody JsonObject body, Payload<JsonObject> payload, RoutingContext context) {
+		invocations.incrementAndGet();
+		context.vertx().setTimer(200, timerId -> {
+			if (failedOnce.add(body.getString("id"))) {
+				context.fail(500);
+			} else {
+				payload.set(body);
+				context.next();
+			}
+		});
+	}
+}
@@ -13,6 +13,7 @@ import mock.domains.Dog;
 
 import com.github.aesteve.vertx.nubes.annotations.Controller;
 import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.mixins.Projection;
 import com.github.aesteve.vertx.nubes.annotations.params.Param;
 import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
 import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
@@ -75,6 +76,28 @@ public class JsonApiTestController {
 		payload.set(dogs);
 	}
 
+	@GET("projected/dogs")
+	@Projection
+	public void sendProjectedDogs(Payload<List<Dog>> payload) {
+		List<Dog> dogs = new ArrayList<>(2);
+		dogs.add(new Dog("Snoopy", "Beagle"));
+		dogs.add(new Dog("Bill", "Cocker"));
+		payload.set(dogs);
+	}
+
+	@GET("projected/kennel")
+	@Projection("select")
+	public void sendProjectedKennel(Payload<JsonObject> payload) {
+		JsonObject owner = new JsonObject();
+		owner.put("name", "Charlie Brown");
+		owner.put("city", "Minneapolis");
+		JsonObject kennel = new JsonObject();
+		kennel.put("name", "Peanuts");
+		kennel.put("owner", owner);
+		kennel.put("dogs", new JsonArray().add(new JsonObject().put("name", "Snoopy").put("breed", "Beagle")));
+		payload.set(kennel);
+	}
+
 	@POST("postdog")
 	public void postDog(@RequestBody Dog dog, Payload<Dog> payload) {
 		payload.set(dog); // echo back
@@ -0,0 +1,83 @@
+package mock.controllers.api.streaming;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.core.streams.ReadStream;
+import io.vertx.ext.web.RoutingContext;
+
+import java.util.Iterator;
+
+import mock.domains.Dog;
+
+import com.github.aesteve.vertx.nubes.annotations.Blocking;
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+import com.github.aesteve.vertx.nubes.exceptions.InvalidBodyElementException;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+
+@Controller("/streaming/")
+@ContentType({ "application/json", "application/xml" })
+public class StreamingBodyTestController {
+
+	@POST("dogs")
+	public void readDogs(@RequestBody ReadStream<Dog> dogs, RoutingContext context) {
+		JsonArray names = new JsonArray();
+		JsonArray errors = new JsonArray();
+		dogs.exceptionHandler(error -> {
+			errors.add(((InvalidBodyElementException) error).getIndex());
+		});
+		dogs.handler(dog -> {
+			names.add(dog.getName());
+		});
+		dogs.endHandler(v -> {
+			context.response().end(new JsonObject().put("names", names).put("errors", errors).encode());
+		});
+	}
+
+	@POST("dogs/strict")
+	public void readDogsStrictly(@RequestBody ReadStream<Dog> dogs, RoutingContext context) {
+		JsonArray names = new JsonArray();
+		dogs.handler(dog -> {
+			names.add(dog.getName());
+		});
+		dogs.endHandler(v -> {
+			context.response().end(new JsonObject().put("names", names).encode());
+		});
+	}
+
+	@POST("dogs/slowly")
+	public void readDogsSlowly(@RequestBody ReadStream<JsonObject> dogs, RoutingContext context) {
+		JsonObject result = new JsonObject().put("count", 0);
+		dogs.handler(dog -> {
+			int count = result.getInteger("count") + 1;
+			result.put("count", count);
+			if (count % 100 == 0) {
+				dogs.pause();
+				context.vertx().setTimer(1, timerId -> {
+					dogs.resume();
+				});
+			}
+		});
+		dogs.endHandler(v -> {
+			context.response().end(result.encode());
+		});
+	}
+
+	@POST("dogs/blocking")
+	@Blocking
+	public void readDogsBlocking(@RequestBody Iterator<Dog> dogs, Payload<JsonObject> payload) {
+		int count = 0;
+		int errors = 0;
+		while (dogs.hasNext()) {
+			try {
+				dogs.next();
+				count++;
+			} catch (InvalidBodyElementException ibee) {
+				errors++;
+			}
+		}
+		payload.set(new JsonObject().put("count", count).put("errors", errors));
+	}
+}
@@ -0,0 +1,39 @@
+package mock.controllers.injection;
+
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.json.JsonObject;
+
+import java.util.Arrays;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.filters.BeforeFilter;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.context.DataLoader;
+import com.github.aesteve.vertx.nubes.context.DataLoaders;
+
+@Controller("/dataloader")
+public class TestDataLoaderController {
+
+	public static final String LOADER_NAME = "upper";
+
+	@BeforeFilter
+	public void prime(DataLoaders loaders) {
+		loaders.<String, String> get(LOADER_NAME).prime("z", "ZED");
+	}
+
+	@GET
+	public void load(DataLoaders loaders, HttpServerResponse response) {
+		DataLoader<String, String> loader = loaders.get(LOADER_NAME);
+		JsonObject json = new JsonObject();
+		loader.load("a", res -> json.put("a", res.result()));
+		loader.load("b", res -> json.put("b", res.result()));
+		loader.load("a", res -> json.put("a2", res.result()));
+		loader.loadMany(Arrays.asList("b", "c", "z"), res -> {
+			json.put("many", String.join(",", res.result()));
+			loader.load("c", cached -> { // next tick : already loaded
+				json.put("c", cached.result());
+				response.end(json.toString());
+			});
+		});
+	}
+}
@@ -1,11 +1,14 @@
 package mock.controllers.injection;
 
+import io.vertx.core.AsyncResult;
 import io.vertx.core.http.HttpServerResponse;
 import mock.services.ParrotService;
+import mock.services.impl.QuietParrot;
 
 import com.github.aesteve.vertx.nubes.annotations.Controller;
 import com.github.aesteve.vertx.nubes.annotations.params.RequestBody;
 import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+import com.github.aesteve.vertx.nubes.annotations.services.CircuitBreaker;
 import com.github.aesteve.vertx.nubes.annotations.services.ServiceProxy;
 
 @Controller("/injectedProxy")
@@ -14,10 +17,75 @@ public class TestInjectedProxyController {
 	@ServiceProxy("service.parrot")
 	ParrotService parrot;
 
+	@ServiceProxy("service.remoteParrot")
+	ParrotService remoteParrot; // not registered by Nubes
+
+	@ServiceProxy(value = "service.parrot", timeout = 200)
+	ParrotService impatientParrot; // registered locally
+
+	@ServiceProxy(value = "service.slowParrot", timeout = 200)
+	ParrotService slowParrot;
+
+	@ServiceProxy(value = "service.brokenParrot", circuitBreaker = @CircuitBreaker(maxFailures = 3, resetTimeout = 60000))
+	ParrotService brokenParrot; // nobody's listening
+
+	@ServiceProxy(value = "service.mutedParrot", circuitBreaker = @CircuitBreaker(fallback = QuietParrot.class))
+	ParrotService mutedParrot; // nobody's listening either
+
 	@POST
 	public void echoThroughParrot(HttpServerResponse response, @RequestBody String body) {
 		parrot.echo(body, reply -> {
 			response.end(reply.result());
 		});
 	}
+
+	@POST("/shout")
+	public void shoutThroughParrot(HttpServerResponse response, @RequestBody String body) {
+		parrot.shout(body, reply -> {
+			endWith(response, reply);
+		});
+	}
+
+	@POST("/remote")
+	public void echoThroughRemoteParrot(HttpServerResponse response, @RequestBody String body) {
+		remoteParrot.echo(body, reply -> {
+			response.end(reply.result());
+		});
+	}
+
+	@POST("/slow")
+	public void echoThroughSlowParrot(HttpServerResponse response, @RequestBody String body) {
+		slowParrot.echo(body, reply -> {
+			endWith(response, reply);
+		});
+	}
+
+	@POST("/ignored")
+	public void ignoredByLocalParrot(HttpServerResponse response, @RequestBody String body) {
+		impatientParrot.ignore(body, reply -> {
+			endWith(response, reply);
+		});
+	}
+
+	@POST("/broken")
+	public void echoThroughBrokenParrot(HttpServerResponse response, @RequestBody String body) {
+		brokenParrot.echo(body, reply -> {
+			endWith(response, reply);
+		});
+	}
+
+	@POST("/muted")
+	public void echoThroughMutedParrot(HttpServerResponse response, @RequestBody String body) {
+		mutedParrot.echo(body, reply -> {
+			endWith(response, reply);
+		});
+	}
+
+	private static void endWith(HttpServerResponse response, AsyncResult<String> reply) {
+		if (reply.succeeded()) {
+			response.end(reply.result());
+		} else {
+			response.setStatusCode(503).end(reply.cause().getClass().getSimpleName() + " : " + reply.cause().getMessage());
+		}
+	}
 }
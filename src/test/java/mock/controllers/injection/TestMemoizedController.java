@@ -0,0 +1,65 @@
+package mock.controllers.injection;
+
+import integration.TestVerticle;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.RoutingContext;
+import mock.services.WeatherService;
+import mock.services.impl.WeatherServiceImpl;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.mixins.ContentType;
+import com.github.aesteve.vertx.nubes.annotations.params.Param;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.GET;
+import com.github.aesteve.vertx.nubes.annotations.services.Service;
+import com.github.aesteve.vertx.nubes.marshallers.Payload;
+
+@Controller("/memoize/")
+@ContentType("application/json")
+public class TestMemoizedController {
+
+	@Service(TestVerticle.WEATHER_SERVICE_NAME)
+	private WeatherService weather;
+
+	@Service(TestVerticle.WEATHER_SERVICE_NAME)
+	private WeatherServiceImpl weatherImpl; // injected through its class
+
+	@GET("sync")
+	public JsonObject sync(@Param("city") String city) {
+		String first = weather.forecast(city);
+		String second = weather.forecast(city);
+		return result(city, first, second);
+	}
+
+	@GET("class")
+	public JsonObject byClass(@Param("city") String city) {
+		String first = weatherImpl.forecast(city);
+		String second = weatherImpl.forecast(city);
+		return result(city, first, second);
+	}
+
+	@GET("uncached")
+	public JsonObject uncached(@Param("city") String city) {
+		String first = weather.observe(city);
+		String second = weather.observe(city);
+		return result(city, first, second);
+	}
+
+	@GET("async")
+	public void async(Payload<JsonObject> payload, RoutingContext context, @Param("city") String city) {
+		String[] forecasts = new String[2];
+		for (int i = 0; i < 2; i++) {
+			int idx = i;
+			weather.forecast(city, res -> {
+				forecasts[idx] = res.result();
+				if (forecasts[0] != null && forecasts[1] != null) {
+					payload.set(result(city, forecasts[0], forecasts[1]));
+					context.next();
+				}
+			});
+		}
+	}
+
+	private JsonObject result(String city, String first, String second) {
+		return new JsonObject().put("first", first).put("second", second).put("calls", weather.calls(city));
+	}
+}
@@ -0,0 +1,37 @@
+package mock.controllers.redirect;
+
+import com.github.aesteve.vertx.nubes.annotations.Controller;
+import com.github.aesteve.vertx.nubes.annotations.routing.EventBusForward;
+import com.github.aesteve.vertx.nubes.annotations.auth.Auth;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.DELETE;
+import com.github.aesteve.vertx.nubes.annotations.routing.http.POST;
+import com.github.aesteve.vertx.nubes.auth.AuthMethod;
+
+@Controller("/ebforward")
+public class EventBusForwardController {
+
+	public static final String ADDRESS = "ebforward.echo";
+	public static final String SILENT_ADDRESS = "ebforward.silent";
+	public static final String RAW_ADDRESS = "ebforward.raw";
+
+	@POST
+	@EventBusForward(value = ADDRESS, headers = { "Content-Type", "X-User" })
+	public void forward() {}
+
+	@POST("/silent")
+	@EventBusForward(value = SILENT_ADDRESS, timeout = 200)
+	public void forwardToSilent() {}
+
+	@POST("/raw")
+	@EventBusForward(RAW_ADDRESS)
+	public void forwardRaw() {}
+
+	@DELETE("/private")
+	@Auth(authority = "", method = AuthMethod.BASIC)
+	@EventBusForward(RAW_ADDRESS)
+	public void forwardDeletion() {}
+
+	@POST("/nobody")
+	@EventBusForward("ebforward.nobody")
+	public void forwardToNobody() {}
+}
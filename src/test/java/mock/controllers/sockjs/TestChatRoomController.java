@@ -0,0 +1,33 @@
+package mock.controllers.sockjs;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.handler.sockjs.SockJSSocket;
+
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnMessage;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnOpen;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.SockJS;
+import com.github.aesteve.vertx.nubes.exceptions.MarshallingException;
+import com.github.aesteve.vertx.nubes.sockjs.Room;
+import com.github.aesteve.vertx.nubes.sockjs.Rooms;
+import com.github.aesteve.vertx.nubes.sockjs.SlowConsumerPolicy;
+
+@SockJS("/chatroom")
+public class TestChatRoomController {
+
+	public final static String LOBBY = "lobby";
+
+	@OnOpen
+	public void join(SockJSSocket socket, Rooms rooms) {
+		rooms.room(LOBBY).join(socket, SlowConsumerPolicy.COALESCE);
+		socket.write(Buffer.buffer("joined"));
+	}
+
+	@OnMessage
+	public void say(SockJSSocket socket, Rooms rooms, JsonObject message) throws MarshallingException {
+		Room lobby = rooms.room(LOBBY);
+		message.put("members", lobby.size());
+		lobby.broadcast(message);
+	}
+
+}
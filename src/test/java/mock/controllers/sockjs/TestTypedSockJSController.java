@@ -0,0 +1,24 @@
+package mock.controllers.sockjs;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.web.handler.sockjs.SockJSSocket;
+import mock.domains.Dog;
+
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnMessage;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.SockJS;
+
+@SockJS("/typedsockjs")
+public class TestTypedSockJSController {
+
+	@OnMessage
+	public void dogHandler(Dog dog, SockJSSocket socket) {
+		socket.write(Buffer.buffer("dog:" + dog.getName()));
+	}
+
+	@OnMessage
+	public void jsonHandler(SockJSSocket socket, JsonObject json) {
+		socket.write(Buffer.buffer("json:" + json.getString("breed")));
+	}
+
+}
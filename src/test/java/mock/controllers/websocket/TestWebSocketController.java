@@ -0,0 +1,32 @@
+package mock.controllers.websocket;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.http.ServerWebSocket;
+
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnClose;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnMessage;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.OnOpen;
+import com.github.aesteve.vertx.nubes.annotations.sockjs.WebSocket;
+
+@WebSocket(value = "/rawsocket", maxMessageSize = 16)
+public class TestWebSocketController {
+
+	public final static String EB_ADDRESS = "websocket-test";
+
+	@OnOpen
+	public void openHandler(ServerWebSocket socket, EventBus eventBus) {
+		eventBus.publish(EB_ADDRESS, "opened");
+	}
+
+	@OnMessage
+	public void messageHandler(ServerWebSocket socket, Buffer buff) {
+		socket.write(Buffer.buffer("echo:").appendBuffer(buff));
+	}
+
+	@OnClose
+	public void closeHandler(ServerWebSocket socket, EventBus eventBus) {
+		eventBus.publish(EB_ADDRESS, "closed");
+	}
+
+}
@@ -0,0 +1,25 @@
+package mock.loaders;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.github.aesteve.vertx.nubes.context.BatchLoader;
+
+public class UpperCaseLoader implements BatchLoader<String, String> {
+
+	public static final List<List<String>> calls = new ArrayList<>();
+
+	@Override
+	public void load(List<String> keys, Handler<AsyncResult<List<String>>> handler) {
+		synchronized (calls) {
+			calls.add(keys);
+		}
+		handler.handle(Future.succeededFuture(keys.stream().map(String::toUpperCase).collect(Collectors.toList())));
+	}
+
+}
@@ -0,0 +1,64 @@
+package mock.services;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.aesteve.vertx.nubes.annotations.services.PeriodicTask;
+import com.github.aesteve.vertx.nubes.services.Service;
+
+public class ClockService implements Service {
+
+	private Vertx vertx;
+	private final AtomicInteger running = new AtomicInteger();
+	private volatile long lastEnd;
+
+	@Override
+	public void init(Vertx vertx) {
+		this.vertx = vertx;
+	}
+
+	@Override
+	public void start(Future<Void> future) {
+		future.complete();
+	}
+
+	@Override
+	public void stop(Future<Void> future) {
+		future.complete();
+	}
+
+	@PeriodicTask(value = 50, worker = true)
+	public void slow() throws InterruptedException {
+		boolean overlapping = running.incrementAndGet() > 1;
+		Thread.sleep(120);
+		running.decrementAndGet();
+		vertx.eventBus().publish("clock.slow", new JsonObject().put("overlapping", overlapping).put("worker", Context.isOnWorkerThread()));
+	}
+
+	@PeriodicTask(value = 50, fixedDelay = true, worker = true)
+	public void delayed() throws InterruptedException {
+		long start = System.currentTimeMillis();
+		if (lastEnd > 0) {
+			vertx.eventBus().publish("clock.delayed", start - lastEnd);
+		}
+		Thread.sleep(30);
+		lastEnd = System.currentTimeMillis();
+	}
+
+	@PeriodicTask(cron = "* * * * * *")
+	public void everySecond() {
+		vertx.eventBus().publish("clock.cron", System.currentTimeMillis());
+	}
+
+	@PeriodicTask(value = 50, singleton = true)
+	public void singleton() {
+		JsonObject run = new JsonObject();
+		run.put("instance", System.identityHashCode(this));
+		run.put("deployment", Vertx.currentContext().deploymentID());
+		vertx.eventBus().publish("clock.singleton", run);
+	}
+}
@@ -71,4 +71,10 @@ public class DogService implements Service {
 		message.reply(message.body());
 	}
 
+	@Consumer("dogService.walk")
+	public void walk(Message<Dog> message) {
+		Dog dog = message.body();
+		message.reply(dog);
+	}
+
 }
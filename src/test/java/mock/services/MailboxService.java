@@ -0,0 +1,48 @@
+package mock.services;
+
+import io.vertx.core.Context;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.aesteve.vertx.nubes.annotations.services.Consumer;
+
+public class MailboxService {
+
+	private final AtomicInteger running = new AtomicInteger();
+	private final AtomicInteger maxRunning = new AtomicInteger();
+	private final Map<String, Integer> lastByUser = new ConcurrentHashMap<>();
+
+	@Consumer(value = "mailbox.batch", batchSize = 5, batchTimeout = 200)
+	public void batch(List<Message<String>> messages) {
+		for (Message<String> message : messages) {
+			message.reply(messages.size());
+		}
+	}
+
+	@Consumer(value = "mailbox.worker", worker = true, concurrency = 2)
+	public void worker(Message<String> message) throws InterruptedException {
+		int current = running.incrementAndGet();
+		maxRunning.accumulateAndGet(current, Math::max);
+		Thread.sleep(100);
+		running.decrementAndGet();
+		message.reply(new JsonObject().put("worker", Context.isOnWorkerThread()).put("maxRunning", maxRunning.get()));
+	}
+
+	@Consumer(value = "mailbox.bounded", worker = true, maxPending = 2)
+	public void bounded(Message<String> message) throws InterruptedException {
+		Thread.sleep(10);
+		message.reply(message.body());
+	}
+
+	@Consumer(value = "mailbox.partitioned", partitionBy = "header:userId", partitions = 4)
+	public void partitioned(Message<Integer> message) {
+		Integer previous = lastByUser.put(message.headers().get("userId"), message.body());
+		boolean ordered = previous == null || previous < message.body();
+		message.reply(new JsonObject().put("ordered", ordered).put("lane", Thread.currentThread().getName()));
+	}
+}
@@ -4,9 +4,20 @@ import io.vertx.codegen.annotations.ProxyGen;
 import io.vertx.core.AsyncResult;
 import io.vertx.core.Handler;
 
+import java.util.List;
+
+import com.github.aesteve.vertx.nubes.annotations.services.Batchable;
+
 @ProxyGen
 public interface ParrotService {
 
 	public void echo(String original, Handler<AsyncResult<String>> handler);
 
+	@Batchable(method = "shoutAll", window = 20)
+	public void shout(String original, Handler<AsyncResult<String>> handler);
+
+	public void shoutAll(List<String> originals, Handler<AsyncResult<List<String>>> handler);
+
+	public void ignore(String original, Handler<AsyncResult<String>> handler);
+
 }
@@ -0,0 +1,16 @@
+package mock.services;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+
+public interface WeatherService {
+
+	public String forecast(String city);
+
+	public void forecast(String city, Handler<AsyncResult<String>> handler);
+
+	public String observe(String city);
+
+	public int calls(String city);
+
+}
@@ -7,12 +7,36 @@ import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import mock.services.ParrotService;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
 @Proxify("service.parrot")
 public class ParrotServiceImpl implements ParrotService {
 
+	public static final AtomicInteger shouts = new AtomicInteger();
+	public static final AtomicInteger batchedShouts = new AtomicInteger();
+
 	@Override
 	public void echo(String original, Handler<AsyncResult<String>> handler) {
 		handler.handle(Future.succeededFuture(original));
 	}
 
+	@Override
+	public void shout(String original, Handler<AsyncResult<String>> handler) {
+		shouts.incrementAndGet();
+		handler.handle(Future.succeededFuture(original.toUpperCase()));
+	}
+
+	@Override
+	public void shoutAll(List<String> originals, Handler<AsyncResult<List<String>>> handler) {
+		batchedShouts.incrementAndGet();
+		handler.handle(Future.succeededFuture(originals.stream().map(String::toUpperCase).collect(Collectors.toList())));
+	}
+
+	@Override
+	public void ignore(String original, Handler<AsyncResult<String>> handler) {
+		// never answers
+	}
+
 }
@@ -0,0 +1,33 @@
+package mock.services.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import mock.services.ParrotService;
+
+import java.util.Collections;
+import java.util.List;
+
+public class QuietParrot implements ParrotService {
+
+	@Override
+	public void echo(String original, Handler<AsyncResult<String>> handler) {
+		handler.handle(Future.succeededFuture("..."));
+	}
+
+	@Override
+	public void shout(String original, Handler<AsyncResult<String>> handler) {
+		handler.handle(Future.succeededFuture("..."));
+	}
+
+	@Override
+	public void shoutAll(List<String> originals, Handler<AsyncResult<List<String>>> handler) {
+		handler.handle(Future.succeededFuture(Collections.nCopies(originals.size(), "...")));
+	}
+
+	@Override
+	public void ignore(String original, Handler<AsyncResult<String>> handler) {
+		handler.handle(Future.succeededFuture("..."));
+	}
+
+}
@@ -0,0 +1,66 @@
+package mock.services.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import mock.services.WeatherService;
+
+import com.github.aesteve.vertx.nubes.annotations.services.Memoize;
+import com.github.aesteve.vertx.nubes.services.Service;
+
+public class WeatherServiceImpl implements WeatherService, Service {
+
+	private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+	private Vertx vertx;
+
+	@Override
+	public void init(Vertx vertx) {
+		this.vertx = vertx;
+	}
+
+	@Override
+	public void start(Future<Void> future) {
+		future.complete();
+	}
+
+	@Override
+	public void stop(Future<Void> future) {
+		future.complete();
+	}
+
+	@Override
+	@Memoize(maxEntries = 100)
+	public String forecast(String city) {
+		return "Sunny in " + city + " (" + count(city) + ")";
+	}
+
+	@Override
+	@Memoize(maxEntries = 100)
+	public void forecast(String city, Handler<AsyncResult<String>> handler) {
+		int count = count(city);
+		vertx.setTimer(100, timerId -> {
+			handler.handle(Future.succeededFuture("Rainy in " + city + " (" + count + ")"));
+		});
+	}
+
+	@Override
+	public String observe(String city) {
+		return "Cloudy in " + city + " (" + count(city) + ")";
+	}
+
+	@Override
+	public int calls(String city) {
+		AtomicInteger count = calls.get(city);
+		return count == null ? 0 : count.get();
+	}
+
+	private int count(String city) {
+		return calls.computeIfAbsent(city, c -> new AtomicInteger()).incrementAndGet();
+	}
+}
@@ -0,0 +1,119 @@
+package mock.sockets;
+
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.auth.User;
+import io.vertx.ext.web.Session;
+import io.vertx.ext.web.handler.sockjs.SockJSSocket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A socket whose write queue is full until it's told to drain
+ */
+public class SlowSocket implements SockJSSocket {
+
+	public final List<String> written = new ArrayList<>();
+	public boolean full;
+	public boolean closed;
+	private Handler<Void> drainHandler;
+
+	public void drain() {
+		full = false;
+		Handler<Void> handler = drainHandler;
+		drainHandler = null;
+		if (handler != null) {
+			handler.handle(null);
+		}
+	}
+
+	@Override
+	public SockJSSocket write(Buffer data) {
+		written.add(data.toString("UTF-8"));
+		return this;
+	}
+
+	@Override
+	public boolean writeQueueFull() {
+		return full;
+	}
+
+	@Override
+	public SockJSSocket drainHandler(Handler<Void> handler) {
+		drainHandler = handler;
+		return this;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+	}
+
+	@Override
+	public SockJSSocket setWriteQueueMaxSize(int maxSize) {
+		return this;
+	}
+
+	@Override
+	public SockJSSocket exceptionHandler(Handler<Throwable> handler) {
+		return this;
+	}
+
+	@Override
+	public SockJSSocket handler(Handler<Buffer> handler) {
+		return this;
+	}
+
+	@Override
+	public SockJSSocket pause() {
+		return this;
+	}
+
+	@Override
+	public SockJSSocket resume() {
+		return this;
+	}
+
+	@Override
+	public SockJSSocket endHandler(Handler<Void> endHandler) {
+		return this;
+	}
+
+	@Override
+	public String writeHandlerID() {
+		return null;
+	}
+
+	@Override
+	public SocketAddress remoteAddress() {
+		return null;
+	}
+
+	@Override
+	public SocketAddress localAddress() {
+		return null;
+	}
+
+	@Override
+	public MultiMap headers() {
+		return null;
+	}
+
+	@Override
+	public String uri() {
+		return null;
+	}
+
+	@Override
+	public Session webSession() {
+		return null;
+	}
+
+	@Override
+	public User webUser() {
+		return null;
+	}
+}
@@ -0,0 +1,44 @@
+package mock.verticles;
+
+import io.vertx.core.AbstractVerticle;
+import io.vertx.core.Future;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.aesteve.vertx.nubes.annotations.services.Verticle;
+import com.github.aesteve.vertx.nubes.services.VerticleSupervisor;
+
+@Verticle(worker = true, scaleOn = ScaledVerticle.ADDRESS, minInstances = 2, maxInstances = 4, scaleUpBacklog = 2, scaleInterval = 100)
+public class ScaledVerticle extends AbstractVerticle {
+
+	public static final String ADDRESS = "scaled.jobs";
+
+	public static AtomicInteger live = new AtomicInteger();
+	public static AtomicInteger maxLive = new AtomicInteger();
+	public static AtomicInteger received = new AtomicInteger();
+
+	@Override
+	public void start(Future<Void> future) {
+		maxLive.accumulateAndGet(live.incrementAndGet(), Math::max);
+		vertx.eventBus().<String> consumer(VerticleSupervisor.instanceAddress(ADDRESS), message -> {
+			if (message.replyAddress() == null) {
+				received.incrementAndGet();
+				return;
+			}
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+			message.reply("done:" + message.body());
+		});
+		future.complete();
+	}
+
+	@Override
+	public void stop(Future<Void> future) {
+		live.decrementAndGet();
+		future.complete();
+	}
+
+}